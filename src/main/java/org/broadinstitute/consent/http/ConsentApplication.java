@@ -1,6 +1,7 @@
 package org.broadinstitute.consent.http;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.jersey3.InstrumentedResourceMethodApplicationListener;
 import com.google.common.util.concurrent.UncaughtExceptionHandlers;
 import com.google.inject.Guice;
@@ -21,8 +22,13 @@ import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import liquibase.Contexts;
 import liquibase.LabelExpression;
 import liquibase.Liquibase;
@@ -39,15 +45,19 @@ import org.broadinstitute.consent.http.authentication.DefaultAuthFilter;
 import org.broadinstitute.consent.http.authentication.DefaultAuthenticator;
 import org.broadinstitute.consent.http.authentication.OAuthAuthenticator;
 import org.broadinstitute.consent.http.authentication.OAuthCustomAuthFilter;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.cloudstore.GCSService;
 import org.broadinstitute.consent.http.configurations.ConsentConfiguration;
-import org.broadinstitute.consent.http.db.UserRoleDAO;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.enumeration.DatasetSearchBackendType;
+import org.broadinstitute.consent.http.filters.ClaimsCache;
 import org.broadinstitute.consent.http.filters.RequestHeaderCacheFilter;
 import org.broadinstitute.consent.http.filters.ResponseServerFilter;
 import org.broadinstitute.consent.http.health.ElasticSearchHealthCheck;
 import org.broadinstitute.consent.http.health.GCSHealthCheck;
 import org.broadinstitute.consent.http.health.OntologyHealthCheck;
 import org.broadinstitute.consent.http.health.SamHealthCheck;
+import org.broadinstitute.consent.http.health.ScheduledHealthCheck;
 import org.broadinstitute.consent.http.health.SendGridHealthCheck;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.resources.DACUserResource;
@@ -79,8 +89,11 @@ import org.broadinstitute.consent.http.resources.VoteResource;
 import org.broadinstitute.consent.http.service.AcknowledgementService;
 import org.broadinstitute.consent.http.service.DarCollectionService;
 import org.broadinstitute.consent.http.service.DataAccessRequestService;
+import org.broadinstitute.consent.http.service.DatasetIndexOutboxWorker;
+import org.broadinstitute.consent.http.service.DatasetSearchBackfill;
 import org.broadinstitute.consent.http.service.DatasetRegistrationService;
 import org.broadinstitute.consent.http.service.DatasetService;
+import org.broadinstitute.consent.http.service.DecisionMetricsSnapshot;
 import org.broadinstitute.consent.http.service.ElasticSearchService;
 import org.broadinstitute.consent.http.service.ElectionService;
 import org.broadinstitute.consent.http.service.EmailService;
@@ -153,7 +166,7 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     final Injector injector = Guice.createInjector(new ConsentModule(config, env));
 
     // Clients
-    final HttpClientUtil clientUtil = new HttpClientUtil(config.getServicesConfiguration());
+    final HttpClientUtil clientUtil = injector.getProvider(HttpClientUtil.class).get();
 
     // Services
     final DarCollectionService darCollectionService = injector.getProvider(
@@ -167,6 +180,8 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     final InstitutionService institutionService = injector.getProvider(InstitutionService.class)
         .get();
     final MetricsService metricsService = injector.getProvider(MetricsService.class).get();
+    final DecisionMetricsSnapshot decisionMetricsSnapshot = injector.getProvider(
+        DecisionMetricsSnapshot.class).get();
     final UserService userService = injector.getProvider(UserService.class).get();
     final VoteService voteService = injector.getProvider(VoteService.class).get();
     final MatchService matchService = injector.getProvider(MatchService.class).get();
@@ -183,6 +198,10 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
         ElasticSearchService.class).get();
     final OidcService oidcService = injector.getProvider(OidcService.class).get();
 
+    // Background workers
+    env.lifecycle().manage(injector.getProvider(DatasetIndexOutboxWorker.class).get());
+    env.lifecycle().manage(injector.getProvider(DatasetSearchBackfill.class).get());
+
     System.setProperty("sun.net.http.allowRestrictedHeaders", "true");
 
     env.jersey().register(JerseyGsonProvider.class);
@@ -192,15 +211,21 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     env.jersey().register(new InstrumentedResourceMethodApplicationListener(metricRegistry));
 
     // Health Checks
-    env.healthChecks().register(GCS_CHECK, new GCSHealthCheck(gcsService));
-    env.healthChecks()
-        .register(ES_CHECK, new ElasticSearchHealthCheck(config.getElasticSearchConfiguration()));
-    env.healthChecks().register(ONTOLOGY_CHECK,
+    Map<String, HealthCheck> upstreamChecks = new LinkedHashMap<>();
+    upstreamChecks.put(GCS_CHECK, new GCSHealthCheck(gcsService));
+    // The Postgres search backend is covered by the database health check
+    if (config.getElasticSearchConfiguration().getSearchBackend()
+        == DatasetSearchBackendType.ELASTICSEARCH) {
+      upstreamChecks.put(ES_CHECK,
+          new ElasticSearchHealthCheck(config.getElasticSearchConfiguration()));
+    }
+    upstreamChecks.put(ONTOLOGY_CHECK,
         new OntologyHealthCheck(clientUtil, config.getServicesConfiguration()));
-    env.healthChecks()
-        .register(SAM_CHECK, new SamHealthCheck(clientUtil, config.getServicesConfiguration()));
-    env.healthChecks()
-        .register(SG_CHECK, new SendGridHealthCheck(clientUtil, config.getMailConfiguration()));
+    upstreamChecks.put(SAM_CHECK,
+        new SamHealthCheck(clientUtil, config.getServicesConfiguration()));
+    upstreamChecks.put(SG_CHECK,
+        new SendGridHealthCheck(clientUtil, config.getMailConfiguration()));
+    registerScheduledHealthChecks(env, config.getServicesConfiguration(), upstreamChecks);
 
     final NihService nihService = injector.getProvider(NihService.class).get();
     // Custom Error handling. Expand to include other codes when necessary
@@ -223,7 +248,7 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     env.jersey().register(new InstitutionResource(userService, institutionService));
     env.jersey().register(new LibraryCardResource(userService, libraryCardService));
     env.jersey().register(new MatchResource(matchService));
-    env.jersey().register(new MetricsResource(metricsService));
+    env.jersey().register(new MetricsResource(metricsService, decisionMetricsSnapshot));
     env.jersey().register(new NihAccountResource(nihService, userService));
     env.jersey().register(new SamResource(samService, userService));
     env.jersey().register(new SchemaResource());
@@ -242,15 +267,16 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     env.jersey().register(new OAuth2Resource(oidcService));
 
     // Authentication filters
-    final UserRoleDAO userRoleDAO = injector.getProvider(UserRoleDAO.class).get();
+    final UserRoleCache userRoleCache = injector.getProvider(UserRoleCache.class).get();
     AuthFilter defaultAuthFilter = new DefaultAuthFilter.Builder<AuthUser>()
         .setAuthenticator(new DefaultAuthenticator())
         .setRealm(" ")
         .buildAuthFilter();
     List<AuthFilter> filters = List.of(
         defaultAuthFilter,
-        new OAuthCustomAuthFilter(authenticator, userRoleDAO));
-    env.jersey().register(RequestHeaderCacheFilter.class);
+        new OAuthCustomAuthFilter(authenticator, userRoleCache));
+    final ClaimsCache claimsCache = injector.getProvider(ClaimsCache.class).get();
+    env.jersey().register(new RequestHeaderCacheFilter(claimsCache));
     env.jersey().register(new AuthDynamicFeature(new ChainedAuthFilter(filters)));
     env.jersey().register(RolesAllowedDynamicFeature.class);
     env.jersey().register(new AuthValueFactoryProvider.Binder<>(AuthUser.class));
@@ -263,6 +289,32 @@ public class ConsentApplication extends Application<ConsentConfiguration> {
     bootstrap.addBundle(new JdbiExceptionsBundle());
   }
 
+  /**
+   * Register upstream health checks so that they run on a background schedule, each with its own
+   * interval and timeout, and status requests serve the most recent result.
+   */
+  private void registerScheduledHealthChecks(Environment env, ServicesConfiguration config,
+      Map<String, HealthCheck> checks) {
+    ScheduledExecutorService scheduler = env.lifecycle()
+        .scheduledExecutorService("health-check-schedule-%d")
+        .threads(checks.size())
+        .build();
+    ExecutorService runner = env.lifecycle().executorService("health-check-%d")
+        .minThreads(checks.size())
+        .maxThreads(checks.size())
+        .build();
+    checks.forEach((name, check) -> {
+      Duration interval = Duration.ofSeconds(config.getHealthCheckIntervalOverrides()
+          .getOrDefault(name, config.getHealthCheckIntervalSeconds()));
+      Duration timeout = Duration.ofSeconds(config.getHealthCheckTimeoutOverrides()
+          .getOrDefault(name, config.getHealthCheckTimeoutSeconds()));
+      ScheduledHealthCheck scheduled = new ScheduledHealthCheck(name, check, interval, timeout,
+          scheduler, runner, env.metrics());
+      env.lifecycle().manage(scheduled);
+      env.healthChecks().register(name, scheduled);
+    });
+  }
+
   private void initializeLiquibase(ConsentConfiguration config)
       throws LiquibaseException, SQLException {
     // Disable Liquibase's System.out logging.
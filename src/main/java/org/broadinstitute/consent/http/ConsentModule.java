@@ -8,9 +8,14 @@ import io.dropwizard.core.Configuration;
 import io.dropwizard.core.setup.Environment;
 import io.dropwizard.jdbi3.JdbiFactory;
 import jakarta.ws.rs.client.Client;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.authentication.AuthUserCache;
 import org.broadinstitute.consent.http.authentication.OAuthAuthenticator;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.cloudstore.GCSService;
 import org.broadinstitute.consent.http.configurations.ConsentConfiguration;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
 import org.broadinstitute.consent.http.db.AcknowledgementDAO;
 import org.broadinstitute.consent.http.db.CounterDAO;
 import org.broadinstitute.consent.http.db.DAOContainer;
@@ -20,6 +25,8 @@ import org.broadinstitute.consent.http.db.DarCollectionDAO;
 import org.broadinstitute.consent.http.db.DarCollectionSummaryDAO;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
+import org.broadinstitute.consent.http.db.DatasetSearchDocumentDAO;
 import org.broadinstitute.consent.http.db.ElectionDAO;
 import org.broadinstitute.consent.http.db.FileStorageObjectDAO;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
@@ -33,18 +40,30 @@ import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.db.UserPropertyDAO;
 import org.broadinstitute.consent.http.db.UserRoleDAO;
 import org.broadinstitute.consent.http.db.VoteDAO;
+import org.broadinstitute.consent.http.db.mapper.ColumnPlanMapper;
+import org.broadinstitute.consent.http.enumeration.DatasetSearchBackendType;
+import org.broadinstitute.consent.http.filters.ClaimsCache;
 import org.broadinstitute.consent.http.mail.SendGridAPI;
 import org.broadinstitute.consent.http.mail.freemarker.FreeMarkerTemplateHelper;
 import org.broadinstitute.consent.http.service.AcknowledgementService;
 import org.broadinstitute.consent.http.service.CounterService;
+import org.broadinstitute.consent.http.service.CollaboratorVerifier;
 import org.broadinstitute.consent.http.service.DaaService;
 import org.broadinstitute.consent.http.service.DacService;
 import org.broadinstitute.consent.http.service.DarCollectionService;
 import org.broadinstitute.consent.http.service.DataAccessRequestService;
+import org.broadinstitute.consent.http.service.DataUseTranslationCache;
+import org.broadinstitute.consent.http.service.DatasetIndexOutboxWorker;
 import org.broadinstitute.consent.http.service.DatasetRegistrationService;
+import org.broadinstitute.consent.http.service.DatasetAutocompleteIndex;
+import org.broadinstitute.consent.http.service.DatasetSearchBackend;
+import org.broadinstitute.consent.http.service.DatasetSearchBackfill;
 import org.broadinstitute.consent.http.service.DatasetService;
+import org.broadinstitute.consent.http.service.DecisionMetricsSnapshot;
+import org.broadinstitute.consent.http.service.ElasticSearchBackend;
 import org.broadinstitute.consent.http.service.ElasticSearchService;
 import org.broadinstitute.consent.http.service.ElectionService;
+import org.broadinstitute.consent.http.service.EmailOutboxDispatcher;
 import org.broadinstitute.consent.http.service.EmailService;
 import org.broadinstitute.consent.http.service.FileStorageObjectService;
 import org.broadinstitute.consent.http.service.InstitutionService;
@@ -53,6 +72,7 @@ import org.broadinstitute.consent.http.service.MatchService;
 import org.broadinstitute.consent.http.service.MetricsService;
 import org.broadinstitute.consent.http.service.NihService;
 import org.broadinstitute.consent.http.service.OidcService;
+import org.broadinstitute.consent.http.service.PostgresSearchBackend;
 import org.broadinstitute.consent.http.service.OntologyService;
 import org.broadinstitute.consent.http.service.ResearcherService;
 import org.broadinstitute.consent.http.service.SupportRequestService;
@@ -69,7 +89,9 @@ import org.broadinstitute.consent.http.service.dao.UserServiceDAO;
 import org.broadinstitute.consent.http.service.dao.VoteServiceDAO;
 import org.broadinstitute.consent.http.service.ontology.ElasticSearchSupport;
 import org.broadinstitute.consent.http.service.sam.SamService;
+import org.broadinstitute.consent.http.util.BackgroundTaskExecutor;
 import org.broadinstitute.consent.http.util.HttpClientUtil;
+import org.broadinstitute.consent.http.util.UpstreamMetrics;
 import org.broadinstitute.consent.http.util.gson.GsonUtil;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.gson2.Gson2Config;
@@ -105,6 +127,20 @@ public class ConsentModule extends AbstractModule {
   private final LibraryCardDAO libraryCardDAO;
   private final FileStorageObjectDAO fileStorageObjectDAO;
   private final AcknowledgementDAO acknowledgementDAO;
+  private final DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+  private final DatasetSearchDocumentDAO datasetSearchDocumentDAO;
+  private final AuthUserCache authUserCache;
+  private final ClaimsCache claimsCache;
+  private final UserRoleCache userRoleCache;
+  private final HttpClientUtil httpClientUtil;
+  private final BackgroundTaskExecutor backgroundTaskExecutor;
+  private final ExecutorService matchExecutor;
+  private final ExecutorService indexExecutor;
+  private final DataUseTranslationCache dataUseTranslationCache;
+  private final DecisionMetricsSnapshot decisionMetricsSnapshot;
+  private final DatasetAutocompleteIndex datasetAutocompleteIndex;
+  private final FreeMarkerTemplateHelper freeMarkerTemplateHelper;
+  private final CollaboratorVerifier collaboratorVerifier;
 
   public static final String DB_ENV = "postgresql";
 
@@ -120,6 +156,7 @@ public class ConsentModule extends AbstractModule {
     jdbi.installPlugin(new Gson2Plugin());
     jdbi.installPlugin(new GuavaPlugin());
     jdbi.getConfig().get(Gson2Config.class).setGson(GsonUtil.buildGson());
+    jdbi.registerRowMapper(new ColumnPlanMapper());
 
     this.counterDAO = this.jdbi.onDemand(CounterDAO.class);
     this.electionDAO = this.jdbi.onDemand(ElectionDAO.class);
@@ -140,6 +177,66 @@ public class ConsentModule extends AbstractModule {
     this.libraryCardDAO = this.jdbi.onDemand((LibraryCardDAO.class));
     this.fileStorageObjectDAO = this.jdbi.onDemand((FileStorageObjectDAO.class));
     this.acknowledgementDAO = this.jdbi.onDemand((AcknowledgementDAO.class));
+    this.datasetIndexOutboxDAO = this.jdbi.onDemand(DatasetIndexOutboxDAO.class);
+    this.datasetSearchDocumentDAO = this.jdbi.onDemand(DatasetSearchDocumentDAO.class);
+    this.authUserCache = new AuthUserCache(config.getServicesConfiguration(),
+        environment.metrics());
+    this.claimsCache = new ClaimsCache(config.getServicesConfiguration(), environment.metrics());
+    this.claimsCache.scheduleCleanUp(
+        environment.lifecycle().scheduledExecutorService("claims-cache-cleanup").build(),
+        1, TimeUnit.MINUTES);
+    this.userRoleCache = new UserRoleCache(userRoleDAO, config.getServicesConfiguration());
+    this.httpClientUtil = new HttpClientUtil(config.getServicesConfiguration(),
+        environment.metrics());
+    environment.lifecycle().manage(httpClientUtil);
+    this.backgroundTaskExecutor = new BackgroundTaskExecutor(config.getServicesConfiguration(),
+        environment.metrics());
+    environment.lifecycle().manage(backgroundTaskExecutor);
+    int matchParallelism = config.getServicesConfiguration().getMatchParallelism();
+    this.matchExecutor = environment.lifecycle().executorService("match-%d")
+        .minThreads(matchParallelism)
+        .maxThreads(matchParallelism)
+        .build();
+    int indexParallelism = config.getElasticSearchConfiguration().getIndexParallelism();
+    this.indexExecutor = environment.lifecycle().executorService("es-index-%d")
+        .minThreads(indexParallelism)
+        .maxThreads(indexParallelism)
+        .build();
+    this.dataUseTranslationCache = new DataUseTranslationCache(datasetDAO,
+        config.getServicesConfiguration(), environment.metrics());
+    environment.lifecycle().manage(dataUseTranslationCache);
+    this.datasetAutocompleteIndex = new DatasetAutocompleteIndex(datasetDAO,
+        config.getServicesConfiguration(),
+        environment.lifecycle().scheduledExecutorService("dataset-autocomplete").build(),
+        environment.metrics());
+    environment.lifecycle().manage(datasetAutocompleteIndex);
+    this.freeMarkerTemplateHelper = new FreeMarkerTemplateHelper(
+        config.getFreeMarkerConfiguration());
+    int outboxConcurrency = config.getMailConfiguration().getOutboxConcurrency();
+    EmailOutboxDispatcher emailOutboxDispatcher = new EmailOutboxDispatcher(mailMessageDAO,
+        providesSendGridAPI(), config.getMailConfiguration(),
+        environment.lifecycle().scheduledExecutorService("email-outbox").build(),
+        environment.lifecycle().executorService("email-outbox-send-%d")
+            .minThreads(outboxConcurrency)
+            .maxThreads(outboxConcurrency)
+            .build(),
+        environment.metrics());
+    environment.lifecycle().manage(emailOutboxDispatcher);
+    int verificationParallelism = config.getServicesConfiguration()
+        .getCollaboratorVerificationParallelism();
+    this.collaboratorVerifier = new CollaboratorVerifier(providesSamDAO(),
+        config.getServicesConfiguration(),
+        environment.lifecycle().executorService("collaborator-verification-%d")
+            .minThreads(verificationParallelism)
+            .maxThreads(verificationParallelism)
+            .build(),
+        environment.metrics());
+    // Built last, the metrics service depends on services that use the fields assigned above
+    this.decisionMetricsSnapshot = new DecisionMetricsSnapshot(providesMetricsService(),
+        dataAccessRequestDAO, config.getServicesConfiguration(),
+        environment.lifecycle().scheduledExecutorService("metrics-snapshot").build(),
+        environment.metrics());
+    environment.lifecycle().manage(decisionMetricsSnapshot);
   }
 
   @Override
@@ -178,7 +275,12 @@ public class ConsentModule extends AbstractModule {
 
   @Provides
   HttpClientUtil providesHttpClientUtil() {
-    return new HttpClientUtil(config.getServicesConfiguration());
+    return httpClientUtil;
+  }
+
+  @Provides
+  UpstreamMetrics providesUpstreamMetrics() {
+    return new UpstreamMetrics(environment.metrics());
   }
 
   @Provides
@@ -193,12 +295,29 @@ public class ConsentModule extends AbstractModule {
 
   @Provides
   OntologyService providesOntologyService() {
-    return new OntologyService(providesClient(), config.getServicesConfiguration());
+    return new OntologyService(providesClient(), config.getServicesConfiguration(),
+        providesUpstreamMetrics(), dataUseTranslationCache);
   }
 
   @Provides
   OAuthAuthenticator providesOAuthAuthenticator() {
-    return new OAuthAuthenticator(providesSamService());
+    return new OAuthAuthenticator(providesSamService(), providesClaimsCache(),
+        providesAuthUserCache());
+  }
+
+  @Provides
+  ClaimsCache providesClaimsCache() {
+    return claimsCache;
+  }
+
+  @Provides
+  UserRoleCache providesUserRoleCache() {
+    return userRoleCache;
+  }
+
+  @Provides
+  AuthUserCache providesAuthUserCache() {
+    return authUserCache;
   }
 
   @Provides
@@ -255,7 +374,13 @@ public class ConsentModule extends AbstractModule {
     return new DatasetServiceDAO(
         jdbi,
         providesDatasetDAO(),
-        providesStudyDAO());
+        providesStudyDAO(),
+        providesDatasetAutocompleteIndex());
+  }
+
+  @Provides
+  DatasetAutocompleteIndex providesDatasetAutocompleteIndex() {
+    return datasetAutocompleteIndex;
   }
 
   @Provides
@@ -268,7 +393,9 @@ public class ConsentModule extends AbstractModule {
         providesOntologyService(),
         providesStudyDAO(),
         providesDatasetServiceDAO(),
-        providesUserDAO());
+        providesUserDAO(),
+        providesDatasetIndexOutboxDAO(),
+        providesDatasetAutocompleteIndex());
   }
 
   @Provides
@@ -280,7 +407,7 @@ public class ConsentModule extends AbstractModule {
 
   @Provides
   FreeMarkerTemplateHelper providesFreeMarkerTemplateHelper() {
-    return new FreeMarkerTemplateHelper(config.getFreeMarkerConfiguration());
+    return freeMarkerTemplateHelper;
   }
 
   @Provides
@@ -427,13 +554,24 @@ public class ConsentModule extends AbstractModule {
         providesDataAccessRequestDAO(),
         providesVoteService(),
         providesDaaService(),
-        providesDacServiceDAO());
+        providesDacServiceDAO(),
+        providesUserRoleCache(),
+        providesDatasetIndexOutboxDAO());
+  }
+
+  @Provides
+  DatasetSearchBackend providesDatasetSearchBackend() {
+    ElasticSearchConfiguration esConfig = config.getElasticSearchConfiguration();
+    if (esConfig.getSearchBackend() == DatasetSearchBackendType.POSTGRES) {
+      return new PostgresSearchBackend(jdbi, providesDatasetSearchDocumentDAO());
+    }
+    return new ElasticSearchBackend(ElasticSearchSupport.createRestClient(esConfig), esConfig);
   }
 
   @Provides
   ElasticSearchService providesElasticSearchService() {
     return new ElasticSearchService(
-        ElasticSearchSupport.createRestClient(config.getElasticSearchConfiguration()),
+        providesDatasetSearchBackend(),
         config.getElasticSearchConfiguration(),
         providesDacDAO(),
         providesDataAccessRequestDAO(),
@@ -441,7 +579,9 @@ public class ConsentModule extends AbstractModule {
         providesOntologyService(),
         providesInstitutionDAO(),
         providesDatasetDAO(),
-        providesStudyDAO()
+        providesStudyDAO(),
+        indexExecutor,
+        environment.metrics()
     );
   }
 
@@ -463,7 +603,9 @@ public class ConsentModule extends AbstractModule {
         providesMatchDAO(),
         providesDataAccessRequestDAO(),
         providesDatasetDAO(),
-        providesUseRestrictionConverter());
+        providesUseRestrictionConverter(),
+        providesUpstreamMetrics(),
+        matchExecutor);
   }
 
   @Provides
@@ -513,6 +655,42 @@ public class ConsentModule extends AbstractModule {
     return acknowledgementDAO;
   }
 
+  @Provides
+  DatasetIndexOutboxDAO providesDatasetIndexOutboxDAO() {
+    return datasetIndexOutboxDAO;
+  }
+
+  @Provides
+  DatasetSearchDocumentDAO providesDatasetSearchDocumentDAO() {
+    return datasetSearchDocumentDAO;
+  }
+
+  @Provides
+  DatasetIndexOutboxWorker providesDatasetIndexOutboxWorker() {
+    return new DatasetIndexOutboxWorker(
+        providesDatasetIndexOutboxDAO(),
+        providesDatasetDAO(),
+        providesElasticSearchService(),
+        config.getElasticSearchConfiguration(),
+        environment.lifecycle().scheduledExecutorService("es-index-outbox").build(),
+        environment.metrics());
+  }
+
+  @Provides
+  DatasetSearchBackfill providesDatasetSearchBackfill() {
+    return new DatasetSearchBackfill(
+        providesDatasetSearchDocumentDAO(),
+        providesDatasetDAO(),
+        providesElasticSearchService(),
+        config.getElasticSearchConfiguration(),
+        environment.lifecycle().executorService("dataset-search-backfill-%d").build());
+  }
+
+  @Provides
+  DecisionMetricsSnapshot providesDecisionMetricsSnapshot() {
+    return decisionMetricsSnapshot;
+  }
+
   @Provides
   InstitutionService providesInstitutionService() {
     return new InstitutionService(providesInstitutionDAO(), providesUserDAO());
@@ -569,7 +747,9 @@ public class ConsentModule extends AbstractModule {
         providesSamDAO(),
         providesUserServiceDAO(),
         providesDaaDAO(),
-        providesEmailService());
+        providesEmailService(),
+        providesUserRoleCache(),
+        providesDatasetIndexOutboxDAO());
   }
 
   @Provides
@@ -600,7 +780,18 @@ public class ConsentModule extends AbstractModule {
 
   @Provides
   SamDAO providesSamDAO() {
-    return new SamDAO(providesHttpClientUtil(), config.getServicesConfiguration());
+    return new SamDAO(providesHttpClientUtil(), config.getServicesConfiguration(),
+        providesAuthUserCache(), providesBackgroundTaskExecutor());
+  }
+
+  @Provides
+  BackgroundTaskExecutor providesBackgroundTaskExecutor() {
+    return backgroundTaskExecutor;
+  }
+
+  @Provides
+  CollaboratorVerifier providesCollaboratorVerifier() {
+    return collaboratorVerifier;
   }
 
   @Provides
@@ -616,6 +807,6 @@ public class ConsentModule extends AbstractModule {
   @Provides
   SupportRequestService providesSupportRequestService() {
     return new SupportRequestService(config.getServicesConfiguration(), providesInstitutionDAO(),
-        providesUserDAO());
+        providesUserDAO(), providesHttpClientUtil());
   }
 }
@@ -0,0 +1,117 @@
+package org.broadinstitute.consent.http.authentication;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.models.AuthUser;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Bounded, short-lived cache of fully resolved AuthUsers (including Sam UserStatusInfo) keyed by a
+ * SHA-256 hash of the bearer token. This prevents every authenticated request from making a
+ * synchronous call to Sam. Concurrent requests for the same token share a single load. Only users
+ * that were successfully resolved in Sam are cached so that registration failures are retried on
+ * the next request.
+ */
+public class AuthUserCache implements ConsentLogger {
+
+  private final Cache<String, AuthUser> cache;
+  private final ConcurrentMap<String, CompletableFuture<AuthUser>> inFlight = new ConcurrentHashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+  private final Timer loadTimer;
+
+  public AuthUserCache(ServicesConfiguration configuration, MetricRegistry metricRegistry) {
+    this.cache = CacheBuilder
+        .newBuilder()
+        .maximumSize(configuration.getAuthUserCacheMaxSize())
+        .expireAfterWrite(configuration.getAuthUserCacheExpireSeconds(), TimeUnit.SECONDS)
+        .build();
+    this.hits = metricRegistry.counter(MetricRegistry.name(AuthUserCache.class, "hits"));
+    this.misses = metricRegistry.counter(MetricRegistry.name(AuthUserCache.class, "misses"));
+    this.loadTimer = metricRegistry.timer(MetricRegistry.name(AuthUserCache.class, "load"));
+    metricRegistry.gauge(MetricRegistry.name(AuthUserCache.class, "size"),
+        () -> (Gauge<Long>) cache::size);
+  }
+
+  /**
+   * Find the cached AuthUser for the bearer token, or resolve it with the provided loader. If
+   * another request is already resolving the same token, wait for that result instead of issuing
+   * a duplicate load.
+   *
+   * @param bearer The bearer token
+   * @param loader Resolves the AuthUser when it is not cached
+   * @return The AuthUser, possibly null if the loader returned null
+   */
+  public AuthUser get(String bearer, Supplier<AuthUser> loader) {
+    String key = hash(bearer);
+    AuthUser cached = cache.getIfPresent(key);
+    if (Objects.nonNull(cached)) {
+      hits.inc();
+      return cached;
+    }
+    misses.inc();
+    CompletableFuture<AuthUser> future = new CompletableFuture<>();
+    CompletableFuture<AuthUser> existing = inFlight.putIfAbsent(key, future);
+    if (Objects.nonNull(existing)) {
+      try {
+        return existing.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException re ? re : e;
+      }
+    }
+    try (Timer.Context ignored = loadTimer.time()) {
+      AuthUser user = loader.get();
+      if (Objects.nonNull(user) && Objects.nonNull(user.getUserStatusInfo())) {
+        cache.put(key, user);
+      }
+      future.complete(user);
+      return user;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Remove any cached entries for the user. Entries are removed both by the user's token and by
+   * email since a user may be authenticated with more than one token at a time.
+   *
+   * @param authUser The AuthUser
+   */
+  public void invalidate(AuthUser authUser) {
+    if (Objects.isNull(authUser)) {
+      return;
+    }
+    if (Objects.nonNull(authUser.getAuthToken())) {
+      cache.invalidate(hash(authUser.getAuthToken()));
+    }
+    if (Objects.nonNull(authUser.getEmail())) {
+      cache.asMap().values().removeIf(u -> authUser.getEmail().equalsIgnoreCase(u.getEmail()));
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private String hash(String bearer) {
+    return Hashing.sha256().hashString(bearer, StandardCharsets.UTF_8).toString();
+  }
+
+}
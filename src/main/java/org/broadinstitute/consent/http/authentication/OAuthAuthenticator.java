@@ -20,20 +20,23 @@ public class OAuthAuthenticator implements Authenticator<String, AuthUser>, Cons
 
   private final SamService samService;
   private final ClaimsCache claimsCache;
+  private final AuthUserCache authUserCache;
 
   @Inject
-  public OAuthAuthenticator(SamService samService) {
+  public OAuthAuthenticator(SamService samService, ClaimsCache claimsCache,
+      AuthUserCache authUserCache) {
     this.samService = samService;
-    this.claimsCache = ClaimsCache.getInstance();
+    this.claimsCache = claimsCache;
+    this.authUserCache = authUserCache;
   }
 
   @Override
   public Optional<AuthUser> authenticate(String bearer) {
     try {
-      var headers = claimsCache.cache.getIfPresent(bearer);
+      var headers = claimsCache.getIfPresent(bearer);
       if (headers != null) {
         AuthUser user = buildAuthUserFromHeaders(headers);
-        AuthUser userWithStatus = getUserWithStatusInfo(user);
+        AuthUser userWithStatus = authUserCache.get(bearer, () -> getUserWithStatusInfo(user));
         if (userWithStatus == null) {
           logWarn("User with status is null, authentication incomplete");
           return Optional.of(user);
@@ -5,17 +5,16 @@ import io.dropwizard.auth.oauth.OAuthCredentialAuthFilter;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import java.io.IOException;
 import java.security.Principal;
-import org.broadinstitute.consent.http.db.UserRoleDAO;
 import org.broadinstitute.consent.http.models.AuthUser;
 
 public class OAuthCustomAuthFilter<P extends Principal> extends AuthFilter<String, P> {
 
   private AuthFilter filter;
 
-  public OAuthCustomAuthFilter(OAuthAuthenticator authenticator, UserRoleDAO userRoleDAO) {
+  public OAuthCustomAuthFilter(OAuthAuthenticator authenticator, UserRoleCache userRoleCache) {
     filter = new OAuthCredentialAuthFilter.Builder<AuthUser>()
         .setAuthenticator(authenticator)
-        .setAuthorizer(new UserAuthorizer(userRoleDAO))
+        .setAuthorizer(new UserAuthorizer(userRoleCache))
         .setPrefix("Bearer")
         .setRealm("OAUTH-AUTH")
         .buildAuthFilter();
@@ -2,35 +2,49 @@ package org.broadinstitute.consent.http.authentication;
 
 import io.dropwizard.auth.Authorizer;
 import jakarta.ws.rs.container.ContainerRequestContext;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-import org.apache.commons.collections4.CollectionUtils;
+import java.util.Objects;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
-import org.broadinstitute.consent.http.db.UserRoleDAO;
+import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.AuthUser;
 
 public class UserAuthorizer implements Authorizer<AuthUser> {
 
-  private UserRoleDAO userRoleDAO;
+  /**
+   * Request property used to memoize the authenticated user's roles so that endpoints allowing
+   * several roles only resolve them once per request.
+   */
+  static final String USER_ROLES_PROPERTY = UserAuthorizer.class.getName() + ".userRoles";
 
-  UserAuthorizer(UserRoleDAO userRoleDAO) {
-    this.userRoleDAO = userRoleDAO;
+  private final UserRoleCache userRoleCache;
+
+  UserAuthorizer(UserRoleCache userRoleCache) {
+    this.userRoleCache = userRoleCache;
   }
 
   @Override
   public boolean authorize(AuthUser user, String role, ContainerRequestContext context) {
-    boolean authorize = false;
-    if (StringUtils.isNotEmpty(role)) {
-      List<String> roles = userRoleDAO.findRoleNamesByUserEmail(user.getEmail());
-      List<String> existentRole = roles.stream()
-          .filter(r -> r.equalsIgnoreCase(role))
-          .collect(Collectors.toCollection(ArrayList::new));
-      if (CollectionUtils.isNotEmpty(existentRole)) {
-        authorize = true;
-      }
+    if (StringUtils.isEmpty(role)) {
+      return false;
+    }
+    UserRoles userRole = UserRoles.getUserRoleFromName(role);
+    if (Objects.isNull(userRole)) {
+      return false;
+    }
+    return findUserRoles(user, context).contains(userRole);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<UserRoles> findUserRoles(AuthUser user, ContainerRequestContext context) {
+    if (Objects.nonNull(context)
+        && context.getProperty(USER_ROLES_PROPERTY) instanceof Set<?> memo) {
+      return (Set<UserRoles>) memo;
+    }
+    Set<UserRoles> roles = userRoleCache.findRolesByUserEmail(user.getEmail());
+    if (Objects.nonNull(context)) {
+      context.setProperty(USER_ROLES_PROPERTY, roles);
     }
-    return authorize;
+    return roles;
   }
 
 }
@@ -0,0 +1,74 @@
+package org.broadinstitute.consent.http.authentication;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.UserRoleDAO;
+import org.broadinstitute.consent.http.enumeration.UserRoles;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Short-lived cache of a user's roles keyed by lower-cased email. Roles are resolved into an
+ * EnumSet so that role checks are simple set lookups. Any code path that modifies a user's roles
+ * must invalidate the cache.
+ */
+public class UserRoleCache implements ConsentLogger {
+
+  private final UserRoleDAO userRoleDAO;
+  private final Cache<String, Set<UserRoles>> cache;
+
+  public UserRoleCache(UserRoleDAO userRoleDAO, ServicesConfiguration configuration) {
+    this.userRoleDAO = userRoleDAO;
+    this.cache = CacheBuilder
+        .newBuilder()
+        .maximumSize(configuration.getAuthUserCacheMaxSize())
+        .expireAfterWrite(configuration.getUserRoleCacheExpireSeconds(), TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Find the roles for a user by email.
+   *
+   * @param email The user's email
+   * @return Unmodifiable set of the user's roles
+   */
+  public Set<UserRoles> findRolesByUserEmail(String email) {
+    if (Objects.isNull(email)) {
+      return loadRoles(null);
+    }
+    try {
+      return cache.get(email.toLowerCase(), () -> loadRoles(email));
+    } catch (ExecutionException e) {
+      logWarn("Unable to load cached roles for user: " + email, e);
+      return loadRoles(email);
+    }
+  }
+
+  public void invalidate(String email) {
+    if (Objects.nonNull(email)) {
+      cache.invalidate(email.toLowerCase());
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private Set<UserRoles> loadRoles(String email) {
+    EnumSet<UserRoles> roles = EnumSet.noneOf(UserRoles.class);
+    userRoleDAO.findRoleNamesByUserEmail(email).forEach(name -> {
+      UserRoles role = UserRoles.getUserRoleFromName(name);
+      if (Objects.nonNull(role)) {
+        roles.add(role);
+      }
+    });
+    return Collections.unmodifiableSet(roles);
+  }
+
+}
@@ -1,6 +1,7 @@
 package org.broadinstitute.consent.http.cloudstore;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -10,21 +11,28 @@ import com.google.cloud.storage.StorageOptions;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
-import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import org.apache.commons.io.IOUtils;
 import org.broadinstitute.consent.http.configurations.StoreConfiguration;
 import org.broadinstitute.consent.http.util.ConsentLogger;
 
 public class GCSService implements ConsentLogger {
 
+  /**
+   * Size of the chunks documents are uploaded and downloaded in. Documents are streamed through
+   * buffers of this size rather than held in memory. Resumable uploads require a multiple of
+   * 256 KiB.
+   */
+  static final int TRANSFER_CHUNK_SIZE = 2 * 1024 * 1024;
+
   private StoreConfiguration config;
   private Storage storage;
 
@@ -70,7 +78,8 @@ public class GCSService implements ConsentLogger {
   }
 
   /**
-   * Store an input stream as a Blob
+   * Store an input stream as a Blob. The content is uploaded in chunks of
+   * {@link #TRANSFER_CHUNK_SIZE} as it is read.
    *
    * @param content   InputStream content
    * @param mediaType String media type
@@ -80,10 +89,9 @@ public class GCSService implements ConsentLogger {
    */
   public BlobId storeDocument(InputStream content, String mediaType, UUID id)
       throws IOException {
-    byte[] bytes = IOUtils.toByteArray(content);
     BlobId blobId = BlobId.of(config.getBucket(), id.toString());
     BlobInfo blobInfo = BlobInfo.newBuilder(blobId).setContentType(mediaType).build();
-    Blob blob = storage.create(blobInfo, bytes);
+    Blob blob = storage.createFrom(blobInfo, content, TRANSFER_CHUNK_SIZE);
     return blob.getBlobId();
   }
 
@@ -102,25 +110,35 @@ public class GCSService implements ConsentLogger {
   }
 
   /**
-   * Retrieve a document by Blob Id Name
+   * Retrieve a document by Blob Id Name. The document content is streamed from storage as the
+   * returned stream is read.
    *
    * @param blobIdName String value of the document blob id name
    * @return InputStream of the document
    * @throws NotFoundException Returned when no document found
    */
   public InputStream getDocument(String blobIdName) throws NotFoundException {
-    Optional<Blob> blobOptional = getBlobFromUrl(blobIdName);
-    if (blobOptional.isPresent()) {
-      return new ByteArrayInputStream(blobOptional.get().getContent());
-    } else {
-      throw new NotFoundException("Document Not Found: " + blobIdName);
-    }
+    Blob blob = getDocumentBlob(blobIdName);
+    return openStream(blob, 0, blob.getSize());
+  }
+
+  /**
+   * Retrieve the metadata of a document by Blob Id Name without reading its content.
+   *
+   * @param blobIdName String value of the document blob id name
+   * @return Blob of the document
+   * @throws NotFoundException Returned when no document found
+   */
+  public Blob getDocumentBlob(String blobIdName) throws NotFoundException {
+    return getBlobFromUrl(blobIdName)
+        .orElseThrow(() -> new NotFoundException("Document Not Found: " + blobIdName));
   }
 
   public InputStream getDocument(BlobId blobId) throws NotFoundException {
     Optional<Blob> blobOptional = getBlobFromBlobId(blobId);
     if (blobOptional.isPresent()) {
-      return new ByteArrayInputStream(blobOptional.get().getContent());
+      Blob blob = blobOptional.get();
+      return openStream(blob, 0, blob.getSize());
     } else {
       throw new NotFoundException("Document Not Found: " + blobId.toString());
     }
@@ -131,13 +149,38 @@ public class GCSService implements ConsentLogger {
     if (blobOptional.isPresent()) {
       List<Blob> blobs = blobOptional.get();
       Map<BlobId, InputStream> output = new HashMap<>();
-      blobs.forEach((b) -> output.put(b.getBlobId(), new ByteArrayInputStream(b.getContent())));
+      blobs.forEach((b) -> output.put(b.getBlobId(), openStream(b, 0, b.getSize())));
       return output;
     } else {
       throw new NotFoundException("Document Not Found: " + blobIds.toString());
     }
   }
 
+  /**
+   * Open a stream over a range of a document's content. Nothing is read until the stream is read,
+   * and content is then fetched in chunks of {@link #TRANSFER_CHUNK_SIZE}. The blob carries its
+   * own storage client, so no service state is needed.
+   *
+   * @param blob   The document
+   * @param offset Offset of the first byte to read
+   * @param length Number of bytes to read
+   * @return InputStream of the range
+   */
+  public static InputStream openStream(Blob blob, long offset, long length) {
+    ReadChannel reader = blob.reader();
+    reader.setChunkSize(TRANSFER_CHUNK_SIZE);
+    try {
+      if (offset > 0) {
+        reader.seek(offset);
+      }
+      reader.limit(offset + length);
+    } catch (IOException e) {
+      reader.close();
+      throw new UncheckedIOException(e);
+    }
+    return Channels.newInputStream(reader);
+  }
+
   /**
    * Find a blob in the current storage bucket.
    *
@@ -146,7 +189,7 @@ public class GCSService implements ConsentLogger {
    */
   private Optional<Blob> getBlobFromUrl(String blobIdName) {
     Blob blob = storage.get(BlobId.of(config.getBucket(), blobIdName));
-    return Optional.of(blob);
+    return Optional.ofNullable(blob);
   }
 
   /**
@@ -157,7 +200,7 @@ public class GCSService implements ConsentLogger {
    */
   private Optional<Blob> getBlobFromBlobId(BlobId blobId) {
     Blob blob = storage.get(blobId);
-    return Optional.of(blob);
+    return Optional.ofNullable(blob);
   }
 
   private Optional<List<Blob>> getBlobsFromBlobIds(List<BlobId> blobIds) {
@@ -3,6 +3,7 @@ package org.broadinstitute.consent.http.configurations;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
+import org.broadinstitute.consent.http.enumeration.DatasetSearchBackendType;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ElasticSearchConfiguration {
@@ -21,6 +22,47 @@ public class ElasticSearchConfiguration {
    */
   private int port = 9200;
 
+  /**
+   * The number of datasets loaded from the database per page when reindexing
+   */
+  private int indexPageSize = 250;
+
+  /**
+   * The maximum number of documents sent in a single bulk request
+   */
+  private int bulkMaxDocuments = 500;
+
+  /**
+   * The maximum size in bytes of a single bulk request
+   */
+  private int bulkMaxBytes = 5 * 1024 * 1024;
+
+  /**
+   * The number of threads used to build dataset documents when reindexing
+   */
+  private int indexParallelism = 4;
+
+  /**
+   * Whether datasets recorded in the index outbox are reindexed in the background
+   */
+  private boolean outboxEnabled = true;
+
+  /**
+   * The number of seconds between drains of the index outbox
+   */
+  private int outboxPollSeconds = 5;
+
+  /**
+   * The maximum number of outbox datasets reindexed in a single bulk request
+   */
+  private int outboxBatchSize = 100;
+
+  /**
+   * The backend that stores and searches dataset documents. The Postgres backend indexes every
+   * dataset in the background when it starts with no documents.
+   */
+  private DatasetSearchBackendType searchBackend = DatasetSearchBackendType.ELASTICSEARCH;
+
   public List<String> getServers() {
     return servers;
   }
@@ -52,4 +94,68 @@ public class ElasticSearchConfiguration {
   public void setDatasetIndexName(String datasetIndexName) {
     this.datasetIndexName = datasetIndexName;
   }
+
+  public int getIndexPageSize() {
+    return indexPageSize;
+  }
+
+  public void setIndexPageSize(int indexPageSize) {
+    this.indexPageSize = indexPageSize;
+  }
+
+  public int getBulkMaxDocuments() {
+    return bulkMaxDocuments;
+  }
+
+  public void setBulkMaxDocuments(int bulkMaxDocuments) {
+    this.bulkMaxDocuments = bulkMaxDocuments;
+  }
+
+  public int getBulkMaxBytes() {
+    return bulkMaxBytes;
+  }
+
+  public void setBulkMaxBytes(int bulkMaxBytes) {
+    this.bulkMaxBytes = bulkMaxBytes;
+  }
+
+  public int getIndexParallelism() {
+    return indexParallelism;
+  }
+
+  public void setIndexParallelism(int indexParallelism) {
+    this.indexParallelism = indexParallelism;
+  }
+
+  public boolean isOutboxEnabled() {
+    return outboxEnabled;
+  }
+
+  public void setOutboxEnabled(boolean outboxEnabled) {
+    this.outboxEnabled = outboxEnabled;
+  }
+
+  public int getOutboxPollSeconds() {
+    return outboxPollSeconds;
+  }
+
+  public void setOutboxPollSeconds(int outboxPollSeconds) {
+    this.outboxPollSeconds = outboxPollSeconds;
+  }
+
+  public int getOutboxBatchSize() {
+    return outboxBatchSize;
+  }
+
+  public void setOutboxBatchSize(int outboxBatchSize) {
+    this.outboxBatchSize = outboxBatchSize;
+  }
+
+  public DatasetSearchBackendType getSearchBackend() {
+    return searchBackend;
+  }
+
+  public void setSearchBackend(DatasetSearchBackendType searchBackend) {
+    this.searchBackend = searchBackend;
+  }
 }
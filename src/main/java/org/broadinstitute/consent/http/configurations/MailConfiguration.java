@@ -18,6 +18,36 @@ public class MailConfiguration {
   @NotNull
   private String sendGridStatusUrl;
 
+  /**
+   * Whether queued emails are sent from the outbox in the background
+   */
+  private boolean outboxEnabled = true;
+
+  /**
+   * The number of seconds between drains of the email outbox
+   */
+  private int outboxPollSeconds = 5;
+
+  /**
+   * The maximum number of outbox emails claimed in a single drain batch
+   */
+  private int outboxBatchSize = 100;
+
+  /**
+   * The maximum number of concurrent requests to SendGrid
+   */
+  private int outboxConcurrency = 4;
+
+  /**
+   * The maximum number of requests per second made to SendGrid
+   */
+  private double outboxSendsPerSecond = 10;
+
+  /**
+   * The number of attempts made to send an email before it is recorded as failed
+   */
+  private int outboxMaxAttempts = 5;
+
   public boolean isActivateEmailNotifications() {
     return activateEmailNotifications;
   }
@@ -49,4 +79,52 @@ public class MailConfiguration {
   public void setSendGridStatusUrl(String sendGridStatusUrl) {
     this.sendGridStatusUrl = sendGridStatusUrl;
   }
+
+  public boolean isOutboxEnabled() {
+    return outboxEnabled;
+  }
+
+  public void setOutboxEnabled(boolean outboxEnabled) {
+    this.outboxEnabled = outboxEnabled;
+  }
+
+  public int getOutboxPollSeconds() {
+    return outboxPollSeconds;
+  }
+
+  public void setOutboxPollSeconds(int outboxPollSeconds) {
+    this.outboxPollSeconds = outboxPollSeconds;
+  }
+
+  public int getOutboxBatchSize() {
+    return outboxBatchSize;
+  }
+
+  public void setOutboxBatchSize(int outboxBatchSize) {
+    this.outboxBatchSize = outboxBatchSize;
+  }
+
+  public int getOutboxConcurrency() {
+    return outboxConcurrency;
+  }
+
+  public void setOutboxConcurrency(int outboxConcurrency) {
+    this.outboxConcurrency = outboxConcurrency;
+  }
+
+  public double getOutboxSendsPerSecond() {
+    return outboxSendsPerSecond;
+  }
+
+  public void setOutboxSendsPerSecond(double outboxSendsPerSecond) {
+    this.outboxSendsPerSecond = outboxSendsPerSecond;
+  }
+
+  public int getOutboxMaxAttempts() {
+    return outboxMaxAttempts;
+  }
+
+  public void setOutboxMaxAttempts(int outboxMaxAttempts) {
+    this.outboxMaxAttempts = outboxMaxAttempts;
+  }
 }
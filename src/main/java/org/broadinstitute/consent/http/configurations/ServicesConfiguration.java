@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotNull;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ServicesConfiguration {
@@ -35,10 +37,28 @@ public class ServicesConfiguration {
   private Integer timeoutSeconds = 10;
 
   /**
-   * This represents the thread pool size for making external status checks. This can be overridden
-   * in local configs.
+   * This represents the thread pool size of the shared scheduler that enforces timeouts on external
+   * requests. This can be overridden in local configs.
    */
-  private Integer poolSize = 10;
+  private Integer poolSize = 2;
+
+  /**
+   * This represents the maximum number of pooled connections per upstream host. This can be
+   * overridden in local configs.
+   */
+  private Integer maxConnectionsPerRoute = 20;
+
+  /**
+   * This represents the maximum number of pooled connections across all upstream hosts. This can
+   * be overridden in local configs.
+   */
+  private Integer maxConnectionsTotal = 100;
+
+  /**
+   * This represents how long an idle pooled connection is kept alive for reuse. This can be
+   * overridden in local configs.
+   */
+  private Integer keepAliveSeconds = 30;
 
   /**
    * This represents the time we maintain a cache of the response of an external status check. In
@@ -49,6 +69,144 @@ public class ServicesConfiguration {
    */
   private Integer cacheExpireMinutes = 1;
 
+  /**
+   * This represents the time we maintain a cache of authenticated users and their Sam registration
+   * status. Every authenticated request would otherwise require a call to Sam. This can be
+   * overridden in local configs.
+   */
+  private Integer authUserCacheExpireSeconds = 60;
+
+  /**
+   * This represents the maximum number of authenticated users held in the auth user cache. This can
+   * be overridden in local configs.
+   */
+  private Integer authUserCacheMaxSize = 10000;
+
+  /**
+   * This represents the maximum number of bearer tokens for which we cache OAuth2 claim headers.
+   * This can be overridden in local configs.
+   */
+  private Integer claimsCacheMaxSize = 10000;
+
+  /**
+   * This represents the time we maintain a cache of user roles used for authorization checks. Role
+   * changes made through the API invalidate the cache immediately. This can be overridden in local
+   * configs.
+   */
+  private Integer userRoleCacheExpireSeconds = 30;
+
+  /**
+   * This represents the maximum number of concurrent requests to the ontology matching service.
+   * This can be overridden in local configs.
+   */
+  private Integer matchParallelism = 8;
+
+  /**
+   * This represents the max time we'll wait for all datasets in a data access request to be
+   * matched. Datasets that are not matched in time are recorded as failed matches. This can be
+   * overridden in local configs.
+   */
+  private Integer matchDeadlineSeconds = 180;
+
+  /**
+   * This represents the maximum number of distinct data use translations held in the Ontology
+   * translation cache. This can be overridden in local configs.
+   */
+  private Integer ontologyCacheMaxSize = 1000;
+
+  /**
+   * This represents the time we maintain a cache of Ontology data use translations. Translations
+   * only change when Ontology's translation logic changes. This can be overridden in local configs.
+   */
+  private Integer ontologyCacheExpireMinutes = 60;
+
+  /**
+   * This represents whether the Ontology translation cache is populated from stored dataset
+   * translations on startup. This can be overridden in local configs.
+   */
+  private boolean ontologyCacheWarmUp = false;
+
+  /**
+   * This represents how often DARs with new election, vote or match activity are recomputed in the
+   * decision metrics snapshot. This can be overridden in local configs.
+   */
+  private Integer metricsSnapshotRefreshSeconds = 60;
+
+  /**
+   * This represents how often the decision metrics snapshot is fully rebuilt to pick up changes
+   * that are not tracked incrementally, such as DAC or dataset edits. This can be overridden in
+   * local configs.
+   */
+  private Integer metricsSnapshotRebuildMinutes = 360;
+
+  /**
+   * This represents the number of threads that run background calls to upstream services, such as
+   * registering new users in Sam. This can be overridden in local configs.
+   */
+  private Integer backgroundTaskParallelism = 4;
+
+  /**
+   * This represents the maximum number of background calls to upstream services waiting to run.
+   * Calls beyond this limit are rejected. This can be overridden in local configs.
+   */
+  private Integer backgroundTaskQueueCapacity = 1000;
+
+  /**
+   * This represents how often upstream health checks run in the background. Status requests serve
+   * the most recent result. Individual checks can be overridden by name in
+   * healthCheckIntervalOverrides. This can be overridden in local configs.
+   */
+  private Integer healthCheckIntervalSeconds = 30;
+
+  private Map<String, Integer> healthCheckIntervalOverrides = new HashMap<>();
+
+  /**
+   * This represents the max time a single upstream health check may run before the dependency is
+   * reported unhealthy. Individual checks can be overridden by name in healthCheckTimeoutOverrides.
+   * This can be overridden in local configs.
+   */
+  private Integer healthCheckTimeoutSeconds = 10;
+
+  private Map<String, Integer> healthCheckTimeoutOverrides = new HashMap<>();
+
+  /**
+   * This represents the maximum number of concurrent Sam requests made to verify lab collaborators
+   * of approved DARs. This can be overridden in local configs.
+   */
+  private Integer collaboratorVerificationParallelism = 8;
+
+  /**
+   * This represents the max time we'll wait for lab collaborators to be verified in Sam.
+   * Collaborators that are not verified in time are left out of approved user lists. This can be
+   * overridden in local configs.
+   */
+  private Integer collaboratorVerificationDeadlineSeconds = 10;
+
+  /**
+   * This represents the time we cache lab collaborators that are verified Sam users. This can be
+   * overridden in local configs.
+   */
+  private Integer collaboratorVerifiedCacheMinutes = 720;
+
+  /**
+   * This represents the time we cache lab collaborators that are not Sam users, so that new Sam
+   * users are picked up quickly. This can be overridden in local configs.
+   */
+  private Integer collaboratorUnverifiedCacheMinutes = 5;
+
+  /**
+   * This represents the maximum number of datasets returned by a dataset autocomplete search. This
+   * can be overridden in local configs.
+   */
+  private Integer datasetAutocompleteResultLimit = 20;
+
+  /**
+   * This represents how often the dataset autocomplete index is fully rebuilt to pick up changes
+   * made by other instances or outside of dataset registration and approval. This can be
+   * overridden in local configs.
+   */
+  private Integer datasetAutocompleteRebuildMinutes = 15;
+
   private boolean activateSupportNotifications = false;
 
 
@@ -145,6 +303,30 @@ public class ServicesConfiguration {
     this.poolSize = poolSize;
   }
 
+  public Integer getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+  }
+
+  public Integer getMaxConnectionsTotal() {
+    return maxConnectionsTotal;
+  }
+
+  public void setMaxConnectionsTotal(Integer maxConnectionsTotal) {
+    this.maxConnectionsTotal = maxConnectionsTotal;
+  }
+
+  public Integer getKeepAliveSeconds() {
+    return keepAliveSeconds;
+  }
+
+  public void setKeepAliveSeconds(Integer keepAliveSeconds) {
+    this.keepAliveSeconds = keepAliveSeconds;
+  }
+
   public Integer getCacheExpireMinutes() {
     return cacheExpireMinutes;
   }
@@ -152,4 +334,188 @@ public class ServicesConfiguration {
   public void setCacheExpireMinutes(Integer cacheExpireMinutes) {
     this.cacheExpireMinutes = cacheExpireMinutes;
   }
+
+  public Integer getAuthUserCacheExpireSeconds() {
+    return authUserCacheExpireSeconds;
+  }
+
+  public void setAuthUserCacheExpireSeconds(Integer authUserCacheExpireSeconds) {
+    this.authUserCacheExpireSeconds = authUserCacheExpireSeconds;
+  }
+
+  public Integer getAuthUserCacheMaxSize() {
+    return authUserCacheMaxSize;
+  }
+
+  public void setAuthUserCacheMaxSize(Integer authUserCacheMaxSize) {
+    this.authUserCacheMaxSize = authUserCacheMaxSize;
+  }
+
+  public Integer getClaimsCacheMaxSize() {
+    return claimsCacheMaxSize;
+  }
+
+  public void setClaimsCacheMaxSize(Integer claimsCacheMaxSize) {
+    this.claimsCacheMaxSize = claimsCacheMaxSize;
+  }
+
+  public Integer getUserRoleCacheExpireSeconds() {
+    return userRoleCacheExpireSeconds;
+  }
+
+  public void setUserRoleCacheExpireSeconds(Integer userRoleCacheExpireSeconds) {
+    this.userRoleCacheExpireSeconds = userRoleCacheExpireSeconds;
+  }
+
+  public Integer getMatchParallelism() {
+    return matchParallelism;
+  }
+
+  public void setMatchParallelism(Integer matchParallelism) {
+    this.matchParallelism = matchParallelism;
+  }
+
+  public Integer getMatchDeadlineSeconds() {
+    return matchDeadlineSeconds;
+  }
+
+  public void setMatchDeadlineSeconds(Integer matchDeadlineSeconds) {
+    this.matchDeadlineSeconds = matchDeadlineSeconds;
+  }
+
+  public Integer getOntologyCacheMaxSize() {
+    return ontologyCacheMaxSize;
+  }
+
+  public void setOntologyCacheMaxSize(Integer ontologyCacheMaxSize) {
+    this.ontologyCacheMaxSize = ontologyCacheMaxSize;
+  }
+
+  public Integer getOntologyCacheExpireMinutes() {
+    return ontologyCacheExpireMinutes;
+  }
+
+  public void setOntologyCacheExpireMinutes(Integer ontologyCacheExpireMinutes) {
+    this.ontologyCacheExpireMinutes = ontologyCacheExpireMinutes;
+  }
+
+  public boolean isOntologyCacheWarmUp() {
+    return ontologyCacheWarmUp;
+  }
+
+  public void setOntologyCacheWarmUp(boolean ontologyCacheWarmUp) {
+    this.ontologyCacheWarmUp = ontologyCacheWarmUp;
+  }
+
+  public Integer getMetricsSnapshotRefreshSeconds() {
+    return metricsSnapshotRefreshSeconds;
+  }
+
+  public void setMetricsSnapshotRefreshSeconds(Integer metricsSnapshotRefreshSeconds) {
+    this.metricsSnapshotRefreshSeconds = metricsSnapshotRefreshSeconds;
+  }
+
+  public Integer getMetricsSnapshotRebuildMinutes() {
+    return metricsSnapshotRebuildMinutes;
+  }
+
+  public void setMetricsSnapshotRebuildMinutes(Integer metricsSnapshotRebuildMinutes) {
+    this.metricsSnapshotRebuildMinutes = metricsSnapshotRebuildMinutes;
+  }
+
+  public Integer getBackgroundTaskParallelism() {
+    return backgroundTaskParallelism;
+  }
+
+  public void setBackgroundTaskParallelism(Integer backgroundTaskParallelism) {
+    this.backgroundTaskParallelism = backgroundTaskParallelism;
+  }
+
+  public Integer getBackgroundTaskQueueCapacity() {
+    return backgroundTaskQueueCapacity;
+  }
+
+  public void setBackgroundTaskQueueCapacity(Integer backgroundTaskQueueCapacity) {
+    this.backgroundTaskQueueCapacity = backgroundTaskQueueCapacity;
+  }
+
+  public Integer getHealthCheckIntervalSeconds() {
+    return healthCheckIntervalSeconds;
+  }
+
+  public void setHealthCheckIntervalSeconds(Integer healthCheckIntervalSeconds) {
+    this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+  }
+
+  public Map<String, Integer> getHealthCheckIntervalOverrides() {
+    return healthCheckIntervalOverrides;
+  }
+
+  public void setHealthCheckIntervalOverrides(Map<String, Integer> healthCheckIntervalOverrides) {
+    this.healthCheckIntervalOverrides = healthCheckIntervalOverrides;
+  }
+
+  public Integer getHealthCheckTimeoutSeconds() {
+    return healthCheckTimeoutSeconds;
+  }
+
+  public void setHealthCheckTimeoutSeconds(Integer healthCheckTimeoutSeconds) {
+    this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+  }
+
+  public Map<String, Integer> getHealthCheckTimeoutOverrides() {
+    return healthCheckTimeoutOverrides;
+  }
+
+  public void setHealthCheckTimeoutOverrides(Map<String, Integer> healthCheckTimeoutOverrides) {
+    this.healthCheckTimeoutOverrides = healthCheckTimeoutOverrides;
+  }
+
+  public Integer getCollaboratorVerificationParallelism() {
+    return collaboratorVerificationParallelism;
+  }
+
+  public void setCollaboratorVerificationParallelism(Integer collaboratorVerificationParallelism) {
+    this.collaboratorVerificationParallelism = collaboratorVerificationParallelism;
+  }
+
+  public Integer getCollaboratorVerificationDeadlineSeconds() {
+    return collaboratorVerificationDeadlineSeconds;
+  }
+
+  public void setCollaboratorVerificationDeadlineSeconds(Integer collaboratorVerificationDeadlineSeconds) {
+    this.collaboratorVerificationDeadlineSeconds = collaboratorVerificationDeadlineSeconds;
+  }
+
+  public Integer getCollaboratorVerifiedCacheMinutes() {
+    return collaboratorVerifiedCacheMinutes;
+  }
+
+  public void setCollaboratorVerifiedCacheMinutes(Integer collaboratorVerifiedCacheMinutes) {
+    this.collaboratorVerifiedCacheMinutes = collaboratorVerifiedCacheMinutes;
+  }
+
+  public Integer getCollaboratorUnverifiedCacheMinutes() {
+    return collaboratorUnverifiedCacheMinutes;
+  }
+
+  public void setCollaboratorUnverifiedCacheMinutes(Integer collaboratorUnverifiedCacheMinutes) {
+    this.collaboratorUnverifiedCacheMinutes = collaboratorUnverifiedCacheMinutes;
+  }
+
+  public Integer getDatasetAutocompleteResultLimit() {
+    return datasetAutocompleteResultLimit;
+  }
+
+  public void setDatasetAutocompleteResultLimit(Integer datasetAutocompleteResultLimit) {
+    this.datasetAutocompleteResultLimit = datasetAutocompleteResultLimit;
+  }
+
+  public Integer getDatasetAutocompleteRebuildMinutes() {
+    return datasetAutocompleteRebuildMinutes;
+  }
+
+  public void setDatasetAutocompleteRebuildMinutes(Integer datasetAutocompleteRebuildMinutes) {
+    this.datasetAutocompleteRebuildMinutes = datasetAutocompleteRebuildMinutes;
+  }
 }
@@ -156,6 +156,16 @@ public interface DacDAO extends Transactional<DacDAO> {
       """)
   Dac findById(@Bind("dacId") Integer dacId);
 
+  /**
+   * Find DACs by id without their associated agreements. Useful when only the DAC's own fields are
+   * needed for a large number of DACs.
+   *
+   * @param dacIds The DAC ids
+   * @return List<Dac>
+   */
+  @SqlQuery("SELECT * FROM dac WHERE dac_id IN (<dacIds>)")
+  List<Dac> findDacsByIds(@BindList("dacIds") Collection<Integer> dacIds);
+
   /**
    * Create a Dac given name, description, and create date
    *
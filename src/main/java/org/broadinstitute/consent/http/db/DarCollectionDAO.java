@@ -50,7 +50,7 @@ public interface DarCollectionDAO extends Transactional<DarCollectionDAO> {
           +
           " LEFT JOIN vote v ON v.electionid = e.election_id ";
 
-  String archiveFilterQuery = " AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL) ";
+  String archiveFilterQuery = " AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) ";
 
   @RegisterBeanMapper(value = User.class, prefix = "u")
   @RegisterBeanMapper(value = Institution.class, prefix = "i")
@@ -104,7 +104,7 @@ public interface DarCollectionDAO extends Transactional<DarCollectionDAO> {
           ") AS e " +
           "   ON (dar.reference_id = e.reference_id AND dd.dataset_id = e.dataset_id) AND (e.latest = e.election_id OR e.latest IS NULL) "
           +
-          "WHERE (LOWER(data->>'status')!='archived' OR data->>'status' IS NULL) "
+          "WHERE (LOWER(dar.status) != 'archived' OR dar.status IS NULL) "
   )
   List<DarCollection> findAllDARCollections();
 
@@ -139,7 +139,7 @@ public interface DarCollectionDAO extends Transactional<DarCollectionDAO> {
           "LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id " +
           "WHERE c.collection_id = (SELECT collection_id FROM data_access_request WHERE reference_id = :referenceId) "
           +
-          "AND (LOWER(data->>'status')!='archived' OR data->>'status' IS NULL) ")
+          "AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) ")
   DarCollection findDARCollectionByReferenceId(@Bind("referenceId") String referenceId);
 
   /**
@@ -190,7 +190,7 @@ public interface DarCollectionDAO extends Transactional<DarCollectionDAO> {
           + "LEFT JOIN users du "
           + "ON du.user_id = v.user_id "
           + "WHERE c.collection_id = :collectionId "
-          + "AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL )"
+          + "AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)"
   )
   DarCollection findDARCollectionByCollectionId(@Bind("collectionId") Integer collectionId);
 
@@ -1,9 +1,12 @@
 package org.broadinstitute.consent.http.db;
 
+import java.time.Instant;
 import java.util.List;
+import org.broadinstitute.consent.http.db.mapper.DarCollectionSummaryKeyMapper;
 import org.broadinstitute.consent.http.db.mapper.DarCollectionSummaryReducer;
 import org.broadinstitute.consent.http.models.DarCollection;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryKey;
 import org.broadinstitute.consent.http.models.Election;
 import org.broadinstitute.consent.http.models.Vote;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
@@ -11,11 +14,46 @@ import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.BindList.EmptyHandling;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
 import org.jdbi.v3.sqlobject.statement.UseRowReducer;
 import org.jdbi.v3.sqlobject.transaction.Transactional;
 
 public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSummaryDAO> {
 
+  /**
+   * One row per DAR Collection with the key it is paged by and its status, derived from the same
+   * rows and rules the admin summary is processed with. Null filters are not applied.
+   */
+  String SUMMARY_KEYS = """
+      SELECT k.collection_id, k.submission_date,
+        CASE
+          WHEN k.election_count = 0 THEN 'Unreviewed'
+          WHEN k.election_count = k.dataset_count AND k.open_count = 0 THEN 'Complete'
+          ELSE 'In Process'
+        END AS collection_status
+      FROM (
+        SELECT c.collection_id,
+          COALESCE(MAX(dar.submission_date), c.create_date) AS submission_date,
+          COUNT(DISTINCT e.election_id) AS election_count,
+          COUNT(DISTINCT e.election_id) FILTER (WHERE e.status = 'Open') AS open_count,
+          (SELECT COUNT(DISTINCT ds.id) FROM UNNEST(ARRAY_AGG(dd.dataset_id) || ARRAY_AGG(e.dataset_id)) AS ds(id)) AS dataset_count
+        FROM dar_collection c
+        INNER JOIN users u ON u.user_id = c.create_user_id
+        INNER JOIN data_access_request dar ON dar.collection_id = c.collection_id
+        LEFT JOIN (
+          SELECT election.*, MAX(election.election_id) OVER(PARTITION BY election.reference_id, election.dataset_id) AS latest
+          FROM election
+          WHERE LOWER(election.election_type) = 'dataaccess'
+        ) AS e ON e.reference_id = dar.reference_id
+        INNER JOIN dar_dataset dd ON dar.reference_id = dd.reference_id
+        WHERE (e.latest = e.election_id OR e.election_id IS NULL)
+          AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
+          AND (CAST(:institutionId AS INTEGER) IS NULL OR u.institution_id = :institutionId)
+        GROUP BY c.collection_id, c.create_date
+        HAVING (CAST(:datasetId AS INTEGER) IS NULL OR BOOL_OR(dd.dataset_id = :datasetId))
+      ) AS k
+      """;
+
   @RegisterBeanMapper(value = DarCollectionSummary.class)
   @RegisterBeanMapper(value = DarCollection.class)
   @RegisterBeanMapper(value = Vote.class, prefix = "v")
@@ -25,7 +63,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
       SELECT c.collection_id as dar_collection_id, c.dar_code, dar.submission_date, dar.reference_id as dar_reference_id, u.display_name as researcher_name,
         i.institution_name, e.election_id, e.status, e.dataset_id, e.reference_id, v.voteid as v_vote_id, dd.dataset_id as dd_datasetid,
         v.user_id as v_user_id, v.vote as v_vote, v.electionid as v_election_id, v.createdate as v_create_date, v.updatedate as v_update_date, v.type as v_type,
-        (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name
+        dar.project_title AS name
       FROM dar_collection c
       INNER JOIN users u
         ON u.user_id = c.create_user_id
@@ -46,7 +84,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
       WHERE dd.dataset_id IN (<datasetIds>)
         AND (e.latest = e.election_id OR e.election_id IS NULL)
         AND (LOWER(v.type) = 'final' OR (v.user_id = :currentUserId OR v.voteid IS NULL))
-        AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL )
+        AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
       """)
   List<DarCollectionSummary> getDarCollectionSummariesForDAC(
       @Bind("currentUserId") Integer currentUserId,
@@ -62,7 +100,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               +
               "i.institution_name, e.election_id, e.status, e.dataset_id, e.reference_id, dd.dataset_id as dd_datasetid, "
               +
-              "(regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name " +
+              "dar.project_title AS name " +
               "FROM dar_collection c " +
               "INNER JOIN users u " +
               "ON u.user_id = c.create_user_id " +
@@ -81,7 +119,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               "ON dar.reference_id = dd.reference_id " +
               "WHERE u.institution_id = :institutionId " +
               "AND (e.latest = e.election_id OR e.election_id IS NULL) " +
-              "AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL ) "
+              "AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) "
       )
   List<DarCollectionSummary> getDarCollectionSummariesForSO(
       @Bind("institutionId") Integer institutionId);
@@ -93,7 +131,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
   @SqlQuery("""
       SELECT c.collection_id as dar_collection_id, c.dar_code, dar.submission_date, dar.reference_id as dar_reference_id, u.display_name as researcher_name,
         i.institution_name, e.election_id, e.status, e.dataset_id, e.reference_id, dd.dataset_id as dd_datasetid,
-        (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name,
+        dar.project_title AS name,
         dac.name as dac_name
       FROM dar_collection c
       INNER JOIN users u ON u.user_id = c.create_user_id
@@ -108,7 +146,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
       LEFT JOIN dataset dataset on dataset.dataset_id = dd.dataset_id
       LEFT JOIN dac dac on dac.dac_id = dataset.dac_id
       WHERE (e.latest = e.election_id OR e.election_id IS NULL)
-        AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL )
+        AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
       """)
   List<DarCollectionSummary> getDarCollectionSummariesForAdmin();
 
@@ -122,8 +160,8 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               +
               "i.institution_name, e.election_id, e.status, e.dataset_id, e.reference_id, dd.dataset_id as dd_datasetid, "
               +
-              "(regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name, " +
-              "(regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'status' AS dar_status " +
+              "dar.project_title AS name, " +
+              "dar.status AS dar_status " +
               "FROM dar_collection c " +
               "INNER JOIN users u " +
               "ON u.user_id = c.create_user_id " +
@@ -142,7 +180,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               "ON dar.reference_id = dd.reference_id " +
               "WHERE c.create_user_id = :userId " +
               "AND (e.latest = e.election_id OR e.election_id IS NULL) " +
-              "AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL ) " +
+              "AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) " +
               "AND (EXISTS (SELECT 1 FROM data_access_request WHERE (collection_id = c.collection_id and draft = false)))"
       )
   List<DarCollectionSummary> getDarCollectionSummariesForResearcher(
@@ -158,7 +196,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
       SELECT c.collection_id as dar_collection_id, c.dar_code, dar.submission_date, u.display_name as researcher_name, u.user_id as researcher_id,
         i.institution_name, i.institution_id, e.election_id, e.status, e.dataset_id, e.reference_id, v.voteid as v_vote_id, dd.dataset_id as dd_datasetid,
         v.user_id as v_user_id, v.vote as v_vote, v.electionid as v_election_id, v.createdate as v_create_date, v.updatedate as v_update_date, v.type as v_type,
-        (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name
+        dar.project_title AS name
       FROM dar_collection c
       INNER JOIN users u
         ON u.user_id = c.create_user_id
@@ -180,7 +218,7 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
         AND dd.dataset_id IN (<datasetIds>)
         AND (e.latest = e.election_id OR e.election_id IS NULL)
         AND (LOWER(v.type) = 'final' OR (v.user_id = :currentUserId OR v.voteid IS NULL))
-        AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL )
+        AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
       """)
   DarCollectionSummary getDarCollectionSummaryForDACByCollectionId(
       @Bind("currentUserId") Integer currentUserId,
@@ -198,8 +236,8 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               +
               "u.user_id as researcher_id, i.institution_name, i.institution_id, e.election_id, e.status, e.dataset_id, e.reference_id, dd.dataset_id as dd_datasetid, "
               +
-              "(regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'projectTitle' AS name, " +
-              "(regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb ->> 'status' AS dar_status " +
+              "dar.project_title AS name, " +
+              "dar.status AS dar_status " +
               "FROM dar_collection c " +
               "INNER JOIN users u " +
               "ON u.user_id = c.create_user_id " +
@@ -218,8 +256,66 @@ public interface DarCollectionSummaryDAO extends Transactional<DarCollectionSumm
               "ON dar.reference_id = dd.reference_id " +
               "WHERE c.collection_id = :collectionId " +
               "AND (e.latest = e.election_id OR e.election_id IS NULL) " +
-              "AND (LOWER(data->>'status') != 'archived' OR data->>'status' IS NULL )"
+              "AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)"
       )
   DarCollectionSummary getDarCollectionSummaryByCollectionId(
       @Bind("collectionId") Integer collectionId);
+
+  /**
+   * Find the keys of the next page of DAR Collection summaries, most recently submitted first,
+   * that sort after the given key. Null filters and a null key are not applied.
+   */
+  @UseRowMapper(DarCollectionSummaryKeyMapper.class)
+  @SqlQuery("SELECT s.collection_id, s.submission_date FROM (" + SUMMARY_KEYS + """
+      ) AS s
+      WHERE (CAST(:status AS TEXT) IS NULL OR s.collection_status = :status)
+        AND (CAST(:afterCollectionId AS INTEGER) IS NULL
+          OR (s.submission_date, s.collection_id) < (:afterSubmissionDate, :afterCollectionId))
+      ORDER BY s.submission_date DESC, s.collection_id DESC
+      LIMIT :limit
+      """)
+  List<DarCollectionSummaryKey> findDarCollectionSummaryKeys(
+      @Bind("status") String status,
+      @Bind("datasetId") Integer datasetId,
+      @Bind("institutionId") Integer institutionId,
+      @Bind("afterSubmissionDate") Instant afterSubmissionDate,
+      @Bind("afterCollectionId") Integer afterCollectionId,
+      @Bind("limit") Integer limit);
+
+  @SqlQuery("SELECT COUNT(*) FROM (" + SUMMARY_KEYS + """
+      ) AS s
+      WHERE (CAST(:status AS TEXT) IS NULL OR s.collection_status = :status)
+      """)
+  Integer countDarCollectionSummaries(
+      @Bind("status") String status,
+      @Bind("datasetId") Integer datasetId,
+      @Bind("institutionId") Integer institutionId);
+
+  @RegisterBeanMapper(value = DarCollectionSummary.class)
+  @RegisterBeanMapper(value = DarCollection.class)
+  @RegisterBeanMapper(value = Election.class)
+  @UseRowReducer(DarCollectionSummaryReducer.class)
+  @SqlQuery("""
+      SELECT c.collection_id as dar_collection_id, c.dar_code, dar.submission_date, dar.reference_id as dar_reference_id, u.display_name as researcher_name,
+        u.user_id as researcher_id, i.institution_name, i.institution_id, e.election_id, e.status, e.dataset_id, e.reference_id, dd.dataset_id as dd_datasetid,
+        dar.project_title AS name,
+        dac.name as dac_name
+      FROM dar_collection c
+      INNER JOIN users u ON u.user_id = c.create_user_id
+      LEFT JOIN institution i ON i.institution_id = u.institution_id
+      INNER JOIN data_access_request dar ON dar.collection_id = c.collection_id
+      LEFT JOIN (
+        SELECT election.*, MAX(election.election_id) OVER(PARTITION BY election.reference_id, election.dataset_id) AS latest
+        FROM election
+        WHERE LOWER(election.election_type) = 'dataaccess'
+      ) AS e ON e.reference_id = dar.reference_id
+      INNER JOIN dar_dataset dd ON dar.reference_id = dd.reference_id
+      LEFT JOIN dataset dataset on dataset.dataset_id = dd.dataset_id
+      LEFT JOIN dac dac on dac.dac_id = dataset.dac_id
+      WHERE c.collection_id IN (<collectionIds>)
+        AND (e.latest = e.election_id OR e.election_id IS NULL)
+        AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
+      """)
+  List<DarCollectionSummary> getDarCollectionSummariesByCollectionIds(
+      @BindList("collectionIds") List<Integer> collectionIds);
 }
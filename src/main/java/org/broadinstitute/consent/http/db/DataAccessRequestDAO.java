@@ -39,9 +39,74 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data FROM data_access_request dar"
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.draft != true "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL)")
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)")
   List<DataAccessRequest> findAllDataAccessRequests();
 
+  /**
+   * Find up to limit non-draft/partial DataAccessRequests with an id greater than afterId, ordered
+   * by id. Page through all requests by passing the last id of the previous page.
+   *
+   * @param afterId Exclusive lower bound of the DataAccessRequest id
+   * @param limit   Maximum number of DataAccessRequests to return
+   * @return List<DataAccessRequest>
+   */
+  @UseRowReducer(DataAccessRequestReducer.class)
+  @SqlQuery("""
+      SELECT dd.dataset_id, dar.id, dar.reference_id, dar.collection_id, dar.parent_id, dar.draft, dar.user_id, dar.create_date, dar.sort_date, dar.submission_date, dar.update_date,
+        (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data
+      FROM data_access_request dar
+      LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id
+      WHERE dar.id IN (
+        SELECT id FROM data_access_request
+        WHERE draft != true
+          AND (LOWER(status) != 'archived' OR status IS NULL)
+          AND id > :afterId
+        ORDER BY id
+        LIMIT :limit
+      )
+      ORDER BY dar.id
+      """)
+  List<DataAccessRequest> findDataAccessRequestPage(@Bind("afterId") Integer afterId,
+      @Bind("limit") Integer limit);
+
+  /**
+   * Find the reference ids of DataAccessRequests with decision activity after the given date: the
+   * request was submitted or updated, or one of its elections, votes or matches was created or
+   * updated.
+   *
+   * @param since Exclusive lower bound of the activity date
+   * @return List of reference ids
+   */
+  @SqlQuery("""
+      SELECT dar.reference_id FROM data_access_request dar
+      WHERE dar.submission_date > :since OR dar.update_date > :since
+      UNION
+      SELECT e.reference_id FROM election e
+      WHERE e.create_date > :since OR e.last_update > :since
+      UNION
+      SELECT e.reference_id FROM election e
+      INNER JOIN vote v ON v.electionid = e.election_id
+      WHERE v.createdate > :since OR v.updatedate > :since
+      UNION
+      SELECT m.purpose FROM match_entity m
+      WHERE m.createdate > :since
+      """)
+  List<String> findReferenceIdsWithDecisionActivitySince(@Bind("since") Date since);
+
+  /**
+   * Find the given reference ids that no longer belong to a DataAccessRequest, e.g. because the
+   * DataAccessRequest was deleted.
+   *
+   * @param referenceIds List of Strings
+   * @return The reference ids without a DataAccessRequest
+   */
+  @SqlQuery("""
+      SELECT ids.reference_id FROM unnest(CAST(:referenceIds AS TEXT[])) AS ids(reference_id)
+      WHERE NOT EXISTS (
+        SELECT 1 FROM data_access_request dar WHERE dar.reference_id = ids.reference_id)
+      """)
+  List<String> findMissingReferenceIds(@Bind("referenceIds") List<String> referenceIds);
+
   /**
    * This query finds DARs on dar-dataset combinations where the most recent vote is true.
    * The query accomplishes this by creating a view that is a grouping of election reference
@@ -80,10 +145,49 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
             AND LOWER(v.type) = 'final') final_access_vote ON final_access_vote.reference_id = dar.reference_id
           WHERE dar.draft = false
           AND final_access_vote.last_vote = TRUE
-          AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL)
+          AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
       """)
   List<DataAccessRequest> findApprovedDARsByDatasetId(@Bind("datasetId") Integer datasetId);
 
+  /**
+   * Batch version of {@link #findApprovedDARsByDatasetId(Integer)}. Final votes are partitioned by
+   * both the election reference id and dataset so that each dataset's approval is evaluated
+   * independently. Each DAR's dataset ids are limited to the approved datasets in the list.
+   *
+   * @param datasetIds The dataset ids
+   * @return List of approved DARs for the datasets
+   */
+  @UseRowReducer(DataAccessRequestReducer.class)
+  @SqlQuery("""
+          SELECT dar.id, dar.reference_id, dar.collection_id, dar.parent_id, dar.draft,
+            dar.user_id, dar.create_date, dar.sort_date, dar.submission_date, dar.update_date,
+            (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data,
+            dd.dataset_id
+          FROM data_access_request dar
+          INNER JOIN dar_dataset dd ON dd.reference_id = dar.reference_id AND dd.dataset_id IN (<datasetIds>)
+          INNER JOIN (
+            SELECT DISTINCT e.reference_id, e.dataset_id, LAST_VALUE(v.vote)
+            OVER(
+              PARTITION BY e.reference_id, e.dataset_id
+                ORDER BY v.createdate
+                RANGE BETWEEN
+                  UNBOUNDED PRECEDING AND
+                  UNBOUNDED FOLLOWING
+            ) last_vote
+            FROM election e
+            INNER JOIN vote v ON e.election_id = v.electionid AND v.vote IS NOT NULL
+            WHERE e.dataset_id IN (<datasetIds>)
+            AND LOWER(e.election_type) = 'dataaccess'
+            AND LOWER(v.type) = 'final') final_access_vote
+            ON final_access_vote.reference_id = dar.reference_id
+            AND final_access_vote.dataset_id = dd.dataset_id
+          WHERE dar.draft = false
+          AND final_access_vote.last_vote = TRUE
+          AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)
+      """)
+  List<DataAccessRequest> findApprovedDARsByDatasetIds(
+      @BindList("datasetIds") List<Integer> datasetIds);
+
   /**
    * Find all draft/partial DataAccessRequests, sorted descending order
    *
@@ -95,7 +199,7 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data FROM data_access_request dar"
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.draft = true "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL) "
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) "
           + "  ORDER BY dar.update_date DESC")
   List<DataAccessRequest> findAllDraftDataAccessRequests();
 
@@ -110,7 +214,7 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data FROM data_access_request dar"
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.draft = true "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL) "
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) "
           + "  AND dar.user_id = :userId "
           + "  ORDER BY dar.sort_date DESC")
   List<DataAccessRequest> findAllDraftsByUserId(@Bind("userId") Integer userId);
@@ -128,7 +232,7 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.draft = false "
           + "  AND dar.user_id = :userId "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL) "
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL) "
           + "  ORDER BY dar.sort_date DESC")
   List<DataAccessRequest> findAllDarsByUserId(@Bind("userId") Integer userId);
 
@@ -144,7 +248,7 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data FROM data_access_request dar"
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.reference_id = :referenceId "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL)")
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)")
   DataAccessRequest findByReferenceId(@Bind("referenceId") String referenceId);
 
   /**
@@ -159,7 +263,7 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
           + "  (regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb AS data FROM data_access_request dar"
           + "  LEFT JOIN dar_dataset dd on dd.reference_id = dar.reference_id "
           + "  WHERE dar.reference_id IN (<referenceIds>) "
-          + "  AND (LOWER(dar.data->>'status') != 'archived' OR dar.data->>'status' IS NULL)")
+          + "  AND (LOWER(dar.status) != 'archived' OR dar.status IS NULL)")
   List<DataAccessRequest> findByReferenceIds(@BindList("referenceIds") List<String> referenceIds);
 
   /**
@@ -200,7 +304,8 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
 
   @SqlUpdate(
       "UPDATE data_access_request dar "
-          + "SET data=jsonb_set((regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb, '{status}', '\"Canceled\"') "
+          + "SET data=jsonb_set((regexp_replace(dar.data #>> '{}', '\\\\u0000', '', 'g'))::jsonb, '{status}', '\"Canceled\"'), "
+          + "update_date = now() "
           + "WHERE reference_id IN (<referenceIds>)")
   void cancelByReferenceIds(@BindList("referenceIds") List<String> referenceIds);
 
@@ -296,13 +401,13 @@ public interface DataAccessRequestDAO extends Transactional<DataAccessRequestDAO
   @SqlQuery(
       "SELECT (data #>> '{}')::jsonb AS data "
           + "FROM data_access_request "
-          + "WHERE (LOWER(data->>'status') != 'archived' "
-          + "OR data->>'status' IS NULL)")
+          + "WHERE (LOWER(status) != 'archived' OR status IS NULL)")
   List<DataAccessRequestData> findAllDataAccessRequestDatas();
 
   @SqlUpdate(
       " UPDATE data_access_request"
-          + " SET data = jsonb_set ((data #>> '{}')::jsonb, '{status}', '\"Archived\"', true) "
+          + " SET data = jsonb_set ((data #>> '{}')::jsonb, '{status}', '\"Archived\"', true), "
+          + " update_date = now() "
           + " WHERE reference_id IN (<referenceIds>)")
   void archiveByReferenceIds(@BindList("referenceIds") List<String> referenceIds);
 
@@ -12,14 +12,17 @@ import org.broadinstitute.consent.http.db.mapper.DatasetMapper;
 import org.broadinstitute.consent.http.db.mapper.DatasetPropertyMapper;
 import org.broadinstitute.consent.http.db.mapper.DatasetReducer;
 import org.broadinstitute.consent.http.db.mapper.DatasetStudySummaryMapper;
+import org.broadinstitute.consent.http.db.mapper.DatasetSearchTermsMapper;
 import org.broadinstitute.consent.http.db.mapper.DatasetSummaryMapper;
 import org.broadinstitute.consent.http.db.mapper.DictionaryMapper;
 import org.broadinstitute.consent.http.db.mapper.FileStorageObjectMapperWithFSOPrefix;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.models.ApprovedDataset;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.DatasetAudit;
 import org.broadinstitute.consent.http.models.DatasetProperty;
 import org.broadinstitute.consent.http.models.DatasetStudySummary;
+import org.broadinstitute.consent.http.models.DatasetSearchTerms;
 import org.broadinstitute.consent.http.models.DatasetSummary;
 import org.broadinstitute.consent.http.models.Dictionary;
 import org.broadinstitute.consent.http.models.FileStorageObject;
@@ -27,6 +30,7 @@ import org.broadinstitute.consent.http.models.Study;
 import org.broadinstitute.consent.http.models.User;
 import org.broadinstitute.consent.http.models.dto.DatasetDTO;
 import org.broadinstitute.consent.http.resources.Resource;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
@@ -191,6 +195,26 @@ public interface DatasetDAO extends Transactional<DatasetDAO> {
       """)
   List<Dataset> findDatasetsByIdList(@BindList("datasetIds") List<Integer> datasetIds);
 
+  /**
+   * Find datasets by id, loading their child collections with the given fetch strategy.
+   *
+   * @param datasetIds List of dataset ids
+   * @param strategy   The DatasetFetchStrategy
+   * @return List of datasets ordered by dataset id
+   */
+  default List<Dataset> findDatasetsByIdList(List<Integer> datasetIds,
+      DatasetFetchStrategy strategy) {
+    if (datasetIds.isEmpty()) {
+      return List.of();
+    }
+    if (strategy == DatasetFetchStrategy.MULTI_QUERY) {
+      // A repeatable read transaction gives all queries the same snapshot as a single join
+      return inTransaction(TransactionIsolationLevel.REPEATABLE_READ,
+          dao -> new DatasetMultiQueryLoader(dao.getHandle()).findDatasetsByIdList(datasetIds));
+    }
+    return findDatasetsByIdList(datasetIds);
+  }
+
   @Deprecated
   @UseRowReducer(DatasetReducer.class)
   @SqlQuery("""
@@ -241,6 +265,21 @@ public interface DatasetDAO extends Transactional<DatasetDAO> {
       """)
   List<Dataset> findAllDatasets();
 
+  /**
+   * Find all datasets, loading their child collections with the given fetch strategy.
+   *
+   * @param strategy The DatasetFetchStrategy
+   * @return List of datasets
+   */
+  default List<Dataset> findAllDatasets(DatasetFetchStrategy strategy) {
+    if (strategy == DatasetFetchStrategy.MULTI_QUERY) {
+      return inTransaction(TransactionIsolationLevel.REPEATABLE_READ,
+          dao -> new DatasetMultiQueryLoader(dao.getHandle())
+              .findDatasetsByIdList(dao.findAllDatasetIds()));
+    }
+    return findAllDatasets();
+  }
+
   @SqlQuery("""
         SELECT dataset_id FROM dataset ORDER BY dataset_id
         """)
@@ -466,6 +505,20 @@ public interface DatasetDAO extends Transactional<DatasetDAO> {
   void updateDatasetDacId(@Bind("datasetId") Integer datasetId, @Bind("dacId") Integer dacId);
 
 
+  /**
+   * Find the most recently updated dataset for each distinct data use that has a stored
+   * translation. Only the data use and translation columns are populated.
+   *
+   * @return List of Datasets
+   */
+  @SqlQuery("""
+      SELECT DISTINCT ON (d.data_use) d.dataset_id, d.name, d.object_id, d.data_use, d.translated_data_use
+        FROM dataset d
+        WHERE d.data_use IS NOT NULL AND d.translated_data_use IS NOT NULL
+        ORDER BY d.data_use, d.update_date DESC NULLS LAST
+      """)
+  List<Dataset> findDistinctTranslatedDataUses();
+
   @SqlUpdate("UPDATE dataset SET translated_data_use = :translatedDataUse WHERE dataset_id = :datasetId")
   void updateDatasetTranslatedDataUse(@Bind("datasetId") Integer datasetId,
       @Bind("translatedDataUse") String translatedDataUse);
@@ -703,4 +756,39 @@ public interface DatasetDAO extends Transactional<DatasetDAO> {
       )
       """)
   List<DatasetSummary> findDatasetSummariesByQuery(@Bind("query") String query);
+
+  /**
+   * Find the searchable text of every approved dataset.
+   *
+   * @return List of DatasetSearchTerms
+   */
+  @RegisterRowMapper(DatasetSearchTermsMapper.class)
+  @SqlQuery("""
+      SELECT d.dataset_id, d.alias, d.name,
+        ARRAY_REMOVE(ARRAY_AGG(p.property_value), NULL) AS property_values
+      FROM dataset d
+      LEFT JOIN dataset_property p ON p.dataset_id = d.dataset_id
+      WHERE d.dac_approval = TRUE
+      GROUP BY d.dataset_id
+      """)
+  List<DatasetSearchTerms> findApprovedDatasetSearchTerms();
+
+  /**
+   * Find the searchable text of the given datasets, if they are approved.
+   *
+   * @param datasetIds List of dataset IDs
+   * @return List of DatasetSearchTerms for the approved datasets
+   */
+  @RegisterRowMapper(DatasetSearchTermsMapper.class)
+  @SqlQuery("""
+      SELECT d.dataset_id, d.alias, d.name,
+        ARRAY_REMOVE(ARRAY_AGG(p.property_value), NULL) AS property_values
+      FROM dataset d
+      LEFT JOIN dataset_property p ON p.dataset_id = d.dataset_id
+      WHERE d.dac_approval = TRUE
+      AND d.dataset_id IN (<datasetIds>)
+      GROUP BY d.dataset_id
+      """)
+  List<DatasetSearchTerms> findApprovedDatasetSearchTermsByIds(
+      @BindList("datasetIds") List<Integer> datasetIds);
 }
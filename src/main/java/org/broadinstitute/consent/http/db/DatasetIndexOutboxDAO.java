@@ -0,0 +1,84 @@
+package org.broadinstitute.consent.http.db;
+
+import java.util.Collection;
+import java.util.List;
+import org.broadinstitute.consent.http.db.mapper.DatasetIndexOutboxEntryMapper;
+import org.broadinstitute.consent.http.models.DatasetIndexOutboxEntry;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+
+/**
+ * Records datasets whose search index documents are out of date. Writes that change indexed
+ * dataset content enqueue the affected dataset ids, ideally in the same transaction as the write.
+ * Enqueueing a dataset that is already pending keeps its original enqueue time and increments its
+ * version, so repeated changes coalesce into a single reindex.
+ */
+@RegisterRowMapper(DatasetIndexOutboxEntryMapper.class)
+public interface DatasetIndexOutboxDAO extends Transactional<DatasetIndexOutboxDAO> {
+
+  String ON_CONFLICT_INCREMENT_VERSION = """
+       ON CONFLICT (dataset_id) DO UPDATE SET version = dataset_index_outbox.version + 1
+      """;
+
+  @SqlBatch("INSERT INTO dataset_index_outbox (dataset_id) VALUES (:datasetId) "
+      + ON_CONFLICT_INCREMENT_VERSION)
+  void enqueueDatasetIds(@Bind("datasetId") Collection<Integer> datasetIds);
+
+  @SqlUpdate("""
+      INSERT INTO dataset_index_outbox (dataset_id)
+      SELECT DISTINCT dataset_id FROM dataset WHERE dac_id = :dacId
+      """ + ON_CONFLICT_INCREMENT_VERSION)
+  void enqueueDacDatasets(@Bind("dacId") Integer dacId);
+
+  /**
+   * Enqueue datasets whose documents include the user as the dataset creator, dataset updater, or
+   * study creator.
+   */
+  @SqlUpdate("""
+      INSERT INTO dataset_index_outbox (dataset_id)
+      SELECT DISTINCT d.dataset_id
+      FROM dataset d
+      LEFT JOIN study s ON s.study_id = d.study_id
+      WHERE d.create_user_id = :userId
+        OR d.update_user_id = :userId
+        OR s.create_user_id = :userId
+      """ + ON_CONFLICT_INCREMENT_VERSION)
+  void enqueueUserDatasets(@Bind("userId") Integer userId);
+
+  @SqlUpdate("""
+      INSERT INTO dataset_index_outbox (dataset_id)
+      SELECT DISTINCT dataset_id FROM election
+      WHERE election_id IN (<electionIds>) AND dataset_id IS NOT NULL
+      """ + ON_CONFLICT_INCREMENT_VERSION)
+  void enqueueElectionDatasets(@BindList("electionIds") Collection<Integer> electionIds);
+
+  @SqlQuery("""
+      SELECT * FROM dataset_index_outbox
+      ORDER BY enqueued_at, dataset_id
+      LIMIT :limit
+      """)
+  List<DatasetIndexOutboxEntry> findPendingEntries(@Bind("limit") Integer limit);
+
+  /**
+   * Remove processed entries. Entries that were enqueued again after they were read have a new
+   * version and are kept for the next drain.
+   */
+  @SqlBatch("DELETE FROM dataset_index_outbox WHERE dataset_id = :datasetId AND version = :version")
+  void deleteEntries(@Bind("datasetId") List<Integer> datasetIds,
+      @Bind("version") List<Integer> versions);
+
+  @SqlQuery("SELECT COUNT(*) FROM dataset_index_outbox")
+  Integer countPendingEntries();
+
+  @SqlQuery("""
+      SELECT COALESCE(EXTRACT(EPOCH FROM now() - MIN(enqueued_at)), 0)::BIGINT
+      FROM dataset_index_outbox
+      """)
+  Long findOldestEntryAgeSeconds();
+
+}
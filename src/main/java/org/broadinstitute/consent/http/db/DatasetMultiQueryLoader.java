@@ -0,0 +1,188 @@
+package org.broadinstitute.consent.http.db;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.db.mapper.DatasetMapper;
+import org.broadinstitute.consent.http.db.mapper.DatasetReducer;
+import org.broadinstitute.consent.http.db.mapper.FileStorageObjectMapperWithFSOPrefix;
+import org.broadinstitute.consent.http.db.mapper.StudyReducer;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.Study;
+import org.broadinstitute.consent.http.models.User;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.result.RowView;
+import org.jdbi.v3.core.statement.Query;
+
+/**
+ * Implements {@link DatasetFetchStrategy#MULTI_QUERY}. Datasets are loaded with their single-valued
+ * columns first, then each child collection is loaded with its own query keyed on the same dataset
+ * or study ids and reduced into the loaded datasets. Each query returns one row per child rather
+ * than the product of all child collection sizes returned by the single join query.
+ * <p>
+ * The result is the same as the equivalent {@link DatasetDAO} join query, ordered by dataset id.
+ */
+class DatasetMultiQueryLoader {
+
+  /**
+   * Upper bound on the number of ids bound to a single query.
+   */
+  static final int MAX_IDS_PER_QUERY = 1000;
+
+  private static final String DATASETS = """
+      SELECT d.dataset_id, d.name, d.create_date, d.create_user_id, d.update_date,
+          d.update_user_id, d.object_id, d.dac_id, d.alias, d.data_use, d.translated_data_use, d.dac_approval,
+          dar_ds_ids.id AS in_use,
+          u.user_id AS u_user_id, u.email AS u_email, u.display_name AS u_display_name,
+          u.create_date AS u_create_date, u.email_preference AS u_email_preference,
+          u.institution_id AS u_institution_id, u.era_commons_id AS u_era_commons_id,
+          s.study_id AS s_study_id,
+          s.name AS s_name,
+          s.description AS s_description,
+          s.data_types AS s_data_types,
+          s.pi_name AS s_pi_name,
+          s.create_user_id AS s_create_user_id,
+          s.create_date AS s_create_date,
+          s.update_user_id AS s_user_id,
+          s.update_date AS s_update_date,
+          s.public_visibility AS s_public_visibility
+      FROM dataset d
+      LEFT JOIN users u on d.create_user_id = u.user_id
+      LEFT JOIN (SELECT DISTINCT dataset_id AS id FROM dar_dataset WHERE dataset_id IN (<datasetIds>)) dar_ds_ids ON dar_ds_ids.id = d.dataset_id
+      LEFT JOIN study s ON s.study_id = d.study_id
+      WHERE d.dataset_id IN (<datasetIds>)
+      ORDER BY d.dataset_id
+      """;
+
+  private static final String DATASET_PROPERTIES = """
+      SELECT dp.dataset_id, k.key, dp.property_value, dp.property_key, dp.property_type,
+          dp.schema_property, dp.property_id
+      FROM dataset_property dp
+      LEFT JOIN dictionary k ON k.key_id = dp.property_key
+      WHERE dp.dataset_id IN (<datasetIds>)
+      """;
+
+  private static final String STUDY_PROPERTIES = """
+      SELECT sp.study_property_id AS sp_study_property_id,
+          sp.study_id AS sp_study_id,
+          sp.key AS sp_key,
+          sp.value AS sp_value,
+          sp.type AS sp_type
+      FROM study_property sp
+      WHERE sp.study_id IN (<studyIds>)
+      """;
+
+  private static final String STUDY_DATASET_IDS = """
+      SELECT study_id, dataset_id AS s_dataset_id
+      FROM dataset
+      WHERE study_id IN (<studyIds>)
+      """;
+
+  private static final String FILE_STORAGE_OBJECTS = """
+      SELECT d.dataset_id,
+          fso.file_storage_object_id AS fso_file_storage_object_id,
+          fso.entity_id AS fso_entity_id,
+          fso.file_name AS fso_file_name,
+          fso.category AS fso_category,
+          fso.gcs_file_uri AS fso_gcs_file_uri,
+          fso.media_type AS fso_media_type,
+          fso.create_date AS fso_create_date,
+          fso.create_user_id AS fso_create_user_id,
+          fso.update_date AS fso_update_date,
+          fso.update_user_id AS fso_update_user_id,
+          fso.deleted AS fso_deleted,
+          fso.delete_user_id AS fso_delete_user_id
+      FROM dataset d
+      LEFT JOIN study s ON s.study_id = d.study_id
+      INNER JOIN file_storage_object fso ON (fso.entity_id = d.dataset_id::text OR fso.entity_id = s.uuid::text) AND fso.deleted = false
+      WHERE d.dataset_id IN (<datasetIds>)
+      """;
+
+  private final Handle handle;
+  private final DatasetReducer datasetReducer = new DatasetReducer();
+  private final StudyReducer studyReducer = new StudyReducer();
+
+  DatasetMultiQueryLoader(Handle handle) {
+    this.handle = handle;
+  }
+
+  List<Dataset> findDatasetsByIdList(Collection<Integer> datasetIds) {
+    List<Integer> sortedIds = datasetIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .sorted()
+        .toList();
+    List<Dataset> datasets = new ArrayList<>();
+    for (List<Integer> ids : Lists.partition(sortedIds, MAX_IDS_PER_QUERY)) {
+      datasets.addAll(loadDatasets(ids));
+    }
+    return datasets;
+  }
+
+  private List<Dataset> loadDatasets(List<Integer> datasetIds) {
+    Map<Integer, Dataset> datasets = new LinkedHashMap<>();
+    forEachRow(DATASETS, "datasetIds", datasetIds, row -> {
+      Dataset dataset = datasets.computeIfAbsent(
+          row.getColumn("dataset_id", Integer.class), id -> row.getRow(Dataset.class));
+      datasetReducer.reduceDataset(dataset, row);
+    });
+    if (datasets.isEmpty()) {
+      return List.of();
+    }
+    List<Integer> loadedIds = List.copyOf(datasets.keySet());
+    forEachRow(DATASET_PROPERTIES, "datasetIds", loadedIds, row ->
+        datasetReducer.reduceProperty(datasets.get(row.getColumn("dataset_id", Integer.class)), row));
+
+    // Datasets of the same study each hold their own copy of the study
+    Map<Integer, List<Study>> studies = datasets.values().stream()
+        .map(Dataset::getStudy)
+        .filter(Objects::nonNull)
+        .collect(Collectors.groupingBy(Study::getStudyId));
+    if (!studies.isEmpty()) {
+      forEachRow(STUDY_PROPERTIES, "studyIds", studies.keySet(), row ->
+          studies.get(row.getColumn("sp_study_id", Integer.class))
+              .forEach(study -> studyReducer.reduceProperty(study, row)));
+      forEachRow(STUDY_DATASET_IDS, "studyIds", studies.keySet(), row ->
+          studies.get(row.getColumn("study_id", Integer.class))
+              .forEach(study -> studyReducer.reduceDatasetId(study, row)));
+      studies.values().stream()
+          .flatMap(List::stream)
+          .filter(study -> Objects.isNull(study.getProperties()))
+          .forEach(study -> study.setProperties(new HashSet<>()));
+    }
+
+    forEachRow(FILE_STORAGE_OBJECTS, "datasetIds", loadedIds, row -> {
+      Dataset dataset = datasets.get(row.getColumn("dataset_id", Integer.class));
+      datasetReducer.reduceFileStorageObject(dataset, row);
+      if (Objects.nonNull(dataset.getStudy())) {
+        studyReducer.reduceFileStorageObject(dataset.getStudy(), row);
+      }
+    });
+    return new ArrayList<>(datasets.values());
+  }
+
+  private void forEachRow(String sql, String name, Collection<Integer> ids,
+      Consumer<RowView> consumer) {
+    try (Query query = handle.createQuery(sql)) {
+      query.bindList(name, List.copyOf(ids))
+          .registerRowMapper(new DatasetMapper())
+          .registerRowMapper(BeanMapper.factory(User.class, "u"))
+          .registerRowMapper(BeanMapper.factory(Study.class, "s"))
+          .registerRowMapper(new FileStorageObjectMapperWithFSOPrefix())
+          .reduceRows(0, (count, row) -> {
+            consumer.accept(row);
+            return count + 1;
+          });
+    }
+  }
+
+}
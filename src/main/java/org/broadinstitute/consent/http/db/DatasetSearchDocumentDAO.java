@@ -0,0 +1,30 @@
+package org.broadinstitute.consent.http.db;
+
+import java.util.List;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+
+/**
+ * Dataset search documents of the Postgres search backend. Documents are the JSON serialized
+ * dataset terms, their full-text search vector is generated by the database on write.
+ */
+public interface DatasetSearchDocumentDAO extends Transactional<DatasetSearchDocumentDAO> {
+
+  @SqlBatch("""
+      INSERT INTO dataset_search_document (dataset_id, document, update_date)
+      VALUES (:datasetId, CAST(:document AS JSONB), now())
+      ON CONFLICT (dataset_id) DO UPDATE
+        SET document = EXCLUDED.document, update_date = EXCLUDED.update_date
+      """)
+  void upsertDocuments(@Bind("datasetId") List<Integer> datasetIds,
+      @Bind("document") List<String> documents);
+
+  @SqlUpdate("DELETE FROM dataset_search_document WHERE dataset_id = :datasetId")
+  int deleteDocument(@Bind("datasetId") Integer datasetId);
+
+  @SqlQuery("SELECT COUNT(*) FROM dataset_search_document")
+  int countDocuments();
+}
@@ -1,5 +1,6 @@
 package org.broadinstitute.consent.http.db;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import org.broadinstitute.consent.http.db.mapper.InstitutionMapper;
@@ -10,6 +11,7 @@ import org.broadinstitute.consent.http.service.UserService.SimplifiedUser;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
@@ -88,6 +90,10 @@ public interface InstitutionDAO extends Transactional<InstitutionDAO> {
   @SqlQuery("SELECT * FROM institution WHERE institution_id = :institutionId")
   Institution findInstitutionById(@Bind("institutionId") Integer institutionId);
 
+  @SqlQuery("SELECT * FROM institution WHERE institution_id IN (<institutionIds>)")
+  List<Institution> findInstitutionsByIds(
+      @BindList("institutionIds") Collection<Integer> institutionIds);
+
   @SqlQuery("SELECT * FROM institution WHERE LOWER(institution_name) = LOWER(:name) ")
   List<Institution> findInstitutionsByName(@Bind("name") String name);
 
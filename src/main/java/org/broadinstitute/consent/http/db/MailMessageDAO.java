@@ -5,9 +5,12 @@ import java.util.Date;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.broadinstitute.consent.http.db.mapper.MailMessageMapper;
+import org.broadinstitute.consent.http.db.mapper.MailOutboxEntryMapper;
 import org.broadinstitute.consent.http.models.mail.MailMessage;
+import org.broadinstitute.consent.http.models.mail.MailOutboxEntry;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
@@ -56,4 +59,87 @@ public interface MailMessageDAO extends Transactional<MailMessageDAO> {
       WHERE email_entity_id = :emailId
       """)
   MailMessage fetchMessageById(@Bind("emailId") Integer emailId);
+
+  /**
+   * Queue a rendered email to be sent by the outbox dispatcher. The email is due immediately.
+   */
+  @SqlUpdate("""
+      INSERT INTO email_entity
+        (entity_reference_id, vote_id, user_id, email_type, email_text, recipient, subject, next_attempt_date, create_date)
+      VALUES
+        (:entityReferenceId, :voteId, :userId, :emailType, :emailText, :recipient, :subject, :createDate, :createDate)
+      """)
+  @GetGeneratedKeys
+  Integer insertOutboxMessage(@Nullable @Bind("entityReferenceId") String entityReferenceId,
+      @Nullable @Bind("voteId") Integer voteId,
+      @Bind("userId") Integer userId,
+      @Bind("emailType") Integer emailType,
+      @Bind("emailText") String emailText,
+      @Bind("recipient") String recipient,
+      @Bind("subject") String subject,
+      @Bind("createDate") Instant createDate);
+
+  /**
+   * Claim the oldest outbox emails that are due and have attempts left. Claimed emails are leased
+   * until the given time so that concurrent dispatchers skip them, and so that they are retried if
+   * the dispatcher stops before recording the outcome.
+   */
+  @RegisterRowMapper(MailOutboxEntryMapper.class)
+  @SqlQuery("""
+      UPDATE email_entity
+      SET next_attempt_date = :leaseUntil, attempts = attempts + 1
+      WHERE email_entity_id IN (
+        SELECT email_entity_id FROM email_entity
+        WHERE next_attempt_date <= :now AND attempts < :maxAttempts
+        ORDER BY next_attempt_date, email_entity_id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED)
+      RETURNING email_entity_id, recipient, subject, email_text, attempts
+      """)
+  List<MailOutboxEntry> claimOutboxMessages(@Bind("now") Instant now,
+      @Bind("leaseUntil") Instant leaseUntil, @Bind("limit") Integer limit,
+      @Bind("maxAttempts") Integer maxAttempts);
+
+  /**
+   * Remove due emails that have no attempts left from the outbox. These are emails whose last
+   * lease expired without an outcome being recorded.
+   */
+  @SqlUpdate("""
+      UPDATE email_entity
+      SET next_attempt_date = NULL
+      WHERE next_attempt_date <= :now AND attempts >= :maxAttempts
+      """)
+  int expireOutboxMessages(@Bind("now") Instant now, @Bind("maxAttempts") Integer maxAttempts);
+
+  /**
+   * Remove emails from the outbox, recording the final SendGrid outcome. Date sent is null for
+   * emails that were not delivered.
+   */
+  @SqlUpdate("""
+      UPDATE email_entity
+      SET date_sent = :dateSent, sendgrid_response = :sendGridResponse,
+        sendgrid_status = :sendGridStatus, next_attempt_date = NULL
+      WHERE email_entity_id IN (<emailIds>)
+      """)
+  void completeOutboxMessages(@BindList("emailIds") List<Integer> emailIds,
+      @Nullable @Bind("dateSent") Instant dateSent,
+      @Nullable @Bind("sendGridResponse") String sendGridResponse,
+      @Nullable @Bind("sendGridStatus") Integer sendGridStatus);
+
+  /**
+   * Keep emails in the outbox to be retried after a failed attempt.
+   */
+  @SqlUpdate("""
+      UPDATE email_entity
+      SET sendgrid_response = :sendGridResponse, sendgrid_status = :sendGridStatus,
+        next_attempt_date = :nextAttemptDate
+      WHERE email_entity_id IN (<emailIds>)
+      """)
+  void rescheduleOutboxMessages(@BindList("emailIds") List<Integer> emailIds,
+      @Bind("nextAttemptDate") Instant nextAttemptDate,
+      @Nullable @Bind("sendGridResponse") String sendGridResponse,
+      @Nullable @Bind("sendGridStatus") Integer sendGridStatus);
+
+  @SqlQuery("SELECT COUNT(*) FROM email_entity WHERE next_attempt_date IS NOT NULL")
+  Integer countOutboxMessages();
 }
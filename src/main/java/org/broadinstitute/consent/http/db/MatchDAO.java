@@ -7,8 +7,10 @@ import org.broadinstitute.consent.http.db.mapper.MatchReducer;
 import org.broadinstitute.consent.http.models.Match;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.jdbi.v3.sqlobject.statement.UseRowReducer;
@@ -74,9 +76,22 @@ public interface MatchDAO extends Transactional<MatchDAO> {
       @Bind("algorithmVersion") String algorithmVersion,
       @Bind("abstain") Boolean abstain);
 
+  @SqlBatch("""
+        INSERT INTO match_entity
+          (consent, purpose, matchentity, failed, createdate, algorithm_version, abstain)
+        VALUES
+          (:consent, :purpose, :match, :failed, :insertDate, :algorithmVersion, :abstain)
+      """)
+  @GetGeneratedKeys("matchid")
+  List<Integer> insertMatches(@BindBean List<Match> matches, @Bind("insertDate") Date date);
+
   @SqlUpdate("INSERT INTO match_rationale (match_entity_id, rationale) VALUES (:matchId, :rationale) ")
   void insertRationale(@Bind("matchId") Integer matchId, @Bind("rationale") String rationale);
 
+  @SqlBatch("INSERT INTO match_rationale (match_entity_id, rationale) VALUES (:matchId, :rationale) ")
+  void insertRationales(@Bind("matchId") List<Integer> matchIds,
+      @Bind("rationale") List<String> rationales);
+
   @SqlUpdate("DELETE FROM match_entity WHERE purpose = :purposeId")
   void deleteMatchesByPurposeId(@Bind("purposeId") String purposeId);
 
@@ -12,6 +12,7 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import java.net.URI;
 import org.broadinstitute.consent.http.configurations.OidcConfiguration;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.models.OidcAuthorityConfiguration;
 import org.broadinstitute.consent.http.util.ConsentLogger;
 import org.broadinstitute.consent.http.util.HttpClientUtil;
@@ -46,7 +47,7 @@ public class OidcAuthorityDAO implements ConsentLogger {
       queryParameters.forEach((key, values) -> values.forEach(value -> uriBuilder.queryParam(key, value)));
       GenericUrl genericUrl = new GenericUrl(uriBuilder.build());
       HttpRequest request = clientUtil.buildUnAuthedPostRequest(genericUrl, new UrlEncodedContent(formParameters));
-      HttpResponse response = clientUtil.handleHttpRequest(request);
+      HttpResponse response = clientUtil.handleHttpRequest(request, UpstreamOperation.OIDC_TOKEN);
       if (!response.isSuccessStatusCode()) {
         String message = String.format(
             "Error getting OIDC token from authority %s, response code %d, response body %s",
@@ -67,7 +68,8 @@ public class OidcAuthorityDAO implements ConsentLogger {
       URI oidcMetadataUri = UriBuilder.fromUri(configuration.getAuthorityEndpoint()).path(OIDC_METADATA_URL_SUFFIX).build();
       GenericUrl genericUrl = new GenericUrl(oidcMetadataUri);
       HttpRequest request = clientUtil.buildUnAuthedGetRequest(genericUrl);
-      HttpResponse response = clientUtil.handleHttpRequest(request);
+      HttpResponse response = clientUtil.handleHttpRequest(request,
+          UpstreamOperation.OIDC_CONFIGURATION);
       String body = response.parseAsString();
       if (!response.isSuccessStatusCode()) {
         String message = String.format(
@@ -8,7 +8,6 @@ import com.google.api.client.http.HttpStatusCodes;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -17,9 +16,9 @@ import jakarta.ws.rs.core.MediaType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import org.broadinstitute.consent.http.authentication.AuthUserCache;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.exceptions.ConsentConflictException;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.models.sam.EmailResponse;
@@ -28,6 +27,7 @@ import org.broadinstitute.consent.http.models.sam.TosResponse;
 import org.broadinstitute.consent.http.models.sam.UserStatus;
 import org.broadinstitute.consent.http.models.sam.UserStatusDiagnostics;
 import org.broadinstitute.consent.http.models.sam.UserStatusInfo;
+import org.broadinstitute.consent.http.util.BackgroundTaskExecutor;
 import org.broadinstitute.consent.http.util.ConsentLogger;
 import org.broadinstitute.consent.http.util.HttpClientUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -35,16 +35,19 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class SamDAO implements ConsentLogger {
 
-  private final ExecutorService executorService;
+  private final BackgroundTaskExecutor backgroundTaskExecutor;
   private final HttpClientUtil clientUtil;
   private final ServicesConfiguration configuration;
+  private final AuthUserCache authUserCache;
   private final Integer connectTimeoutMilliseconds;
   public final Integer readTimeoutMilliseconds;
 
-  public SamDAO(HttpClientUtil clientUtil, ServicesConfiguration configuration) {
-    this.executorService = Executors.newCachedThreadPool();
+  public SamDAO(HttpClientUtil clientUtil, ServicesConfiguration configuration,
+      AuthUserCache authUserCache, BackgroundTaskExecutor backgroundTaskExecutor) {
+    this.backgroundTaskExecutor = backgroundTaskExecutor;
     this.clientUtil = clientUtil;
     this.configuration = configuration;
+    this.authUserCache = authUserCache;
     // Defaults to 10 seconds
     this.connectTimeoutMilliseconds = configuration.getTimeoutSeconds() * 1000;
     // Defaults to 60 seconds
@@ -54,7 +57,7 @@ public class SamDAO implements ConsentLogger {
   public List<ResourceType> getResourceTypes(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getV1ResourceTypesUrl());
     HttpRequest request = clientUtil.buildGetRequest(genericUrl, authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_RESOURCE_TYPES);
     if (!response.isSuccessStatusCode()) {
       logException("Error getting resource types from Sam: " + response.getStatusMessage(),
           new ServerErrorException(response.getStatusMessage(), response.getStatusCode()));
@@ -68,7 +71,7 @@ public class SamDAO implements ConsentLogger {
   public UserStatusInfo getRegistrationInfo(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getRegisterUserV2SelfInfoUrl());
     HttpRequest request = clientUtil.buildGetRequest(genericUrl, authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_REGISTRATION_INFO);
     if (!response.isSuccessStatusCode()) {
       logException(
           "Error getting user registration information from Sam: " + response.getStatusMessage(),
@@ -81,7 +84,7 @@ public class SamDAO implements ConsentLogger {
   public UserStatusDiagnostics getSelfDiagnostics(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getV2SelfDiagnosticsUrl());
     HttpRequest request = clientUtil.buildGetRequest(genericUrl, authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_SELF_DIAGNOSTICS);
     if (!response.isSuccessStatusCode()) {
       logException(
           "Error getting enabled statuses of user from Sam: " + response.getStatusMessage(),
@@ -94,7 +97,7 @@ public class SamDAO implements ConsentLogger {
   public UserStatus postRegistrationInfo(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.postRegisterUserV2SelfUrl());
     HttpRequest request = clientUtil.buildPostRequest(genericUrl, new EmptyContent(), authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_REGISTER_USER);
     String body = response.parseAsString();
     if (!response.isSuccessStatusCode()) {
       if (HttpStatusCodes.STATUS_CODE_CONFLICT == response.getStatusCode()) {
@@ -112,11 +115,14 @@ public class SamDAO implements ConsentLogger {
     return new Gson().fromJson(body, UserStatus.class);
   }
 
+  /**
+   * Register the user in Sam in the background. Concurrent registrations for the same user, e.g.
+   * from repeated logins, share a single request.
+   */
   public void asyncPostRegistrationInfo(AuthUser authUser) {
-    ListeningExecutorService listeningExecutorService = MoreExecutors.listeningDecorator(
-        executorService);
-    ListenableFuture<UserStatus> userStatusFuture =
-        listeningExecutorService.submit(() -> postRegistrationInfo(authUser));
+    ListenableFuture<UserStatus> userStatusFuture = backgroundTaskExecutor.submit(
+        "sam-registration:" + authUser.getEmail().toLowerCase(),
+        () -> postRegistrationInfo(authUser));
     Futures.addCallback(
         userStatusFuture,
         new FutureCallback<>() {
@@ -130,14 +136,14 @@ public class SamDAO implements ConsentLogger {
             logWarn("Async Post Registration Failure for user: " + authUser.getEmail() + "; " + throwable.getMessage());
           }
         },
-        listeningExecutorService);
+        MoreExecutors.directExecutor());
   }
 
   public String getToSText() throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getToSTextUrl());
     HttpRequest request = clientUtil.buildUnAuthedGetRequest(genericUrl);
     request.getHeaders().setAccept(MediaType.TEXT_PLAIN);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_TOS_TEXT);
     if (!response.isSuccessStatusCode()) {
       logException("Error getting Terms of Service text from Sam: " + response.getStatusMessage(),
           new ServerErrorException(response.getStatusMessage(), response.getStatusCode()));
@@ -148,7 +154,7 @@ public class SamDAO implements ConsentLogger {
   public TosResponse getTosResponse(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getSelfTosUrl());
     HttpRequest request = clientUtil.buildGetRequest(genericUrl, authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_TOS_STATUS);
     if (!response.isSuccessStatusCode()) {
       logException(String.format("Error getting Terms of Service: %s for user %s", response.getStatusMessage(), authUser.getEmail()),
           new ServerErrorException(response.getStatusMessage(), response.getStatusCode()));
@@ -160,30 +166,36 @@ public class SamDAO implements ConsentLogger {
   public int acceptTosStatus(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.acceptTosUrl());
     HttpRequest request = clientUtil.buildPutRequest(genericUrl, new EmptyContent(), authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_ACCEPT_TOS);
+    // ToS status changes the user's Sam registration state, cached users must be re-resolved
+    authUserCache.invalidate(authUser);
     if (!response.isSuccessStatusCode()) {
       logException(String.format("Error accepting Terms of Service: %s for user %s", response.getStatusMessage(), authUser.getEmail()),
           new ServerErrorException(response.getStatusMessage(), response.getStatusCode()));
     }
+    response.ignore();
     return response.getStatusCode();
   }
 
   public int rejectTosStatus(AuthUser authUser) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.rejectTosUrl());
     HttpRequest request = clientUtil.buildPutRequest(genericUrl, new EmptyContent(), authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_REJECT_TOS);
+    // ToS status changes the user's Sam registration state, cached users must be re-resolved
+    authUserCache.invalidate(authUser);
     if (!response.isSuccessStatusCode()) {
       logException(
           String.format("Error removing Terms of Service: %s for user %s", response.getStatusMessage(), authUser.getEmail()),
           new ServerErrorException(response.getStatusMessage(), response.getStatusCode()));
     }
+    response.ignore();
     return response.getStatusCode();
   }
 
   public EmailResponse getV1UserByEmail(AuthUser authUser, String email) throws Exception {
     GenericUrl genericUrl = new GenericUrl(configuration.getV1UserUrl(email));
     HttpRequest request = clientUtil.buildGetRequest(genericUrl, authUser);
-    HttpResponse response = executeRequest(request);
+    HttpResponse response = executeRequest(request, UpstreamOperation.SAM_USER_BY_EMAIL);
     if (!response.isSuccessStatusCode()) {
       logException(
           "Error getting user by email from Sam: " + response.getStatusMessage(),
@@ -198,13 +210,14 @@ public class SamDAO implements ConsentLogger {
    * We inject timeouts here to prevent Sam from impacting API performance.
    * The default is 10 seconds which should be more than enough for Sam calls.
    *
-   * @param request The HttpRequest
+   * @param request   The HttpRequest
+   * @param operation The Sam operation, used to bucket request metrics
    * @return The HttpResponse
    */
-  private HttpResponse executeRequest(HttpRequest request) {
+  private HttpResponse executeRequest(HttpRequest request, UpstreamOperation operation) {
     request.setConnectTimeout(connectTimeoutMilliseconds);
     request.setReadTimeout(readTimeoutMilliseconds);
-    return clientUtil.handleHttpRequest(request);
+    return clientUtil.handleHttpRequest(request, operation);
   }
 
 }
@@ -0,0 +1,83 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * The columns of a result set, resolved once from its metadata so that reducers can check for
+ * optional columns without attempting to read them. Every execution of a statement returns the
+ * same columns, so plans are cached by rendered SQL.
+ */
+public final class ColumnPlan {
+
+  private static final int MAX_CACHED_PLANS = 1000;
+
+  private static final Cache<String, ColumnPlan> PLANS = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_PLANS)
+      .build();
+
+  /**
+   * Lower case column labels to 1-based column indexes
+   */
+  private final Map<String, Integer> indexes;
+
+  ColumnPlan(Map<String, Integer> indexes) {
+    this.indexes = indexes;
+  }
+
+  /**
+   * Find or build the plan for the statement that produced a result set.
+   *
+   * @param rs  The ResultSet
+   * @param ctx The StatementContext
+   * @return The column plan
+   * @throws SQLException The exception
+   */
+  static ColumnPlan resolve(ResultSet rs, StatementContext ctx) throws SQLException {
+    String sql = Objects.isNull(ctx) ? null : ctx.getRenderedSql();
+    if (Objects.isNull(sql)) {
+      return of(rs.getMetaData());
+    }
+    ColumnPlan plan = PLANS.getIfPresent(sql);
+    if (Objects.isNull(plan)) {
+      plan = of(rs.getMetaData());
+      PLANS.put(sql, plan);
+    }
+    return plan;
+  }
+
+  static ColumnPlan of(ResultSetMetaData metaData) throws SQLException {
+    int columns = metaData.getColumnCount();
+    Map<String, Integer> indexes = new HashMap<>(columns * 2);
+    for (int x = 1; x <= columns; x++) {
+      // postgres -> case insensitive columns, the first of any duplicate labels wins
+      indexes.putIfAbsent(metaData.getColumnLabel(x).toLowerCase(Locale.ROOT), x);
+    }
+    return new ColumnPlan(indexes);
+  }
+
+  /**
+   * @param columnName The column name
+   * @return The 1-based index of the column, or 0 if the result set does not contain it
+   */
+  public int indexOf(String columnName) {
+    Integer index = indexes.get(columnName);
+    if (Objects.isNull(index)) {
+      index = indexes.get(columnName.toLowerCase(Locale.ROOT));
+    }
+    return Objects.isNull(index) ? 0 : index;
+  }
+
+  public boolean hasColumn(String columnName) {
+    return indexOf(columnName) > 0;
+  }
+
+}
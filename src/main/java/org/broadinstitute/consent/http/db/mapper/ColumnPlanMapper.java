@@ -0,0 +1,27 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * Makes the {@link ColumnPlan} of the current result set available to reducers through
+ * {@code rowView.getRow(ColumnPlan.class)}. The plan is resolved when the mapper is specialized for
+ * a result set, so each row only returns the already resolved plan.
+ */
+public class ColumnPlanMapper implements RowMapper<ColumnPlan> {
+
+  @Override
+  public ColumnPlan map(ResultSet rs, StatementContext ctx) throws SQLException {
+    return ColumnPlan.resolve(rs, ctx);
+  }
+
+  @Override
+  public RowMapper<ColumnPlan> specialize(ResultSet rs, StatementContext ctx)
+      throws SQLException {
+    ColumnPlan plan = ColumnPlan.resolve(rs, ctx);
+    return (r, c) -> plan;
+  }
+
+}
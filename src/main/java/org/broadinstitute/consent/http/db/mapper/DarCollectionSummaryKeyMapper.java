@@ -0,0 +1,18 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryKey;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+public class DarCollectionSummaryKeyMapper implements RowMapper<DarCollectionSummaryKey> {
+
+  @Override
+  public DarCollectionSummaryKey map(ResultSet rs, StatementContext ctx) throws SQLException {
+    return new DarCollectionSummaryKey(
+        rs.getInt("collection_id"),
+        rs.getTimestamp("submission_date").toInstant()
+    );
+  }
+}
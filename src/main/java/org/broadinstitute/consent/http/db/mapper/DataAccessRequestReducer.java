@@ -1,6 +1,7 @@
 package org.broadinstitute.consent.http.db.mapper;
 
 import java.util.Map;
+import java.util.Objects;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.jdbi.v3.core.result.LinkedHashMapRowReducer;
 import org.jdbi.v3.core.result.RowView;
@@ -13,8 +14,9 @@ public class DataAccessRequestReducer
     DataAccessRequest dar =
         map.computeIfAbsent(
             rowView.getColumn("id", Integer.class), id -> rowView.getRow(DataAccessRequest.class));
-    if (hasNonZeroColumn(rowView, "dataset_id")) {
-      dar.addDatasetId(rowView.getColumn("dataset_id", Integer.class));
+    Integer datasetId = columnValue(rowView, "dataset_id", Integer.class);
+    if (Objects.nonNull(datasetId) && datasetId > 0) {
+      dar.addDatasetId(datasetId);
     }
   }
 }
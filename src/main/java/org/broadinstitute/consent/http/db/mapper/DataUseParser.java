@@ -1,29 +1,44 @@
 package org.broadinstitute.consent.http.db.mapper;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Objects;
 import org.broadinstitute.consent.http.models.DataUse;
 import org.broadinstitute.consent.http.util.ConsentLogger;
 import org.broadinstitute.consent.http.util.gson.GsonUtil;
 
 public class DataUseParser implements ConsentLogger {
 
-  private final Gson gson = GsonUtil.gsonBuilderWithAdapters().create();
-  private final ConcurrentMap<String, DataUse> dataUseCache = new ConcurrentHashMap<>();
+  static final int MAX_CACHED_DATA_USES = 10_000;
+
+  private static final Gson GSON = GsonUtil.gsonBuilderWithAdapters().create();
+
+  /**
+   * Parsed data uses, shared by all parsers and keyed by the data use string. Many datasets share
+   * the same data use, so the most recently used strings are kept up to a fixed number.
+   */
+  private static final Cache<String, DataUse> DATA_USE_CACHE = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_DATA_USES)
+      .build();
 
   public DataUse parseDataUse(String dataUseString) {
     if (null == dataUseString || dataUseString.isEmpty()) {
       return null;
     }
-    return dataUseCache.computeIfAbsent(dataUseString, s -> {
+    DataUse dataUse = DATA_USE_CACHE.getIfPresent(dataUseString);
+    if (Objects.isNull(dataUse)) {
       try {
-        return gson.fromJson(dataUseString, DataUse.class);
+        dataUse = GSON.fromJson(dataUseString, DataUse.class);
       } catch (Exception e) {
         logWarn(String.format("Unable to parse data use string: '%s'", dataUseString));
+        return null;
       }
-      return null;
-    });
+      if (Objects.nonNull(dataUse)) {
+        DATA_USE_CACHE.put(dataUseString, dataUse);
+      }
+    }
+    return dataUse;
   }
 
 }
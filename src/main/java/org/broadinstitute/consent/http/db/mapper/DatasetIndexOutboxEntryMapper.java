@@ -0,0 +1,19 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.broadinstitute.consent.http.models.DatasetIndexOutboxEntry;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+public class DatasetIndexOutboxEntryMapper implements RowMapper<DatasetIndexOutboxEntry> {
+
+  @Override
+  public DatasetIndexOutboxEntry map(ResultSet rs, StatementContext ctx) throws SQLException {
+    return new DatasetIndexOutboxEntry(
+        rs.getInt("dataset_id"),
+        rs.getInt("version"),
+        rs.getTimestamp("enqueued_at").toInstant()
+    );
+  }
+}
@@ -1,7 +1,9 @@
 package org.broadinstitute.consent.http.db.mapper;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.broadinstitute.consent.http.enumeration.PropertyType;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.DatasetProperty;
@@ -11,68 +13,134 @@ import org.broadinstitute.consent.http.models.User;
 import org.jdbi.v3.core.result.LinkedHashMapRowReducer;
 import org.jdbi.v3.core.result.RowView;
 
+/**
+ * Reduces joined dataset rows into datasets. Joins fan out to one row per combination of dataset
+ * property, study property, study dataset and file, so the single-valued columns of a dataset are
+ * only decoded from its first row, and child rows already reduced for a dataset are skipped by id.
+ * JDBI creates a reducer for each query, an instance must not be shared between result sets.
+ */
 public class DatasetReducer implements LinkedHashMapRowReducer<Integer, Dataset>, RowMapperHelper {
 
   private final DataUseParser dataUseParser = new DataUseParser();
 
+  private final StudyReducer studyReducer = new StudyReducer();
+
+  /**
+   * Dataset and child ids of the child rows already reduced, packed by {@link #childKey}
+   */
+  private final Set<Long> reducedProperties = new HashSet<>();
+
+  private final Set<Long> reducedStudyProperties = new HashSet<>();
+
+  private final Set<Long> reducedFiles = new HashSet<>();
+
   @Override
   public void accumulate(Map<Integer, Dataset> map, RowView rowView) {
-    Dataset dataset =
-        map.computeIfAbsent(
-            rowView.getColumn("dataset_id", Integer.class), id -> rowView.getRow(Dataset.class));
-    if (hasNonZeroColumn(rowView, "dac_id")) {
-      dataset.setDacId(rowView.getColumn("dac_id", Integer.class));
+    Integer datasetId = rowView.getColumn("dataset_id", Integer.class);
+    Dataset dataset = map.get(datasetId);
+    if (Objects.isNull(dataset)) {
+      dataset = rowView.getRow(Dataset.class);
+      map.put(datasetId, dataset);
+      reduceDataset(dataset, rowView);
+    }
+    if (isFirstReduction(reducedProperties, datasetId, rowView, "property_id")) {
+      reduceProperty(dataset, rowView);
     }
-    if (hasColumn(rowView, "data_use", String.class)) {
-      dataset.setDataUse(dataUseParser.parseDataUse(rowView.getColumn("data_use", String.class)));
+    Study study = dataset.getStudy();
+    if (Objects.nonNull(study)) {
+      studyReducer.reduceDatasetId(study, rowView);
+      if (isFirstReduction(reducedStudyProperties, datasetId, rowView, "sp_study_property_id")) {
+        studyReducer.reduceProperty(study, rowView);
+      }
+    }
+    if (isFirstReduction(reducedFiles, datasetId, rowView, "fso_file_storage_object_id")) {
+      reduceFileStorageObject(dataset, rowView);
+      if (Objects.nonNull(study)) {
+        studyReducer.reduceFileStorageObject(study, rowView);
+      }
+    }
+  }
+
+  /**
+   * @return False if the child row identified by the id column has already been reduced into the
+   * dataset. Rows without a child id are always reduced.
+   */
+  private boolean isFirstReduction(Set<Long> reduced, Integer datasetId, RowView rowView,
+      String idColumn) {
+    Integer childId = columnValue(rowView, idColumn, Integer.class);
+    return Objects.isNull(childId) || reduced.add(childKey(datasetId, childId));
+  }
+
+  private static long childKey(Integer datasetId, Integer childId) {
+    return ((long) datasetId << Integer.SIZE) | (childId & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Reduce the single-valued columns of a dataset row: dataset fields, create user and the base
+   * study.
+   */
+  public void reduceDataset(Dataset dataset, RowView rowView) {
+    Integer dacId = columnValue(rowView, "dac_id", Integer.class);
+    if (Objects.nonNull(dacId) && dacId > 0) {
+      dataset.setDacId(dacId);
     }
+    hasOptionalColumn(rowView, "data_use", String.class)
+        .map(dataUseParser::parseDataUse)
+        .ifPresent(dataset::setDataUse);
     hasOptionalColumn(rowView, "translated_data_use", String.class)
         .ifPresent(dataset::setTranslatedDataUse);
-    if (hasColumn(rowView, "in_use", Integer.class)) {
-      Integer dsIdInUse = rowView.getColumn("in_use", Integer.class);
-      dataset.setDeletable(Objects.isNull(dsIdInUse));
-    } else {
-      dataset.setDeletable(true);
-    }
-    if (hasColumn(rowView, "dac_approval", Boolean.class)) {
-      dataset.setDacApproval(rowView.getColumn("dac_approval", Boolean.class));
+    Integer dsIdInUse = columnValue(rowView, "in_use", Integer.class);
+    dataset.setDeletable(Objects.isNull(dsIdInUse));
+    hasOptionalColumn(rowView, "dac_approval", Boolean.class)
+        .ifPresent(dataset::setDacApproval);
+
+    if (hasNonZeroColumn(rowView, "s_study_id") && Objects.isNull(dataset.getStudy())) {
+      dataset.setStudy(rowView.getRow(Study.class));
     }
-    if (hasColumn(rowView, "key", String.class)
-        && hasColumn(rowView, "property_value", String.class)) {
-      String keyName = rowView.getColumn("key", String.class);
-      String propVal = rowView.getColumn("property_value", String.class);
-      PropertyType propType = PropertyType.String;
-      if (hasColumn(rowView, "property_type", String.class)) {
-        propType = PropertyType.parse(rowView.getColumn("property_type", String.class));
-      }
 
-      if (Objects.nonNull(keyName) && Objects.nonNull(propVal)) {
-        try {
-          DatasetProperty prop = new DatasetProperty();
-          if (hasNonZeroColumn(rowView, "property_id")) {
-            prop.setPropertyId(rowView.getColumn("property_id", Integer.class));
-          }
-          prop.setDatasetId(dataset.getDatasetId());
-          prop.setPropertyValue(propType.coerce(propVal));
-          prop.setPropertyName(keyName);
-          prop.setPropertyType(propType);
-          if (hasColumn(rowView, "schema_property", String.class)) {
-            prop.setSchemaProperty(rowView.getColumn("schema_property", String.class));
-          }
-          dataset.addProperty(prop);
-        } catch (Exception e) {
-          // do nothing.
-        }
-      }
+    if (hasNonZeroColumn(rowView, "u_user_id")) {
+      User user = rowView.getRow(User.class);
+      dataset.setCreateUser(user);
     }
 
-    if (hasNonZeroColumn(rowView, "s_study_id")) {
-      if (Objects.isNull(dataset.getStudy())) {
-        dataset.setStudy(rowView.getRow(Study.class));
+    dataset.setDatasetName(dataset.getName());
+    dataset.setDatasetIdentifier();
+  }
+
+  /**
+   * Reduce a `dataset_property` row into the dataset's properties. Values that cannot be coerced to
+   * their property type are ignored.
+   */
+  public void reduceProperty(Dataset dataset, RowView rowView) {
+    String keyName = columnValue(rowView, "key", String.class);
+    String propVal = columnValue(rowView, "property_value", String.class);
+    if (Objects.nonNull(keyName) && Objects.nonNull(propVal)) {
+      PropertyType propType = hasOptionalColumn(rowView, "property_type", String.class)
+          .map(PropertyType::parse)
+          .orElse(PropertyType.String);
+      try {
+        DatasetProperty prop = new DatasetProperty();
+        Integer propertyId = columnValue(rowView, "property_id", Integer.class);
+        if (Objects.nonNull(propertyId) && propertyId > 0) {
+          prop.setPropertyId(propertyId);
+        }
+        prop.setDatasetId(dataset.getDatasetId());
+        prop.setPropertyValue(propType.coerce(propVal));
+        prop.setPropertyName(keyName);
+        prop.setPropertyType(propType);
+        hasOptionalColumn(rowView, "schema_property", String.class)
+            .ifPresent(prop::setSchemaProperty);
+        dataset.addProperty(prop);
+      } catch (Exception e) {
+        // do nothing.
       }
-      new StudyReducer().reduceStudy(dataset.getStudy(), rowView);
     }
+  }
 
+  /**
+   * Reduce an `fso_` prefixed file storage object row into the dataset's files.
+   */
+  public void reduceFileStorageObject(Dataset dataset, RowView rowView) {
     if (hasNonZeroColumn(rowView, "fso_file_storage_object_id")) {
       FileStorageObject fileStorageObject = rowView.getRow(FileStorageObject.class);
 
@@ -86,14 +154,6 @@ public class DatasetReducer implements LinkedHashMapRowReducer<Integer, Dataset>
         }
       }
     }
-
-    if (hasNonZeroColumn(rowView, "u_user_id")) {
-      User user = rowView.getRow(User.class);
-      dataset.setCreateUser(user);
-    }
-
-    dataset.setDatasetName(dataset.getName());
-    dataset.setDatasetIdentifier();
   }
 
   private boolean isFileNewer(FileStorageObject incomingFile, FileStorageObject existingFile) {
@@ -0,0 +1,34 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.DatasetSearchTerms;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+public class DatasetSearchTermsMapper implements RowMapper<DatasetSearchTerms>, RowMapperHelper {
+
+  @Override
+  public DatasetSearchTerms map(ResultSet rs, StatementContext ctx) throws SQLException {
+    if (hasNonZeroColumn(rs, "dataset_id") && hasColumn(rs, "name") && hasNonZeroColumn(rs,
+        "alias")) {
+      String identifier = Dataset.parseAliasToIdentifier(rs.getInt("alias"));
+      List<String> propertyValues = List.of();
+      Array values = hasColumn(rs, "property_values") ? rs.getArray("property_values") : null;
+      if (Objects.nonNull(values)) {
+        propertyValues = Arrays.stream((Object[]) values.getArray())
+            .filter(Objects::nonNull)
+            .map(Object::toString)
+            .toList();
+      }
+      return new DatasetSearchTerms(rs.getInt("dataset_id"), identifier, rs.getString("name"),
+          propertyValues);
+    }
+    return null;
+  }
+}
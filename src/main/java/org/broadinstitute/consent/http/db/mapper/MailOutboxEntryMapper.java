@@ -0,0 +1,21 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.broadinstitute.consent.http.models.mail.MailOutboxEntry;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+public class MailOutboxEntryMapper implements RowMapper<MailOutboxEntry> {
+
+  @Override
+  public MailOutboxEntry map(ResultSet rs, StatementContext ctx) throws SQLException {
+    return new MailOutboxEntry(
+        rs.getInt("email_entity_id"),
+        rs.getString("recipient"),
+        rs.getString("subject"),
+        rs.getString("email_text"),
+        rs.getInt("attempts")
+    );
+  }
+}
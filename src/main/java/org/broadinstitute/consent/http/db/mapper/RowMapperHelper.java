@@ -9,11 +9,11 @@ import java.util.Optional;
 import org.apache.commons.text.StringEscapeUtils;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.util.ConsentLogger;
+import org.jdbi.v3.core.mapper.NoSuchMapperException;
 import org.jdbi.v3.core.result.RowView;
 
 public interface RowMapperHelper extends ConsentLogger {
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
   /*
    * Utility method to check if a column exists in the row view or not.
    *
@@ -22,13 +22,9 @@ public interface RowMapperHelper extends ConsentLogger {
    * @param clazz The class that corresponds to the column
    * @return True if the column is in the results, false otherwise
    */
+  @SuppressWarnings({"rawtypes", "unchecked"})
   default boolean hasColumn(RowView rowView, String columnName, Class clazz) {
-    try {
-      return rowView.getColumn(columnName, clazz) != null;
-    } catch (Exception e) {
-      logDebug("RowView does not contain column %s".formatted(columnName));
-      return false;
-    }
+    return Objects.nonNull(columnValue(rowView, columnName, clazz));
   }
 
   /*
@@ -39,12 +35,8 @@ public interface RowMapperHelper extends ConsentLogger {
    * @return True if the column has non-zero results, false otherwise
    */
   default boolean hasNonZeroColumn(RowView rowView, String columnName) {
-    try {
-      return rowView.getColumn(columnName, Integer.class) != null && rowView.getColumn(columnName, Integer.class) > 0;
-    } catch (Exception e) {
-      logDebug("RowView does not contain column %s".formatted(columnName));
-      return false;
-    }
+    Integer value = columnValue(rowView, columnName, Integer.class);
+    return Objects.nonNull(value) && value > 0;
   }
 
   /*
@@ -56,11 +48,43 @@ public interface RowMapperHelper extends ConsentLogger {
    * @return Optional of requested class if the column is in the results, empty otherwise
    */
   default <T> Optional<T> hasOptionalColumn(RowView rowView, String columnName, Class<T> clazz) {
+    return Optional.ofNullable(columnValue(rowView, columnName, clazz));
+  }
+
+  /**
+   * Utility method to read a column that may not be in the row view. Column presence is looked up
+   * in the result set's {@link ColumnPlan} and the value is read by index, so missing columns are
+   * never attempted.
+   *
+   * @param rowView    The RowView
+   * @param columnName The column name
+   * @param clazz      The class that corresponds to the column
+   * @return The column value, or null if the column is not in the results
+   */
+  default <T> T columnValue(RowView rowView, String columnName, Class<T> clazz) {
+    ColumnPlan plan = columnPlan(rowView);
     try {
-      return Optional.of(rowView.getColumn(columnName, clazz));
+      if (Objects.isNull(plan)) {
+        return rowView.getColumn(columnName, clazz);
+      }
+      int index = plan.indexOf(columnName);
+      return index > 0 ? rowView.getColumn(index, clazz) : null;
     } catch (Exception e) {
       logDebug("RowView does not contain column %s".formatted(columnName));
-      return Optional.empty();
+      return null;
+    }
+  }
+
+  /**
+   * @param rowView The RowView
+   * @return The column plan of the row view's result set, or null if no ColumnPlanMapper is
+   * registered, in which case missing columns are detected by attempting to read them.
+   */
+  default ColumnPlan columnPlan(RowView rowView) {
+    try {
+      return rowView.getRow(ColumnPlan.class);
+    } catch (NoSuchMapperException e) {
+      return null;
     }
   }
 
@@ -22,20 +22,34 @@ public class StudyReducer implements LinkedHashMapRowReducer<Integer, Study>, Ro
   }
 
   public void reduceStudy(Study study, RowView rowView) {
+    reduceDatasetId(study, rowView);
+    reduceProperty(study, rowView);
+    reduceFileStorageObject(study, rowView);
+  }
 
-    if (hasNonZeroColumn(rowView, "s_dataset_id")) {
-      study.addDatasetId(rowView.getColumn("s_dataset_id", Integer.class));
+  /**
+   * Reduce an `s_dataset_id` column into the study's dataset ids.
+   */
+  public void reduceDatasetId(Study study, RowView rowView) {
+    Integer datasetId = columnValue(rowView, "s_dataset_id", Integer.class);
+    if (Objects.nonNull(datasetId) && datasetId > 0) {
+      study.addDatasetId(datasetId);
     }
+  }
 
-    if (hasNonZeroColumn(rowView, "sp_study_property_id")) {
-      Integer studyPropertyId = rowView.getColumn("sp_study_property_id", Integer.class);
+  /**
+   * Reduce an `sp_` prefixed study property row into the study's properties. Values that cannot be
+   * coerced to their property type are ignored.
+   */
+  public void reduceProperty(Study study, RowView rowView) {
+    Integer studyPropertyId = columnValue(rowView, "sp_study_property_id", Integer.class);
+    if (Objects.nonNull(studyPropertyId) && studyPropertyId > 0) {
       String keyName = rowView.getColumn("sp_key", String.class);
       String propVal = rowView.getColumn("sp_value", String.class);
       Integer studyId = rowView.getColumn("sp_study_id", Integer.class);
-      PropertyType propType = PropertyType.String;
-      if (hasColumn(rowView, "sp_type", String.class)) {
-        propType = PropertyType.parse(rowView.getColumn("sp_type", String.class));
-      }
+      PropertyType propType = hasOptionalColumn(rowView, "sp_type", String.class)
+          .map(PropertyType::parse)
+          .orElse(PropertyType.String);
 
       if (Objects.nonNull(keyName) && Objects.nonNull(propVal)) {
         try {
@@ -54,10 +68,13 @@ public class StudyReducer implements LinkedHashMapRowReducer<Integer, Study>, Ro
     } else if (Objects.isNull(study.getProperties())) {
       study.setProperties(new HashSet<>());
     }
+  }
 
-    if (hasNonZeroColumn(rowView, "fso_file_storage_object_id")
-        && Objects.nonNull(rowView.getColumn("fso_file_storage_object_id", Integer.class))
-    ) {
+  /**
+   * Reduce an `fso_` prefixed file storage object row into the study's files.
+   */
+  public void reduceFileStorageObject(Study study, RowView rowView) {
+    if (hasNonZeroColumn(rowView, "fso_file_storage_object_id")) {
       FileStorageObject fileStorageObject = rowView.getRow(FileStorageObject.class);
 
       switch (fileStorageObject.getCategory()) {
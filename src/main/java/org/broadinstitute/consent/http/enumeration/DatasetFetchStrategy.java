@@ -0,0 +1,19 @@
+package org.broadinstitute.consent.http.enumeration;
+
+/**
+ * How a dataset and its child collections are loaded from the database.
+ */
+public enum DatasetFetchStrategy {
+
+  /**
+   * A single query that joins every child collection. The row count is the product of the child
+   * collection sizes, which is fine for small lookups.
+   */
+  JOIN,
+
+  /**
+   * One query for the datasets and one keyed query per child collection over the same dataset
+   * ids, stitched together in memory. Preferred when loading many datasets at once.
+   */
+  MULTI_QUERY
+}
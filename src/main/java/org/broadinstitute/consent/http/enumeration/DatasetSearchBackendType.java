@@ -0,0 +1,18 @@
+package org.broadinstitute.consent.http.enumeration;
+
+/**
+ * Where dataset search documents are stored and searched.
+ */
+public enum DatasetSearchBackendType {
+
+  /**
+   * A remote Elasticsearch cluster.
+   */
+  ELASTICSEARCH,
+
+  /**
+   * A full-text indexed table in the application database. Supports the subset of the
+   * Elasticsearch query DSL used to search datasets, without a cluster.
+   */
+  POSTGRES
+}
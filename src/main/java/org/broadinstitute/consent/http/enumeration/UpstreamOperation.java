@@ -0,0 +1,41 @@
+package org.broadinstitute.consent.http.enumeration;
+
+/**
+ * Logical operations performed against upstream services. Upstream call metrics are bucketed by
+ * service and operation rather than by request url so that path parameters, such as user emails,
+ * do not create a new metric per call.
+ */
+public enum UpstreamOperation {
+  SAM_RESOURCE_TYPES("sam", "resource-types"),
+  SAM_REGISTRATION_INFO("sam", "registration-info"),
+  SAM_SELF_DIAGNOSTICS("sam", "self-diagnostics"),
+  SAM_REGISTER_USER("sam", "register-user"),
+  SAM_TOS_TEXT("sam", "tos-text"),
+  SAM_TOS_STATUS("sam", "tos-status"),
+  SAM_ACCEPT_TOS("sam", "accept-tos"),
+  SAM_REJECT_TOS("sam", "reject-tos"),
+  SAM_USER_BY_EMAIL("sam", "user-by-email"),
+  OIDC_CONFIGURATION("oidc", "configuration"),
+  OIDC_TOKEN("oidc", "token"),
+  SUPPORT_TICKET("support", "ticket"),
+  ONTOLOGY_TRANSLATE("ontology", "translate"),
+  ONTOLOGY_TRANSLATE_SUMMARY("ontology", "translate-summary"),
+  MATCH("ontology", "match"),
+  OTHER("other", "other");
+
+  private final String service;
+  private final String operation;
+
+  UpstreamOperation(String service, String operation) {
+    this.service = service;
+    this.operation = operation;
+  }
+
+  public String getService() {
+    return service;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+}
@@ -1,5 +1,7 @@
 package org.broadinstitute.consent.http.filters;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -7,34 +9,51 @@ import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.util.ConsentLogger;
 
 /**
  * Manage a cache of bearer token to map of `OAUTH2_CLAIM` headers for every request. This is
  * useful in cases where components need, but do not have access to, the full request context.
+ * <p>
+ * The cache is bounded by size and expires entries after 5 minutes. Expired entries are evicted
+ * incrementally during normal cache operations and periodically by a background clean up task,
+ * never in bulk on the request thread.
  */
-public class ClaimsCache {
+public class ClaimsCache implements ConsentLogger {
 
-  private static ClaimsCache INSTANCE;
-  public final Cache<String, Map<String, String>> cache;
+  private final Cache<String, Map<String, String>> cache;
   public final static String OAUTH2_CLAIM_email = "OAUTH2_CLAIM_email";
   public final static String OAUTH2_CLAIM_name = "OAUTH2_CLAIM_name";
   public final static String OAUTH2_CLAIM_access_token = "OAUTH2_CLAIM_access_token";
   public final static String OAUTH2_CLAIM_aud = "OAUTH2_CLAIM_aud";
 
-  private ClaimsCache() {
+  public ClaimsCache(ServicesConfiguration configuration, MetricRegistry metricRegistry) {
     cache = CacheBuilder
         .newBuilder()
+        .maximumSize(configuration.getClaimsCacheMaxSize())
         .expireAfterWrite(5, TimeUnit.MINUTES)
+        .recordStats()
         .build();
+    metricRegistry.gauge(MetricRegistry.name(ClaimsCache.class, "size"),
+        () -> (Gauge<Long>) cache::size);
+    metricRegistry.gauge(MetricRegistry.name(ClaimsCache.class, "evictions"),
+        () -> (Gauge<Long>) () -> cache.stats().evictionCount());
   }
 
-  public static ClaimsCache getInstance() {
-    if (INSTANCE == null) {
-      INSTANCE = new ClaimsCache();
-    }
-    return INSTANCE;
+  /**
+   * Periodically evict expired entries so that an idle cache does not retain stale tokens.
+   *
+   * @param executor The executor to run clean up on
+   * @param period   The period between clean up runs
+   * @param unit     The time unit of the period
+   */
+  public void scheduleCleanUp(ScheduledExecutorService executor, long period, TimeUnit unit) {
+    executor.scheduleAtFixedRate(cache::cleanUp, period, period, unit);
   }
 
   private String getFirst(List<String> headerValues) {
@@ -45,15 +64,24 @@ public class ClaimsCache {
   }
 
   public void loadCache(String token, MultivaluedMap<String, String> headers) {
-    if (this.cache.getIfPresent(token) == null) {
-      Map<String, String> claimsMap = headers.entrySet()
+    try {
+      cache.get(token, () -> headers.entrySet()
           .stream()
           .filter(e -> e.getKey().startsWith("OAUTH2_CLAIM"))
+          .filter(e -> getFirst(e.getValue()) != null)
           .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(), getFirst(e.getValue())))
-          .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
-      this.cache.put(token, claimsMap);
-      this.cache.cleanUp();
+          .collect(Collectors.toMap(Entry::getKey, Entry::getValue)));
+    } catch (ExecutionException e) {
+      logWarn("Unable to cache claims: " + e.getMessage());
     }
   }
 
+  public Map<String, String> getIfPresent(String token) {
+    return cache.getIfPresent(token);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
 }
@@ -11,7 +11,11 @@ import java.io.IOException;
 @Priority(Integer.MIN_VALUE)
 public class RequestHeaderCacheFilter implements ContainerRequestFilter {
 
-  private final ClaimsCache claimsCache = ClaimsCache.getInstance();
+  private final ClaimsCache claimsCache;
+
+  public RequestHeaderCacheFilter(ClaimsCache claimsCache) {
+    this.claimsCache = claimsCache;
+  }
 
   @Override
   public void filter(ContainerRequestContext containerRequestContext) throws IOException {
@@ -0,0 +1,127 @@
+package org.broadinstitute.consent.http.health;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.lifecycle.Managed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Runs a health check on a background schedule and serves its most recent result, so that status
+ * requests never wait on an upstream dependency. Each run is bounded by a timeout after which the
+ * dependency is reported unhealthy. Served results include when the check last ran and its age.
+ */
+public class ScheduledHealthCheck extends HealthCheck implements ConsentLogger, Managed {
+
+  public static final String CHECKED_AT = "checkedAt";
+  public static final String AGE_SECONDS = "ageSeconds";
+
+  private final HealthCheck delegate;
+  private final Duration interval;
+  private final Duration timeout;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService runner;
+  private final Timer latency;
+  private volatile CachedResult cached;
+
+  private record CachedResult(Result result, Instant checkedAt) {
+
+  }
+
+  /**
+   * @param name      The health check name, used for metrics
+   * @param delegate  The health check that calls the upstream dependency
+   * @param interval  Time between the end of one run and the start of the next
+   * @param timeout   Maximum time a single run may take
+   * @param scheduler Schedules runs
+   * @param runner    Executes runs so that they can be abandoned after the timeout
+   */
+  public ScheduledHealthCheck(String name, HealthCheck delegate, Duration interval,
+      Duration timeout, ScheduledExecutorService scheduler, ExecutorService runner,
+      MetricRegistry metricRegistry) {
+    this.delegate = delegate;
+    this.interval = interval;
+    this.timeout = timeout;
+    this.scheduler = scheduler;
+    this.runner = runner;
+    this.latency = metricRegistry.timer(
+        MetricRegistry.name(ScheduledHealthCheck.class, name, "latency"));
+    metricRegistry.gauge(MetricRegistry.name(ScheduledHealthCheck.class, name, "age-seconds"),
+        () -> (Gauge<Long>) () -> cached == null ? -1L : ageSeconds(cached.checkedAt()));
+  }
+
+  @Override
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  /**
+   * Run the delegate health check and cache its result.
+   */
+  void refresh() {
+    Result result;
+    Future<Result> run = runner.submit(delegate::execute);
+    try (Timer.Context ignored = latency.time()) {
+      result = run.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      run.cancel(true);
+      result = Result.unhealthy("Health check timed out after %d seconds".formatted(
+          timeout.toSeconds()));
+    } catch (ExecutionException e) {
+      result = Result.unhealthy(e.getCause());
+    } catch (InterruptedException e) {
+      run.cancel(true);
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception e) {
+      logException("Error running health check: ", e);
+      result = Result.unhealthy(e);
+    }
+    cached = new CachedResult(result, Instant.now());
+  }
+
+  @Override
+  protected Result check() {
+    CachedResult current = cached;
+    if (current == null) {
+      return Result.unhealthy("Health check has not completed yet");
+    }
+    Result result = current.result();
+    ResultBuilder builder = Result.builder();
+    if (result.isHealthy()) {
+      builder.healthy();
+    } else if (result.getError() != null) {
+      builder.unhealthy(result.getError());
+    } else {
+      builder.unhealthy();
+    }
+    if (result.getMessage() != null) {
+      builder.withMessage(result.getMessage());
+    }
+    if (result.getDetails() != null) {
+      result.getDetails().forEach(builder::withDetail);
+    }
+    return builder
+        .withDetail(CHECKED_AT, current.checkedAt().toString())
+        .withDetail(AGE_SECONDS, ageSeconds(current.checkedAt()))
+        .build();
+  }
+
+  private static long ageSeconds(Instant checkedAt) {
+    return Duration.between(checkedAt, Instant.now()).toSeconds();
+  }
+
+}
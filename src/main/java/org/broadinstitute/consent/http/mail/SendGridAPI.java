@@ -2,21 +2,24 @@ package org.broadinstitute.consent.http.mail;
 
 import com.google.api.client.http.HttpStatusCodes;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.gson.Gson;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
 import com.sendgrid.Response;
 import com.sendgrid.SendGrid;
 import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
 import com.sendgrid.helpers.mail.objects.Personalization;
 import jakarta.ws.rs.WebApplicationException;
 import java.io.IOException;
-import java.io.Writer;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 import org.broadinstitute.consent.http.configurations.MailConfiguration;
 import org.broadinstitute.consent.http.db.UserDAO;
@@ -77,42 +80,66 @@ public class SendGridAPI implements ConsentLogger {
   }
 
   /**
-   * Determine if the user we are sending an email to has set their preference to false or not.
-   * Users who have been disabled like this should never receive an email.
+   * Determine which recipients should receive email. Users who have set their email preference to
+   * false, and addresses that do not belong to a known user, should never receive an email.
    *
-   * @param message The mail message
-   * @return False if the user has explicitly disabled email, True otherwise.
+   * @param toAddresses The recipient email addresses
+   * @return The lower-cased addresses of recipients who accept email
    */
-  private boolean findUserEmailPreference(Mail message) {
-    List<Personalization> personalizations = message.getPersonalization();
-    Optional<Personalization> toEmail = personalizations.stream().findFirst();
-    if (toEmail.isPresent()) {
-      List<Email> tos = toEmail.get().getTos();
-      // When we construct a mail message, we always send it to just one individual
-      // so that we can track emails at that level of granularity.
-      if (!tos.isEmpty()) {
-        User user = userDAO.findUserByEmail(tos.get(0).getEmail());
-        if (Objects.isNull(user)) {
-          logWarn("Unknown user: %s".formatted(tos.get(0).getEmail()));
-          return false;
-        }
-        if (Objects.isNull(user.getEmailPreference())) {
-          return true;
-        }
-        return user.getEmailPreference();
+  public Set<String> findRecipientsAcceptingEmail(Collection<String> toAddresses) {
+    if (toAddresses.isEmpty()) {
+      return Set.of();
+    }
+    Map<String, User> users = userDAO.findUsersByEmailList(
+            toAddresses.stream().map(String::toLowerCase).distinct().toList())
+        .stream()
+        .collect(Collectors.toMap(u -> u.getEmail().toLowerCase(), u -> u, (a, b) -> a));
+    Set<String> accepted = new HashSet<>();
+    for (String toAddress : toAddresses) {
+      User user = users.get(toAddress.toLowerCase());
+      if (Objects.isNull(user)) {
+        logWarn("Unknown user: %s".formatted(toAddress));
+      } else if (Objects.isNull(user.getEmailPreference()) || user.getEmailPreference()) {
+        accepted.add(toAddress.toLowerCase());
+      } else {
+        logInfo("User Email Preference has evaluated to 'false', not sending to: %s".formatted(
+            toAddress));
       }
     }
-    return false;
+    return accepted;
   }
 
-  public Optional<Response> sendMessage(Mail message) {
-    boolean userEmailPreference = findUserEmailPreference(message);
-    if (!userEmailPreference) {
-      Gson gson = new Gson();
-      logInfo("User Email Preference has evaluated to 'false', not sending to: %s".formatted(gson.toJson(
-          message.getPersonalization())));
+  /**
+   * Build a single message that delivers the same subject and body to each recipient. Every
+   * recipient has their own personalization so that recipients do not see each other.
+   *
+   * @param subject     The message subject
+   * @param body        The rendered html body
+   * @param toAddresses The recipients, at most 1000 per SendGrid request
+   * @return The mail message
+   */
+  public Mail batchMessage(String subject, String body, List<String> toAddresses) {
+    Mail message = new Mail();
+    message.setFrom(new Email(fromAccount));
+    message.setSubject(subject);
+    message.addContent(new Content("text/html", body));
+    for (String toAddress : toAddresses) {
+      Personalization personalization = new Personalization();
+      personalization.addTo(new Email(toAddress));
+      message.addPersonalization(personalization);
     }
-    if (activateEmailNotifications && userEmailPreference) {
+    return message;
+  }
+
+  /**
+   * Send a message through SendGrid. Recipient email preferences must be checked by the caller,
+   * see {@link #findRecipientsAcceptingEmail(Collection)}.
+   *
+   * @param message The mail message
+   * @return The SendGrid response, empty when email notifications are not active
+   */
+  public Optional<Response> sendMessage(Mail message) {
+    if (activateEmailNotifications) {
       try {
         // See https://github.com/sendgrid/sendgrid-java/issues/163
         // for what actually works as compared to the documentation - which doesn't.
@@ -149,93 +176,80 @@ public class SendGridAPI implements ConsentLogger {
     return Optional.empty();
   }
 
-  public Optional<Response> sendNewCaseMessage(String toAddress, String referenceId, String type,
-      Writer template) {
-    Mail message = newCaseMessageCreator.newCaseMessage(toAddress, fromAccount, template,
+  public Mail newCaseMessage(String toAddress, String referenceId, String type,
+      String template) {
+    return newCaseMessageCreator.newCaseMessage(toAddress, fromAccount, template,
         referenceId, type);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendReminderMessage(String toAddress, String referenceId, String type,
-      Writer template) {
-    Mail message = reminderMessageCreator.reminderMessage(toAddress, fromAccount, template,
+  public Mail reminderMessage(String toAddress, String referenceId, String type,
+      String template) {
+    return reminderMessageCreator.reminderMessage(toAddress, fromAccount, template,
         referenceId, type);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendDisabledDatasetMessage(String toAddress, String referenceId,
-      String type, Writer template) {
-    Mail message = disabledDatasetCreator.disabledDatasetMessage(toAddress, fromAccount, template,
+  public Mail disabledDatasetMessage(String toAddress, String referenceId,
+      String type, String template) {
+    return disabledDatasetCreator.disabledDatasetMessage(toAddress, fromAccount, template,
         referenceId, type);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendNewDARRequests(String toAddress, String referenceId, String type,
-      Writer template) {
-    Mail message = newDARMessageCreator.newDARRequestMessage(toAddress, fromAccount, template,
+  public Mail newDARRequestMessage(String toAddress, String referenceId, String type,
+      String template) {
+    return newDARMessageCreator.newDARRequestMessage(toAddress, fromAccount, template,
         referenceId, type);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendNewResearcherApprovedMessage(String toAddress, Writer template,
+  public Mail researcherApprovedMessage(String toAddress, String template,
       String darCode) {
-    Mail message = researcherApprovedMessage.researcherApprovedMessage(toAddress, fromAccount,
+    return researcherApprovedMessage.researcherApprovedMessage(toAddress, fromAccount,
         template, darCode);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendDataCustodianApprovalMessage(String toAddress, String darCode,
-      Writer template) {
-    Mail message = dataCustodianApprovalMessage.dataCustodianApprovalMessage(toAddress, fromAccount,
+  public Mail dataCustodianApprovalMessage(String toAddress, String darCode,
+      String template) {
+    return dataCustodianApprovalMessage.dataCustodianApprovalMessage(toAddress, fromAccount,
         darCode, template);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendDatasetApprovedMessage(String toAddress, Writer template)
+  public Mail datasetApprovedMessage(String toAddress, String template)
       throws MessagingException {
-    Mail message = datasetApprovedMessage.datasetApprovedMessage(toAddress, fromAccount, template);
-    return sendMessage(message);
+    return datasetApprovedMessage.datasetApprovedMessage(toAddress, fromAccount, template);
   }
 
-  public Optional<Response> sendDatasetDeniedMessage(String toAddress, Writer template)
+  public Mail datasetDeniedMessage(String toAddress, String template)
       throws MessagingException {
-    Mail message = datasetDeniedMessage.datasetDeniedMessage(toAddress, fromAccount, template);
-    return sendMessage(message);
+    return datasetDeniedMessage.datasetDeniedMessage(toAddress, fromAccount, template);
   }
 
-  public Optional<Response> sendNewResearcherLibraryRequestMessage(String toAddress,
-      Writer template) throws MessagingException {
-    Mail message = newResearcherLibraryRequestMessage.newResearcherLibraryRequestMessage(toAddress,
+  public Mail newResearcherLibraryRequestMessage(String toAddress,
+      String template) throws MessagingException {
+    return newResearcherLibraryRequestMessage.newResearcherLibraryRequestMessage(toAddress,
         fromAccount, template);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendDatasetSubmittedMessage(String toAddress, Writer template)
+  public Mail datasetSubmittedMessage(String toAddress, String template)
       throws MessagingException {
-    Mail message = datasetSubmittedMessage.datasetSubmittedMessage(toAddress, fromAccount,
+    return datasetSubmittedMessage.datasetSubmittedMessage(toAddress, fromAccount,
         template);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendDaaRequestMessage(String toAddress, Writer template, String daaId)
+  public Mail daaRequestMessage(String toAddress, String template, String daaId)
       throws MessagingException {
-    Mail message = daaRequestMessage.newDaaRequestMessage(toAddress, fromAccount,
+    return daaRequestMessage.newDaaRequestMessage(toAddress, fromAccount,
         template, daaId);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendNewDAAUploadSOMessage(String toAddress, Writer template, String dacName)
+  public Mail newDAAUploadSOMessage(String toAddress, String template, String dacName)
       throws MessagingException {
-    Mail message = newDAAUploadSOMessage.newDAAUploadSOMessage(toAddress, fromAccount,
+    return newDAAUploadSOMessage.newDAAUploadSOMessage(toAddress, fromAccount,
         template, dacName);
-    return sendMessage(message);
   }
 
-  public Optional<Response> sendNewDAAUploadResearcherMessage(String toAddress, Writer template, String dacName)
+  public Mail newDAAUploadResearcherMessage(String toAddress, String template, String dacName)
       throws MessagingException {
-    Mail message = newDAAUploadResearcherMessage.newDAAUploadResearcherMessage(toAddress, fromAccount,
+    return newDAAUploadResearcherMessage.newDAAUploadResearcherMessage(toAddress, fromAccount,
         template, dacName);
-    return sendMessage(message);
   }
 
 }
@@ -6,17 +6,32 @@ import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.io.Writer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.broadinstitute.consent.http.configurations.FreeMarkerConfiguration;
 import org.broadinstitute.consent.http.models.dto.DatasetMailDTO;
 
 public class FreeMarkerTemplateHelper {
 
+  /**
+   * Initial buffer size for the first render of a template, later renders are sized from the
+   * largest output seen so far.
+   */
+  static final int INITIAL_BUFFER_SIZE = 8 * 1024;
 
   Configuration freeMarkerConfig;
 
+  /**
+   * Templates are parsed once and reused, keyed by template name
+   */
+  private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+  private record CompiledTemplate(Template template, AtomicInteger renderedSize) {
+
+  }
+
   public FreeMarkerTemplateHelper(FreeMarkerConfiguration config) {
     freeMarkerConfig = new Configuration(Configuration.VERSION_2_3_22);
     freeMarkerConfig.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
@@ -24,19 +39,19 @@ public class FreeMarkerTemplateHelper {
     freeMarkerConfig.setDefaultEncoding(config.getDefaultEncoding());
   }
 
-  public Writer getNewCaseTemplate(String userName, String election, String entityId,
+  public String getNewCaseTemplate(String userName, String election, String entityId,
       String serverUrl) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-case.html");
-    return generateNewCaseTemplate(userName, election, entityId, temp, serverUrl);
+    NewCaseTemplate model = new NewCaseTemplate(userName, election, entityId, serverUrl);
+    return render("new-case.html", model);
   }
 
-  public Writer getReminderTemplate(String user, String entityName, String serverUrl)
+  public String getReminderTemplate(String user, String entityName, String serverUrl)
       throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("reminder.html");
-    return generateTemplate(user, entityName, temp, serverUrl);
+    SendReminderModel model = new SendReminderModel(user, entityName, serverUrl);
+    return render("reminder.html", model);
   }
 
-  public Writer getNewDARRequestTemplate(
+  public String getNewDARRequestTemplate(
       String serverUrl,
       String userName,
       Map<String, List<String>> dacDatasetGroups,
@@ -44,225 +59,113 @@ public class FreeMarkerTemplateHelper {
       String darID
   )
       throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-request.html");
-    return generateNewDARRequestTemplate(
-        temp,
+    NewDarRequestModel model = new NewDarRequestModel(
         serverUrl,
         userName,
         dacDatasetGroups,
         researcherUserName,
-        darID
-    );
+        darID);
+    return render("new-request.html", model);
   }
 
-  public Writer getResearcherDarApprovedTemplate(String darCode, String researcherName,
+  public String getResearcherDarApprovedTemplate(String darCode, String researcherName,
       List<DatasetMailDTO> datasets, String dataUseRestriction, String email)
       throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("researcher-dar-approved.html");
-    return generateResearcherApprovedTemplate(datasets, dataUseRestriction, darCode, researcherName,
-        email, temp);
+    ResearcherDarApprovedModel model = new ResearcherDarApprovedModel()
+        .setResearcherName(researcherName)
+        .setDarCode(darCode)
+        .setDatasets(datasets)
+        .setDataUseRestriction(dataUseRestriction)
+        .setResearcherEmail(email);
+    return render("researcher-dar-approved.html", model);
   }
 
-  public Writer getDatasetSubmittedTemplate(String dacChairName, String dataSubmitterName,
+  public String getDatasetSubmittedTemplate(String dacChairName, String dataSubmitterName,
       String datasetName,
       String dacName) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("dataset-submitted.html");
-    return generateDatasetSubmittedTemplate(dacChairName, dataSubmitterName, datasetName, dacName,
-        temp);
+    DatasetSubmittedModel model = new DatasetSubmittedModel(dacChairName, dataSubmitterName,
+        datasetName,
+        dacName);
+    return render("dataset-submitted.html", model);
   }
 
-  public Writer getDatasetApprovedTemplate(String dataSubmitterName, String datasetName,
+  public String getDatasetApprovedTemplate(String dataSubmitterName, String datasetName,
       String dacName) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("dataset-approved.html");
-    return generateDatasetApprovedTemplate(dataSubmitterName, datasetName, dacName, temp);
+    DatasetApprovedModel model = new DatasetApprovedModel(dataSubmitterName, datasetName, dacName);
+    return render("dataset-approved.html", model);
   }
 
-  public Writer getDatasetDeniedTemplate(String dataSubmitterName, String datasetName,
+  public String getDatasetDeniedTemplate(String dataSubmitterName, String datasetName,
       String dacName, String dacEmail) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("dataset-denied.html");
-    return generateDatasetDeniedTemplate(dataSubmitterName, datasetName, dacName, dacEmail, temp);
+    DatasetDeniedModel model = new DatasetDeniedModel(dataSubmitterName, datasetName, dacName,
+        dacEmail);
+    return render("dataset-denied.html", model);
   }
 
-  public Writer getNewResearcherLibraryRequestTemplate(String researcherName, String serverUrl)
+  public String getNewResearcherLibraryRequestTemplate(String researcherName, String serverUrl)
       throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-researcher-library-request.html");
-    return generateNewResearcherLibraryRequestTemplate(researcherName, serverUrl, temp);
-  }
-
-  public Writer getDataCustodianApprovalTemplate(List<DatasetMailDTO> datasets,
-      String dataDepositorName,
-      String darCode, String researcherEmail) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("data-custodian-approval.html");
-    return generateDataCustodianApprovalTemplate(datasets, dataDepositorName, darCode,
-        researcherEmail, temp);
-  }
-
-  public Writer getDaaRequestTemplate(String signingOfficialUserName,
-      String userName, String daaName, String serverUrl) throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-daa-request.html");
-    return generateNewDAARequestTemplate(signingOfficialUserName, userName, daaName,
-        serverUrl, temp);
-  }
-
-  public Writer getNewDaaUploadSOTemplate(String signingOfficialUserName,
-      String dacName, String newDaaName, String previousDaaName, String serverUrl)
-      throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-daa-upload-signing-official.html");
-    return generateNewDAAUploadSOTemplate(signingOfficialUserName, dacName, previousDaaName, newDaaName, serverUrl, temp);
-  }
-
-  public Writer getNewDaaUploadResearcherTemplate(String researcherUserName,
-      String dacName, String newDaaName, String previousDaaName, String serverUrl)
-      throws IOException, TemplateException {
-    Template temp = freeMarkerConfig.getTemplate("new-daa-upload-researcher.html");
-    return generateNewDAAUploadResearcherTemplate(researcherUserName, dacName, previousDaaName, newDaaName, serverUrl, temp);
-  }
-
-  private Writer generateDatasetApprovedTemplate(String dataSubmitterName, String datasetName,
-      String dacName, Template temp) throws IOException, TemplateException {
-    DatasetApprovedModel model = new DatasetApprovedModel(dataSubmitterName, datasetName, dacName);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateDatasetDeniedTemplate(String dataSubmitterName, String datasetName,
-      String dacName, String dacEmail, Template temp) throws IOException, TemplateException {
-    DatasetDeniedModel model = new DatasetDeniedModel(dataSubmitterName, datasetName, dacName, dacEmail);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateNewResearcherLibraryRequestTemplate(String researcherName,
-      String serverUrl, Template temp) throws IOException, TemplateException {
     NewResearcherLibraryRequestModel model = new NewResearcherLibraryRequestModel(researcherName,
         serverUrl);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
+    return render("new-researcher-library-request.html", model);
   }
 
-  private Writer generateDatasetSubmittedTemplate(String dacChairName, String dataSubmitterName,
-      String datasetName,
-      String dacName, Template temp) throws IOException, TemplateException {
-    DatasetSubmittedModel model = new DatasetSubmittedModel(dacChairName, dataSubmitterName,
-        datasetName,
-        dacName);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateResearcherApprovedTemplate(List<DatasetMailDTO> datasets,
-      String dataUseRestriction, String darCode, String researcherName, String email, Template temp)
-      throws IOException, TemplateException {
-    ResearcherDarApprovedModel model = new ResearcherDarApprovedModel()
-        .setResearcherName(researcherName)
-        .setDarCode(darCode)
-        .setDatasets(datasets)
-        .setDataUseRestriction(dataUseRestriction)
-        .setResearcherEmail(email);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateDataCustodianApprovalTemplate(List<DatasetMailDTO> datasets,
-      String dataDepositorName, String darCode,
-      String researcherEmail, Template temp) throws IOException, TemplateException {
+  public String getDataCustodianApprovalTemplate(List<DatasetMailDTO> datasets,
+      String dataDepositorName,
+      String darCode, String researcherEmail) throws IOException, TemplateException {
     DataCustodianApprovalModel model = new DataCustodianApprovalModel(datasets,
         dataDepositorName, darCode, researcherEmail);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateTemplate(String user, String entityName, Template temp,
-      String serverUrl) throws IOException, TemplateException {
-    SendReminderModel model = new SendReminderModel(user, entityName, serverUrl);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateNewCaseTemplate(String userName, String election, String entityId,
-      Template temp, String serverUrl) throws IOException, TemplateException {
-    NewCaseTemplate model = new NewCaseTemplate(userName, election, entityId, serverUrl);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateNewDARRequestTemplate(
-      Template temp,
-      String serverUrl,
-      String userName,
-      Map<String, List<String>> dacDatasetGroups,
-      String researcherUserName,
-      String darID
-  ) throws IOException, TemplateException {
-    NewDarRequestModel model = new NewDarRequestModel(
-        serverUrl,
-        userName,
-        dacDatasetGroups,
-        researcherUserName,
-        darID);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
-  }
-
-  private Writer generateDisabledDatasetsTemplate(String user, List<String> datasets,
-      String entityId, String serverUrl, Template temp) throws IOException, TemplateException {
-    DisabledDatasetModel model = new DisabledDatasetModel(user, datasets, entityId, serverUrl);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
+    return render("data-custodian-approval.html", model);
   }
 
-  private Writer generateNewDAARequestTemplate(
-      String signingOfficialUserName,
-      String userName,
-      String daaName,
-      String serverUrl,
-      Template temp
-  ) throws IOException, TemplateException {
+  public String getDaaRequestTemplate(String signingOfficialUserName,
+      String userName, String daaName, String serverUrl) throws IOException, TemplateException {
     NewDaaRequestModel model = new NewDaaRequestModel(serverUrl, daaName, userName,
         signingOfficialUserName);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
+    return render("new-daa-request.html", model);
   }
 
-  private Writer generateNewDAAUploadSOTemplate(
-      String signingOfficialUserName,
-      String dacName,
-      String previousDaaName,
-      String newDaaName,
-      String serverUrl,
-      Template temp
-  ) throws IOException, TemplateException {
+  public String getNewDaaUploadSOTemplate(String signingOfficialUserName,
+      String dacName, String newDaaName, String previousDaaName, String serverUrl)
+      throws IOException, TemplateException {
     NewDAAUploadSOModel model = new NewDAAUploadSOModel(serverUrl, dacName, signingOfficialUserName,
         previousDaaName, newDaaName);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
+    return render("new-daa-upload-signing-official.html", model);
   }
 
-  private Writer generateNewDAAUploadResearcherTemplate(
-      String researcherUserName,
-      String dacName,
-      String previousDaaName,
-      String newDaaName,
-      String serverUrl,
-      Template temp
-  ) throws IOException, TemplateException {
+  public String getNewDaaUploadResearcherTemplate(String researcherUserName,
+      String dacName, String newDaaName, String previousDaaName, String serverUrl)
+      throws IOException, TemplateException {
     NewDAAUploadResearcherModel model = new NewDAAUploadResearcherModel(serverUrl, dacName,
         researcherUserName, previousDaaName, newDaaName);
-    Writer out = new StringWriter();
-    temp.process(model, out);
-    return out;
+    return render("new-daa-upload-researcher.html", model);
+  }
+
+  /**
+   * Render a template into a single buffer sized from previous renders of the same template.
+   *
+   * @param name  The template name
+   * @param model The template data model
+   * @return The rendered template
+   */
+  private String render(String name, Object model) throws IOException, TemplateException {
+    CompiledTemplate compiled = compile(name);
+    StringWriter out = new StringWriter(compiled.renderedSize().get());
+    compiled.template().process(model, out);
+    compiled.renderedSize().accumulateAndGet(out.getBuffer().length(), Math::max);
+    return out.toString();
+  }
+
+  private CompiledTemplate compile(String name) throws IOException {
+    CompiledTemplate compiled = templates.get(name);
+    if (compiled == null) {
+      CompiledTemplate parsed = new CompiledTemplate(freeMarkerConfig.getTemplate(name),
+          new AtomicInteger(INITIAL_BUFFER_SIZE));
+      compiled = templates.putIfAbsent(name, parsed);
+      if (compiled == null) {
+        compiled = parsed;
+      }
+    }
+    return compiled;
   }
 
 }
@@ -1,7 +1,6 @@
 package org.broadinstitute.consent.http.mail.message;
 
 import com.sendgrid.helpers.mail.Mail;
-import java.io.Writer;
 
 public class DataCustodianApprovalMessage extends MailMessage {
 
@@ -9,7 +8,7 @@ public class DataCustodianApprovalMessage extends MailMessage {
       String toAddress,
       String fromAddress,
       String darCode,
-      Writer template) {
+      String template) {
     return generateEmailMessage(toAddress, fromAddress, template, darCode, null);
   }
 
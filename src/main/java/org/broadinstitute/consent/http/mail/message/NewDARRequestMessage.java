@@ -1,13 +1,12 @@
 package org.broadinstitute.consent.http.mail.message;
 
 import com.sendgrid.helpers.mail.Mail;
-import java.io.Writer;
 
 public class NewDARRequestMessage extends MailMessage {
 
   private final String NEW_DAR_REQUEST = "Create an election for Data Access Request id: %s.";
 
-  public Mail newDARRequestMessage(String toAddress, String fromAddress, Writer template,
+  public Mail newDARRequestMessage(String toAddress, String fromAddress, String template,
       String referenceId, String type) {
     return generateEmailMessage(toAddress, fromAddress, template, referenceId, type);
   }
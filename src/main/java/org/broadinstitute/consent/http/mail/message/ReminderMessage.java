@@ -1,7 +1,6 @@
 package org.broadinstitute.consent.http.mail.message;
 
 import com.sendgrid.helpers.mail.Mail;
-import java.io.Writer;
 
 public class ReminderMessage extends MailMessage {
 
@@ -9,7 +8,7 @@ public class ReminderMessage extends MailMessage {
   private final String REMINDER_DAR = "Urgent: Log votes on Data Access Request case id: %s.";
   private final String REMINDER_RP = "Urgent: Log votes on Research Purpose Review case id: %s.";
 
-  public Mail reminderMessage(String toAddress, String fromAddress, Writer template,
+  public Mail reminderMessage(String toAddress, String fromAddress, String template,
       String referenceId, String type) {
     return generateEmailMessage(toAddress, fromAddress, template, referenceId, type);
   }
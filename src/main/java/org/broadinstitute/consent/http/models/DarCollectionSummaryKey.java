@@ -0,0 +1,10 @@
+package org.broadinstitute.consent.http.models;
+
+import java.time.Instant;
+
+/**
+ * The position of a DAR Collection in the summary ordering: the latest submission date of its
+ * requests, with the collection id as a tie-breaker.
+ */
+public record DarCollectionSummaryKey(Integer collectionId, Instant submissionDate) {
+}
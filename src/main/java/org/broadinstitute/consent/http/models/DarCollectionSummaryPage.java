@@ -0,0 +1,11 @@
+package org.broadinstitute.consent.http.models;
+
+import java.util.List;
+
+/**
+ * One page of DAR Collection summaries, most recently submitted first. The total count covers all
+ * pages for the same filters and the next cursor is null on the last page.
+ */
+public record DarCollectionSummaryPage(List<DarCollectionSummary> results, Integer totalCount,
+                                       String nextCursor) {
+}
@@ -19,6 +19,7 @@ public class DarDecisionMetrics implements DecisionMetrics {
   private static final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
   private static final String YES = "Yes";
   private static final String NO = "No";
+  private String referenceId;
   private String darId;
   private String dacName;
   private String datasetId;
@@ -58,6 +59,7 @@ public class DarDecisionMetrics implements DecisionMetrics {
       Election rpElection,
       Match match,
       String darCode) {
+    this.referenceId = dar.getReferenceId();
     this.setDarId(darCode);
     this.setDacName(dac);
     this.setDatasetId(dataset);
@@ -90,6 +92,10 @@ public class DarDecisionMetrics implements DecisionMetrics {
         "\n");
   }
 
+  public String getReferenceId() {
+    return referenceId;
+  }
+
   public String getDarId() {
     return darId;
   }
@@ -0,0 +1,10 @@
+package org.broadinstitute.consent.http.models;
+
+import java.time.Instant;
+
+/**
+ * A dataset that needs to be reindexed. The version is incremented each time the dataset is
+ * enqueued again so that an entry is only removed if it has not changed since it was read.
+ */
+public record DatasetIndexOutboxEntry(Integer datasetId, Integer version, Instant enqueuedAt) {
+}
@@ -0,0 +1,14 @@
+package org.broadinstitute.consent.http.models;
+
+import java.util.List;
+
+/**
+ * The searchable text of an approved dataset: its name, identifier and property values.
+ */
+public record DatasetSearchTerms(Integer datasetId, String identifier, String name,
+                                 List<String> propertyValues) {
+
+  public DatasetSummary toSummary() {
+    return new DatasetSummary(datasetId, identifier, name);
+  }
+}
@@ -0,0 +1,9 @@
+package org.broadinstitute.consent.http.models.mail;
+
+/**
+ * A rendered email waiting in the outbox to be sent. Attempts includes the current attempt once
+ * the entry has been claimed for sending.
+ */
+public record MailOutboxEntry(Integer emailId, String recipient, String subject, String emailText,
+                              Integer attempts) {
+}
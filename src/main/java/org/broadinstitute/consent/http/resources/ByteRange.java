@@ -0,0 +1,67 @@
+package org.broadinstitute.consent.http.resources;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single byte range of a document requested through an HTTP Range header.
+ *
+ * @param offset Offset of the first byte in the range
+ * @param length Number of bytes in the range, zero when the range cannot be satisfied
+ */
+record ByteRange(long offset, long length) {
+
+  private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+  /**
+   * Parse a Range header against a document of the given size. Headers that are absent, invalid
+   * or request more than one range are ignored, and the whole document should be served.
+   *
+   * @param header The Range header value, may be null
+   * @param size   Size of the document in bytes
+   * @return The requested range, if any
+   */
+  static Optional<ByteRange> parse(String header, long size) {
+    if (header == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+    if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+      return Optional.empty();
+    }
+    try {
+      if (matcher.group(1).isEmpty()) {
+        // Suffix range: the last N bytes of the document
+        long length = Math.min(Long.parseLong(matcher.group(2)), size);
+        return Optional.of(new ByteRange(size - length, length));
+      }
+      long first = Long.parseLong(matcher.group(1));
+      long last = matcher.group(2).isEmpty() ? Long.MAX_VALUE : Long.parseLong(matcher.group(2));
+      if (last < first) {
+        return Optional.empty();
+      }
+      if (first >= size) {
+        return Optional.of(new ByteRange(first, 0));
+      }
+      return Optional.of(new ByteRange(first, Math.min(last, size - 1) - first + 1));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  boolean isSatisfiable() {
+    return length > 0;
+  }
+
+  /**
+   * @param size Size of the document in bytes
+   * @return Content-Range header value for this range
+   */
+  String contentRange(long size) {
+    return isSatisfiable()
+        ? "bytes %d-%d/%d".formatted(offset, offset + length - 1, size)
+        : "bytes */%d".formatted(size);
+  }
+
+}
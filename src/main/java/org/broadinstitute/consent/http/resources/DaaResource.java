@@ -1,5 +1,6 @@
 package org.broadinstitute.consent.http.resources;
 
+import com.google.cloud.storage.Blob;
 import com.google.inject.Inject;
 import io.dropwizard.auth.Auth;
 import jakarta.annotation.security.PermitAll;
@@ -8,6 +9,7 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -17,7 +19,6 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
-import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import java.io.InputStream;
 import java.net.URI;
@@ -164,15 +165,13 @@ public class DaaResource extends Resource implements ConsentLogger {
   @Path("{daaId}/file")
   @Produces({MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON})
   public Response findFileById(
-      @PathParam("daaId") Integer daaId) {
+      @PathParam("daaId") Integer daaId,
+      @HeaderParam("Range") String range) {
     try {
-      InputStream daa = daaService.findFileById(daaId);
-      StreamingOutput stream = createStreamingOutput(daa);
+      Blob daa = daaService.findFileById(daaId);
       DataAccessAgreement daa2 = daaService.findById(daaId);
       String fileName = daa2.getFile().getFileName();
-      return Response.ok(stream)
-          .header("Content-Disposition", "attachment; filename=" + fileName)
-          .build();
+      return createDocumentResponse(daa, fileName, range);
     } catch (Exception e) {
       return createExceptionResponse(e);
     }
@@ -8,6 +8,7 @@ import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.NotFoundException;
@@ -26,6 +27,7 @@ import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.models.DarCollection;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryPage;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.User;
 import org.broadinstitute.consent.http.service.DarCollectionService;
@@ -34,6 +36,8 @@ import org.broadinstitute.consent.http.service.UserService;
 @Path("api/collections")
 public class DarCollectionResource extends Resource {
 
+  private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
   private final DarCollectionService darCollectionService;
   private final UserService userService;
 
@@ -61,6 +65,29 @@ public class DarCollectionResource extends Resource {
     }
   }
 
+  @GET
+  @Path("role/{roleName}/summary/page")
+  @Produces("application/json")
+  @RolesAllowed({ADMIN, SIGNINGOFFICIAL})
+  @Timed
+  public Response getCollectionSummaryPageForUserByRole(@Auth AuthUser authUser,
+      @PathParam("roleName") String roleName,
+      @QueryParam("cursor") String cursor,
+      @DefaultValue("20") @QueryParam("limit") Integer limit,
+      @QueryParam("status") String status,
+      @QueryParam("datasetId") Integer datasetId,
+      @QueryParam("institutionId") Integer institutionId) {
+    try {
+      validateLimit(limit);
+      User user = userService.findUserByEmail(authUser.getEmail());
+      validateUserHasRoleName(user, roleName);
+      DarCollectionSummaryPage page = darCollectionService.getSummaryPageForRoleName(user,
+          roleName, cursor, limit, status, datasetId, institutionId);
+      return Response.ok().entity(page).build();
+    } catch (Exception e) {
+      return createExceptionResponse(e);
+    }
+  }
 
   @GET
   @Path("role/{roleName}/summary/{collectionId}")
@@ -273,6 +300,13 @@ public class DarCollectionResource extends Resource {
     }
   }
 
+  private void validateLimit(Integer limit) {
+    if (limit == null || limit < 1 || limit > MAX_SUMMARY_PAGE_SIZE) {
+      throw new BadRequestException(
+          "limit value must be between 1 and " + MAX_SUMMARY_PAGE_SIZE);
+    }
+  }
+
   private void isCollectionPresent(DarCollection collection) {
     if (Objects.isNull(collection)) {
       throw new NotFoundException("Collection not found");
@@ -11,6 +11,7 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
@@ -20,7 +21,6 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.InputStream;
@@ -355,7 +355,8 @@ public class DataAccessRequestResource extends Resource {
   @RolesAllowed({ADMIN, CHAIRPERSON, MEMBER, RESEARCHER})
   public Response getIrbDocument(
       @Auth AuthUser authUser,
-      @PathParam("referenceId") String referenceId) {
+      @PathParam("referenceId") String referenceId,
+      @HeaderParam("Range") String range) {
     try {
       DataAccessRequest dar = getDarById(referenceId);
       validateAuthedRoleUser(
@@ -368,11 +369,7 @@ public class DataAccessRequestResource extends Resource {
       ) {
         String blobIdName = dar.getData().getIrbDocumentLocation();
         String fileName = dar.getData().getIrbDocumentName();
-        InputStream is = gcsService.getDocument(blobIdName);
-        StreamingOutput stream = createStreamingOutput(is);
-        return Response.ok(stream)
-            .header("Content-Disposition", "attachment; filename=" + fileName)
-            .build();
+        return createDocumentResponse(gcsService.getDocumentBlob(blobIdName), fileName, range);
       }
       throw new NotFoundException();
     } catch (Exception e) {
@@ -468,7 +465,8 @@ public class DataAccessRequestResource extends Resource {
   @RolesAllowed({ADMIN, CHAIRPERSON, MEMBER, RESEARCHER})
   public Response getCollaborationDocument(
       @Auth AuthUser authUser,
-      @PathParam("referenceId") String referenceId) {
+      @PathParam("referenceId") String referenceId,
+      @HeaderParam("Range") String range) {
     try {
       DataAccessRequest dar = getDarById(referenceId);
       validateAuthedRoleUser(
@@ -481,11 +479,7 @@ public class DataAccessRequestResource extends Resource {
       ) {
         String blobIdName = dar.getData().getCollaborationLetterLocation();
         String fileName = dar.getData().getCollaborationLetterName();
-        InputStream is = gcsService.getDocument(blobIdName);
-        StreamingOutput stream = createStreamingOutput(is);
-        return Response.ok(stream)
-            .header("Content-Disposition", "attachment; filename=" + fileName)
-            .build();
+        return createDocumentResponse(gcsService.getDocumentBlob(blobIdName), fileName, range);
       }
       throw new NotFoundException();
     } catch (Exception e) {
@@ -4,7 +4,6 @@ import com.codahale.metrics.annotation.Timed;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.inject.Inject;
-import com.networknt.schema.ValidationMessage;
 import io.dropwizard.auth.Auth;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
@@ -96,15 +95,8 @@ public class DatasetResource extends Resource {
       FormDataMultiPart multipart,
       @FormDataParam("dataset") String json) {
     try {
-      Set<ValidationMessage> errors = jsonSchemaUtil.validateSchema_v1(json);
-      if (!errors.isEmpty()) {
-        throw new BadRequestException(
-            "Invalid schema:\n"
-                + String.join("\n", errors.stream().map(ValidationMessage::getMessage).toList()));
-      }
-
-      DatasetRegistrationSchemaV1 registration = jsonSchemaUtil.deserializeDatasetRegistration(
-          json);
+      DatasetRegistrationSchemaV1 registration = jsonSchemaUtil
+          .validateAndDeserializeDatasetRegistration(json);
       User user = userService.findUserByEmail(authUser.getEmail());
 
       // key: field name (not file name), value: file body part
@@ -419,9 +411,12 @@ public class DatasetResource extends Resource {
   @POST
   @Path("/index")
   @RolesAllowed(ADMIN)
-  public Response indexDatasets() {
+  public Response indexDatasets(@QueryParam("after") Integer after) {
     try {
-      var datasetIds = datasetService.findAllDatasetIds();
+      var datasetIds = datasetService.findAllDatasetIds()
+          .stream()
+          .filter(id -> Objects.isNull(after) || id > after)
+          .toList();
       StreamingOutput indexResponse = elasticSearchService.indexDatasetIds(datasetIds);
       return Response.ok(indexResponse, MediaType.APPLICATION_JSON).build();
     } catch (Exception e) {
@@ -7,19 +7,31 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import org.broadinstitute.consent.http.models.DatasetMetrics;
 import org.broadinstitute.consent.http.models.Type;
+import org.broadinstitute.consent.http.service.DecisionMetricsSnapshot;
 import org.broadinstitute.consent.http.service.MetricsService;
 
 @Path("/metrics")
 public class MetricsResource extends Resource {
 
   private final MetricsService metricsService;
+  private final DecisionMetricsSnapshot metricsSnapshot;
   private static final String JOINER = "\t";
+  static final String AS_OF_HEADER = "X-Metrics-As-Of";
 
   @Inject
-  public MetricsResource(MetricsService metricsService) {
+  public MetricsResource(MetricsService metricsService, DecisionMetricsSnapshot metricsSnapshot) {
     this.metricsService = metricsService;
+    this.metricsSnapshot = metricsSnapshot;
   }
 
   @GET
@@ -51,9 +63,24 @@ public class MetricsResource extends Resource {
   private Response getMetricsData(Type type) {
     try {
       String header = metricsService.getHeaderRow(type);
-      StringBuilder tsv = new StringBuilder(header);
-      metricsService.generateDecisionMetrics(type).forEach(m -> tsv.append(m.toString(JOINER)));
-      return Response.ok(tsv.toString()).build();
+      DecisionMetricsSnapshot.View view = metricsSnapshot.getView();
+      // Rows are written as they are generated rather than buffered into a single string
+      StreamingOutput tsv = output -> {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(header);
+        metricsService.forEachDecisionMetric(type, view.darMetrics(), m -> {
+          try {
+            writer.write(m.toString(JOINER));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        writer.flush();
+      };
+      return Response.ok(tsv)
+          .header(AS_OF_HEADER, view.asOf().toString())
+          .lastModified(Date.from(view.asOf()))
+          .build();
     } catch (Exception e) {
       return createExceptionResponse(e);
     }
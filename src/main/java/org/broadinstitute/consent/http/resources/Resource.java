@@ -1,5 +1,7 @@
 package org.broadinstitute.consent.http.resources;
 
+import com.google.cloud.storage.Blob;
+import com.google.common.hash.Hashing;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.MalformedJsonException;
 import io.sentry.Sentry;
@@ -8,11 +10,15 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.sql.SQLSyntaxErrorException;
 import java.util.AbstractMap;
@@ -20,7 +26,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import org.apache.commons.io.IOUtils;
+import java.util.Optional;
+import org.broadinstitute.consent.http.cloudstore.GCSService;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.exceptions.ConsentConflictException;
 import org.broadinstitute.consent.http.exceptions.UnknownIdentifierException;
@@ -80,9 +87,10 @@ abstract public class Resource implements ConsentLogger {
   }
 
   StreamingOutput createStreamingOutput(InputStream inputStream) {
+    // Copy through a bounded buffer so the document is never held in memory as a whole
     return output -> {
-      try {
-        output.write(IOUtils.toByteArray(inputStream));
+      try (InputStream input = inputStream) {
+        input.transferTo(output);
       } catch (Exception e) {
         logException(e);
         throw e;
@@ -90,6 +98,37 @@ abstract public class Resource implements ConsentLogger {
     };
   }
 
+  /**
+   * Create a download response for a stored document. When the Range header requests a single
+   * byte range, only that range is streamed with a 206 Partial Content status.
+   *
+   * @param blob        The stored document
+   * @param fileName    File name for the Content-Disposition header
+   * @param rangeHeader The request's Range header, may be null
+   * @return Response streaming the document
+   */
+  Response createDocumentResponse(Blob blob, String fileName, String rangeHeader) {
+    long size = blob.getSize();
+    Optional<ByteRange> range = ByteRange.parse(rangeHeader, size);
+    if (range.isPresent() && !range.get().isSatisfiable()) {
+      return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header("Content-Range", range.get().contentRange(size))
+          .build();
+    }
+    long offset = range.map(ByteRange::offset).orElse(0L);
+    long length = range.map(ByteRange::length).orElse(size);
+    Response.ResponseBuilder builder = range.isPresent()
+        ? Response.status(Response.Status.PARTIAL_CONTENT)
+        .header("Content-Range", range.get().contentRange(size))
+        : Response.ok();
+    return builder
+        .entity(createStreamingOutput(GCSService.openStream(blob, offset, length)))
+        .header("Content-Disposition", "attachment; filename=" + fileName)
+        .header("Accept-Ranges", "bytes")
+        .header("Content-Length", length)
+        .build();
+  }
+
   protected void validateFileDetails(ContentDisposition contentDisposition) {
     FileValidator validator = new FileValidator();
     boolean validName = validator.isValidFileName("validating uploaded file name",
@@ -244,6 +283,27 @@ abstract public class Resource implements ConsentLogger {
     }
   }
 
+  /**
+   * Build a JSON response that supports conditional requests. The entity tag is a hash of the
+   * serialized entity, so clients that send a matching `If-None-Match` header receive a 304 Not
+   * Modified response without a body.
+   *
+   * @param request The request, used to evaluate preconditions
+   * @param entity  The entity, or its JSON serialization
+   * @return The response
+   */
+  protected Response conditionalJsonResponse(Request request, Object entity) {
+    String json = entity instanceof String s ? s : unmarshal(entity);
+    EntityTag entityTag = new EntityTag(
+        Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString());
+    ResponseBuilder notModified =
+        Objects.isNull(request) ? null : request.evaluatePreconditions(entityTag);
+    if (Objects.nonNull(notModified)) {
+      return notModified.build();
+    }
+    return Response.ok(json, MediaType.APPLICATION_JSON_TYPE).tag(entityTag).build();
+  }
+
   /**
    * Unmarshal/serialize an object using `Gson`. In general, we should prefer Gson over Jackson for
    * ease of use and the need for far less boilerplate code.
@@ -13,6 +13,8 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import java.net.URI;
@@ -51,7 +53,7 @@ public class TDRResource extends Resource {
   @PermitAll
   @Path("/{identifier}/approved/users")
   @Timed
-  public Response getApprovedUsers(@Auth AuthUser authUser,
+  public Response getApprovedUsers(@Auth AuthUser authUser, @Context Request request,
       @PathParam("identifier") String identifier) {
     try {
       Dataset dataset = datasetService.findDatasetByIdentifier(identifier);
@@ -60,7 +62,7 @@ public class TDRResource extends Resource {
       }
 
       ApprovedUsers approvedUsers = tdrService.getApprovedUsersForDataset(authUser, dataset);
-      return Response.ok(approvedUsers).build();
+      return conditionalJsonResponse(request, approvedUsers);
     } catch (Exception e) {
       return createExceptionResponse(e);
     }
@@ -71,7 +73,7 @@ public class TDRResource extends Resource {
   @PermitAll
   @Path("/{identifier}")
   @Timed
-  public Response getDatasetByIdentifier(@Auth AuthUser authUser,
+  public Response getDatasetByIdentifier(@Auth AuthUser authUser, @Context Request request,
       @PathParam("identifier") String identifier) {
     try {
       Dataset dataset = datasetService.findDatasetByIdentifier(identifier);
@@ -79,7 +81,7 @@ public class TDRResource extends Resource {
         throw new NotFoundException("Could not find dataset " + identifier);
       }
 
-      return Response.ok(unmarshal(dataset)).build();
+      return conditionalJsonResponse(request, unmarshal(dataset));
     } catch (Exception e) {
       return createExceptionResponse(e);
     }
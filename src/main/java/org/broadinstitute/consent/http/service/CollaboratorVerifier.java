@@ -0,0 +1,150 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.SamDAO;
+import org.broadinstitute.consent.http.models.AuthUser;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Verifies that lab collaborator emails belong to Sam users. Sam only validates one email per
+ * request, so distinct emails are checked concurrently, bounded by the size of the executor, and
+ * concurrent checks of the same email share a single Sam request. Verified emails are cached for a
+ * long time and emails that Sam does not find for a short time, failed lookups are not cached.
+ * Emails that have not been checked by the deadline are left out of the result, and their checks
+ * finish in the background so that they are cached for the next request.
+ */
+public class CollaboratorVerifier implements ConsentLogger {
+
+  private final SamDAO samDAO;
+  private final ExecutorService executorService;
+  private final int deadlineSeconds;
+  private final Cache<String, Boolean> verified;
+  private final Cache<String, Boolean> unverified;
+  private final ConcurrentMap<String, CompletableFuture<Boolean>> inFlight =
+      new ConcurrentHashMap<>();
+  private final Meter lookups;
+  private final Meter timeouts;
+
+  public CollaboratorVerifier(SamDAO samDAO, ServicesConfiguration configuration,
+      ExecutorService executorService, MetricRegistry metricRegistry) {
+    this.samDAO = samDAO;
+    this.executorService = executorService;
+    this.deadlineSeconds = configuration.getCollaboratorVerificationDeadlineSeconds();
+    this.verified = CacheBuilder.newBuilder()
+        .expireAfterWrite(configuration.getCollaboratorVerifiedCacheMinutes(), TimeUnit.MINUTES)
+        .build();
+    this.unverified = CacheBuilder.newBuilder()
+        .expireAfterWrite(configuration.getCollaboratorUnverifiedCacheMinutes(), TimeUnit.MINUTES)
+        .build();
+    this.lookups = metricRegistry.meter(
+        MetricRegistry.name(CollaboratorVerifier.class, "lookups"));
+    this.timeouts = metricRegistry.meter(
+        MetricRegistry.name(CollaboratorVerifier.class, "timeouts"));
+  }
+
+  /**
+   * Find the collaborator emails that belong to Sam users.
+   *
+   * @param authUser The user whose credentials are used to look up emails in Sam
+   * @param emails   Collaborator emails, which may contain duplicates
+   * @return The distinct verified emails, in the order they were first provided
+   */
+  public List<String> verifyCollaborators(AuthUser authUser, Collection<String> emails) {
+    // Sam emails are case-insensitive, the first spelling of an email is the one returned
+    Map<String, String> distinctEmails = new LinkedHashMap<>();
+    emails.forEach(email -> distinctEmails.putIfAbsent(email.toLowerCase(Locale.ROOT), email));
+
+    Map<String, CompletableFuture<Boolean>> checks = new LinkedHashMap<>();
+    distinctEmails.forEach((key, email) -> {
+      if (Objects.nonNull(verified.getIfPresent(key))) {
+        checks.put(key, CompletableFuture.completedFuture(true));
+      } else if (Objects.nonNull(unverified.getIfPresent(key))) {
+        checks.put(key, CompletableFuture.completedFuture(false));
+      } else {
+        checks.put(key, lookup(authUser, key, email));
+      }
+    });
+    awaitDeadline(checks.values());
+
+    List<String> verifiedEmails = new ArrayList<>();
+    checks.forEach((key, check) -> {
+      if (!check.isDone()) {
+        timeouts.mark();
+        logWarn("Timed out verifying lab collaborator: " + distinctEmails.get(key));
+      } else if (Boolean.TRUE.equals(check.getNow(false))) {
+        verifiedEmails.add(distinctEmails.get(key));
+      }
+    });
+    return verifiedEmails;
+  }
+
+  private CompletableFuture<Boolean> lookup(AuthUser authUser, String key, String email) {
+    CompletableFuture<Boolean> check = new CompletableFuture<>();
+    // A completed check may not have removed itself yet, it no longer counts as in flight
+    CompletableFuture<Boolean> current = inFlight.compute(key,
+        (k, existing) -> Objects.isNull(existing) || existing.isDone() ? check : existing);
+    if (current == check) {
+      check.whenComplete((result, e) -> inFlight.remove(key, check));
+      try {
+        executorService.execute(() -> check.complete(isSamUser(authUser, key, email)));
+      } catch (Exception e) {
+        logWarn("Unable to verify lab collaborator: " + email);
+        check.complete(false);
+      }
+    }
+    return current;
+  }
+
+  private boolean isSamUser(AuthUser authUser, String key, String email) {
+    lookups.mark();
+    try {
+      samDAO.getV1UserByEmail(authUser, email);
+      verified.put(key, true);
+      return true;
+    } catch (NotAuthorizedException e) {
+      // Says nothing about the collaborator, so it is not cached
+      logWarn("User " + authUser.getEmail() + " is not authorized to look for users in Sam");
+      return false;
+    } catch (NotFoundException e) {
+      logWarn("Lab Collaborator: " + email + " does not exist in Sam");
+      unverified.put(key, true);
+      return false;
+    } catch (Exception e) {
+      // A transient Sam error, the collaborator is checked again on the next request
+      logWarn("Unable to verify lab collaborator: " + email + ": " + e.getMessage());
+      return false;
+    }
+  }
+
+  private void awaitDeadline(Collection<CompletableFuture<Boolean>> checks) {
+    try {
+      CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+          .get(deadlineSeconds, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      // Unfinished checks are reported by the caller
+    }
+  }
+
+}
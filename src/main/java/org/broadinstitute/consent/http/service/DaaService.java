@@ -1,5 +1,6 @@
 package org.broadinstitute.consent.http.service;
 
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
@@ -202,12 +203,12 @@ public class DaaService implements ConsentLogger {
     }
   }
 
-  public InputStream findFileById(Integer daaId) {
+  public Blob findFileById(Integer daaId) {
     DataAccessAgreement daa = daaDAO.findById(daaId);
     if (daa != null) {
       FileStorageObject file = daa.getFile();
       if (file != null) {
-        return gcsService.getDocument(file.getBlobId().getName());
+        return gcsService.getDocumentBlob(file.getBlobId().getName());
       }
     }
     throw new NotFoundException("Could not find DAA File with the provided ID: " + daaId);
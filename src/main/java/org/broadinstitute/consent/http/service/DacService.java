@@ -16,9 +16,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.db.DacDAO;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.ElectionDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.enumeration.ElectionType;
@@ -44,12 +46,15 @@ public class DacService implements ConsentLogger {
   private final VoteService voteService;
   private final DaaService daaService;
   private final DacServiceDAO dacServiceDAO;
+  private final UserRoleCache userRoleCache;
+  private final DatasetIndexOutboxDAO datasetIndexOutboxDAO;
 
   @Inject
   public DacService(DacDAO dacDAO, UserDAO userDAO, DatasetDAO dataSetDAO,
       ElectionDAO electionDAO, DataAccessRequestDAO dataAccessRequestDAO,
       VoteService voteService, DaaService daaService,
-      DacServiceDAO dacServiceDAO) {
+      DacServiceDAO dacServiceDAO, UserRoleCache userRoleCache,
+      DatasetIndexOutboxDAO datasetIndexOutboxDAO) {
     this.dacDAO = dacDAO;
     this.userDAO = userDAO;
     this.dataSetDAO = dataSetDAO;
@@ -58,6 +63,8 @@ public class DacService implements ConsentLogger {
     this.voteService = voteService;
     this.daaService = daaService;
     this.dacServiceDAO = dacServiceDAO;
+    this.userRoleCache = userRoleCache;
+    this.datasetIndexOutboxDAO = datasetIndexOutboxDAO;
   }
 
   public List<Dac> findAll() {
@@ -174,11 +181,13 @@ public class DacService implements ConsentLogger {
   public void updateDac(String name, String description, Integer dacId) {
     Date updateDate = new Date();
     dacDAO.updateDac(name, description, updateDate, dacId);
+    datasetIndexOutboxDAO.enqueueDacDatasets(dacId);
   }
 
   public void updateDac(String name, String description, String email, Integer dacId) {
     Date updateDate = new Date();
     dacDAO.updateDac(name, description, email, updateDate, dacId);
+    datasetIndexOutboxDAO.enqueueDacDatasets(dacId);
   }
 
   public void deleteDac(Integer dacId) throws IllegalArgumentException, SQLException {
@@ -189,6 +198,7 @@ public class DacService implements ConsentLogger {
     }
     try {
       dacServiceDAO.deleteDacAndDaas(fullDac);
+      userRoleCache.invalidateAll();
     } catch (IllegalArgumentException e) {
       String logMessage = "Could not find DAC with the provided id: " + dacId;
       logException(logMessage, e);
@@ -227,6 +237,7 @@ public class DacService implements ConsentLogger {
 
   public User addDacMember(Role role, User user, Dac dac) throws IllegalArgumentException {
     dacDAO.addDacMember(role.getRoleId(), user.getUserId(), dac.getDacId());
+    userRoleCache.invalidate(user.getEmail());
     User updatedUser = userDAO.findUserById(user.getUserId());
     List<Election> elections = electionDAO.findOpenElectionsByDacId(dac.getDacId());
     for (Election e : elections) {
@@ -261,6 +272,7 @@ public class DacService implements ConsentLogger {
         filter(r -> r.getRoleId().equals(role.getRoleId())).
         collect(Collectors.toList());
     dacRoles.forEach(userRole -> dacDAO.removeDacMember(userRole.getUserRoleId()));
+    userRoleCache.invalidate(user.getEmail());
     voteService.deleteOpenDacVotesForUser(dac, user);
   }
 
@@ -8,8 +8,12 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotAcceptableException;
 import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.NotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -37,6 +41,8 @@ import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.enumeration.VoteType;
 import org.broadinstitute.consent.http.models.DarCollection;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryKey;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryPage;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.Dataset;
@@ -321,6 +327,91 @@ public class DarCollectionService implements ConsentLogger {
     return summaries;
   }
 
+  /**
+   * Find one page of DarCollectionSummaries for a given role name, most recently submitted first.
+   * Pages are keyed on the latest submission date and collection id of the previous page, so the
+   * cost of a page does not grow with the number of collections before it. Admins can page over
+   * all summaries, Signing Officials only over summaries for researchers in their institution.
+   *
+   * @param user          The user making the request
+   * @param userRole      The role the user is making the request as
+   * @param cursor        The next cursor of the previous page, or null for the first page
+   * @param limit         The maximum number of summaries in the page
+   * @param status        Optional collection status filter
+   * @param datasetId     Optional filter on collections requesting this dataset
+   * @param institutionId Optional filter on the researcher's institution, admins only
+   * @return DarCollectionSummaryPage
+   */
+  public DarCollectionSummaryPage getSummaryPageForRoleName(User user, String userRole,
+      String cursor, Integer limit, String status, Integer datasetId, Integer institutionId) {
+    UserRoles role = UserRoles.getUserRoleFromName(userRole);
+    if (Objects.nonNull(status) && Stream.of(DarCollectionStatus.UNREVIEWED,
+            DarCollectionStatus.IN_PROCESS, DarCollectionStatus.COMPLETE)
+        .map(DarCollectionStatus::getValue)
+        .noneMatch(status::equals)) {
+      throw new BadRequestException("Invalid collection status: " + status);
+    }
+    switch (role) {
+      case ADMIN:
+        break;
+      case SIGNINGOFFICIAL:
+        if (Objects.isNull(user.getInstitutionId())) {
+          return new DarCollectionSummaryPage(List.of(), 0, null);
+        }
+        institutionId = user.getInstitutionId();
+        break;
+      default:
+        throw new BadRequestException("Paged summaries are not supported for role: " + userRole);
+    }
+    DarCollectionSummaryKey after = decodeSummaryCursor(cursor);
+    List<DarCollectionSummaryKey> keys = darCollectionSummaryDAO.findDarCollectionSummaryKeys(
+        status, datasetId, institutionId,
+        Objects.isNull(after) ? null : after.submissionDate(),
+        Objects.isNull(after) ? null : after.collectionId(),
+        limit);
+    Integer totalCount = darCollectionSummaryDAO.countDarCollectionSummaries(status, datasetId,
+        institutionId);
+    if (keys.isEmpty()) {
+      return new DarCollectionSummaryPage(List.of(), totalCount, null);
+    }
+    List<Integer> collectionIds = keys.stream().map(DarCollectionSummaryKey::collectionId).toList();
+    Map<Integer, DarCollectionSummary> summaries = darCollectionSummaryDAO
+        .getDarCollectionSummariesByCollectionIds(collectionIds)
+        .stream()
+        .collect(Collectors.toMap(DarCollectionSummary::getDarCollectionId, Function.identity()));
+    List<DarCollectionSummary> results = collectionIds.stream()
+        .map(summaries::get)
+        .filter(Objects::nonNull)
+        .collect(toList());
+    if (role == UserRoles.ADMIN) {
+      processDarCollectionSummariesForAdmin(results);
+    } else {
+      processDarCollectionSummariesForSO(results);
+    }
+    String nextCursor = keys.size() < limit ? null : encodeSummaryCursor(keys.get(keys.size() - 1));
+    return new DarCollectionSummaryPage(results, totalCount, nextCursor);
+  }
+
+  private static String encodeSummaryCursor(DarCollectionSummaryKey key) {
+    String value = key.submissionDate().toString() + "|" + key.collectionId();
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static DarCollectionSummaryKey decodeSummaryCursor(String cursor) {
+    if (Objects.isNull(cursor) || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = value.lastIndexOf('|');
+      return new DarCollectionSummaryKey(Integer.valueOf(value.substring(separator + 1)),
+          Instant.parse(value.substring(0, separator)));
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+  }
+
   private List<Integer> getDatasetIdsForUserAndRoleId(User user, Integer roleId) {
     List<Integer> roleDacIds = user.getRoles().stream()
         .filter(ur -> Objects.nonNull(ur.getRoleId()))
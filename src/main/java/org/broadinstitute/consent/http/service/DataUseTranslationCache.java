@@ -0,0 +1,174 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.dropwizard.lifecycle.Managed;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
+import org.broadinstitute.consent.http.models.DataUse;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.ontology.DataUseSummary;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Cache of Ontology data use translations keyed by a hash of the canonical serialization of the
+ * DataUse and the kind of translation. Most datasets share a small number of data use shapes, so a
+ * full reindex makes at most one Ontology call per distinct shape. Concurrent requests for the same
+ * shape share a single load. Failed translations are never cached.
+ * <p>
+ * When enabled, dataset translations are warmed from the stored `dataset.translated_data_use`
+ * values when the application starts.
+ */
+public class DataUseTranslationCache implements ConsentLogger, Managed {
+
+  private static final String SUMMARY = "summary";
+
+  private final DatasetDAO datasetDAO;
+  private final boolean warmUp;
+  private final Cache<String, String> translations;
+  private final Cache<String, DataUseSummary> summaries;
+
+  public DataUseTranslationCache(DatasetDAO datasetDAO, ServicesConfiguration configuration,
+      MetricRegistry metricRegistry) {
+    this.datasetDAO = datasetDAO;
+    this.warmUp = configuration.isOntologyCacheWarmUp();
+    this.translations = buildCache(configuration);
+    this.summaries = buildCache(configuration);
+    registerGauges(metricRegistry, "translations", translations);
+    registerGauges(metricRegistry, "summaries", summaries);
+  }
+
+  @Override
+  public void start() {
+    if (warmUp) {
+      try {
+        warmUp(datasetDAO.findDistinctTranslatedDataUses());
+      } catch (Exception e) {
+        logWarn("Unable to warm data use translation cache: " + e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  /**
+   * Find the cached translation for the data use, or translate it with the provided loader.
+   *
+   * @param dataUse The DataUse
+   * @param type    The DataUseTranslationType
+   * @param loader  Translates the data use when it is not cached
+   * @return The translation
+   */
+  public String getTranslation(DataUse dataUse, DataUseTranslationType type,
+      Supplier<String> loader) {
+    return get(translations, key(dataUse, type.getValue()), loader);
+  }
+
+  /**
+   * Find the cached summary for the data use, or summarize it with the provided loader.
+   *
+   * @param dataUse The DataUse
+   * @param loader  Summarizes the data use when it is not cached
+   * @return The summary, possibly null if the loader returned null
+   */
+  public DataUseSummary getSummary(DataUse dataUse, Supplier<DataUseSummary> loader) {
+    return get(summaries, key(dataUse, SUMMARY), loader);
+  }
+
+  /**
+   * Populate dataset translations from previously translated datasets.
+   *
+   * @param datasets Datasets with a data use and a translated data use
+   */
+  public void warmUp(List<Dataset> datasets) {
+    datasets.stream()
+        .filter(d -> Objects.nonNull(d.getDataUse()))
+        .filter(d -> Objects.nonNull(d.getTranslatedDataUse()))
+        .forEach(d -> translations.put(
+            key(d.getDataUse(), DataUseTranslationType.DATASET.getValue()),
+            d.getTranslatedDataUse()));
+    logInfo("Warmed data use translation cache with " + translations.size() + " translations");
+  }
+
+  public void invalidateAll() {
+    translations.invalidateAll();
+    summaries.invalidateAll();
+  }
+
+  private <T> T get(Cache<String, T> cache, String key, Supplier<T> loader) {
+    try {
+      return cache.get(key, loader::get);
+    } catch (InvalidCacheLoadException e) {
+      // The loader returned null, which is not cached
+      return null;
+    } catch (UncheckedExecutionException e) {
+      throw e.getCause() instanceof RuntimeException re ? re : e;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  static String key(DataUse dataUse, String kind) {
+    String canonical = canonicalize(new Gson().toJsonTree(dataUse)).toString();
+    return kind + ":" + Hashing.sha256().hashString(canonical, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Sort object keys so that equivalent data uses serialize identically regardless of field
+   * order. Null values are already omitted by Gson.
+   */
+  private static JsonElement canonicalize(JsonElement element) {
+    if (element.isJsonObject()) {
+      Map<String, JsonElement> sorted = new TreeMap<>(element.getAsJsonObject().asMap());
+      JsonObject object = new JsonObject();
+      sorted.forEach((k, v) -> object.add(k, canonicalize(v)));
+      return object;
+    }
+    if (element.isJsonArray()) {
+      JsonArray array = new JsonArray();
+      element.getAsJsonArray().forEach(e -> array.add(canonicalize(e)));
+      return array;
+    }
+    return element;
+  }
+
+  private static <T> Cache<String, T> buildCache(ServicesConfiguration configuration) {
+    return CacheBuilder
+        .newBuilder()
+        .maximumSize(configuration.getOntologyCacheMaxSize())
+        .expireAfterWrite(configuration.getOntologyCacheExpireMinutes(), TimeUnit.MINUTES)
+        .recordStats()
+        .build();
+  }
+
+  private static void registerGauges(MetricRegistry metricRegistry, String name,
+      Cache<String, ?> cache) {
+    metricRegistry.gauge(MetricRegistry.name(DataUseTranslationCache.class, name, "size"),
+        () -> (Gauge<Long>) cache::size);
+    metricRegistry.gauge(MetricRegistry.name(DataUseTranslationCache.class, name, "hit-rate"),
+        () -> (Gauge<Double>) () -> cache.stats().hitRate());
+    metricRegistry.gauge(MetricRegistry.name(DataUseTranslationCache.class, name, "loads"),
+        () -> (Gauge<Long>) () -> cache.stats().loadCount());
+  }
+
+}
@@ -0,0 +1,317 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.models.DatasetSearchTerms;
+import org.broadinstitute.consent.http.models.DatasetSummary;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * In-memory autocomplete index over the names, identifiers and property values of approved
+ * datasets. Every substring of up to three characters is mapped to a sorted array of the datasets
+ * that contain it. Short queries are answered directly from that map, longer queries intersect the
+ * postings of their trigrams and check the remaining candidates. Matches are ranked and cut off at
+ * a fixed limit.
+ *
+ * <p>The index is built on startup and rebuilt on a schedule. Datasets that are created, updated,
+ * approved or deleted on this instance are refreshed right away.
+ */
+public class DatasetAutocompleteIndex implements ConsentLogger, Managed {
+
+  static final int GRAM_LENGTH = 3;
+
+  private static final int NAME_PREFIX = 0;
+  private static final int NAME_MATCH = 1;
+  private static final int PROPERTY_MATCH = 2;
+  private static final int NO_MATCH = -1;
+
+  private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+      .thenComparing(match -> match.entry().name())
+      .thenComparing(match -> match.entry().summary().id());
+
+  private final DatasetDAO datasetDAO;
+  private final ServicesConfiguration configuration;
+  private final ScheduledExecutorService executor;
+  private final Timer rebuilds;
+  private final Timer searches;
+  private volatile Index index;
+
+  /**
+   * A dataset and its lower-cased searchable text.
+   */
+  private record Entry(DatasetSummary summary, String name, String identifier,
+                       List<String> propertyValues) {
+
+    static Entry of(DatasetSearchTerms terms) {
+      return new Entry(terms.toSummary(), lowerCase(terms.name()), lowerCase(terms.identifier()),
+          terms.propertyValues().stream().map(DatasetAutocompleteIndex::lowerCase).toList());
+    }
+
+    Set<String> grams() {
+      Set<String> grams = new HashSet<>();
+      addGrams(grams, name);
+      addGrams(grams, identifier);
+      propertyValues.forEach(value -> addGrams(grams, value));
+      return grams;
+    }
+
+    int rank(String query) {
+      if (name.startsWith(query) || identifier.startsWith(query)) {
+        return NAME_PREFIX;
+      }
+      if (name.contains(query) || identifier.contains(query)) {
+        return NAME_MATCH;
+      }
+      return propertyValues.stream().anyMatch(value -> value.contains(query))
+          ? PROPERTY_MATCH : NO_MATCH;
+    }
+  }
+
+  /**
+   * Datasets by ID and the sorted dataset IDs that contain each gram. Posting arrays are never
+   * modified once published, writers replace them.
+   */
+  private record Index(Map<Integer, Entry> entries, Map<String, int[]> postings) {
+
+  }
+
+  private record Match(Entry entry, int rank) {
+
+  }
+
+  public DatasetAutocompleteIndex(DatasetDAO datasetDAO, ServicesConfiguration configuration,
+      ScheduledExecutorService executor, MetricRegistry metricRegistry) {
+    this.datasetDAO = datasetDAO;
+    this.configuration = configuration;
+    this.executor = executor;
+    this.rebuilds = metricRegistry.timer(
+        MetricRegistry.name(DatasetAutocompleteIndex.class, "rebuilds"));
+    this.searches = metricRegistry.timer(
+        MetricRegistry.name(DatasetAutocompleteIndex.class, "searches"));
+  }
+
+  @Override
+  public void start() {
+    long rebuildMinutes = configuration.getDatasetAutocompleteRebuildMinutes();
+    executor.scheduleAtFixedRate(this::rebuildSafely, 0, rebuildMinutes, TimeUnit.MINUTES);
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  /**
+   * Find approved datasets whose name, identifier or property values contain the query, ignoring
+   * case. Datasets whose name or identifier start with the query are listed first, then other name
+   * or identifier matches, then property matches. Ties are ordered by name.
+   *
+   * @param query The text typed so far
+   * @return Up to the configured limit of matching datasets
+   */
+  public List<DatasetSummary> search(String query) {
+    if (Objects.isNull(query) || query.isEmpty()) {
+      return List.of();
+    }
+    try (Timer.Context ignored = searches.time()) {
+      Index current = getIndex();
+      String lowerCaseQuery = lowerCase(query);
+      int limit = configuration.getDatasetAutocompleteResultLimit();
+      PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+      for (int datasetId : candidates(current, lowerCaseQuery)) {
+        Entry entry = current.entries().get(datasetId);
+        int rank = Objects.isNull(entry) ? NO_MATCH : entry.rank(lowerCaseQuery);
+        if (rank != NO_MATCH) {
+          top.add(new Match(entry, rank));
+          if (top.size() > limit) {
+            top.poll();
+          }
+        }
+      }
+      return top.stream()
+          .sorted(RANKING)
+          .map(match -> match.entry().summary())
+          .toList();
+    }
+  }
+
+  /**
+   * The datasets that contain every trigram of the query. Queries of up to three characters are a
+   * single gram, so their postings are the exact matches.
+   */
+  private int[] candidates(Index current, String query) {
+    if (query.length() <= GRAM_LENGTH) {
+      return current.postings().getOrDefault(query, new int[0]);
+    }
+    List<int[]> postings = new ArrayList<>();
+    for (int start = 0; start + GRAM_LENGTH <= query.length(); start++) {
+      int[] posting = current.postings().get(query.substring(start, start + GRAM_LENGTH));
+      if (Objects.isNull(posting)) {
+        return new int[0];
+      }
+      postings.add(posting);
+    }
+    postings.sort(Comparator.comparingInt(posting -> posting.length));
+    int[] candidates = postings.get(0);
+    for (int x = 1; x < postings.size() && candidates.length > 0; x++) {
+      candidates = intersect(candidates, postings.get(x));
+    }
+    return candidates;
+  }
+
+  private Index getIndex() {
+    Index current = index;
+    return Objects.nonNull(current) ? current : buildIfAbsent();
+  }
+
+  private synchronized Index buildIfAbsent() {
+    if (Objects.isNull(index)) {
+      rebuild();
+    }
+    return index;
+  }
+
+  private void rebuildSafely() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logException("Error rebuilding dataset autocomplete index: ", e);
+    }
+  }
+
+  /**
+   * Load every approved dataset and replace the index.
+   */
+  public synchronized void rebuild() {
+    try (Timer.Context ignored = rebuilds.time()) {
+      Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+      Map<String, List<Integer>> grams = new HashMap<>();
+      datasetDAO.findApprovedDatasetSearchTerms().stream()
+          .filter(Objects::nonNull)
+          .map(Entry::of)
+          .forEach(entry -> {
+            entries.put(entry.summary().id(), entry);
+            entry.grams().forEach(
+                gram -> grams.computeIfAbsent(gram, g -> new ArrayList<>())
+                    .add(entry.summary().id()));
+          });
+      Map<String, int[]> postings = new ConcurrentHashMap<>(grams.size());
+      grams.forEach((gram, datasetIds) -> postings.put(gram,
+          datasetIds.stream().mapToInt(Integer::intValue).sorted().toArray()));
+      index = new Index(entries, postings);
+    }
+  }
+
+  /**
+   * Reload the given datasets into the index. Datasets that are no longer approved, or no longer
+   * exist, are removed. Failures are logged, the next rebuild corrects the index.
+   *
+   * @param datasetIds The IDs of datasets that were created, updated, approved or deleted
+   */
+  public void refresh(Collection<Integer> datasetIds) {
+    if (Objects.isNull(datasetIds) || datasetIds.isEmpty() || Objects.isNull(index)) {
+      return;
+    }
+    try {
+      List<DatasetSearchTerms> approved = datasetDAO.findApprovedDatasetSearchTermsByIds(
+          List.copyOf(new HashSet<>(datasetIds)));
+      synchronized (this) {
+        datasetIds.forEach(this::remove);
+        approved.stream().filter(Objects::nonNull).map(Entry::of).forEach(this::add);
+      }
+    } catch (Exception e) {
+      logException("Error refreshing dataset autocomplete index: ", e);
+    }
+  }
+
+  private void add(Entry entry) {
+    int datasetId = entry.summary().id();
+    entry.grams().forEach(gram -> index.postings().compute(gram,
+        (g, posting) -> Objects.isNull(posting) ? new int[]{datasetId} : insert(posting, datasetId)));
+    index.entries().put(datasetId, entry);
+  }
+
+  private void remove(Integer datasetId) {
+    Entry entry = index.entries().remove(datasetId);
+    if (Objects.nonNull(entry)) {
+      entry.grams().forEach(gram -> index.postings().computeIfPresent(gram,
+          (g, posting) -> {
+            int[] removed = delete(posting, datasetId);
+            return removed.length == 0 ? null : removed;
+          }));
+    }
+  }
+
+  private static int[] insert(int[] posting, int datasetId) {
+    int position = Arrays.binarySearch(posting, datasetId);
+    if (position >= 0) {
+      return posting;
+    }
+    position = -position - 1;
+    int[] inserted = new int[posting.length + 1];
+    System.arraycopy(posting, 0, inserted, 0, position);
+    inserted[position] = datasetId;
+    System.arraycopy(posting, position, inserted, position + 1, posting.length - position);
+    return inserted;
+  }
+
+  private static int[] delete(int[] posting, int datasetId) {
+    int position = Arrays.binarySearch(posting, datasetId);
+    if (position < 0) {
+      return posting;
+    }
+    int[] deleted = new int[posting.length - 1];
+    System.arraycopy(posting, 0, deleted, 0, position);
+    System.arraycopy(posting, position + 1, deleted, position, posting.length - position - 1);
+    return deleted;
+  }
+
+  private static int[] intersect(int[] left, int[] right) {
+    int[] intersection = new int[Math.min(left.length, right.length)];
+    int size = 0;
+    int x = 0;
+    int y = 0;
+    while (x < left.length && y < right.length) {
+      if (left[x] < right[y]) {
+        x++;
+      } else if (left[x] > right[y]) {
+        y++;
+      } else {
+        intersection[size++] = left[x];
+        x++;
+        y++;
+      }
+    }
+    return Arrays.copyOf(intersection, size);
+  }
+
+  private static void addGrams(Set<String> grams, String text) {
+    for (int start = 0; start < text.length(); start++) {
+      for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, text.length()); end++) {
+        grams.add(text.substring(start, end));
+      }
+    }
+  }
+
+  private static String lowerCase(String text) {
+    return Objects.isNull(text) ? "" : text.toLowerCase(Locale.ROOT);
+  }
+
+}
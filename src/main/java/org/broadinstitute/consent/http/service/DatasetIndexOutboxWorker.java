@@ -0,0 +1,150 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import jakarta.ws.rs.core.Response;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.DatasetIndexOutboxEntry;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Background worker that keeps the dataset search index in sync with the database. Datasets
+ * recorded in the index outbox are periodically reindexed in coalesced batches and removed from
+ * the outbox once indexed. Entries that fail to index remain in the outbox and are retried on the
+ * next drain.
+ */
+public class DatasetIndexOutboxWorker implements ConsentLogger, Managed {
+
+  private final DatasetIndexOutboxDAO outboxDAO;
+  private final DatasetDAO datasetDAO;
+  private final ElasticSearchService elasticSearchService;
+  private final ElasticSearchConfiguration esConfig;
+  private final ScheduledExecutorService executor;
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final AtomicLong lagSeconds = new AtomicLong();
+  private final Meter indexed;
+  private final Counter failures;
+
+  public DatasetIndexOutboxWorker(DatasetIndexOutboxDAO outboxDAO, DatasetDAO datasetDAO,
+      ElasticSearchService elasticSearchService, ElasticSearchConfiguration esConfig,
+      ScheduledExecutorService executor, MetricRegistry metricRegistry) {
+    this.outboxDAO = outboxDAO;
+    this.datasetDAO = datasetDAO;
+    this.elasticSearchService = elasticSearchService;
+    this.esConfig = esConfig;
+    this.executor = executor;
+    this.indexed = metricRegistry.meter(
+        MetricRegistry.name(DatasetIndexOutboxWorker.class, "indexed"));
+    this.failures = metricRegistry.counter(
+        MetricRegistry.name(DatasetIndexOutboxWorker.class, "failures"));
+    metricRegistry.gauge(MetricRegistry.name(DatasetIndexOutboxWorker.class, "queue-depth"),
+        () -> (Gauge<Long>) queueDepth::get);
+    metricRegistry.gauge(MetricRegistry.name(DatasetIndexOutboxWorker.class, "lag-seconds"),
+        () -> (Gauge<Long>) lagSeconds::get);
+  }
+
+  @Override
+  public void start() {
+    if (esConfig.isOutboxEnabled()) {
+      long period = esConfig.getOutboxPollSeconds();
+      executor.scheduleWithFixedDelay(this::drainSafely, period, period, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  private void drainSafely() {
+    try {
+      drain();
+    } catch (Exception e) {
+      logException("Error draining dataset index outbox: ", e);
+    }
+  }
+
+  /**
+   * Reindex outbox datasets in batches until the outbox is empty or a batch fails.
+   *
+   * @return The number of outbox entries processed
+   */
+  public int drain() {
+    int processed = 0;
+    try {
+      int batchSize = esConfig.getOutboxBatchSize();
+      List<DatasetIndexOutboxEntry> entries = outboxDAO.findPendingEntries(batchSize);
+      while (!entries.isEmpty()) {
+        List<DatasetIndexOutboxEntry> completed = processBatch(entries);
+        if (!completed.isEmpty()) {
+          outboxDAO.deleteEntries(
+              completed.stream().map(DatasetIndexOutboxEntry::datasetId).toList(),
+              completed.stream().map(DatasetIndexOutboxEntry::version).toList());
+        }
+        processed += completed.size();
+        // Stop on failure or a short batch, remaining entries are retried on the next drain
+        if (completed.size() < entries.size() || entries.size() < batchSize) {
+          break;
+        }
+        entries = outboxDAO.findPendingEntries(batchSize);
+      }
+    } finally {
+      queueDepth.set(outboxDAO.countPendingEntries());
+      lagSeconds.set(outboxDAO.findOldestEntryAgeSeconds());
+    }
+    return processed;
+  }
+
+  /**
+   * Index a batch of outbox entries in a single bulk request. Entries for datasets that no longer
+   * exist are removed from the index.
+   *
+   * @return The entries that were processed successfully
+   */
+  private List<DatasetIndexOutboxEntry> processBatch(List<DatasetIndexOutboxEntry> entries) {
+    List<Dataset> datasets = datasetDAO.findDatasetsByIdList(
+        entries.stream().map(DatasetIndexOutboxEntry::datasetId).toList(),
+        DatasetFetchStrategy.MULTI_QUERY);
+    Set<Integer> existingIds = datasets.stream()
+        .map(Dataset::getDatasetId)
+        .collect(Collectors.toSet());
+    Set<Integer> completedIds = new HashSet<>();
+    try {
+      List<DatasetTerm> terms = elasticSearchService.toDatasetTerms(datasets);
+      if (!terms.isEmpty()) {
+        try (Response response = elasticSearchService.indexDatasetTerms(terms)) {
+          terms.forEach(term -> completedIds.add(term.getDatasetId()));
+          indexed.mark(terms.size());
+        }
+      }
+      for (DatasetIndexOutboxEntry entry : entries) {
+        if (!existingIds.contains(entry.datasetId())) {
+          try (Response response = elasticSearchService.deleteIndex(entry.datasetId())) {
+            completedIds.add(entry.datasetId());
+          }
+        }
+      }
+    } catch (Exception e) {
+      logException("Error reindexing %d outbox datasets: ".formatted(entries.size()), e);
+    }
+    failures.inc(entries.size() - completedIds.size());
+    return entries.stream()
+        .filter(entry -> completedIds.contains(entry.datasetId()))
+        .toList();
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.broadinstitute.consent.http.service;
+
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.List;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.broadinstitute.consent.http.models.elastic_search.ElasticSearchHits;
+
+/**
+ * Stores dataset terms as search documents and searches them with Elasticsearch query DSL.
+ */
+public interface DatasetSearchBackend {
+
+  /**
+   * Create or replace the documents of the given dataset terms.
+   *
+   * @param terms The dataset terms, sent as a single bulk request
+   * @return Response with an Elasticsearch bulk API style body
+   */
+  Response indexDatasetTerms(List<DatasetTerm> terms) throws IOException;
+
+  /**
+   * The number of bytes a dataset term adds to a bulk request, as it is encoded by
+   * {@link #indexDatasetTerms(List)}.
+   *
+   * @param term The dataset term
+   * @return The encoded size in bytes
+   */
+  long documentBytes(DatasetTerm term);
+
+  /**
+   * Remove the document of a dataset.
+   *
+   * @param datasetId The dataset ID
+   * @return Response with a delete by query style body
+   */
+  Response deleteIndex(Integer datasetId) throws IOException;
+
+  /**
+   * Check that a query can be run by this backend.
+   *
+   * @param query Elasticsearch query DSL
+   * @return True if the query is valid
+   */
+  boolean validateQuery(String query) throws IOException;
+
+  /**
+   * Search dataset documents.
+   *
+   * @param query Elasticsearch query DSL
+   * @return The matching documents
+   */
+  ElasticSearchHits searchDatasets(String query) throws IOException;
+}
@@ -0,0 +1,71 @@
+package org.broadinstitute.consent.http.service;
+
+import io.dropwizard.lifecycle.Managed;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetSearchDocumentDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetSearchBackendType;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Fills the dataset_search_document table when the Postgres search backend starts with no
+ * documents, e.g. the first time it is enabled. Every dataset is indexed in the background, in
+ * the same way as a full reindex. Instances that start together may each backfill, documents are
+ * upserted so the result is the same.
+ */
+public class DatasetSearchBackfill implements ConsentLogger, Managed {
+
+  private final DatasetSearchDocumentDAO searchDocumentDAO;
+  private final DatasetDAO datasetDAO;
+  private final ElasticSearchService elasticSearchService;
+  private final ElasticSearchConfiguration esConfig;
+  private final ExecutorService executor;
+
+  public DatasetSearchBackfill(DatasetSearchDocumentDAO searchDocumentDAO, DatasetDAO datasetDAO,
+      ElasticSearchService elasticSearchService, ElasticSearchConfiguration esConfig,
+      ExecutorService executor) {
+    this.searchDocumentDAO = searchDocumentDAO;
+    this.datasetDAO = datasetDAO;
+    this.elasticSearchService = elasticSearchService;
+    this.esConfig = esConfig;
+    this.executor = executor;
+  }
+
+  @Override
+  public void start() {
+    if (esConfig.getSearchBackend() == DatasetSearchBackendType.POSTGRES) {
+      executor.execute(this::backfillSafely);
+    }
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  private void backfillSafely() {
+    try {
+      backfill();
+    } catch (Exception e) {
+      logException("Error backfilling dataset search documents: ", e);
+    }
+  }
+
+  /**
+   * Index every dataset if there are no search documents.
+   *
+   * @return The number of datasets indexed
+   */
+  public int backfill() throws Exception {
+    if (searchDocumentDAO.countDocuments() > 0) {
+      return 0;
+    }
+    List<Integer> datasetIds = datasetDAO.findAllDatasetIds();
+    logInfo("Backfilling %d dataset search documents".formatted(datasetIds.size()));
+    elasticSearchService.indexDatasetIds(datasetIds).write(OutputStream.nullOutputStream());
+    return datasetIds.size();
+  }
+
+}
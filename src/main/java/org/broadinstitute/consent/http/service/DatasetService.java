@@ -26,9 +26,11 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.broadinstitute.consent.http.db.DaaDAO;
 import org.broadinstitute.consent.http.db.DacDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.StudyDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.enumeration.PropertyType;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.ApprovedDataset;
@@ -61,12 +63,16 @@ public class DatasetService implements ConsentLogger {
   private final StudyDAO studyDAO;
   private final DatasetServiceDAO datasetServiceDAO;
   private final UserDAO userDAO;
+  private final DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+  private final DatasetAutocompleteIndex datasetAutocompleteIndex;
   public Integer datasetBatchSize = 50;
 
   @Inject
   public DatasetService(DatasetDAO dataSetDAO, DaaDAO daaDAO, DacDAO dacDAO, EmailService emailService,
       OntologyService ontologyService, StudyDAO studyDAO,
-      DatasetServiceDAO datasetServiceDAO, UserDAO userDAO) {
+      DatasetServiceDAO datasetServiceDAO, UserDAO userDAO,
+      DatasetIndexOutboxDAO datasetIndexOutboxDAO,
+      DatasetAutocompleteIndex datasetAutocompleteIndex) {
     this.datasetDAO = dataSetDAO;
     this.daaDAO = daaDAO;
     this.dacDAO = dacDAO;
@@ -75,6 +81,8 @@ public class DatasetService implements ConsentLogger {
     this.studyDAO = studyDAO;
     this.datasetServiceDAO = datasetServiceDAO;
     this.userDAO = userDAO;
+    this.datasetIndexOutboxDAO = datasetIndexOutboxDAO;
+    this.datasetAutocompleteIndex = datasetAutocompleteIndex;
   }
 
   public Set<DatasetDTO> findDatasetsByDacIds(List<Integer> dacIds) {
@@ -167,6 +175,7 @@ public class DatasetService implements ConsentLogger {
     updateDatasetProperties(propertiesToUpdate, List.of(), propertiesToAdd);
     datasetDAO.updateDataset(datasetId, dataset.getDatasetName(), now, userId,
         dataset.getDacId());
+    datasetAutocompleteIndex.refresh(List.of(datasetId));
     Dataset updatedDataset = findDatasetById(datasetId);
     return Optional.of(updatedDataset);
   }
@@ -268,7 +277,7 @@ public class DatasetService implements ConsentLogger {
   }
 
   public List<DatasetSummary> searchDatasetSummaries(String query) {
-    return datasetDAO.findDatasetSummariesByQuery(query);
+    return datasetAutocompleteIndex.search(query);
   }
 
   public List<DatasetStudySummary> findAllDatasetStudySummaries() {
@@ -283,6 +292,8 @@ public class DatasetService implements ConsentLogger {
     //If it has, simply returned the dataset in the argument (which was already queried for in the resource)
     if (currentApprovalState == null || !currentApprovalState) {
       datasetDAO.updateDatasetApproval(approval, Instant.now(), user.getUserId(), datasetId);
+      datasetIndexOutboxDAO.enqueueDatasetIds(List.of(datasetId));
+      datasetAutocompleteIndex.refresh(List.of(datasetId));
       datasetReturn = datasetDAO.findDatasetById(datasetId);
     } else {
       if (approval == null || !approval) {
@@ -331,7 +342,7 @@ public class DatasetService implements ConsentLogger {
 
   @Deprecated
   public List<Dataset> findAllDatasets() {
-    return datasetDAO.findAllDatasets();
+    return datasetDAO.findAllDatasets(DatasetFetchStrategy.MULTI_QUERY);
   }
 
   public List<Integer> findAllDatasetIds() {
@@ -0,0 +1,181 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.lifecycle.Managed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
+import org.broadinstitute.consent.http.models.DarDecisionMetrics;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * In-memory snapshot of the DAR decision metrics that backs the decision metrics reports. The
+ * snapshot is fully rebuilt on startup and on a long schedule. In between, only DARs with new
+ * decision activity (submissions, elections, votes and matches) are recomputed and swapped in, so
+ * report requests read a consistent, recent copy instead of re-joining every DAR.
+ */
+public class DecisionMetricsSnapshot implements ConsentLogger, Managed {
+
+  /**
+   * Activity is looked up from slightly before the previous check so that rows written by
+   * transactions that were still open at that time are not missed.
+   */
+  static final long ACTIVITY_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final MetricsService metricsService;
+  private final DataAccessRequestDAO darDAO;
+  private final ServicesConfiguration servicesConfiguration;
+  private final ScheduledExecutorService executor;
+  private final Timer rebuilds;
+  private final Timer refreshes;
+  private final Meter refreshedDars;
+  private volatile View view;
+  // Only accessed while holding this object's lock
+  private LinkedHashMap<String, DarDecisionMetrics> darMetrics = new LinkedHashMap<>();
+  private Date lastActivityCheck;
+
+  /**
+   * An immutable copy of the DAR decision metrics, in DAR order, and the time they are current
+   * as of.
+   */
+  public record View(List<DarDecisionMetrics> darMetrics, Instant asOf) {
+
+  }
+
+  public DecisionMetricsSnapshot(MetricsService metricsService, DataAccessRequestDAO darDAO,
+      ServicesConfiguration servicesConfiguration, ScheduledExecutorService executor,
+      MetricRegistry metricRegistry) {
+    this.metricsService = metricsService;
+    this.darDAO = darDAO;
+    this.servicesConfiguration = servicesConfiguration;
+    this.executor = executor;
+    this.rebuilds = metricRegistry.timer(
+        MetricRegistry.name(DecisionMetricsSnapshot.class, "rebuilds"));
+    this.refreshes = metricRegistry.timer(
+        MetricRegistry.name(DecisionMetricsSnapshot.class, "refreshes"));
+    this.refreshedDars = metricRegistry.meter(
+        MetricRegistry.name(DecisionMetricsSnapshot.class, "refreshed-dars"));
+    metricRegistry.gauge(MetricRegistry.name(DecisionMetricsSnapshot.class, "age-seconds"),
+        () -> (Gauge<Long>) () -> {
+          View current = view;
+          return Objects.isNull(current) ? 0L
+              : Duration.between(current.asOf(), Instant.now()).toSeconds();
+        });
+  }
+
+  @Override
+  public void start() {
+    long rebuildMinutes = servicesConfiguration.getMetricsSnapshotRebuildMinutes();
+    long refreshSeconds = servicesConfiguration.getMetricsSnapshotRefreshSeconds();
+    executor.scheduleAtFixedRate(this::rebuildSafely, 0, rebuildMinutes, TimeUnit.MINUTES);
+    executor.scheduleWithFixedDelay(this::refreshSafely, refreshSeconds, refreshSeconds,
+        TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  /**
+   * Get the current snapshot, building it first if that has not happened yet.
+   *
+   * @return View of the DAR decision metrics
+   */
+  public View getView() {
+    View current = view;
+    return Objects.nonNull(current) ? current : buildIfAbsent();
+  }
+
+  private synchronized View buildIfAbsent() {
+    if (Objects.isNull(view)) {
+      rebuild();
+    }
+    return view;
+  }
+
+  private void rebuildSafely() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logException("Error rebuilding decision metrics snapshot: ", e);
+    }
+  }
+
+  private void refreshSafely() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      logException("Error refreshing decision metrics snapshot: ", e);
+    }
+  }
+
+  /**
+   * Regenerate the decision metrics of every DAR and replace the snapshot. This corrects any drift
+   * from changes that are not picked up by {@link #refresh()}, such as DAC or dataset edits.
+   */
+  public synchronized void rebuild() {
+    Date checked = new Date();
+    try (Timer.Context ignored = rebuilds.time()) {
+      LinkedHashMap<String, DarDecisionMetrics> rebuilt = new LinkedHashMap<>();
+      metricsService.forEachDarDecisionMetric(m -> rebuilt.put(m.getReferenceId(), m));
+      darMetrics = rebuilt;
+      lastActivityCheck = checked;
+      view = new View(List.copyOf(rebuilt.values()), checked.toInstant());
+    }
+  }
+
+  /**
+   * Recompute the decision metrics of DARs with decision activity since the last check and swap
+   * them into the snapshot. DARs that are no longer reportable, such as archived DARs, are
+   * removed, as are DARs that were deleted.
+   */
+  public synchronized void refresh() {
+    if (Objects.isNull(view)) {
+      rebuild();
+      return;
+    }
+    Date checked = new Date();
+    Date since = new Date(lastActivityCheck.getTime() - ACTIVITY_OVERLAP_MILLIS);
+    List<String> referenceIds = darDAO.findReferenceIdsWithDecisionActivitySince(since);
+    List<DarDecisionMetrics> current = view.darMetrics();
+    try (Timer.Context ignored = refreshes.time()) {
+      boolean changed = false;
+      if (!referenceIds.isEmpty()) {
+        Set<String> reportable = new HashSet<>();
+        metricsService.generateDarDecisionMetrics(referenceIds).forEach(m -> {
+          darMetrics.put(m.getReferenceId(), m);
+          reportable.add(m.getReferenceId());
+        });
+        referenceIds.stream()
+            .filter(id -> !reportable.contains(id))
+            .forEach(darMetrics::remove);
+        refreshedDars.mark(referenceIds.size());
+        changed = true;
+      }
+      // Deleted DARs leave no activity behind
+      if (!darMetrics.isEmpty()) {
+        List<String> deleted = darDAO.findMissingReferenceIds(List.copyOf(darMetrics.keySet()));
+        deleted.forEach(darMetrics::remove);
+        changed |= !deleted.isEmpty();
+      }
+      if (changed) {
+        current = List.copyOf(darMetrics.values());
+      }
+    }
+    lastActivityCheck = checked;
+    view = new View(current, checked.toInstant());
+  }
+
+}
@@ -0,0 +1,119 @@
+package org.broadinstitute.consent.http.service;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NStringEntity;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.broadinstitute.consent.http.models.elastic_search.ElasticSearchHits;
+import org.broadinstitute.consent.http.util.gson.GsonUtil;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+
+/**
+ * Stores and searches dataset documents in the dataset index of an Elasticsearch cluster.
+ */
+public class ElasticSearchBackend implements DatasetSearchBackend {
+
+  private final RestClient esClient;
+  private final ElasticSearchConfiguration esConfig;
+
+  private static final String bulkHeader = """
+      { "index": {"_type": "dataset", "_id": "%d"} }
+      """;
+
+  private static final String deleteQuery = """
+      { "query": { "bool": { "must": [ { "match": { "_type": "dataset" } }, { "match": { "_id": "%d" } } ] } } }
+      """;
+
+  public ElasticSearchBackend(RestClient esClient, ElasticSearchConfiguration esConfig) {
+    this.esClient = esClient;
+    this.esConfig = esConfig;
+  }
+
+  private Response performRequest(Request request) throws IOException {
+    var response = esClient.performRequest(request);
+    var status = response.getStatusLine().getStatusCode();
+    if (status != 200) {
+      throw new IOException("Invalid Elasticsearch query");
+    }
+    var body = new String(response.getEntity().getContent().readAllBytes(),
+        StandardCharsets.UTF_8);
+    return Response.status(status).entity(body).build();
+  }
+
+  @Override
+  public Response indexDatasetTerms(List<DatasetTerm> terms) throws IOException {
+    Request bulkRequest = new Request(
+        HttpMethod.PUT,
+        "/" + esConfig.getDatasetIndexName() + "/_bulk");
+
+    // Each entry ends with the newline that the bulk api requires at the end of the request
+    bulkRequest.setEntity(new NStringEntity(
+        String.join("", terms.stream().map(this::toBulkEntry).toList()),
+        ContentType.APPLICATION_JSON));
+
+    return performRequest(bulkRequest);
+  }
+
+  @Override
+  public long documentBytes(DatasetTerm term) {
+    return toBulkEntry(term).getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  /**
+   * Serialize a dataset term as a bulk api action and document pair.
+   */
+  private String toBulkEntry(DatasetTerm term) {
+    return bulkHeader.formatted(term.getDatasetId())
+        + GsonUtil.getInstance().toJson(term) + "\n";
+  }
+
+  @Override
+  public Response deleteIndex(Integer datasetId) throws IOException {
+    Request deleteRequest = new Request(
+        HttpMethod.POST,
+        "/" + esConfig.getDatasetIndexName() + "/_delete_by_query");
+    deleteRequest.setEntity(new NStringEntity(
+        deleteQuery.formatted(datasetId),
+        ContentType.APPLICATION_JSON));
+    return performRequest(deleteRequest);
+  }
+
+  @Override
+  public boolean validateQuery(String query) throws IOException {
+    // Remove `size` and `from` parameters from query, otherwise validation will fail
+    var modifiedQuery = query
+        .replaceAll("\"size\": ?\\d+,?", "")
+        .replaceAll("\"from\": ?\\d+,?", "");
+
+    Request validateRequest = new Request(
+        HttpMethod.GET,
+        "/" + esConfig.getDatasetIndexName() + "/_validate/query");
+    validateRequest.setEntity(new NStringEntity(modifiedQuery, ContentType.APPLICATION_JSON));
+    Response response = performRequest(validateRequest);
+
+    var entity = response.getEntity().toString();
+    var json = GsonUtil.getInstance().fromJson(entity, Map.class);
+
+    return (boolean) json.get("valid");
+  }
+
+  @Override
+  public ElasticSearchHits searchDatasets(String query) throws IOException {
+    Request searchRequest = new Request(
+        HttpMethod.GET,
+        "/" + esConfig.getDatasetIndexName() + "/_search");
+    searchRequest.setEntity(new NStringEntity(query, ContentType.APPLICATION_JSON));
+
+    Response response = performRequest(searchRequest);
+
+    var entity = response.getEntity().toString();
+    return GsonUtil.getInstance().fromJson(entity, ElasticSearchHits.class);
+  }
+}
@@ -1,20 +1,28 @@
 package org.broadinstitute.consent.http.service;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
-import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import org.apache.http.entity.ContentType;
-import org.apache.http.nio.entity.NStringEntity;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
 import org.broadinstitute.consent.http.db.DacDAO;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
@@ -22,6 +30,7 @@ import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
 import org.broadinstitute.consent.http.db.StudyDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.models.Dac;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.Dataset;
@@ -38,13 +47,10 @@ import org.broadinstitute.consent.http.models.elastic_search.StudyTerm;
 import org.broadinstitute.consent.http.models.elastic_search.UserTerm;
 import org.broadinstitute.consent.http.models.ontology.DataUseSummary;
 import org.broadinstitute.consent.http.util.ConsentLogger;
-import org.broadinstitute.consent.http.util.gson.GsonUtil;
-import org.elasticsearch.client.Request;
-import org.elasticsearch.client.RestClient;
 
 public class ElasticSearchService implements ConsentLogger {
 
-  private final RestClient esClient;
+  private final DatasetSearchBackend searchBackend;
   private final ElasticSearchConfiguration esConfig;
   private final DacDAO dacDAO;
   private final DataAccessRequestDAO dataAccessRequestDAO;
@@ -53,9 +59,16 @@ public class ElasticSearchService implements ConsentLogger {
   private final InstitutionDAO institutionDAO;
   private final DatasetDAO datasetDAO;
   private final StudyDAO studyDAO;
+  private final ExecutorService indexExecutor;
+  private final Timer loadTimer;
+  private final Timer prefetchTimer;
+  private final Timer termsTimer;
+  private final Timer flushTimer;
+  private final Counter failedDocuments;
+  private final TermLookup directLookup = new DirectLookup();
 
   public ElasticSearchService(
-      RestClient esClient,
+      DatasetSearchBackend searchBackend,
       ElasticSearchConfiguration esConfig,
       DacDAO dacDAO,
       DataAccessRequestDAO dataAccessRequestDAO,
@@ -63,8 +76,10 @@ public class ElasticSearchService implements ConsentLogger {
       OntologyService ontologyService,
       InstitutionDAO institutionDAO,
       DatasetDAO datasetDAO,
-      StudyDAO studyDAO) {
-    this.esClient = esClient;
+      StudyDAO studyDAO,
+      ExecutorService indexExecutor,
+      MetricRegistry metricRegistry) {
+    this.searchBackend = searchBackend;
     this.esConfig = esConfig;
     this.dacDAO = dacDAO;
     this.dataAccessRequestDAO = dataAccessRequestDAO;
@@ -73,95 +88,43 @@ public class ElasticSearchService implements ConsentLogger {
     this.institutionDAO = institutionDAO;
     this.datasetDAO = datasetDAO;
     this.studyDAO = studyDAO;
+    this.indexExecutor = indexExecutor;
+    this.loadTimer = metricRegistry.timer(reindexMetric("load"));
+    this.prefetchTimer = metricRegistry.timer(reindexMetric("prefetch"));
+    this.termsTimer = metricRegistry.timer(reindexMetric("terms"));
+    this.flushTimer = metricRegistry.timer(reindexMetric("flush"));
+    this.failedDocuments = metricRegistry.counter(reindexMetric("failed-documents"));
   }
 
-
-  private static final String bulkHeader = """
-      { "index": {"_type": "dataset", "_id": "%d"} }
-      """;
-
-  private static final String deleteQuery = """
-      { "query": { "bool": { "must": [ { "match": { "_type": "dataset" } }, { "match": { "_id": "%d" } } ] } } }
-      """;
-
-  private Response performRequest(Request request) throws IOException {
-    var response = esClient.performRequest(request);
-    var status = response.getStatusLine().getStatusCode();
-    if (status != 200) {
-      throw new IOException("Invalid Elasticsearch query");
-    }
-    var body = new String(response.getEntity().getContent().readAllBytes(),
-        StandardCharsets.UTF_8);
-    return Response.status(status).entity(body).build();
+  private static String reindexMetric(String stage) {
+    return MetricRegistry.name(ElasticSearchService.class, "reindex", stage);
   }
 
   public Response indexDatasetTerms(List<DatasetTerm> datasets) throws IOException {
-    List<String> bulkApiCall = new ArrayList<>();
-
-    datasets.forEach(dsTerm -> {
-      bulkApiCall.add(bulkHeader.formatted(dsTerm.getDatasetId()));
-      bulkApiCall.add(GsonUtil.getInstance().toJson(dsTerm) + "\n");
-    });
-
-    Request bulkRequest = new Request(
-        HttpMethod.PUT,
-        "/" + esConfig.getDatasetIndexName() + "/_bulk");
-
-    bulkRequest.setEntity(new NStringEntity(
-        String.join("", bulkApiCall) + "\n",
-        ContentType.APPLICATION_JSON));
-
-    return performRequest(bulkRequest);
+    return searchBackend.indexDatasetTerms(datasets);
   }
 
   public Response deleteIndex(Integer datasetId) throws IOException {
-    Request deleteRequest = new Request(
-        HttpMethod.POST,
-        "/" + esConfig.getDatasetIndexName() + "/_delete_by_query");
-    deleteRequest.setEntity(new NStringEntity(
-        deleteQuery.formatted(datasetId),
-        ContentType.APPLICATION_JSON));
-    return performRequest(deleteRequest);
+    return searchBackend.deleteIndex(datasetId);
   }
 
   public boolean validateQuery(String query) throws IOException {
-    // Remove `size` and `from` parameters from query, otherwise validation will fail
-    var modifiedQuery = query
-        .replaceAll("\"size\": ?\\d+,?", "")
-        .replaceAll("\"from\": ?\\d+,?", "");
-
-    Request validateRequest = new Request(
-        HttpMethod.GET,
-        "/" + esConfig.getDatasetIndexName() + "/_validate/query");
-    validateRequest.setEntity(new NStringEntity(modifiedQuery, ContentType.APPLICATION_JSON));
-    Response response = performRequest(validateRequest);
-
-    var entity = response.getEntity().toString();
-    var json = GsonUtil.getInstance().fromJson(entity, Map.class);
-
-    return (boolean) json.get("valid");
+    return searchBackend.validateQuery(query);
   }
 
   public Response searchDatasets(String query) throws IOException {
     if (!validateQuery(query)) {
       throw new IOException("Invalid Elasticsearch query");
     }
-
-    Request searchRequest = new Request(
-        HttpMethod.GET,
-        "/" + esConfig.getDatasetIndexName() + "/_search");
-    searchRequest.setEntity(new NStringEntity(query, ContentType.APPLICATION_JSON));
-
-    Response response = performRequest(searchRequest);
-
-    var entity = response.getEntity().toString();
-    var json = GsonUtil.getInstance().fromJson(entity, ElasticSearchHits.class);
-    var hits = json.getHits();
-
-    return Response.ok().entity(hits).build();
+    ElasticSearchHits hits = searchBackend.searchDatasets(query);
+    return Response.ok().entity(hits.getHits()).build();
   }
 
   public StudyTerm toStudyTerm(Study study) {
+    return toStudyTerm(study, directLookup);
+  }
+
+  private StudyTerm toStudyTerm(Study study, TermLookup lookup) {
     if (Objects.isNull(study)) {
       return null;
     }
@@ -206,7 +169,7 @@ public class ElasticSearchService implements ConsentLogger {
 
     if (Objects.nonNull(study.getCreateUserId())) {
       term.setDataSubmitterId(study.getCreateUserId());
-      User user = userDAO.findUserById(study.getCreateUserId());
+      User user = lookup.findUser(study.getCreateUserId());
       if (Objects.nonNull(user)) {
         study.setCreateUserEmail(user.getEmail());
       }
@@ -220,11 +183,15 @@ public class ElasticSearchService implements ConsentLogger {
   }
 
   public UserTerm toUserTerm(User user) {
+    return toUserTerm(user, directLookup);
+  }
+
+  private UserTerm toUserTerm(User user, TermLookup lookup) {
     if (Objects.isNull(user)) {
       return null;
     }
     InstitutionTerm institution = (Objects.nonNull(user.getInstitutionId())) ?
-        toInstitutionTerm(institutionDAO.findInstitutionById(user.getInstitutionId())) :
+        toInstitutionTerm(lookup.findInstitution(user.getInstitutionId())) :
         null;
     return new UserTerm(user.getUserId(), user.getDisplayName(), institution);
   }
@@ -253,33 +220,174 @@ public class ElasticSearchService implements ConsentLogger {
   }
 
   /**
-   * Sequentially index datasets to ElasticSearch by ID list. Note that this is intended for large
-   * lists of dataset ids. For small sets of datasets (i.e. <~25), it is efficient to index them in
-   * bulk using the {@link #indexDatasets(List)} method.
+   * Index datasets to ElasticSearch by ID list. Note that this is intended for large lists of
+   * dataset ids. For small sets of datasets (i.e. <~25), it is efficient to index them in bulk
+   * using the {@link #indexDatasets(List)} method.
+   * <p>
+   * Datasets are processed one page at a time: the page of datasets is loaded in a single query,
+   * the users, DACs, institutions, and approved DARs it references are prefetched, dataset terms
+   * are built in parallel, and the terms are sent in bulk requests bounded by document count and
+   * size. Only one page is held in memory at a time. After each page, the id of the last dataset
+   * for which all prior pages were indexed successfully is logged so that a failed reindex can be
+   * resumed from that checkpoint.
    *
-   * @param datasetIds List of Dataset IDs to index
+   * @param datasetIds List of Dataset IDs to index, in ascending order
    * @return StreamingOutput of ElasticSearch responses from indexing datasets
    */
   public StreamingOutput indexDatasetIds(List<Integer> datasetIds) {
-    Integer lastDatasetId = datasetIds.get(datasetIds.size() - 1);
     return output -> {
       output.write("[".getBytes());
-      datasetIds.forEach(id -> {
-        Dataset dataset = datasetDAO.findDatasetById(id);
-        try (Response response = indexDataset(dataset)) {
-          output.write(response.getEntity().toString().getBytes());
-          if (!id.equals(lastDatasetId)) {
-            output.write(",".getBytes());
+      boolean first = true;
+      boolean failed = false;
+      Integer checkpoint = null;
+      int indexed = 0;
+      for (List<Integer> page : Lists.partition(datasetIds, esConfig.getIndexPageSize())) {
+        List<Dataset> datasets = time(loadTimer,
+            () -> datasetDAO.findDatasetsByIdList(page, DatasetFetchStrategy.MULTI_QUERY));
+        TermLookup lookup = time(prefetchTimer, () -> prefetch(datasets));
+        List<DatasetTerm> terms = time(termsTimer, () -> toDatasetTerms(datasets, lookup));
+        if (terms.size() < datasets.size()) {
+          failed = true;
+          failedDocuments.inc(datasets.size() - terms.size());
+        }
+        for (List<DatasetTerm> bulk : partitionBulks(terms)) {
+          try (Response response = time(flushTimer, () -> searchBackend.indexDatasetTerms(bulk))) {
+            if (!first) {
+              output.write(",".getBytes());
+            }
+            output.write(response.getEntity().toString().getBytes());
+            output.write("\n".getBytes());
+            output.flush();
+            first = false;
+          } catch (IOException e) {
+            failed = true;
+            failedDocuments.inc(bulk.size());
+            logException("Error indexing %d dataset terms: ".formatted(bulk.size()), e);
           }
-          output.write("\n".getBytes());
-        } catch (IOException e) {
-          logException("Error indexing dataset term for dataset id: %d ".formatted(dataset.getDatasetId()), e);
         }
-      });
+        indexed += page.size();
+        if (!failed) {
+          checkpoint = page.get(page.size() - 1);
+        }
+        logInfo("Dataset reindex: processed %d of %d datasets, checkpoint dataset id: %s"
+            .formatted(indexed, datasetIds.size(), checkpoint));
+      }
+      if (failed) {
+        logWarn("Dataset reindex completed with errors, resume after dataset id: %s"
+            .formatted(checkpoint));
+      }
       output.write("]".getBytes());
     };
   }
 
+  /**
+   * Build dataset terms for a batch of datasets, prefetching the entities they reference. Datasets
+   * that fail to convert are logged and omitted.
+   *
+   * @param datasets The datasets
+   * @return The dataset terms that were built
+   */
+  public List<DatasetTerm> toDatasetTerms(List<Dataset> datasets) {
+    return toDatasetTerms(datasets, prefetch(datasets));
+  }
+
+  /**
+   * Build dataset terms for a page of datasets on the index executor. Datasets that fail to
+   * convert are logged and omitted.
+   */
+  private List<DatasetTerm> toDatasetTerms(List<Dataset> datasets, TermLookup lookup) {
+    List<CompletableFuture<DatasetTerm>> futures = datasets.stream()
+        .map(dataset -> CompletableFuture.supplyAsync(
+            () -> toDatasetTerm(dataset, lookup), indexExecutor)
+            .exceptionally(e -> {
+              logException("Error building dataset term for dataset id: %d: "
+                  .formatted(dataset.getDatasetId()), new Exception(e));
+              return null;
+            }))
+        .toList();
+    return futures.stream()
+        .map(CompletableFuture::join)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /**
+   * Split dataset terms into bulk requests that do not exceed the configured number of documents
+   * or bytes, as encoded by the search backend. A single document larger than the byte limit is
+   * sent on its own.
+   */
+  List<List<DatasetTerm>> partitionBulks(List<DatasetTerm> terms) {
+    int maxDocuments = esConfig.getBulkMaxDocuments();
+    long maxBytes = esConfig.getBulkMaxBytes();
+    List<List<DatasetTerm>> bulks = new ArrayList<>();
+    List<DatasetTerm> bulk = new ArrayList<>();
+    long bytes = 0;
+    for (DatasetTerm term : terms) {
+      long termBytes = searchBackend.documentBytes(term);
+      if (!bulk.isEmpty() && (bulk.size() >= maxDocuments || bytes + termBytes > maxBytes)) {
+        bulks.add(bulk);
+        bulk = new ArrayList<>();
+        bytes = 0;
+      }
+      bulk.add(term);
+      bytes += termBytes;
+    }
+    if (!bulk.isEmpty()) {
+      bulks.add(bulk);
+    }
+    return bulks;
+  }
+
+  /**
+   * Load all users, DACs, institutions, and approved DARs referenced by a page of datasets.
+   */
+  private TermLookup prefetch(List<Dataset> datasets) {
+    if (datasets.isEmpty()) {
+      return directLookup;
+    }
+    Set<Integer> userIds = new HashSet<>();
+    Set<Integer> dacIds = new HashSet<>();
+    datasets.forEach(dataset -> {
+      Optional.ofNullable(dataset.getCreateUserId()).ifPresent(userIds::add);
+      Optional.ofNullable(dataset.getUpdateUserId()).ifPresent(userIds::add);
+      Optional.ofNullable(dataset.getStudy())
+          .map(Study::getCreateUserId)
+          .ifPresent(userIds::add);
+      Optional.ofNullable(dataset.getDacId()).ifPresent(dacIds::add);
+    });
+    Map<Integer, User> users = userIds.isEmpty() ? Map.of() : userDAO.findUsers(userIds)
+        .stream()
+        .collect(Collectors.toMap(User::getUserId, Function.identity(), (a, b) -> a));
+    Set<Integer> institutionIds = users.values().stream()
+        .map(User::getInstitutionId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Map<Integer, Institution> institutions = institutionIds.isEmpty() ? Map.of() :
+        institutionDAO.findInstitutionsByIds(institutionIds)
+            .stream()
+            .collect(Collectors.toMap(Institution::getId, Function.identity(), (a, b) -> a));
+    Map<Integer, Dac> dacs = dacIds.isEmpty() ? Map.of() : dacDAO.findDacsByIds(dacIds)
+        .stream()
+        .collect(Collectors.toMap(Dac::getDacId, Function.identity(), (a, b) -> a));
+    Map<Integer, List<Integer>> approvedUserIds = new HashMap<>();
+    dataAccessRequestDAO.findApprovedDARsByDatasetIds(
+            datasets.stream().map(Dataset::getDatasetId).toList())
+        .forEach(dar -> dar.getDatasetIds().forEach(datasetId ->
+            approvedUserIds.computeIfAbsent(datasetId, id -> new ArrayList<>())
+                .add(dar.getUserId())));
+    return new PrefetchedLookup(users, dacs, institutions, approvedUserIds);
+  }
+
+  private <T> T time(Timer timer, Callable<T> callable) throws IOException {
+    try (Timer.Context ignored = timer.time()) {
+      return callable.call();
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
   public Response indexStudy(Integer studyId) {
     Study study = studyDAO.findStudyById(studyId);
     // The dao call above does not populate its datasets so we need to check for datasetIds
@@ -296,6 +404,10 @@ public class ElasticSearchService implements ConsentLogger {
   }
 
   public DatasetTerm toDatasetTerm(Dataset dataset) {
+    return toDatasetTerm(dataset, directLookup);
+  }
+
+  private DatasetTerm toDatasetTerm(Dataset dataset, TermLookup lookup) {
     if (Objects.isNull(dataset)) {
       return null;
     }
@@ -304,25 +416,25 @@ public class ElasticSearchService implements ConsentLogger {
 
     term.setDatasetId(dataset.getDatasetId());
     Optional.ofNullable(dataset.getCreateUserId()).ifPresent(userId -> {
-      User user = userDAO.findUserById(dataset.getCreateUserId());
+      User user = lookup.findUser(dataset.getCreateUserId());
       term.setCreateUserId(dataset.getCreateUserId());
       term.setCreateUserDisplayName(user.getDisplayName());
-      term.setSubmitter(toUserTerm(user));
+      term.setSubmitter(toUserTerm(user, lookup));
     });
     Optional.ofNullable(dataset.getUpdateUserId())
-        .map(userDAO::findUserById)
-        .map(this::toUserTerm)
+        .map(lookup::findUser)
+        .map(user -> toUserTerm(user, lookup))
         .ifPresent(term::setUpdateUser);
     term.setDatasetIdentifier(dataset.getDatasetIdentifier());
     term.setDeletable(dataset.getDeletable());
     term.setDatasetName(dataset.getName());
 
     if (Objects.nonNull(dataset.getStudy())) {
-      term.setStudy(toStudyTerm(dataset.getStudy()));
+      term.setStudy(toStudyTerm(dataset.getStudy(), lookup));
     }
 
     Optional.ofNullable(dataset.getDacId()).ifPresent(dacId -> {
-      Dac dac = dacDAO.findById(dataset.getDacId());
+      Dac dac = lookup.findDac(dataset.getDacId());
       term.setDacId(dataset.getDacId());
       if (Objects.nonNull(dataset.getDacApproval())) {
         term.setDacApproval(dataset.getDacApproval());
@@ -330,11 +442,7 @@ public class ElasticSearchService implements ConsentLogger {
       term.setDac(toDacTerm(dac));
     });
 
-    List<Integer> approvedUserIds = dataAccessRequestDAO
-        .findApprovedDARsByDatasetId(dataset.getDatasetId())
-        .stream()
-        .map(DataAccessRequest::getUserId)
-        .toList();
+    List<Integer> approvedUserIds = lookup.findApprovedUserIds(dataset.getDatasetId());
 
     if (!approvedUserIds.isEmpty()) {
       term.setApprovedUserIds(approvedUserIds);
@@ -410,4 +518,76 @@ public class ElasticSearchService implements ConsentLogger {
             .findFirst();
   }
 
+  /**
+   * Resolves the entities referenced by a dataset term.
+   */
+  private interface TermLookup {
+
+    User findUser(Integer userId);
+
+    Dac findDac(Integer dacId);
+
+    Institution findInstitution(Integer institutionId);
+
+    List<Integer> findApprovedUserIds(Integer datasetId);
+  }
+
+  /**
+   * Resolves each entity with its own query. Used when indexing individual datasets.
+   */
+  private class DirectLookup implements TermLookup {
+
+    @Override
+    public User findUser(Integer userId) {
+      return userDAO.findUserById(userId);
+    }
+
+    @Override
+    public Dac findDac(Integer dacId) {
+      return dacDAO.findById(dacId);
+    }
+
+    @Override
+    public Institution findInstitution(Integer institutionId) {
+      return institutionDAO.findInstitutionById(institutionId);
+    }
+
+    @Override
+    public List<Integer> findApprovedUserIds(Integer datasetId) {
+      return dataAccessRequestDAO.findApprovedDARsByDatasetId(datasetId)
+          .stream()
+          .map(DataAccessRequest::getUserId)
+          .toList();
+    }
+  }
+
+  /**
+   * Resolves entities from maps prefetched for a page of datasets.
+   */
+  private record PrefetchedLookup(Map<Integer, User> users, Map<Integer, Dac> dacs,
+                                  Map<Integer, Institution> institutions,
+                                  Map<Integer, List<Integer>> approvedUserIds)
+      implements TermLookup {
+
+    @Override
+    public User findUser(Integer userId) {
+      return users.get(userId);
+    }
+
+    @Override
+    public Dac findDac(Integer dacId) {
+      return dacs.get(dacId);
+    }
+
+    @Override
+    public Institution findInstitution(Integer institutionId) {
+      return institutions.get(institutionId);
+    }
+
+    @Override
+    public List<Integer> findApprovedUserIds(Integer datasetId) {
+      return approvedUserIds.getOrDefault(datasetId, List.of());
+    }
+  }
+
 }
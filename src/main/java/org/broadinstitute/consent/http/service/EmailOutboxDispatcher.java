@@ -0,0 +1,233 @@
+package org.broadinstitute.consent.http.service;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import com.sendgrid.Response;
+import com.sendgrid.helpers.mail.Mail;
+import io.dropwizard.lifecycle.Managed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.configurations.MailConfiguration;
+import org.broadinstitute.consent.http.db.MailMessageDAO;
+import org.broadinstitute.consent.http.mail.SendGridAPI;
+import org.broadinstitute.consent.http.models.mail.MailOutboxEntry;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+
+/**
+ * Background worker that sends emails queued in the outbox by {@link EmailService}. Emails that
+ * share a subject and body are sent to SendGrid as a single request with one personalization per
+ * recipient. Requests are rate limited and sent with bounded concurrency. Emails that fail with a
+ * retryable status or an error are rescheduled with exponential backoff until the maximum number
+ * of attempts is reached.
+ */
+public class EmailOutboxDispatcher implements ConsentLogger, Managed {
+
+  /**
+   * SendGrid accepts at most 1000 personalizations in a single request
+   */
+  static final int MAX_PERSONALIZATIONS = 1000;
+
+  /**
+   * Claimed emails that have no recorded outcome after this long are sent again
+   */
+  static final Duration CLAIM_LEASE = Duration.ofMinutes(10);
+
+  static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+
+  static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+  private final MailMessageDAO mailMessageDAO;
+  private final SendGridAPI sendGridAPI;
+  private final MailConfiguration mailConfig;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService senders;
+  private final RateLimiter rateLimiter;
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final Timer sendLatency;
+  private final Meter sent;
+  private final Counter failures;
+
+  private record Template(String subject, String body) {
+
+  }
+
+  public EmailOutboxDispatcher(MailMessageDAO mailMessageDAO, SendGridAPI sendGridAPI,
+      MailConfiguration mailConfig, ScheduledExecutorService scheduler, ExecutorService senders,
+      MetricRegistry metricRegistry) {
+    this.mailMessageDAO = mailMessageDAO;
+    this.sendGridAPI = sendGridAPI;
+    this.mailConfig = mailConfig;
+    this.scheduler = scheduler;
+    this.senders = senders;
+    this.rateLimiter = RateLimiter.create(mailConfig.getOutboxSendsPerSecond());
+    this.sendLatency = metricRegistry.timer(
+        MetricRegistry.name(EmailOutboxDispatcher.class, "send-latency"));
+    this.sent = metricRegistry.meter(MetricRegistry.name(EmailOutboxDispatcher.class, "sent"));
+    this.failures = metricRegistry.counter(
+        MetricRegistry.name(EmailOutboxDispatcher.class, "failures"));
+    metricRegistry.gauge(MetricRegistry.name(EmailOutboxDispatcher.class, "queue-depth"),
+        () -> (Gauge<Long>) queueDepth::get);
+  }
+
+  @Override
+  public void start() {
+    if (mailConfig.isOutboxEnabled()) {
+      long period = mailConfig.getOutboxPollSeconds();
+      scheduler.scheduleWithFixedDelay(this::drainSafely, period, period, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  private void drainSafely() {
+    try {
+      drain();
+    } catch (Exception e) {
+      logException("Error draining email outbox: ", e);
+    }
+  }
+
+  /**
+   * Send due outbox emails in batches until no emails are due.
+   *
+   * @return The number of outbox emails processed
+   */
+  public int drain() {
+    int processed = 0;
+    try {
+      // Emails whose last attempt never recorded an outcome are not claimed once out of attempts
+      mailMessageDAO.expireOutboxMessages(Instant.now(), mailConfig.getOutboxMaxAttempts());
+      int batchSize = mailConfig.getOutboxBatchSize();
+      List<MailOutboxEntry> entries = claim(batchSize);
+      while (!entries.isEmpty()) {
+        dispatch(entries);
+        processed += entries.size();
+        if (entries.size() < batchSize) {
+          break;
+        }
+        entries = claim(batchSize);
+      }
+    } finally {
+      queueDepth.set(mailMessageDAO.countOutboxMessages());
+    }
+    return processed;
+  }
+
+  private List<MailOutboxEntry> claim(int batchSize) {
+    Instant now = Instant.now();
+    return mailMessageDAO.claimOutboxMessages(now, now.plus(CLAIM_LEASE), batchSize,
+        mailConfig.getOutboxMaxAttempts());
+  }
+
+  /**
+   * Send a batch of claimed emails. Recipients who do not accept email are removed from the
+   * outbox without being sent, the remaining emails are grouped by identical content and sent
+   * concurrently.
+   */
+  private void dispatch(List<MailOutboxEntry> entries) {
+    Set<String> accepting = sendGridAPI.findRecipientsAcceptingEmail(
+        entries.stream().map(MailOutboxEntry::recipient).toList());
+    Map<Boolean, List<MailOutboxEntry>> byPreference = entries.stream()
+        .collect(Collectors.partitioningBy(
+            e -> accepting.contains(e.recipient().toLowerCase())));
+    List<MailOutboxEntry> declined = byPreference.get(false);
+    if (!declined.isEmpty()) {
+      mailMessageDAO.completeOutboxMessages(ids(declined), null, null, null);
+    }
+    Map<Template, List<MailOutboxEntry>> byTemplate = byPreference.get(true).stream()
+        .collect(Collectors.groupingBy(e -> new Template(e.subject(), e.emailText()),
+            LinkedHashMap::new, Collectors.toList()));
+    List<CompletableFuture<Void>> requests = new ArrayList<>();
+    byTemplate.forEach((template, group) ->
+        Lists.partition(group, MAX_PERSONALIZATIONS).forEach(recipients ->
+            requests.add(CompletableFuture.runAsync(() -> send(template, recipients), senders))));
+    CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private void send(Template template, List<MailOutboxEntry> entries) {
+    Optional<Response> response;
+    try {
+      rateLimiter.acquire();
+      Mail message = sendGridAPI.batchMessage(template.subject(), template.body(),
+          entries.stream().map(MailOutboxEntry::recipient).toList());
+      try (Timer.Context ignored = sendLatency.time()) {
+        response = sendGridAPI.sendMessage(message);
+      }
+    } catch (Exception e) {
+      logException("Error sending %d outbox emails: ".formatted(entries.size()), e);
+      // Errors such as a failed connection are retried, the attempts limit stops persistent ones
+      fail(entries, true, e.getMessage(), null);
+      return;
+    }
+    try {
+      record(entries, response);
+    } catch (Exception e) {
+      // Retrying could send the emails again, they are left to their lease and attempts limit
+      logException("Error recording the outcome of %d outbox emails: "
+          .formatted(entries.size()), e);
+    }
+  }
+
+  private void record(List<MailOutboxEntry> entries, Optional<Response> response) {
+    if (response.isEmpty()) {
+      // Email notifications are not active, record the emails as unsent
+      mailMessageDAO.completeOutboxMessages(ids(entries), null, null, null);
+    } else if (response.get().getStatusCode() < 400) {
+      sent.mark(entries.size());
+      mailMessageDAO.completeOutboxMessages(ids(entries), Instant.now(),
+          response.get().getBody(), response.get().getStatusCode());
+    } else {
+      int status = response.get().getStatusCode();
+      fail(entries, status == 429 || status >= 500, response.get().getBody(), status);
+    }
+  }
+
+  /**
+   * Reschedule emails that failed with a retryable status or error, and record the failure of the
+   * rest.
+   */
+  private void fail(List<MailOutboxEntry> entries, boolean retryable, String detail,
+      Integer status) {
+    failures.inc(entries.size());
+    Map<Integer, List<MailOutboxEntry>> byAttempts = entries.stream()
+        .collect(Collectors.groupingBy(MailOutboxEntry::attempts));
+    byAttempts.forEach((attempts, group) -> {
+      if (retryable && attempts < mailConfig.getOutboxMaxAttempts()) {
+        mailMessageDAO.rescheduleOutboxMessages(ids(group),
+            Instant.now().plus(backoff(attempts)), detail, status);
+      } else {
+        mailMessageDAO.completeOutboxMessages(ids(group), null, detail, status);
+      }
+    });
+  }
+
+  static Duration backoff(int attempts) {
+    int exponent = Math.min(Math.max(attempts - 1, 0), 16);
+    Duration backoff = INITIAL_BACKOFF.multipliedBy(1L << exponent);
+    return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+  }
+
+  private static List<Integer> ids(List<MailOutboxEntry> entries) {
+    return entries.stream().map(MailOutboxEntry::emailId).toList();
+  }
+
+}
@@ -2,11 +2,10 @@ package org.broadinstitute.consent.http.service;
 
 import com.google.common.collect.Streams;
 import com.google.inject.Inject;
-import com.sendgrid.Response;
+import com.sendgrid.helpers.mail.Mail;
 import freemarker.template.TemplateException;
 import jakarta.ws.rs.NotFoundException;
 import java.io.IOException;
-import java.io.Writer;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
@@ -14,8 +13,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -81,28 +78,28 @@ public class EmailService implements ConsentLogger {
   }
 
   /**
-   * This method saves an email (either sent or unsent) with all available metadata from the
-   * SendGrid response.
+   * This method queues a rendered email in the outbox. Emails are sent in the background by the
+   * outbox dispatcher, which records the SendGrid response.
    */
-  private void saveEmailAndResponse(
-      @Nullable Response response,
+  private void enqueueEmail(
+      Mail message,
       @Nullable String entityReferenceId,
       @Nullable Integer voteId,
       Integer userId,
       EmailType emailType,
-      Writer template) {
-    Instant now = Instant.now();
-    Instant dateSent = (Objects.nonNull(response) && response.getStatusCode() < 400) ? now : null;
-    emailDAO.insert(
+      String template) {
+    // Messages are always constructed for a single recipient so that emails can be tracked at
+    // that level of granularity.
+    String recipient = message.getPersonalization().get(0).getTos().get(0).getEmail();
+    emailDAO.insertOutboxMessage(
         entityReferenceId,
         voteId,
         userId,
         emailType.getTypeInt(),
-        dateSent,
-        template.toString(),
-        Objects.nonNull(response) ? response.getBody() : null,
-        Objects.nonNull(response) ? response.getStatusCode() : null,
-        now);
+        template,
+        recipient,
+        message.getSubject(),
+        Instant.now());
   }
 
   public List<MailMessage> fetchEmailMessagesByType(EmailType emailType, Integer limit,
@@ -185,7 +182,7 @@ public class EmailService implements ConsentLogger {
       String researcherName,
       String darCode
   ) throws TemplateException, IOException {
-    Writer template = templateHelper.getNewDARRequestTemplate(
+    String template = templateHelper.getNewDARRequestTemplate(
         SERVER_URL,
         user.getDisplayName(),
         sendList,
@@ -193,14 +190,14 @@ public class EmailService implements ConsentLogger {
         darCode
     );
     Map<String, String> data = retrieveForNewDAR(darCode, user);
-    Optional<Response> response = sendGridAPI.sendNewDARRequests(
+    Mail message = sendGridAPI.newDARRequestMessage(
         user.getEmail(),
         data.get("entityId"),
         data.get("electionType"),
         template
     );
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         darCode,
         null,
         user.getUserId(),
@@ -215,18 +212,18 @@ public class EmailService implements ConsentLogger {
     DarCollection collection = collectionDAO.findDARCollectionByReferenceId(election.getReferenceId());
     User user = findUserById(vote.getUserId());
     String voteUrl = SERVER_URL + "dar_collection/%d".formatted(collection.getDarCollectionId());
-    Writer template = templateHelper.getReminderTemplate(
+    String template = templateHelper.getReminderTemplate(
         user.getDisplayName(),
         collection.getDarCode(),
         voteUrl);
-    Optional<Response> response = sendGridAPI.sendReminderMessage(
+    Mail message = sendGridAPI.reminderMessage(
         user.getEmail(),
         collection.getDarCode(),
         election.getElectionType(),
         template);
     voteDAO.updateVoteReminderFlag(voteId, true);
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         String.valueOf(vote.getElectionId()),
         voteId,
         user.getUserId(),
@@ -240,12 +237,12 @@ public class EmailService implements ConsentLogger {
     String electionType = "Data Access Request";
     String darCode = darCollection.getDarCode();
     for (User user : users) {
-      Writer template = templateHelper.getNewCaseTemplate(user.getDisplayName(), electionType,
+      String template = templateHelper.getNewCaseTemplate(user.getDisplayName(), electionType,
           darCode, SERVER_URL);
-      Optional<Response> response = sendGridAPI.sendNewCaseMessage(user.getEmail(), darCode,
+      Mail message = sendGridAPI.newCaseMessage(user.getEmail(), darCode,
           electionType, template);
-      saveEmailAndResponse(
-          response.orElse(null),
+      enqueueEmail(
+          message,
           darCode,
           null,
           user.getUserId(),
@@ -258,12 +255,12 @@ public class EmailService implements ConsentLogger {
   public void sendResearcherDarApproved(String darCode, Integer researcherId,
       List<DatasetMailDTO> datasets, String dataUseRestriction) throws Exception {
     User user = userDAO.findUserById(researcherId);
-    Writer template = templateHelper.getResearcherDarApprovedTemplate(darCode,
+    String template = templateHelper.getResearcherDarApprovedTemplate(darCode,
         user.getDisplayName(), datasets, dataUseRestriction, user.getEmail());
-    Optional<Response> response = sendGridAPI.sendNewResearcherApprovedMessage(user.getEmail(),
+    Mail message = sendGridAPI.researcherApprovedMessage(user.getEmail(),
         template, darCode);
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         darCode,
         null,
         user.getUserId(),
@@ -277,12 +274,12 @@ public class EmailService implements ConsentLogger {
       List<DatasetMailDTO> datasets,
       String dataDepositorName,
       String researcherEmail) throws Exception {
-    Writer template = templateHelper.getDataCustodianApprovalTemplate(datasets,
+    String template = templateHelper.getDataCustodianApprovalTemplate(datasets,
         dataDepositorName, darCode, researcherEmail);
-    Optional<Response> response = sendGridAPI.sendDataCustodianApprovalMessage(custodian.getEmail(),
+    Mail message = sendGridAPI.dataCustodianApprovalMessage(custodian.getEmail(),
         darCode, template);
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         darCode,
         null,
         custodian.getUserId(),
@@ -295,14 +292,14 @@ public class EmailService implements ConsentLogger {
       User dataSubmitter,
       String dacName,
       String datasetName) throws Exception {
-    Writer template = templateHelper.getDatasetSubmittedTemplate(dacChair.getDisplayName(),
+    String template = templateHelper.getDatasetSubmittedTemplate(dacChair.getDisplayName(),
         dataSubmitter.getDisplayName(),
         datasetName,
         dacName);
-    Optional<Response> response = sendGridAPI.sendDatasetSubmittedMessage(dacChair.getEmail(),
+    Mail message = sendGridAPI.datasetSubmittedMessage(dacChair.getEmail(),
         template);
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         datasetName,
         null,
         dacChair.getUserId(),
@@ -314,11 +311,11 @@ public class EmailService implements ConsentLogger {
   public void sendDatasetApprovedMessage(User user,
       String dacName,
       String datasetName) throws Exception {
-    Writer template = templateHelper.getDatasetApprovedTemplate(user.getDisplayName(), datasetName,
+    String template = templateHelper.getDatasetApprovedTemplate(user.getDisplayName(), datasetName,
         dacName);
-    Optional<Response> response = sendGridAPI.sendDatasetApprovedMessage(user.getEmail(), template);
-    saveEmailAndResponse(
-        response.orElse(null),
+    Mail message = sendGridAPI.datasetApprovedMessage(user.getEmail(), template);
+    enqueueEmail(
+        message,
         datasetName,
         null,
         user.getUserId(),
@@ -331,11 +328,11 @@ public class EmailService implements ConsentLogger {
       String dacName,
       String datasetName,
       String dacEmail) throws Exception {
-    Writer template = templateHelper.getDatasetDeniedTemplate(user.getDisplayName(), datasetName,
+    String template = templateHelper.getDatasetDeniedTemplate(user.getDisplayName(), datasetName,
         dacName, dacEmail);
-    Optional<Response> response = sendGridAPI.sendDatasetDeniedMessage(user.getEmail(), template);
-    saveEmailAndResponse(
-        response.orElse(null),
+    Mail message = sendGridAPI.datasetDeniedMessage(user.getEmail(), template);
+    enqueueEmail(
+        message,
         datasetName,
         null,
         user.getUserId(),
@@ -346,12 +343,12 @@ public class EmailService implements ConsentLogger {
 
   public void sendNewResearcherMessage(User researcher,
       User signingOfficial) throws Exception {
-    Writer template = templateHelper.getNewResearcherLibraryRequestTemplate(
+    String template = templateHelper.getNewResearcherLibraryRequestTemplate(
         researcher.getDisplayName(), this.SERVER_URL);
-    Optional<Response> response = sendGridAPI.sendNewResearcherLibraryRequestMessage(
+    Mail message = sendGridAPI.newResearcherLibraryRequestMessage(
         signingOfficial.getEmail(), template);
-    saveEmailAndResponse(
-        response.orElse(null),
+    enqueueEmail(
+        message,
         researcher.getUserId().toString(),
         null,
         researcher.getUserId(),
@@ -367,11 +364,11 @@ public class EmailService implements ConsentLogger {
       String daaName,
       Integer daaId,
       Integer userId) throws Exception {
-    Writer template = templateHelper.getDaaRequestTemplate(signingOfficialName, userName, daaName,
+    String template = templateHelper.getDaaRequestTemplate(signingOfficialName, userName, daaName,
         this.SERVER_URL);
-    Optional<Response> response = sendGridAPI.sendDaaRequestMessage(signingOfficialEmail, template, daaId.toString());
-    saveEmailAndResponse(
-        response.orElse(null),
+    Mail message = sendGridAPI.daaRequestMessage(signingOfficialEmail, template, daaId.toString());
+    enqueueEmail(
+        message,
         daaId.toString(),
         null,
         userId,
@@ -387,11 +384,11 @@ public class EmailService implements ConsentLogger {
       String previousDaaName,
       String newDaaName,
       Integer userId) throws Exception {
-    Writer template = templateHelper.getNewDaaUploadSOTemplate(signingOfficialName, dacName,
+    String template = templateHelper.getNewDaaUploadSOTemplate(signingOfficialName, dacName,
         newDaaName, previousDaaName, this.SERVER_URL);
-    Optional<Response> response = sendGridAPI.sendNewDAAUploadSOMessage(signingOfficialEmail, template, dacName);
-    saveEmailAndResponse(
-        response.orElse(null),
+    Mail message = sendGridAPI.newDAAUploadSOMessage(signingOfficialEmail, template, dacName);
+    enqueueEmail(
+        message,
         dacName,
         null,
         userId,
@@ -407,11 +404,11 @@ public class EmailService implements ConsentLogger {
       String previousDaaName,
       String newDaaName,
       Integer userId) throws Exception {
-    Writer template = templateHelper.getNewDaaUploadResearcherTemplate(researcherUserName, dacName,
+    String template = templateHelper.getNewDaaUploadResearcherTemplate(researcherUserName, dacName,
         newDaaName, previousDaaName, this.SERVER_URL);
-    Optional<Response> response = sendGridAPI.sendNewDAAUploadResearcherMessage(researcherEmail, template, dacName);
-    saveEmailAndResponse(
-        response.orElse(null),
+    Mail message = sendGridAPI.newDAAUploadResearcherMessage(researcherEmail, template, dacName);
+    enqueueEmail(
+        message,
         dacName,
         null,
         userId,
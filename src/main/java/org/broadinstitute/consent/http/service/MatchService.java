@@ -15,10 +15,17 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.MatchDAO;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataUse;
 import org.broadinstitute.consent.http.models.Dataset;
@@ -26,6 +33,7 @@ import org.broadinstitute.consent.http.models.Match;
 import org.broadinstitute.consent.http.models.matching.DataUseRequestMatchingObject;
 import org.broadinstitute.consent.http.models.matching.DataUseResponseMatchingObject;
 import org.broadinstitute.consent.http.util.ConsentLogger;
+import org.broadinstitute.consent.http.util.UpstreamMetrics;
 import org.glassfish.jersey.client.ClientProperties;
 
 public class MatchService implements ConsentLogger {
@@ -35,11 +43,18 @@ public class MatchService implements ConsentLogger {
   private final DataAccessRequestDAO dataAccessRequestDAO;
   private final DatasetDAO datasetDAO;
   private final WebTarget matchServiceTargetV4;
+  private final UpstreamMetrics upstreamMetrics;
+  private final ExecutorService executorService;
+  private final Integer matchDeadlineSeconds;
 
   @Inject
   public MatchService(Client client, ServicesConfiguration config, MatchDAO matchDAO,
       DataAccessRequestDAO dataAccessRequestDAO, DatasetDAO datasetDAO,
-      UseRestrictionConverter useRestrictionConverter) {
+      UseRestrictionConverter useRestrictionConverter, UpstreamMetrics upstreamMetrics,
+      ExecutorService executorService) {
+    this.upstreamMetrics = upstreamMetrics;
+    this.executorService = executorService;
+    this.matchDeadlineSeconds = config.getMatchDeadlineSeconds();
     this.matchDAO = matchDAO;
     this.dataAccessRequestDAO = dataAccessRequestDAO;
     this.useRestrictionConverter = useRestrictionConverter;
@@ -51,23 +66,23 @@ public class MatchService implements ConsentLogger {
     matchServiceTargetV4 = client.target(config.getMatchURL_v4());
   }
 
-  public void insertMatches(List<Match> match) {
-    match.forEach(m -> {
-      Integer id = matchDAO.insertMatch(
-          m.getConsent(),
-          m.getPurpose(),
-          m.getMatch(),
-          m.getFailed(),
-          new Date(),
-          m.getAlgorithmVersion(),
-          m.getAbstain()
-      );
-      if (!m.getRationales().isEmpty()) {
-        m.getRationales().forEach(f -> {
-          matchDAO.insertRationale(id, f);
-        });
-      }
-    });
+  public void insertMatches(List<Match> matches) {
+    if (matches.isEmpty()) {
+      return;
+    }
+    List<Integer> ids = matchDAO.insertMatches(matches, new Date());
+    List<Integer> rationaleMatchIds = new ArrayList<>();
+    List<String> rationales = new ArrayList<>();
+    for (int i = 0; i < matches.size(); i++) {
+      Integer id = ids.get(i);
+      matches.get(i).getRationales().forEach(r -> {
+        rationaleMatchIds.add(id);
+        rationales.add(r);
+      });
+    }
+    if (!rationales.isEmpty()) {
+      matchDAO.insertRationales(rationaleMatchIds, rationales);
+    }
   }
 
   public Match findMatchById(Integer id) {
@@ -96,24 +111,63 @@ public class MatchService implements ConsentLogger {
     matchDAO.deleteMatchesByPurposeId(purposeId);
   }
 
+  /**
+   * Match each dataset in a data access request. Datasets are loaded in a single query and matched
+   * concurrently, bounded by the size of the match executor. Datasets that have not been matched
+   * by the deadline, or when the thread is interrupted, are recorded as failed matches.
+   *
+   * @param dar The DataAccessRequest
+   * @return List of matches, one per dataset, in dataset order
+   */
   protected List<Match> createMatchesForDataAccessRequest(DataAccessRequest dar) {
+    if (Objects.isNull(dar.getDatasetIds()) || dar.getDatasetIds().isEmpty()) {
+      return List.of();
+    }
+    List<Dataset> datasets = datasetDAO.findDatasetsByIdList(dar.getDatasetIds());
+    List<Callable<Match>> tasks = datasets.stream()
+        .map(dataset -> (Callable<Match>) () -> matchDataset(dataset, dar))
+        .toList();
+    List<Future<Match>> futures;
+    try {
+      futures = executorService.invokeAll(tasks, matchDeadlineSeconds, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return datasets.stream()
+          .map(dataset -> failedMatch(dataset, dar, "Interrupted finding single match"))
+          .toList();
+    }
     List<Match> matches = new ArrayList<>();
-    dar.getDatasetIds().forEach(id -> {
-      Dataset dataset = datasetDAO.findDatasetById(id);
-      if (Objects.nonNull(dataset)) {
-        try {
-          matches.add(singleEntitiesMatchV3(dataset, dar));
-        } catch (Exception e) {
-          String message = "Error finding single match for purpose: " + dar.getReferenceId();
-          logWarn(message);
-          matches.add(
-              matchFailure(dataset.getDatasetIdentifier(), dar.getReferenceId(), List.of(message)));
-        }
+    for (int i = 0; i < datasets.size(); i++) {
+      Dataset dataset = datasets.get(i);
+      try {
+        matches.add(futures.get(i).get());
+      } catch (CancellationException e) {
+        // Tasks that are not done by the deadline are cancelled
+        matches.add(failedMatch(dataset, dar, "Timed out finding single match"));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        matches.add(failedMatch(dataset, dar, "Interrupted finding single match"));
+      } catch (ExecutionException e) {
+        matches.add(failedMatch(dataset, dar, "Error finding single match"));
       }
-    });
+    }
     return matches;
   }
 
+  private Match matchDataset(Dataset dataset, DataAccessRequest dar) {
+    try {
+      return singleEntitiesMatchV3(dataset, dar);
+    } catch (Exception e) {
+      return failedMatch(dataset, dar, "Error finding single match");
+    }
+  }
+
+  private Match failedMatch(Dataset dataset, DataAccessRequest dar, String reason) {
+    String message = reason + " for purpose: " + dar.getReferenceId();
+    logWarn(message);
+    return matchFailure(dataset.getDatasetIdentifier(), dar.getReferenceId(), List.of(message));
+  }
+
   public Match singleEntitiesMatchV3(Dataset dataset, DataAccessRequest dar) {
     if (Objects.isNull(dataset)) {
       logWarn("Dataset is null");
@@ -126,7 +180,9 @@ public class MatchService implements ConsentLogger {
     Match match;
     DataUseRequestMatchingObject requestObject = createRequestObject(dataset, dar);
     String json = new Gson().toJson(requestObject);
-    Response res = matchServiceTargetV4.request(MediaType.APPLICATION_JSON).post(Entity.json(json));
+    Response res = upstreamMetrics.time(UpstreamOperation.MATCH,
+        () -> matchServiceTargetV4.request(MediaType.APPLICATION_JSON).post(Entity.json(json)),
+        Response::getStatus);
     String datasetId = dataset.getDatasetIdentifier();
     String darReferenceId = dar.getReferenceId();
     if (res.getStatus() == Response.Status.OK.getStatusCode()) {
@@ -1,16 +1,21 @@
 package org.broadinstitute.consent.http.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.broadinstitute.consent.http.db.DarCollectionDAO;
@@ -18,6 +23,7 @@ import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.ElectionDAO;
 import org.broadinstitute.consent.http.db.MatchDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.enumeration.ElectionType;
 import org.broadinstitute.consent.http.models.Dac;
 import org.broadinstitute.consent.http.models.DacDecisionMetrics;
@@ -34,6 +40,11 @@ import org.broadinstitute.consent.http.models.dto.DatasetDTO;
 
 public class MetricsService {
 
+  /**
+   * Number of DARs read and joined at a time when generating decision metrics.
+   */
+  static final int DAR_BATCH_SIZE = 500;
+
   private final DacService dacService;
   private final DatasetDAO dataSetDAO;
   private final DataAccessRequestDAO darDAO;
@@ -92,39 +103,144 @@ public class MetricsService {
     }
   }
 
+  /**
+   * Generate all decision metrics of the given type.
+   *
+   * @param type DAR or DAC
+   * @return List of DarDecisionMetrics or DacDecisionMetrics
+   */
   public List<? extends DecisionMetrics> generateDecisionMetrics(Type type) {
-    List<DataAccessRequest> dars = darDAO.findAllDataAccessRequests();
+    List<DecisionMetrics> metrics = new ArrayList<>();
+    forEachDecisionMetric(type, metrics::add);
+    return metrics;
+  }
+
+  /**
+   * Generate decision metrics of the given type, handing each one to the consumer as soon as it is
+   * produced. DARs are read in batches of {@link #DAR_BATCH_SIZE} and each batch is joined to its
+   * datasets, elections, matches and DACs through hash indexes, so memory use and per-DAR cost do
+   * not grow with the total number of DARs. DAC metrics aggregate over all DARs and are produced
+   * once every batch has been read.
+   *
+   * @param type     DAR or DAC
+   * @param consumer Receives each DarDecisionMetrics or DacDecisionMetrics
+   */
+  public void forEachDecisionMetric(Type type, Consumer<DecisionMetrics> consumer) {
+    if (type == Type.DAR) {
+      forEachDarDecisionMetric(consumer::accept);
+    } else {
+      List<DarDecisionMetrics> darMetrics = new ArrayList<>();
+      forEachDarDecisionMetric(darMetrics::add);
+      forEachDecisionMetric(type, darMetrics, consumer);
+    }
+  }
+
+  /**
+   * Generate decision metrics of the given type from previously generated DAR decision metrics.
+   *
+   * @param type       DAR or DAC
+   * @param darMetrics DarDecisionMetrics for all DARs
+   * @param consumer   Receives each DarDecisionMetrics or DacDecisionMetrics
+   */
+  public void forEachDecisionMetric(Type type, Collection<DarDecisionMetrics> darMetrics,
+      Consumer<DecisionMetrics> consumer) {
+    if (type == Type.DAR) {
+      darMetrics.forEach(consumer);
+    } else {
+      //if the type is not DAR then it is DAC, so this generates a DacDecisionMetrics representing
+      //each dac including information about their datasets and dars that they've reviewed
+      Map<String, List<DarDecisionMetrics>> darMetricsByDacName = darMetrics.stream()
+          .filter(m -> Objects.nonNull(m.getDacName()))
+          .collect(Collectors.groupingBy(m -> m.getDacName().toLowerCase()));
+      Map<Integer, List<DatasetDTO>> datasetsByDacId = dataSetDAO.findDatasetsWithDacs().stream()
+          .filter(ds -> Objects.nonNull(ds.getDacId()))
+          .collect(Collectors.groupingBy(DatasetDTO::getDacId));
+      dacService.findAllDacsWithMembers().forEach(dac -> consumer.accept(new DacDecisionMetrics(
+          dac,
+          datasetsByDacId.getOrDefault(dac.getDacId(), List.of()),
+          Objects.isNull(dac.getName()) ? List.of()
+              : darMetricsByDacName.getOrDefault(dac.getName().toLowerCase(), List.of()))));
+    }
+  }
+
+  /**
+   * Generate DAR decision metrics for all non-draft DARs, in DAR id order.
+   *
+   * @param consumer Receives each DarDecisionMetrics
+   */
+  public void forEachDarDecisionMetric(Consumer<DarDecisionMetrics> consumer) {
+    List<DataAccessRequest> dars = darDAO.findDataAccessRequestPage(0, DAR_BATCH_SIZE);
+    while (!dars.isEmpty()) {
+      getDarMetrics(dars).forEach(consumer);
+      if (dars.size() < DAR_BATCH_SIZE) {
+        break;
+      }
+      Integer lastId = dars.stream()
+          .map(DataAccessRequest::getId)
+          .max(Comparator.naturalOrder())
+          .orElseThrow();
+      dars = darDAO.findDataAccessRequestPage(lastId, DAR_BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Generate DAR decision metrics for the given DARs, in DAR id order. Draft and archived DARs are
+   * skipped.
+   *
+   * @param referenceIds DAR reference ids
+   * @return List of DarDecisionMetrics
+   */
+  public List<DarDecisionMetrics> generateDarDecisionMetrics(List<String> referenceIds) {
+    List<DarDecisionMetrics> metrics = new ArrayList<>();
+    for (List<String> ids : Lists.partition(referenceIds, DAR_BATCH_SIZE)) {
+      List<DataAccessRequest> dars = darDAO.findByReferenceIds(ids).stream()
+          .filter(dar -> !Boolean.TRUE.equals(dar.getDraft()))
+          .sorted(Comparator.comparing(DataAccessRequest::getId))
+          .toList();
+      if (!dars.isEmpty()) {
+        metrics.addAll(getDarMetrics(dars));
+      }
+    }
+    return metrics;
+  }
+
+  //this method generates a list of DarDecisionMetrics representing the given list of dars and including
+  //information about each dar's datasets, elections, match, and dac
+  private List<DarDecisionMetrics> getDarMetrics(List<DataAccessRequest> dars) {
     List<String> referenceIds =
         dars.stream().map(DataAccessRequest::getReferenceId).collect(Collectors.toList());
-    List<Integer> datasetIds =
-        dars.stream()
-            .map(DataAccessRequest::getDatasetIds)
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
-    List<Dataset> datasets = dataSetDAO.findDatasetsByIdList(datasetIds);
+
+    // Only the first dataset of each DAR is reported
+    List<Integer> datasetIds = dars.stream()
+        .map(dar -> dar.getDatasetIds().stream().findFirst())
+        .flatMap(Optional::stream)
+        .distinct()
+        .toList();
+    Map<Integer, Dataset> datasetsById = datasetIds.isEmpty() ? Map.of() :
+        dataSetDAO.findDatasetsByIdList(datasetIds, DatasetFetchStrategy.MULTI_QUERY).stream()
+            .collect(Collectors.toMap(Dataset::getDatasetId, Function.identity(), (a, b) -> a));
+
     List<Election> elections = electionDAO.findLastElectionsByReferenceIds(referenceIds);
-    List<Match> matches = matchDAO.findMatchesForPurposeIds(referenceIds);
+    Map<String, List<Election>> electionsByReferenceId = elections.stream()
+        .collect(Collectors.groupingBy(e -> e.getReferenceId().toLowerCase()));
+
+    Map<String, Match> matchesByPurpose = new HashMap<>();
+    matchDAO.findMatchesForPurposeIds(referenceIds)
+        .forEach(m -> matchesByPurpose.putIfAbsent(m.getPurpose().toLowerCase(), m));
+
     List<Integer> electionIds =
         elections.stream().map(Election::getElectionId).collect(Collectors.toList());
-    List<Dac> dacs = electionDAO.findAllDacsForElectionIds(electionIds);
-    //this method generates a list of DarDecisionMetrics representing the given list of dars and including
-    //information about each dar's datasets, elections, match, and dac
-    List<DarDecisionMetrics> darMetrics = getDarMetrics(dars, datasets, elections, matches, dacs);
-    if (type == Type.DAR) {
-      return darMetrics;
-    } else {
-      //if the type is not DAR then it is DAC, so this method returns a list of DacDecisionMetrics representing
-      //each dac including information about their datasets and dars that they've reviewed
-      List<Dac> allDacs = dacService.findAllDacsWithMembers();
-      Set<DatasetDTO> datasetsDacs = dataSetDAO.findDatasetsWithDacs();
-      return getDacMetrics(allDacs, datasetsDacs, darMetrics);
+    Map<Integer, Dac> dacsByElectionId = new HashMap<>();
+    if (!electionIds.isEmpty()) {
+      electionDAO.findAllDacsForElectionIds(electionIds).forEach(dac ->
+          dac.getElectionIds().forEach(id -> dacsByElectionId.putIfAbsent(id, dac)));
     }
-  }
 
-  private List<DarDecisionMetrics> getDarMetrics(List<DataAccessRequest> dars,
-      List<Dataset> datasets, List<Election> elections, List<Match> matches, List<Dac> dacs) {
-    List<Integer> darCollectionIds = dars.stream().map(DataAccessRequest::getCollectionId)
-        .collect(Collectors.toList());
+    List<Integer> darCollectionIds = dars.stream()
+        .map(DataAccessRequest::getCollectionId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
     List<DarCollection> darCollections = darCollectionIds.isEmpty() ? List.of() :
         darCollectionDAO.findDARCollectionByCollectionIds(darCollectionIds);
     Map<Integer, DarCollection> collectionMap = darCollections.stream()
@@ -135,18 +251,10 @@ public class MetricsService {
             dataAccessRequest -> {
               Integer datasetId =
                   dataAccessRequest.getDatasetIds().stream().findFirst().orElse(0);
+              Dataset dataset = datasetsById.get(datasetId);
 
-              Dataset dataset =
-                  datasets.stream()
-                      .filter(d -> d.getDatasetId().equals(datasetId))
-                      .findFirst()
-                      .orElse(null);
-
-              List<Election> associatedElections = elections.stream()
-                  .filter(e ->
-                      e.getReferenceId()
-                          .equalsIgnoreCase(dataAccessRequest.getReferenceId())
-                  ).collect(Collectors.toList());
+              List<Election> associatedElections = electionsByReferenceId.getOrDefault(
+                  dataAccessRequest.getReferenceId().toLowerCase(), List.of());
 
               List<Election> filteredAccessElections = associatedElections
                   .stream()
@@ -164,21 +272,11 @@ public class MetricsService {
                   filteredAccessElections);
               Optional<Election> rpElection = searchFilteredElectionList(filteredRpElections);
 
-              Optional<Match> match =
-                  matches.stream()
-                      .filter(
-                          m -> m.getPurpose().equalsIgnoreCase(dataAccessRequest.getReferenceId()))
-                      .findFirst();
-
-              Optional<Dac> dac =
-                  accessElection
-                      .map(
-                          election ->
-                              dacs.stream()
-                                  .filter(
-                                      d -> d.getElectionIds().contains(election.getElectionId()))
-                                  .findFirst())
-                      .flatMap(Function.identity());
+              Optional<Match> match = Optional.ofNullable(
+                  matchesByPurpose.get(dataAccessRequest.getReferenceId().toLowerCase()));
+
+              Optional<Dac> dac = accessElection
+                  .map(election -> dacsByElectionId.get(election.getElectionId()));
 
               DarCollection collection = collectionMap.get(dataAccessRequest.collectionId);
               String darCode = Objects.nonNull(collection) ? collection.getDarCode() : null;
@@ -195,25 +293,6 @@ public class MetricsService {
         .collect(Collectors.toList());
   }
 
-  private List<DacDecisionMetrics> getDacMetrics(List<Dac> allDacs, Set<DatasetDTO> datasetsDacs,
-      List<DarDecisionMetrics> darMetrics) {
-    return allDacs.stream()
-        .map(
-            dac -> {
-              List<DarDecisionMetrics> dacFilteredMetrics =
-                  darMetrics.stream()
-                      .filter(m -> Objects.nonNull(m.getDacName()))
-                      .filter(m -> m.getDacName().equalsIgnoreCase(dac.getName()))
-                      .collect(Collectors.toList());
-              List<DatasetDTO> dacFilteredDatasets =
-                  datasetsDacs.stream()
-                      .filter(ds -> ds.getDacId().equals(dac.getDacId()))
-                      .collect(Collectors.toList());
-              return new DacDecisionMetrics(dac, dacFilteredDatasets, dacFilteredMetrics);
-            })
-        .collect(Collectors.toList());
-  }
-
   private static Optional<Election> searchFilteredElectionList(List<Election> electionList) {
     //Search for first instance where finalVote is non-null
     //Only one chairperson vote is registered with current flow (later votes won't be registered due to closed status of election)
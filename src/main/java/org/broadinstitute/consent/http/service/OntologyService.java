@@ -7,26 +7,41 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.models.DataUse;
 import org.broadinstitute.consent.http.models.ontology.DataUseSummary;
 import org.broadinstitute.consent.http.util.ConsentLogger;
+import org.broadinstitute.consent.http.util.UpstreamMetrics;
 
 public class OntologyService implements ConsentLogger {
 
   private final ServicesConfiguration servicesConfiguration;
   private final Client client;
+  private final UpstreamMetrics upstreamMetrics;
+  private final DataUseTranslationCache translationCache;
 
-  public OntologyService(Client client, ServicesConfiguration config) {
+  public OntologyService(Client client, ServicesConfiguration config,
+      UpstreamMetrics upstreamMetrics, DataUseTranslationCache translationCache) {
     this.client = client;
     this.servicesConfiguration = config;
+    this.upstreamMetrics = upstreamMetrics;
+    this.translationCache = translationCache;
   }
 
-
   public DataUseSummary translateDataUseSummary(DataUse dataUse) {
+    return translationCache.getSummary(dataUse, () -> loadDataUseSummary(dataUse));
+  }
+
+  public String translateDataUse(DataUse dataUse, DataUseTranslationType type) {
+    return translationCache.getTranslation(dataUse, type, () -> loadDataUse(dataUse, type));
+  }
+
+  private DataUseSummary loadDataUseSummary(DataUse dataUse) {
     WebTarget target = client.target(
         servicesConfiguration.getOntologyURL() + "translate/summary");
-    try (Response response = target.request(MediaType.APPLICATION_JSON)
-        .post(Entity.json(dataUse.toString()))) {
+    try (Response response = upstreamMetrics.time(UpstreamOperation.ONTOLOGY_TRANSLATE_SUMMARY,
+        () -> target.request(MediaType.APPLICATION_JSON).post(Entity.json(dataUse.toString())),
+        Response::getStatus)) {
       if (response.getStatus() >= 200 || response.getStatus() <= 299) {
         return response.readEntity(DataUseSummary.class);
       }
@@ -37,11 +52,12 @@ public class OntologyService implements ConsentLogger {
     return null;
   }
 
-  public String translateDataUse(DataUse dataUse, DataUseTranslationType type) {
+  private String loadDataUse(DataUse dataUse, DataUseTranslationType type) {
     WebTarget target = client.target(
         servicesConfiguration.getOntologyURL() + "translate?for=" + type.getValue());
-    try (Response response = target.request(MediaType.TEXT_PLAIN)
-        .post(Entity.json(dataUse.toString()))) {
+    try (Response response = upstreamMetrics.time(UpstreamOperation.ONTOLOGY_TRANSLATE,
+        () -> target.request(MediaType.TEXT_PLAIN).post(Entity.json(dataUse.toString())),
+        Response::getStatus)) {
       if (response.getStatus() == 200) {
         return response.readEntity(String.class);
       }
@@ -0,0 +1,98 @@
+package org.broadinstitute.consent.http.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.internal.LinkedTreeMap;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.broadinstitute.consent.http.db.DatasetSearchDocumentDAO;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.broadinstitute.consent.http.models.elastic_search.ElasticSearchHits;
+import org.broadinstitute.consent.http.models.elastic_search.ElasticSearchHitsInternal;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+import org.broadinstitute.consent.http.util.gson.GsonUtil;
+import org.jdbi.v3.core.Jdbi;
+
+/**
+ * Stores dataset terms in the dataset_search_document table and searches them with Postgres full
+ * text search, so datasets can be searched without an Elasticsearch cluster. Documents are the
+ * same JSON that is sent to Elasticsearch, and responses have the same shape as Elasticsearch
+ * responses. See {@link PostgresSearchQuery} for the supported query DSL.
+ */
+public class PostgresSearchBackend implements DatasetSearchBackend, ConsentLogger {
+
+  private final Jdbi jdbi;
+  private final DatasetSearchDocumentDAO searchDocumentDAO;
+
+  public PostgresSearchBackend(Jdbi jdbi, DatasetSearchDocumentDAO searchDocumentDAO) {
+    this.jdbi = jdbi;
+    this.searchDocumentDAO = searchDocumentDAO;
+  }
+
+  @Override
+  public Response indexDatasetTerms(List<DatasetTerm> terms) {
+    long start = System.currentTimeMillis();
+    searchDocumentDAO.upsertDocuments(
+        terms.stream().map(DatasetTerm::getDatasetId).toList(),
+        terms.stream().map(term -> GsonUtil.getInstance().toJson(term)).toList());
+    JsonArray items = new JsonArray();
+    terms.forEach(term -> {
+      JsonObject result = new JsonObject();
+      result.addProperty("_id", String.valueOf(term.getDatasetId()));
+      result.addProperty("result", "updated");
+      result.addProperty("status", 200);
+      JsonObject item = new JsonObject();
+      item.add("index", result);
+      items.add(item);
+    });
+    JsonObject body = new JsonObject();
+    body.addProperty("took", System.currentTimeMillis() - start);
+    body.addProperty("errors", false);
+    body.add("items", items);
+    return Response.ok().entity(body.toString()).build();
+  }
+
+  @Override
+  public long documentBytes(DatasetTerm term) {
+    return GsonUtil.getInstance().toJson(term).getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  @Override
+  public Response deleteIndex(Integer datasetId) {
+    JsonObject body = new JsonObject();
+    body.addProperty("deleted", searchDocumentDAO.deleteDocument(datasetId));
+    return Response.ok().entity(body.toString()).build();
+  }
+
+  @Override
+  public boolean validateQuery(String query) {
+    try {
+      PostgresSearchQuery.parse(query);
+      return true;
+    } catch (IOException e) {
+      logWarn("Invalid dataset search query: " + e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public ElasticSearchHits searchDatasets(String query) throws IOException {
+    PostgresSearchQuery searchQuery = PostgresSearchQuery.parse(query);
+    List<LinkedTreeMap<String, Object>> hits = jdbi.withHandle(handle ->
+        handle.createQuery(searchQuery.sql())
+            .bindMap(searchQuery.params())
+            .map((rs, ctx) -> {
+              LinkedTreeMap<String, Object> hit = new LinkedTreeMap<>();
+              hit.put("_id", rs.getString("dataset_id"));
+              hit.put("_source",
+                  GsonUtil.getInstance().fromJson(rs.getString("document"), LinkedTreeMap.class));
+              return hit;
+            })
+            .list());
+    return new ElasticSearchHits(
+        new ElasticSearchHitsInternal(hits.toArray(LinkedTreeMap[]::new)));
+  }
+}
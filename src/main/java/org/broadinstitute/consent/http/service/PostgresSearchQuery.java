@@ -0,0 +1,479 @@
+package org.broadinstitute.consent.http.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Translates the Elasticsearch query DSL used to search datasets into a condition over the
+ * dataset_search_document table. Values are always bound as parameters.
+ *
+ * <p>Full-text clauses without fields match the GIN indexed search vector of the whole document,
+ * clauses with fields match the text of those fields. Term, range and exists clauses are JSON path
+ * predicates on the document, which the jsonb_path_ops GIN index supports. Results are ranked by
+ * the full-text clauses, then ordered by dataset ID. Sorting, aggregations and scoring options are
+ * not supported and are ignored.
+ *
+ * <p>As in Elasticsearch, a document matches any of the words of a full-text clause unless its
+ * operator or default operator is AND.
+ *
+ * <p>Elasticsearch metadata fields are not part of the document. Every document has the dataset
+ * type, and the ID of a document is its dataset ID. Other metadata fields are rejected.
+ */
+final class PostgresSearchQuery {
+
+  static final int DEFAULT_SIZE = 10;
+
+  /**
+   * Elasticsearch rejects searches that page beyond this many results by default.
+   */
+  static final int MAX_RESULT_WINDOW = 10_000;
+
+  private static final String DOCUMENT_TYPE = "dataset";
+  private static final Set<String> METADATA_FIELDS = Set.of("_type", "_id");
+  private static final String TEXT_CONFIG = "'simple'";
+  private static final String TEXT_TYPES = "'[\"string\", \"numeric\"]'";
+  private static final Pattern FIELD = Pattern.compile("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*");
+  private static final Pattern BOOST = Pattern.compile("\\^[0-9.]+$");
+  private static final Pattern FIELD_PREFIX = Pattern.compile("[A-Za-z0-9_.]+:");
+  private static final Pattern SYNTAX = Pattern.compile("[()\\[\\]{}*?~+!^\\\\/]");
+  private static final Pattern TOKEN = Pattern.compile("\"[^\"]*\"?|\\S+");
+
+  private final Map<String, Object> params = new LinkedHashMap<>();
+  private final List<String> textQueries = new ArrayList<>();
+  private final String where;
+  private final int size;
+  private final int from;
+
+  private PostgresSearchQuery(JsonObject root) throws IOException {
+    this.size = intValue(root, "size", DEFAULT_SIZE);
+    this.from = intValue(root, "from", 0);
+    // Compared without adding size and from, which could overflow
+    if (size < 0 || from < 0 || size > MAX_RESULT_WINDOW || from > MAX_RESULT_WINDOW - size) {
+      throw new IOException("Search results must be within the first %d results"
+          .formatted(MAX_RESULT_WINDOW));
+    }
+    this.where = root.has("query") ? condition(root.get("query")) : "TRUE";
+  }
+
+  /**
+   * Translate a search request.
+   *
+   * @param query Elasticsearch query DSL
+   * @return The translated query
+   * @throws IOException If the query is not valid JSON or uses clauses that are not supported
+   */
+  static PostgresSearchQuery parse(String query) throws IOException {
+    JsonElement root;
+    try {
+      root = JsonParser.parseString(Objects.requireNonNullElse(query, ""));
+    } catch (JsonParseException e) {
+      throw new IOException("Invalid search query", e);
+    }
+    if (!root.isJsonObject()) {
+      throw new IOException("Invalid search query");
+    }
+    return new PostgresSearchQuery(root.getAsJsonObject());
+  }
+
+  /**
+   * The SELECT statement for this query. Named parameters are available from {@link #params()}.
+   */
+  String sql() {
+    String order = textQueries.isEmpty() ? "dataset_id"
+        : "ts_rank(search_vector, %s) DESC, dataset_id".formatted(String.join(" || ", textQueries));
+    return """
+        SELECT dataset_id, document::text AS document
+        FROM dataset_search_document
+        WHERE %s
+        ORDER BY %s
+        LIMIT %d OFFSET %d
+        """.formatted(where, order, size, from);
+  }
+
+  Map<String, Object> params() {
+    return Collections.unmodifiableMap(params);
+  }
+
+  String where() {
+    return where;
+  }
+
+  private String condition(JsonElement clause) throws IOException {
+    JsonObject object = object(clause);
+    if (object.size() != 1) {
+      throw new IOException("A query clause must have exactly one type");
+    }
+    String type = object.keySet().iterator().next();
+    JsonElement body = object.get(type);
+    return switch (type) {
+      case "match_all" -> "TRUE";
+      case "match_none" -> "FALSE";
+      case "bool" -> bool(object(body));
+      case "constant_score" -> condition(object(body).get("filter"));
+      case "nested" -> condition(object(body).get("query"));
+      case "query_string", "simple_query_string" -> text(fields(object(body)),
+          searchText(string(object(body), "query"), isAnd(object(body), "default_operator")));
+      case "multi_match" -> text(fields(object(body)),
+          matchText(string(object(body), "query"), isAnd(object(body), "operator")));
+      case "match", "match_phrase", "match_phrase_prefix" -> match(type, object(body));
+      case "term" -> term(object(body));
+      case "terms" -> terms(object(body));
+      case "range" -> range(object(body));
+      case "ids" -> metadataCondition("_id", primitives(object(body).get("values")));
+      case "exists" -> exists(string(object(body), "field"));
+      default -> throw new IOException("Unsupported query clause: " + type);
+    };
+  }
+
+  private String bool(JsonObject bool) throws IOException {
+    List<String> conditions = new ArrayList<>();
+    conditions.addAll(conditions(bool.get("must")));
+    conditions.addAll(conditions(bool.get("filter")));
+    // Optional should clauses only affect the score when there are required clauses, so they are
+    // skipped. Any minimum number of should clauses is treated as at least one.
+    if (conditions.isEmpty() || bool.has("minimum_should_match")) {
+      List<String> should = conditions(bool.get("should"));
+      if (!should.isEmpty()) {
+        conditions.add(join(should, " OR "));
+      }
+    }
+    List<String> mustNot = conditions(bool.get("must_not"));
+    if (!mustNot.isEmpty()) {
+      conditions.add("NOT " + join(mustNot, " OR "));
+    }
+    return conditions.isEmpty() ? "TRUE" : join(conditions, " AND ");
+  }
+
+  private List<String> conditions(JsonElement clauses) throws IOException {
+    List<String> conditions = new ArrayList<>();
+    if (Objects.isNull(clauses) || clauses.isJsonNull()) {
+      return conditions;
+    }
+    if (clauses.isJsonArray()) {
+      for (JsonElement clause : clauses.getAsJsonArray()) {
+        conditions.add(condition(clause));
+      }
+    } else {
+      conditions.add(condition(clauses));
+    }
+    return conditions;
+  }
+
+  private String match(String type, JsonObject match) throws IOException {
+    Map.Entry<String, JsonElement> field = singleField(match);
+    JsonElement value = field.getValue().isJsonObject()
+        ? field.getValue().getAsJsonObject().get("query") : field.getValue();
+    JsonPrimitive primitive = primitive(value);
+    if (isMetadata(field.getKey())) {
+      return metadataCondition(field.getKey(), List.of(primitive));
+    }
+    if (!primitive.isString()) {
+      return pathCondition(fieldPath(field.getKey()) + " ? (@ == %s)".formatted(primitive));
+    }
+    String text = primitive.getAsString();
+    if (type.equals("match")) {
+      boolean and = field.getValue().isJsonObject()
+          && isAnd(field.getValue().getAsJsonObject(), "operator");
+      text = matchText(text, and);
+    } else {
+      text = "\"" + text.replace("\"", " ") + "\"";
+    }
+    return text(List.of(field.getKey()), text);
+  }
+
+  private String term(JsonObject term) throws IOException {
+    Map.Entry<String, JsonElement> field = singleField(term);
+    JsonElement value = field.getValue().isJsonObject()
+        ? field.getValue().getAsJsonObject().get("value") : field.getValue();
+    if (isMetadata(field.getKey())) {
+      return metadataCondition(field.getKey(), List.of(primitive(value)));
+    }
+    return pathCondition(fieldPath(field.getKey()) + " ? (@ == %s)".formatted(primitive(value)));
+  }
+
+  private String terms(JsonObject terms) throws IOException {
+    Map.Entry<String, JsonElement> field = singleField(terms);
+    if (isMetadata(field.getKey())) {
+      return metadataCondition(field.getKey(), primitives(field.getValue()));
+    }
+    List<String> values = new ArrayList<>();
+    for (JsonPrimitive value : primitives(field.getValue())) {
+      values.add("@ == " + value);
+    }
+    return pathCondition(
+        fieldPath(field.getKey()) + " ? (%s)".formatted(String.join(" || ", values)));
+  }
+
+  private String range(JsonObject range) throws IOException {
+    Map.Entry<String, JsonElement> field = singleField(range);
+    Map<String, String> operators = Map.of("gt", ">", "gte", ">=", "lt", "<", "lte", "<=");
+    List<String> bounds = new ArrayList<>();
+    for (Map.Entry<String, JsonElement> bound : object(field.getValue()).entrySet()) {
+      String operator = operators.get(bound.getKey());
+      if (Objects.nonNull(operator)) {
+        bounds.add("@ %s %s".formatted(operator, primitive(bound.getValue())));
+      }
+    }
+    if (bounds.isEmpty()) {
+      throw new IOException("Range must have a bound");
+    }
+    return pathCondition(fieldPath(field.getKey()) + " ? (%s)".formatted(String.join(" && ", bounds)));
+  }
+
+  private String exists(String field) throws IOException {
+    return METADATA_FIELDS.contains(field) ? "TRUE" : pathCondition(fieldPath(field));
+  }
+
+  /**
+   * Match the dataset type or dataset ID metadata fields against any of the given values.
+   */
+  private String metadataCondition(String field, List<JsonPrimitive> values) throws IOException {
+    if (!METADATA_FIELDS.contains(field)) {
+      throw new IOException("Unsupported metadata field: " + field);
+    }
+    List<String> conditions = new ArrayList<>();
+    for (JsonPrimitive value : values) {
+      if (field.equals("_type")) {
+        conditions.add(value.getAsString().equals(DOCUMENT_TYPE) ? "TRUE" : "FALSE");
+      } else {
+        conditions.add(idCondition(value.getAsString()));
+      }
+    }
+    return join(conditions, " OR ");
+  }
+
+  private String idCondition(String id) {
+    try {
+      return "dataset_id = :" + bind(Integer.valueOf(id));
+    } catch (NumberFormatException e) {
+      // Dataset documents only have numeric IDs
+      return "FALSE";
+    }
+  }
+
+  private static boolean isMetadata(String field) {
+    return field.startsWith("_");
+  }
+
+  /**
+   * Full-text match of the whole document, or of the given fields. Web search syntax cannot group
+   * words, so negated words are matched as a separate query that excludes documents whatever the
+   * other words match. A document only matches in a field if it matches as a whole, so field
+   * matches are pre-filtered with the indexed search vector. That does not hold for negated words,
+   * which exclude documents that have them in any other field, so those queries check the fields
+   * alone.
+   */
+  private String text(List<String> fields, String text) throws IOException {
+    List<String> words = new ArrayList<>();
+    List<String> excluded = new ArrayList<>();
+    Matcher tokens = TOKEN.matcher(text);
+    while (tokens.find()) {
+      String token = tokens.group();
+      if (token.startsWith("-") && token.length() > 1) {
+        excluded.add(token.substring(1));
+      } else if (!token.equals("-")) {
+        words.add(token);
+      }
+    }
+    if (words.isEmpty() && excluded.isEmpty()) {
+      return "TRUE";
+    }
+    List<String> tsQueries = new ArrayList<>();
+    if (!words.isEmpty()) {
+      tsQueries.add("websearch_to_tsquery(%s, :%s)"
+          .formatted(TEXT_CONFIG, bind(String.join(" ", words))));
+    }
+    if (!excluded.isEmpty()) {
+      tsQueries.add("!! websearch_to_tsquery(%s, :%s)"
+          .formatted(TEXT_CONFIG, bind(String.join(" or ", excluded))));
+    }
+    String tsQuery = tsQueries.size() == 1 ? tsQueries.get(0)
+        : "(%s)".formatted(String.join(" && ", tsQueries));
+    textQueries.add(tsQuery);
+    if (fields.isEmpty()
+        || fields.stream().anyMatch(field -> field.contains("*") || field.equals("_all"))) {
+      return "search_vector @@ " + tsQuery;
+    }
+    List<String> conditions = new ArrayList<>();
+    for (String field : fields) {
+      String path = bind(fieldPath(BOOST.matcher(field).replaceAll("")));
+      conditions.add("""
+          jsonb_to_tsvector(%s, jsonb_path_query_array(document, CAST(:%s AS JSONPATH)), %s) \
+          @@ %s""".formatted(TEXT_CONFIG, path, TEXT_TYPES, tsQuery));
+    }
+    String fieldConditions = join(conditions, " OR ");
+    return !excluded.isEmpty() ? fieldConditions
+        : "(search_vector @@ %s AND %s)".formatted(tsQuery, fieldConditions);
+  }
+
+  /**
+   * Rewrite Lucene query string syntax as web search syntax, where adjacent words must all match.
+   * Words without an operator between them are joined with the default operator, NOT becomes a
+   * minus on a word that is moved to the end, and field prefixes, grouping and wildcards are
+   * dropped.
+   */
+  static String searchText(String query, boolean and) {
+    String text = FIELD_PREFIX.matcher(query).replaceAll(" ");
+    text = SYNTAX.matcher(text).replaceAll(" ");
+    text = text.replaceAll("\\bAND\\b|&&", " AND ")
+        .replaceAll("\\bOR\\b|\\|\\|", " OR ")
+        .replaceAll("\\bNOT\\b\\s*", " -");
+    List<String> words = new ArrayList<>();
+    List<String> excluded = new ArrayList<>();
+    String operator = and ? "AND" : "OR";
+    Matcher tokens = TOKEN.matcher(text);
+    while (tokens.find()) {
+      String token = tokens.group();
+      if (token.equals("AND") || token.equals("OR")) {
+        operator = token;
+        continue;
+      }
+      if (token.startsWith("-")) {
+        excluded.add(token);
+      } else {
+        if (!words.isEmpty() && operator.equals("OR")) {
+          words.add("or");
+        }
+        words.add(token);
+      }
+      operator = and ? "AND" : "OR";
+    }
+    words.addAll(excluded);
+    return String.join(" ", words);
+  }
+
+  /**
+   * The words of a match clause as web search syntax. Match text has no query syntax, so quotes
+   * and leading minuses are dropped.
+   */
+  static String matchText(String query, boolean and) {
+    return Pattern.compile("\\s+").splitAsStream(query.replace("\"", " "))
+        .map(word -> word.replaceFirst("^-+", ""))
+        .filter(word -> !word.isEmpty())
+        .collect(Collectors.joining(and ? " " : " or "));
+  }
+
+  private String pathCondition(String path) {
+    return "document @?? CAST(:%s AS JSONPATH)".formatted(bind(path));
+  }
+
+  /**
+   * The lax JSON path of a document field. Arrays on the path are unwrapped, so a field matches
+   * when any element matches.
+   */
+  private static String fieldPath(String field) throws IOException {
+    String name = field.endsWith(".keyword") ? field.substring(0, field.length() - 8) : field;
+    if (!FIELD.matcher(name).matches() || isMetadata(name)) {
+      throw new IOException("Unsupported field: " + field);
+    }
+    return "$" + Pattern.compile("\\.").splitAsStream(name)
+        .map(segment -> ".\"" + segment + "\"")
+        .collect(Collectors.joining());
+  }
+
+  private String bind(Object value) {
+    String name = "p" + params.size();
+    params.put(name, value);
+    return name;
+  }
+
+  private static List<String> fields(JsonObject clause) throws IOException {
+    List<String> fields = new ArrayList<>();
+    JsonElement value = clause.get("fields");
+    if (Objects.nonNull(value) && value.isJsonArray()) {
+      for (JsonElement field : value.getAsJsonArray()) {
+        fields.add(primitive(field).getAsString());
+      }
+    } else if (clause.has("default_field")) {
+      fields.add(string(clause, "default_field"));
+    }
+    return fields;
+  }
+
+  /**
+   * Whether the words of a full-text clause are combined with AND rather than the default OR.
+   */
+  private static boolean isAnd(JsonObject clause, String name) throws IOException {
+    if (!clause.has(name)) {
+      return false;
+    }
+    String operator = string(clause, name);
+    if (!operator.equalsIgnoreCase("and") && !operator.equalsIgnoreCase("or")) {
+      throw new IOException("Unsupported operator: " + operator);
+    }
+    return operator.equalsIgnoreCase("and");
+  }
+
+  private static List<JsonPrimitive> primitives(JsonElement values) throws IOException {
+    if (Objects.isNull(values) || !values.isJsonArray() || values.getAsJsonArray().isEmpty()) {
+      throw new IOException("Expected a non-empty array in search query");
+    }
+    List<JsonPrimitive> primitives = new ArrayList<>();
+    for (JsonElement value : values.getAsJsonArray()) {
+      primitives.add(primitive(value));
+    }
+    return primitives;
+  }
+
+  private static Map.Entry<String, JsonElement> singleField(JsonObject clause)
+      throws IOException {
+    List<Map.Entry<String, JsonElement>> fields = clause.entrySet().stream()
+        .filter(entry -> !entry.getKey().equals("boost"))
+        .toList();
+    if (fields.size() != 1) {
+      throw new IOException("A field clause must have exactly one field");
+    }
+    return fields.get(0);
+  }
+
+  private static String join(List<String> conditions, String operator) {
+    return conditions.size() == 1 ? conditions.get(0)
+        : conditions.stream().collect(Collectors.joining(operator, "(", ")"));
+  }
+
+  private static JsonObject object(JsonElement element) throws IOException {
+    if (Objects.isNull(element) || !element.isJsonObject()) {
+      throw new IOException("Expected a JSON object in search query");
+    }
+    return element.getAsJsonObject();
+  }
+
+  private static JsonPrimitive primitive(JsonElement element) throws IOException {
+    if (Objects.isNull(element) || !element.isJsonPrimitive()) {
+      throw new IOException("Expected a string, number or boolean in search query");
+    }
+    return element.getAsJsonPrimitive();
+  }
+
+  private static String string(JsonObject object, String name) throws IOException {
+    return primitive(object.get(name)).getAsString();
+  }
+
+  private static int intValue(JsonObject object, String name, int defaultValue)
+      throws IOException {
+    JsonElement value = object.get(name);
+    if (Objects.isNull(value) || value.isJsonNull()) {
+      return defaultValue;
+    }
+    try {
+      return primitive(value).getAsInt();
+    } catch (NumberFormatException e) {
+      throw new IOException("Expected a number for " + name, e);
+    }
+  }
+
+}
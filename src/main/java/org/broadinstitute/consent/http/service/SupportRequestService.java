@@ -14,6 +14,7 @@ import java.util.Objects;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.models.User;
 import org.broadinstitute.consent.http.models.UserUpdateFields;
 import org.broadinstitute.consent.http.models.support.SupportTicket;
@@ -29,9 +30,9 @@ public class SupportRequestService implements ConsentLogger {
 
   @Inject
   public SupportRequestService(ServicesConfiguration configuration, InstitutionDAO institutionDAO,
-      UserDAO userDAO) {
+      UserDAO userDAO, HttpClientUtil clientUtil) {
     this.supportTicketCreator = new SupportTicketCreator(institutionDAO, userDAO, configuration);
-    this.clientUtil = new HttpClientUtil(configuration);
+    this.clientUtil = clientUtil;
     this.configuration = configuration;
   }
 
@@ -53,7 +54,8 @@ public class SupportRequestService implements ConsentLogger {
       ByteArrayContent content = new ByteArrayContent("application/json",
           ticketJson.getBytes(StandardCharsets.UTF_8));
       HttpRequest request = clientUtil.buildUnAuthedPostRequest(genericUrl, content);
-      HttpResponse response = clientUtil.handleHttpRequest(request);
+      HttpResponse response = clientUtil.handleHttpRequest(request,
+          UpstreamOperation.SUPPORT_TICKET);
 
       if (!response.isSuccessStatusCode()) {
         String errorMessage = "Error posting ticket to support: " + response.getStatusMessage();
@@ -62,6 +64,7 @@ public class SupportRequestService implements ConsentLogger {
         logException(errorMessage, errorException);
         throw errorException;
       }
+      response.ignore();
     } else {
       logDebug("Not configured to send support requests");
     }
@@ -1,7 +1,6 @@
 package org.broadinstitute.consent.http.service;
 
 import com.google.inject.Inject;
-import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.NotFoundException;
 import java.sql.Timestamp;
 import java.util.Arrays;
@@ -13,7 +12,6 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.broadinstitute.consent.http.db.DatasetDAO;
-import org.broadinstitute.consent.http.db.SamDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.models.Collaborator;
@@ -29,15 +27,15 @@ public class TDRService implements ConsentLogger {
 
   private final DataAccessRequestService dataAccessRequestService;
   private final DatasetDAO datasetDAO;
-  private final SamDAO samDAO;
+  private final CollaboratorVerifier collaboratorVerifier;
   private final UserDAO userDAO;
 
   @Inject
   public TDRService(DataAccessRequestService dataAccessRequestService, DatasetDAO datasetDAO,
-      SamDAO samDAO, UserDAO userDAO) {
+      CollaboratorVerifier collaboratorVerifier, UserDAO userDAO) {
     this.dataAccessRequestService = dataAccessRequestService;
     this.datasetDAO = datasetDAO;
-    this.samDAO = samDAO;
+    this.collaboratorVerifier = collaboratorVerifier;
     this.userDAO = userDAO;
   }
 
@@ -89,29 +87,17 @@ public class TDRService implements ConsentLogger {
   public ApprovedUsers getApprovedUsersForDataset(AuthUser authUser, Dataset dataset) {
     Collection<DataAccessRequest> dars = dataAccessRequestService.getApprovedDARsForDataset(
         dataset);
-    List<String> labCollaborators = dars.stream()
+    List<String> collaboratorEmails = dars.stream()
         .map(DataAccessRequest::getData)
         .filter(Objects::nonNull)
         .map(DataAccessRequestData::getLabCollaborators)
         .flatMap(List::stream)
         .filter(Objects::nonNull)
         .map(Collaborator::getEmail)
-        .filter(email -> !email.isBlank())
-        // Sam has an endpoint for validating a single email at a time
-        .map(email -> {
-          try {
-            samDAO.getV1UserByEmail(authUser, email);
-            return email;
-          } catch (NotAuthorizedException e) {
-            logWarn("User " + authUser.getEmail() + " is not authorized to look for users in Sam");
-            return null;
-          } catch (Exception e) {
-            logWarn("Lab Collaborator: " + email + " does not exist in Sam");
-            return null;
-          }
-        })
-        .filter(Objects::nonNull)
+        .filter(email -> Objects.nonNull(email) && !email.isBlank())
         .toList();
+    List<String> labCollaborators = collaboratorVerifier.verifyCollaborators(authUser,
+        collaboratorEmails);
     List<Integer> userIds = dars.stream().map(DataAccessRequest::getUserId).toList();
     Collection<User> users = userIds.isEmpty() ? List.of() : userDAO.findUsers(userIds);
     List<String> userEmails = users.stream()
@@ -16,8 +16,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.db.AcknowledgementDAO;
 import org.broadinstitute.consent.http.db.DaaDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.FileStorageObjectDAO;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
 import org.broadinstitute.consent.http.db.LibraryCardDAO;
@@ -61,12 +63,15 @@ public class UserService implements ConsentLogger {
   private final UserServiceDAO userServiceDAO;
   private final DaaDAO daaDAO;
   private final EmailService emailService;
+  private final UserRoleCache userRoleCache;
+  private final DatasetIndexOutboxDAO datasetIndexOutboxDAO;
 
   @Inject
   public UserService(UserDAO userDAO, UserPropertyDAO userPropertyDAO, UserRoleDAO userRoleDAO,
       VoteDAO voteDAO, InstitutionDAO institutionDAO, LibraryCardDAO libraryCardDAO,
       AcknowledgementDAO acknowledgementDAO, FileStorageObjectDAO fileStorageObjectDAO,
-      SamDAO samDAO, UserServiceDAO userServiceDAO, DaaDAO daaDAO, EmailService emailService) {
+      SamDAO samDAO, UserServiceDAO userServiceDAO, DaaDAO daaDAO, EmailService emailService,
+      UserRoleCache userRoleCache, DatasetIndexOutboxDAO datasetIndexOutboxDAO) {
     this.userDAO = userDAO;
     this.userPropertyDAO = userPropertyDAO;
     this.userRoleDAO = userRoleDAO;
@@ -79,6 +84,8 @@ public class UserService implements ConsentLogger {
     this.userServiceDAO = userServiceDAO;
     this.daaDAO = daaDAO;
     this.emailService = emailService;
+    this.userRoleCache = userRoleCache;
+    this.datasetIndexOutboxDAO = datasetIndexOutboxDAO;
   }
 
   /**
@@ -103,6 +110,11 @@ public class UserService implements ConsentLogger {
       if (Objects.nonNull(userUpdateFields.getEraCommonsId())) {
         userDAO.updateEraCommonsId(userId, userUpdateFields.getEraCommonsId());
       }
+      // Display name and institution are part of the dataset documents the user submitted
+      if (Objects.nonNull(userUpdateFields.getDisplayName())
+          || Objects.nonNull(userUpdateFields.getInstitutionId())) {
+        datasetIndexOutboxDAO.enqueueUserDatasets(userId);
+      }
 
       Optional<User> soBeforeUpdate = getSigningOfficialForUser(userId);
 
@@ -147,6 +159,7 @@ public class UserService implements ConsentLogger {
         if (!roleIdsToRemove.isEmpty()) {
           userRoleDAO.removeUserRoles(userId, roleIdsToRemove);
         }
+        userRoleCache.invalidateAll();
       }
 
     }
@@ -157,6 +170,7 @@ public class UserService implements ConsentLogger {
       Integer userId) {
     try {
       userServiceDAO.insertRoleAndInstitutionTxn(role, institutionId, userId);
+      userRoleCache.invalidateAll();
     } catch (Exception e) {
       logException(
           "Error when updating user: %s, institution: %s, role: %s".formatted(userId.toString(),
@@ -311,6 +325,7 @@ public class UserService implements ConsentLogger {
     if (!roleIds.isEmpty()) {
       userRoleDAO.removeUserRoles(userId, roleIds);
     }
+    userRoleCache.invalidate(email);
     List<Vote> votes = voteDAO.findVotesByUserId(userId);
     if (!votes.isEmpty()) {
       List<Integer> voteIds = votes.stream().map(Vote::getVoteId).collect(Collectors.toList());
@@ -355,6 +370,7 @@ public class UserService implements ConsentLogger {
 
   public void deleteUserRole(User authUser, Integer userId, Integer roleId) {
     userRoleDAO.removeSingleUserRole(userId, roleId);
+    userRoleCache.invalidateAll();
     logInfo(
         "User %s deleted roleId: %s from User ID: %s".formatted(authUser.getDisplayName(), roleId,
             userId));
@@ -418,6 +434,7 @@ public class UserService implements ConsentLogger {
       }
     });
     userRoleDAO.insertUserRoles(roles, userId);
+    userRoleCache.invalidateAll();
   }
 
   private Optional<User> getSigningOfficialForUser(Integer userId) {
@@ -13,6 +13,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.FileStorageObjectDAO;
 import org.broadinstitute.consent.http.db.StudyDAO;
 import org.broadinstitute.consent.http.enumeration.AuditActions;
@@ -25,6 +26,7 @@ import org.broadinstitute.consent.http.models.FileStorageObject;
 import org.broadinstitute.consent.http.models.Study;
 import org.broadinstitute.consent.http.models.StudyProperty;
 import org.broadinstitute.consent.http.models.User;
+import org.broadinstitute.consent.http.service.DatasetAutocompleteIndex;
 import org.broadinstitute.consent.http.util.ConsentLogger;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
@@ -35,12 +37,15 @@ public class DatasetServiceDAO implements ConsentLogger {
   private final Jdbi jdbi;
   private final DatasetDAO datasetDAO;
   private final StudyDAO studyDAO;
+  private final DatasetAutocompleteIndex datasetAutocompleteIndex;
 
   @Inject
-  public DatasetServiceDAO(Jdbi jdbi, DatasetDAO datasetDAO, StudyDAO studyDAO) {
+  public DatasetServiceDAO(Jdbi jdbi, DatasetDAO datasetDAO, StudyDAO studyDAO,
+      DatasetAutocompleteIndex datasetAutocompleteIndex) {
     this.jdbi = jdbi;
     this.datasetDAO = datasetDAO;
     this.studyDAO = studyDAO;
+    this.datasetAutocompleteIndex = datasetAutocompleteIndex;
   }
 
   public void deleteDataset(Dataset dataset, Integer userId) throws Exception {
@@ -55,6 +60,8 @@ public class DatasetServiceDAO implements ConsentLogger {
         datasetDAO.insertDatasetAudit(dsAudit);
         datasetDAO.deleteDatasetPropertiesByDatasetId(dataset.getDatasetId());
         datasetDAO.deleteDatasetById(dataset.getDatasetId());
+        handle.attach(DatasetIndexOutboxDAO.class)
+            .enqueueDatasetIds(List.of(dataset.getDatasetId()));
       } catch (Exception e) {
         handle.rollback();
         logException(e);
@@ -62,6 +69,7 @@ public class DatasetServiceDAO implements ConsentLogger {
       }
       handle.commit();
     });
+    datasetAutocompleteIndex.refresh(List.of(dataset.getDatasetId()));
   }
 
   public void deleteStudy(Study study, User user) throws Exception {
@@ -167,9 +175,11 @@ public class DatasetServiceDAO implements ConsentLogger {
             createdDatasets.add(datasetId);
           }
 
+          handle.attach(DatasetIndexOutboxDAO.class).enqueueDatasetIds(createdDatasets);
           handle.commit();
         }
     );
+    datasetAutocompleteIndex.refresh(createdDatasets);
     return createdDatasets;
   }
 
@@ -238,6 +248,7 @@ public class DatasetServiceDAO implements ConsentLogger {
 
   public Study updateStudy(StudyUpdate studyUpdate, List<DatasetUpdate> datasetUpdates,
       List<DatasetServiceDAO.DatasetInsert> datasetInserts) throws SQLException {
+    List<Integer> changedDatasetIds = new ArrayList<>();
     jdbi.useHandle(
         handle -> {
           handle.getConnection().setAutoCommit(false);
@@ -252,9 +263,10 @@ public class DatasetServiceDAO implements ConsentLogger {
                 datasetUpdate.props,
                 studyUpdate.files,
                 false);
+            changedDatasetIds.add(datasetUpdate.datasetId);
           }
           for (DatasetServiceDAO.DatasetInsert insert : datasetInserts) {
-            executeInsertDatasetWithFiles(
+            Integer datasetId = executeInsertDatasetWithFiles(
                 handle,
                 insert.name,
                 insert.dacId,
@@ -264,9 +276,16 @@ public class DatasetServiceDAO implements ConsentLogger {
                 insert.props,
                 studyUpdate.files
             );
+            changedDatasetIds.add(datasetId);
           }
+          // Study changes are part of every dataset document in the study
+          Optional.ofNullable(handle.attach(StudyDAO.class).findStudyById(studyUpdate.studyId))
+              .map(Study::getDatasetIds)
+              .ifPresent(changedDatasetIds::addAll);
+          handle.attach(DatasetIndexOutboxDAO.class).enqueueDatasetIds(changedDatasetIds);
           handle.commit();
         });
+    datasetAutocompleteIndex.refresh(changedDatasetIds);
     return studyDAO.findStudyById(studyUpdate.studyId);
   }
 
@@ -347,9 +366,12 @@ public class DatasetServiceDAO implements ConsentLogger {
               updates.files(),
               true);
 
+          handle.attach(DatasetIndexOutboxDAO.class)
+              .enqueueDatasetIds(List.of(updates.datasetId()));
           handle.commit();
         }
     );
+    datasetAutocompleteIndex.refresh(List.of(updates.datasetId()));
   }
 
   public void executeUpdateDatasetWithFiles(Handle handle,
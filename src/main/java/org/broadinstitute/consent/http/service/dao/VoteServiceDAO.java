@@ -2,10 +2,12 @@ package org.broadinstitute.consent.http.service.dao;
 
 import com.google.inject.Inject;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.VoteDAO;
 import org.broadinstitute.consent.http.enumeration.ElectionStatus;
 import org.broadinstitute.consent.http.enumeration.VoteType;
@@ -52,6 +54,7 @@ public class VoteServiceDAO {
                 final String updateVoteWithoutRationale = "UPDATE vote SET vote = :vote, updatedate = :updateDate WHERE voteid = :voteId";
                 final String updateElectionStatus = "UPDATE election SET status = :status WHERE election_id = :electionId";
                 final Date now = new Date();
+                final List<Integer> closedElectionIds = new ArrayList<>();
                 votes.forEach(
                     vote -> {
                       Update voteUpdate;
@@ -70,8 +73,13 @@ public class VoteServiceDAO {
                         electionUpdate.bind("status", ElectionStatus.CLOSED.getValue());
                         electionUpdate.bind("electionId", vote.getElectionId());
                         electionUpdate.execute();
+                        closedElectionIds.add(vote.getElectionId());
                       }
                     });
+                // Closed elections change the approved users of their datasets
+                if (!closedElectionIds.isEmpty()) {
+                  h.attach(DatasetIndexOutboxDAO.class).enqueueElectionDatasets(closedElectionIds);
+                }
                 h.commit();
               });
         });
@@ -0,0 +1,117 @@
+package org.broadinstitute.consent.http.util;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.Managed;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+
+/**
+ * Shared executor for fire-and-forget calls to upstream services, such as registering new users in
+ * Sam. Tasks run on a fixed number of threads with a bounded queue. When the queue is full, new
+ * tasks are rejected rather than blocking the request thread or spawning more threads. Tasks
+ * submitted with a key are deduplicated while a task with the same key is queued or running.
+ * Queued tasks are given a grace period to finish when the application stops.
+ */
+public class BackgroundTaskExecutor implements ConsentLogger, Managed {
+
+  private final ThreadPoolExecutor executor;
+
+  private final ConcurrentMap<String, ListenableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+  private final Meter rejected;
+
+  private final Meter deduplicated;
+
+  private final int shutdownSeconds;
+
+  public BackgroundTaskExecutor(ServicesConfiguration configuration,
+      MetricRegistry metricRegistry) {
+    int parallelism = configuration.getBackgroundTaskParallelism();
+    this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(configuration.getBackgroundTaskQueueCapacity()),
+        new ThreadFactoryBuilder().setNameFormat("background-task-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.shutdownSeconds = configuration.getTimeoutSeconds();
+    this.rejected = metricRegistry.meter(
+        MetricRegistry.name(BackgroundTaskExecutor.class, "rejected"));
+    this.deduplicated = metricRegistry.meter(
+        MetricRegistry.name(BackgroundTaskExecutor.class, "deduplicated"));
+    metricRegistry.gauge(MetricRegistry.name(BackgroundTaskExecutor.class, "active"),
+        () -> (Gauge<Integer>) executor::getActiveCount);
+    metricRegistry.gauge(MetricRegistry.name(BackgroundTaskExecutor.class, "queued"),
+        () -> (Gauge<Integer>) () -> executor.getQueue().size());
+  }
+
+  @Override
+  public void start() {
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(shutdownSeconds, TimeUnit.SECONDS)) {
+      logWarn("Background tasks did not finish before shutdown: %d dropped".formatted(
+          executor.shutdownNow().size()));
+    }
+  }
+
+  /**
+   * Run a task in the background.
+   *
+   * @param task The task
+   * @return The task result, failed with a RejectedExecutionException if the executor is saturated
+   */
+  public <T> ListenableFuture<T> submit(Callable<T> task) {
+    ListenableFutureTask<T> future = ListenableFutureTask.create(task);
+    try {
+      executor.execute(future);
+      return future;
+    } catch (RejectedExecutionException e) {
+      rejected.mark();
+      return Futures.immediateFailedFuture(e);
+    }
+  }
+
+  /**
+   * Run a task in the background unless a task with the same key is already queued or running.
+   * Keys should be namespaced by the caller, e.g. "sam-registration:user@example.com".
+   *
+   * @param key  Identifies duplicate tasks
+   * @param task The task
+   * @return The task result, or the result of the in-flight task with the same key
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ListenableFuture<T> submit(String key, Callable<T> task) {
+    ListenableFutureTask<T> future = ListenableFutureTask.create(task);
+    // A completed task may not have removed itself yet, it no longer counts as in flight
+    ListenableFuture<?> current = inFlight.compute(key,
+        (k, existing) -> existing == null || existing.isDone() ? future : existing);
+    if (current != future) {
+      deduplicated.mark();
+      return (ListenableFuture<T>) current;
+    }
+    future.addListener(() -> inFlight.remove(key, future), MoreExecutors.directExecutor());
+    try {
+      executor.execute(future);
+      return future;
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(key, future);
+      rejected.mark();
+      return Futures.immediateFailedFuture(e);
+    }
+  }
+
+}
@@ -1,19 +1,19 @@
 package org.broadinstitute.consent.http.util;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.SharedMetricRegistries;
-import com.codahale.metrics.Timer;
 import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpContent;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpResponse;
 import com.google.api.client.http.HttpStatusCodes;
-import com.google.api.client.http.HttpTransport;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.Managed;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.NotAuthorizedException;
@@ -23,18 +23,36 @@ import jakarta.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 import org.apache.commons.io.IOUtils;
-import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
 import org.broadinstitute.consent.http.exceptions.ConsentConflictException;
 import org.broadinstitute.consent.http.models.AuthUser;
 
-public class HttpClientUtil implements ConsentLogger {
+/**
+ * Shared HTTP client for upstream services. All requests are made through two long-lived,
+ * pooled connection managers: one backing the Apache client used for simple GET requests, and one
+ * backing the Google HTTP transport used for Sam and other API calls. Request deadlines are
+ * enforced by a single shared scheduler rather than a thread per call. Connections and the
+ * scheduler are released when the application stops.
+ */
+public class HttpClientUtil implements ConsentLogger, Managed {
 
   public record SimpleResponse(int code, String entity) {
 
@@ -42,13 +60,56 @@ public class HttpClientUtil implements ConsentLogger {
 
   private final ServicesConfiguration configuration;
 
+  private final MetricRegistry metricRegistry;
+
+  private final UpstreamMetrics upstreamMetrics;
+
   private final LoadingCache<URI, SimpleResponse> cache;
 
-  private final HttpClient httpClient;
+  private final PoolingHttpClientConnectionManager connectionManager;
+
+  private final CloseableHttpClient httpClient;
+
+  private final org.apache.http.impl.conn.PoolingHttpClientConnectionManager transportConnectionManager;
+
+  private final ApacheHttpTransport transport;
+
+  private final ScheduledThreadPoolExecutor timeoutScheduler;
 
-  public HttpClientUtil(ServicesConfiguration configuration) {
+  private final Set<String> instrumentedHosts = ConcurrentHashMap.newKeySet();
+
+  public HttpClientUtil(ServicesConfiguration configuration, MetricRegistry metricRegistry) {
     this.configuration = configuration;
-    httpClient = HttpClients.createDefault();
+    this.metricRegistry = metricRegistry;
+    this.upstreamMetrics = new UpstreamMetrics(metricRegistry);
+    long keepAliveSeconds = configuration.getKeepAliveSeconds();
+    this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(configuration.getMaxConnectionsTotal())
+        .setMaxConnPerRoute(configuration.getMaxConnectionsPerRoute())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofSeconds(configuration.getTimeoutSeconds()))
+            .setTimeToLive(TimeValue.ofSeconds(keepAliveSeconds))
+            .build())
+        .build();
+    this.httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+        .build();
+    this.transportConnectionManager = new org.apache.http.impl.conn.PoolingHttpClientConnectionManager(
+        keepAliveSeconds, TimeUnit.SECONDS);
+    this.transportConnectionManager.setMaxTotal(configuration.getMaxConnectionsTotal());
+    this.transportConnectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+    this.transport = new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+        .setConnectionManager(transportConnectionManager)
+        .setKeepAliveStrategy((response, context) -> TimeUnit.SECONDS.toMillis(keepAliveSeconds))
+        .evictExpiredConnections()
+        .evictIdleConnections(keepAliveSeconds, TimeUnit.SECONDS)
+        .build());
+    this.timeoutScheduler = new ScheduledThreadPoolExecutor(configuration.getPoolSize(),
+        new ThreadFactoryBuilder().setNameFormat("http-client-timeout-%d").setDaemon(true).build());
+    this.timeoutScheduler.setRemoveOnCancelPolicy(true);
     CacheLoader<URI, SimpleResponse> loader = new CacheLoader<>() {
       @Override
       public SimpleResponse load(URI uri) throws Exception {
@@ -88,25 +149,35 @@ public class HttpClientUtil implements ConsentLogger {
    * @throws IOException The exception
    */
   public SimpleResponse getHttpResponse(HttpGet request) throws IOException {
-    final ScheduledExecutorService executor = Executors.newScheduledThreadPool(
-        configuration.getPoolSize());
-    executor.schedule(request::cancel, configuration.getTimeoutSeconds(), TimeUnit.SECONDS);
-    return httpClient.execute(request, httpResponse ->
-        new SimpleResponse(
-            httpResponse.getCode(),
-            IOUtils.toString(httpResponse.getEntity().getContent(), Charset.defaultCharset()))
-    );
+    if (Objects.nonNull(request.getAuthority())) {
+      registerPoolGauges(request.getAuthority().getHostName());
+    }
+    ScheduledFuture<?> deadline = timeoutScheduler.schedule(request::cancel,
+        configuration.getTimeoutSeconds(), TimeUnit.SECONDS);
+    long start = System.nanoTime();
+    try {
+      SimpleResponse response = httpClient.execute(request, httpResponse ->
+          new SimpleResponse(
+              httpResponse.getCode(),
+              IOUtils.toString(httpResponse.getEntity().getContent(), Charset.defaultCharset()))
+      );
+      upstreamMetrics.update(UpstreamOperation.OTHER, System.nanoTime() - start, response.code());
+      return response;
+    } catch (IOException e) {
+      upstreamMetrics.markFailure(UpstreamOperation.OTHER, System.nanoTime() - start, e);
+      throw e;
+    } finally {
+      deadline.cancel(false);
+    }
   }
 
   public HttpRequest buildGetRequest(GenericUrl genericUrl, AuthUser authUser) throws Exception {
-    HttpTransport transport = new NetHttpTransport();
     HttpRequest request = transport.createRequestFactory().buildGetRequest(genericUrl);
     request.setHeaders(buildHeaders(authUser));
     return request;
   }
 
   public HttpRequest buildUnAuthedGetRequest(GenericUrl genericUrl) throws Exception {
-    HttpTransport transport = new NetHttpTransport();
     HttpRequest request = transport.createRequestFactory().buildGetRequest(genericUrl);
     request.setHeaders(new HttpHeaders().set("X-App-ID", "DUOS"));
     return request;
@@ -114,7 +185,6 @@ public class HttpClientUtil implements ConsentLogger {
 
   public HttpRequest buildPostRequest(GenericUrl genericUrl, HttpContent content, AuthUser authUser)
       throws Exception {
-    HttpTransport transport = new NetHttpTransport();
     HttpRequest request = transport.createRequestFactory().buildPostRequest(genericUrl, content);
     request.setHeaders(buildHeaders(authUser));
     return request;
@@ -122,7 +192,6 @@ public class HttpClientUtil implements ConsentLogger {
 
   public HttpRequest buildPutRequest(GenericUrl genericUrl, HttpContent content, AuthUser authUser)
       throws Exception {
-    HttpTransport transport = new NetHttpTransport();
     HttpRequest request = transport.createRequestFactory().buildPutRequest(genericUrl, content);
     request.setHeaders(buildHeaders(authUser));
     return request;
@@ -130,46 +199,112 @@ public class HttpClientUtil implements ConsentLogger {
 
   public HttpRequest buildUnAuthedPostRequest(GenericUrl genericUrl, HttpContent content)
       throws Exception {
-    HttpTransport transport = new NetHttpTransport();
     HttpRequest request = transport.createRequestFactory().buildPostRequest(genericUrl, content);
     request.setHeaders(new HttpHeaders().set("X-App-ID", "DUOS"));
     return request;
   }
 
   public HttpResponse handleHttpRequest(HttpRequest request) {
-    String timerName = String.format("org.broadinstitute.consent.http.util.HttpClientUtil-%s-%s",
-        request.getRequestMethod(), request.getUrl().toString());
-    if (SharedMetricRegistries.tryGetDefault() == null) {
-      logWarn("Default SharedMetricRegistries is null, setting default");
-      SharedMetricRegistries.setDefault("org.broadinstitute.consent", new MetricRegistry());
-    }
-    Timer timer = SharedMetricRegistries.getDefault().timer(timerName);
+    return handleHttpRequest(request, UpstreamOperation.OTHER);
+  }
+
+  /**
+   * Execute a request, recording latency and response status under the upstream operation.
+   *
+   * @param request   The HttpRequest
+   * @param operation The upstream operation the request performs
+   * @return The HttpResponse
+   */
+  public HttpResponse handleHttpRequest(HttpRequest request, UpstreamOperation operation) {
+    registerPoolGauges(request.getUrl().getHost());
+    request.setThrowExceptionOnExecuteError(false);
+    HttpResponse response;
+    long start = System.nanoTime();
     try {
-      request.setThrowExceptionOnExecuteError(false);
-      HttpResponse response;
-      try (Timer.Context context = timer.time()) {
-        response = request.execute();
-        context.stop();
-      }
-      if (response != null) {
-        return switch (response.getStatusCode()) {
-          case HttpStatusCodes.STATUS_CODE_BAD_REQUEST ->
-              throw new BadRequestException(response.getStatusMessage());
-          case HttpStatusCodes.STATUS_CODE_UNAUTHORIZED ->
-              throw new NotAuthorizedException(response.getStatusMessage());
-          case HttpStatusCodes.STATUS_CODE_FORBIDDEN ->
-              throw new ForbiddenException(response.getStatusMessage());
-          case HttpStatusCodes.STATUS_CODE_NOT_FOUND ->
-              throw new NotFoundException(response.getStatusMessage());
-          case HttpStatusCodes.STATUS_CODE_CONFLICT ->
-              throw new ConsentConflictException(response.getStatusMessage());
-          default -> response;
-        };
-      }
+      response = request.execute();
     } catch (IOException e) {
+      upstreamMetrics.markFailure(operation, System.nanoTime() - start, e);
       throw new ServerErrorException("Server Error (" + e.getMessage() + ")", HttpStatusCodes.STATUS_CODE_SERVER_ERROR);
     }
-    throw new ServerErrorException("Server Error", HttpStatusCodes.STATUS_CODE_SERVER_ERROR);
+    if (response == null) {
+      throw new ServerErrorException("Server Error", HttpStatusCodes.STATUS_CODE_SERVER_ERROR);
+    }
+    upstreamMetrics.update(operation, System.nanoTime() - start, response.getStatusCode());
+    return switch (response.getStatusCode()) {
+      case HttpStatusCodes.STATUS_CODE_BAD_REQUEST ->
+          throw release(response, new BadRequestException(response.getStatusMessage()));
+      case HttpStatusCodes.STATUS_CODE_UNAUTHORIZED ->
+          throw release(response, new NotAuthorizedException(response.getStatusMessage()));
+      case HttpStatusCodes.STATUS_CODE_FORBIDDEN ->
+          throw release(response, new ForbiddenException(response.getStatusMessage()));
+      case HttpStatusCodes.STATUS_CODE_NOT_FOUND ->
+          throw release(response, new NotFoundException(response.getStatusMessage()));
+      case HttpStatusCodes.STATUS_CODE_CONFLICT ->
+          throw release(response, new ConsentConflictException(response.getStatusMessage()));
+      default -> response;
+    };
+  }
+
+  /**
+   * Consume and close the response content so that the pooled connection is returned to the pool
+   * before the exception is thrown.
+   *
+   * @param response  The HttpResponse
+   * @param exception The exception to throw
+   * @return The exception
+   */
+  private RuntimeException release(HttpResponse response, RuntimeException exception) {
+    try {
+      response.ignore();
+    } catch (IOException e) {
+      logWarn("Unable to release response: " + e.getMessage());
+    }
+    return exception;
+  }
+
+  @Override
+  public void start() {
+  }
+
+  @Override
+  public void stop() throws Exception {
+    timeoutScheduler.shutdownNow();
+    httpClient.close();
+    transport.shutdown();
+  }
+
+  /**
+   * Register leased, pending, and available connection gauges for an upstream host. The number of
+   * distinct hosts is bounded by the upstream services we are configured to call.
+   *
+   * @param host The upstream host name
+   */
+  private void registerPoolGauges(String host) {
+    if (Objects.isNull(host) || !instrumentedHosts.add(host)) {
+      return;
+    }
+    registerPoolGauge(host, "leased", PoolStats::getLeased,
+        org.apache.http.pool.PoolStats::getLeased);
+    registerPoolGauge(host, "pending", PoolStats::getPending,
+        org.apache.http.pool.PoolStats::getPending);
+    registerPoolGauge(host, "available", PoolStats::getAvailable,
+        org.apache.http.pool.PoolStats::getAvailable);
+  }
+
+  private void registerPoolGauge(String host, String stat, ToIntFunction<PoolStats> clientStat,
+      ToIntFunction<org.apache.http.pool.PoolStats> transportStat) {
+    metricRegistry.gauge(MetricRegistry.name(HttpClientUtil.class, "pool", host, stat),
+        () -> (Gauge<Integer>) () -> {
+          int clientTotal = connectionManager.getRoutes().stream()
+              .filter(route -> host.equals(route.getTargetHost().getHostName()))
+              .mapToInt(route -> clientStat.applyAsInt(connectionManager.getStats(route)))
+              .sum();
+          int transportTotal = transportConnectionManager.getRoutes().stream()
+              .filter(route -> host.equals(route.getTargetHost().getHostName()))
+              .mapToInt(route -> transportStat.applyAsInt(transportConnectionManager.getStats(route)))
+              .sum();
+          return clientTotal + transportTotal;
+        });
   }
 
   private HttpHeaders buildHeaders(AuthUser authUser) {
@@ -1,7 +1,11 @@
 package org.broadinstitute.consent.http.util;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -12,6 +16,7 @@ import com.networknt.schema.SchemaValidatorsConfig;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import jakarta.ws.rs.BadRequestException;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -20,10 +25,18 @@ import org.broadinstitute.consent.http.models.dataset_registration_v1.DatasetReg
 
 public class JsonSchemaUtil implements ConsentLogger {
 
+  // ObjectMapper, readers, and Gson are thread-safe once configured and are shared across requests
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectReader REGISTRATION_READER = MAPPER
+      .readerFor(DatasetRegistrationSchemaV1.class)
+      .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private static final Gson GSON = new Gson();
+
   private final LoadingCache<String, String> cache;
   private final String datasetRegistrationSchemaV1 = "/dataset-registration-schema_v1.json";
-  private JsonSchemaFactory factory;
-
+  private final JsonSchemaFactory factory;
+  // Compiled schemas are immutable and thread-safe, so the schema is compiled once per instance
+  private final Supplier<JsonSchema> datasetRegistrationSchema;
 
   public JsonSchemaUtil() {
     factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909);
@@ -34,6 +47,7 @@ public class JsonSchemaUtil implements ConsentLogger {
       }
     };
     this.cache = CacheBuilder.newBuilder().build(loader);
+    this.datasetRegistrationSchema = Suppliers.memoize(this::compileDatasetRegistrationSchema);
   }
 
   public String getDatasetRegistrationSchemaV1() {
@@ -45,15 +59,16 @@ public class JsonSchemaUtil implements ConsentLogger {
     }
   }
 
-
   /**
-   * Loads a Schema populated from the current dataset registration schema
+   * Compiles a Schema populated from the current dataset registration schema
    *
    * @return Schema The Schema
-   * @throws ExecutionException Error reading from cache
    */
-  private JsonSchema getDatasetRegistrationSchema() throws ExecutionException {
+  private JsonSchema compileDatasetRegistrationSchema() {
     String schemaString = getDatasetRegistrationSchemaV1();
+    if (schemaString == null) {
+      throw new IllegalStateException("Unable to load the data submitter schema");
+    }
     SchemaValidatorsConfig config = new SchemaValidatorsConfig();
     config.setHandleNullableField(false);
     config.setTypeLoose(false);
@@ -61,6 +76,15 @@ public class JsonSchemaUtil implements ConsentLogger {
     return factory.getSchema(schemaString, config);
   }
 
+  /**
+   * Loads the compiled dataset registration schema, compiling it on first use.
+   *
+   * @return Schema The Schema
+   */
+  JsonSchema getDatasetRegistrationSchema() {
+    return datasetRegistrationSchema.get();
+  }
+
   /**
    * Compares an instance of a dataset registration object to the dataset registration schema
    *
@@ -68,13 +92,11 @@ public class JsonSchemaUtil implements ConsentLogger {
    * @return List of human-readable validation errors, or an empty list if valid.
    */
   public Set<ValidationMessage> validateSchema_v1(String datasetRegistrationInstance) {
+    JsonNode datasetRegistrationJson = readTree(datasetRegistrationInstance);
     try {
-      JsonSchema schema = getDatasetRegistrationSchema();
-      JsonNode datasetRegistrationJson = new ObjectMapper().readTree(datasetRegistrationInstance);
-
-      return schema.validate(datasetRegistrationJson);
-    } catch (ExecutionException ee) {
-      logException("Unable to load the data submitter schema: %s".formatted(ee.getMessage()), ee);
+      return getDatasetRegistrationSchema().validate(datasetRegistrationJson);
+    } catch (IllegalStateException e) {
+      logException("Unable to load the data submitter schema: %s".formatted(e.getMessage()), e);
       return Set.of();
     } catch (Exception e) {
       throw new BadRequestException("Invalid schema");
@@ -89,11 +111,43 @@ public class JsonSchemaUtil implements ConsentLogger {
         return null;
       }
 
-      Gson gson = new Gson();
-      return gson.fromJson(datasetRegistrationInstance, DatasetRegistrationSchemaV1.class);
+      return GSON.fromJson(datasetRegistrationInstance, DatasetRegistrationSchemaV1.class);
     } catch (Exception ee) {
       logException("Unable to load the data submitter schema: %s".formatted(ee.getMessage()), ee);
       return null;
     }
   }
+
+  /**
+   * Validates an instance of a dataset registration object and deserializes it from the same
+   * parsed tree, so the instance is only parsed once.
+   *
+   * @param datasetRegistrationInstance The string instance of a dataset registration object
+   * @return The dataset registration
+   * @throws BadRequestException if the instance is not valid json or does not match the schema
+   */
+  public DatasetRegistrationSchemaV1 validateAndDeserializeDatasetRegistration(
+      String datasetRegistrationInstance) throws BadRequestException {
+    JsonNode datasetRegistrationJson = readTree(datasetRegistrationInstance);
+    Set<ValidationMessage> errors = getDatasetRegistrationSchema()
+        .validate(datasetRegistrationJson);
+    if (!errors.isEmpty()) {
+      throw new BadRequestException(
+          "Invalid schema:\n"
+              + String.join("\n", errors.stream().map(ValidationMessage::getMessage).toList()));
+    }
+    try {
+      return REGISTRATION_READER.readValue(datasetRegistrationJson);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new BadRequestException("Invalid schema");
+    }
+  }
+
+  private JsonNode readTree(String datasetRegistrationInstance) {
+    try {
+      return MAPPER.readTree(datasetRegistrationInstance);
+    } catch (Exception e) {
+      throw new BadRequestException("Invalid schema");
+    }
+  }
 }
@@ -0,0 +1,104 @@
+package org.broadinstitute.consent.http.util;
+
+import com.codahale.metrics.MetricRegistry;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
+
+/**
+ * Records latency, response status, and failures for calls to upstream services. Metrics are
+ * named by the service and logical operation of the call, never by request url, so the number of
+ * registered metrics is bounded by the number of {@link UpstreamOperation} values. For example:
+ * <ul>
+ *   <li>UpstreamMetrics.sam.user-by-email.latency</li>
+ *   <li>UpstreamMetrics.sam.user-by-email.status.2xx</li>
+ *   <li>UpstreamMetrics.sam.user-by-email.timeouts</li>
+ *   <li>UpstreamMetrics.sam.user-by-email.errors</li>
+ * </ul>
+ */
+public class UpstreamMetrics {
+
+  private final MetricRegistry metricRegistry;
+
+  public UpstreamMetrics(MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+  }
+
+  /**
+   * Time an upstream call, recording the status of the response or the failure of the call.
+   *
+   * @param operation The upstream operation
+   * @param call      The call to make
+   * @param status    Function to extract the status code of the response
+   * @return The response
+   */
+  public <T> T time(UpstreamOperation operation, Supplier<T> call, ToIntFunction<T> status) {
+    long start = System.nanoTime();
+    T response;
+    try {
+      response = call.get();
+    } catch (RuntimeException e) {
+      markFailure(operation, System.nanoTime() - start, e);
+      throw e;
+    }
+    update(operation, System.nanoTime() - start, status.applyAsInt(response));
+    return response;
+  }
+
+  /**
+   * Record a completed upstream call.
+   *
+   * @param operation    The upstream operation
+   * @param elapsedNanos The duration of the call in nanoseconds
+   * @param statusCode   The response status code
+   */
+  public void update(UpstreamOperation operation, long elapsedNanos, int statusCode) {
+    metricRegistry.timer(name(operation, "latency")).update(elapsedNanos, TimeUnit.NANOSECONDS);
+    metricRegistry.counter(name(operation, "status", statusClass(statusCode))).inc();
+  }
+
+  /**
+   * Record an upstream call that did not produce a response. Timeouts are counted separately from
+   * other failures.
+   *
+   * @param operation    The upstream operation
+   * @param elapsedNanos The duration of the call in nanoseconds
+   * @param throwable    The cause of the failure
+   */
+  public void markFailure(UpstreamOperation operation, long elapsedNanos, Throwable throwable) {
+    metricRegistry.timer(name(operation, "latency")).update(elapsedNanos, TimeUnit.NANOSECONDS);
+    metricRegistry.counter(name(operation, isTimeout(throwable) ? "timeouts" : "errors")).inc();
+  }
+
+  /**
+   * Socket, connect, and cancelled request timeouts are all reported as InterruptedIOExceptions,
+   * which may be wrapped by the client, e.g. in a ProcessingException.
+   */
+  static boolean isTimeout(Throwable throwable) {
+    Throwable cause = throwable;
+    while (Objects.nonNull(cause)) {
+      if (cause instanceof InterruptedIOException) {
+        return true;
+      }
+      cause = cause.getCause() == cause ? null : cause.getCause();
+    }
+    return false;
+  }
+
+  private static String statusClass(int statusCode) {
+    if (statusCode >= 100 && statusCode < 600) {
+      return (statusCode / 100) + "xx";
+    }
+    return "other";
+  }
+
+  private static String name(UpstreamOperation operation, String... names) {
+    return MetricRegistry.name(
+        MetricRegistry.name(UpstreamMetrics.class.getSimpleName(), operation.getService(),
+            operation.getOperation()), names);
+  }
+
+}
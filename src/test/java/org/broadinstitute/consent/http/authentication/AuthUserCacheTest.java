@@ -0,0 +1,140 @@
+package org.broadinstitute.consent.http.authentication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.models.AuthUser;
+import org.broadinstitute.consent.http.models.sam.UserStatusInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthUserCacheTest {
+
+  private AuthUserCache cache;
+  private MetricRegistry metricRegistry;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    cache = new AuthUserCache(new ServicesConfiguration(), metricRegistry);
+  }
+
+  @Test
+  void testGetCachesResolvedUser() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    AtomicInteger loads = new AtomicInteger();
+    AuthUser user = resolvedUser(token);
+    AuthUser first = cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    AuthUser second = cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(1, metricRegistry.counter(MetricRegistry.name(AuthUserCache.class, "hits")).getCount());
+    assertEquals(1, metricRegistry.counter(MetricRegistry.name(AuthUserCache.class, "misses")).getCount());
+  }
+
+  @Test
+  void testGetDoesNotCacheUnresolvedUser() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    AtomicInteger loads = new AtomicInteger();
+    AuthUser user = new AuthUser("test@test.org").setAuthToken(token);
+    cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testGetNullUser() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    assertNull(cache.get(token, () -> null));
+  }
+
+  @Test
+  void testInvalidate() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    String otherToken = RandomStringUtils.randomAlphabetic(100);
+    AtomicInteger loads = new AtomicInteger();
+    AuthUser user = resolvedUser(token);
+    AuthUser otherUser = resolvedUser(otherToken);
+    cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    cache.get(otherToken, () -> {
+      loads.incrementAndGet();
+      return otherUser;
+    });
+    // Invalidating by email removes entries cached under any of the user's tokens
+    cache.invalidate(new AuthUser(user.getEmail()));
+    cache.get(token, () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    cache.get(otherToken, () -> {
+      loads.incrementAndGet();
+      return otherUser;
+    });
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void testConcurrentLoadsShareOneCall() throws Exception {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AuthUser user = resolvedUser(token);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<AuthUser> first = executor.submit(() -> cache.get(token, () -> {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return user;
+      }));
+      loading.await(5, TimeUnit.SECONDS);
+      Future<AuthUser> second = executor.submit(() -> cache.get(token, () -> {
+        loads.incrementAndGet();
+        return user;
+      }));
+      release.countDown();
+      assertSame(user, first.get(5, TimeUnit.SECONDS));
+      assertSame(user, second.get(5, TimeUnit.SECONDS));
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private AuthUser resolvedUser(String token) {
+    return new AuthUser("test@test.org")
+        .setAuthToken(token)
+        .setUserStatusInfo(new UserStatusInfo().setUserEmail("test@test.org").setEnabled(true));
+  }
+
+}
@@ -9,14 +9,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.filters.ClaimsCache;
 import org.broadinstitute.consent.http.models.AuthUser;
+import org.broadinstitute.consent.http.models.sam.UserStatusInfo;
 import org.broadinstitute.consent.http.service.sam.SamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,11 +33,13 @@ class OAuthAuthenticatorTest {
   @Mock
   private SamService samService;
   private OAuthAuthenticator oAuthAuthenticator;
-  private final ClaimsCache headerCache = ClaimsCache.getInstance();
+  private ClaimsCache headerCache;
+  private AuthUserCache authUserCache;
 
   @BeforeEach
   void setUp() {
-    headerCache.cache.invalidateAll();
+    headerCache = new ClaimsCache(new ServicesConfiguration(), new MetricRegistry());
+    authUserCache = new AuthUserCache(new ServicesConfiguration(), new MetricRegistry());
   }
 
   @Test
@@ -43,7 +48,7 @@ class OAuthAuthenticatorTest {
     MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<>();
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
     headerCache.loadCache(bearerToken, headerMap);
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
   }
@@ -56,7 +61,7 @@ class OAuthAuthenticatorTest {
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_name, List.of("name"));
     headerCache.loadCache(bearerToken, headerMap);
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
     assertNotNull(authUser.get().getEmail());
@@ -72,7 +77,7 @@ class OAuthAuthenticatorTest {
     MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<>();
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_access_token, List.of(bearerToken));
     headerCache.loadCache(bearerToken, headerMap);
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
 
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
@@ -91,7 +96,7 @@ class OAuthAuthenticatorTest {
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_name, List.of("name"));
     headerCache.loadCache(bearerToken, headerMap);
     when(samService.getRegistrationInfo(any())).thenThrow(new NotFoundException());
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
 
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
@@ -108,7 +113,7 @@ class OAuthAuthenticatorTest {
     MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<>();
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_access_token, List.of(bearerToken));
     headerCache.loadCache(bearerToken, headerMap);
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
 
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
@@ -127,11 +132,35 @@ class OAuthAuthenticatorTest {
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
     headerMap.put(ClaimsCache.OAUTH2_CLAIM_name, List.of("unknown"));
     headerCache.loadCache(bearerToken, headerMap);
-    oAuthAuthenticator = new OAuthAuthenticator(samService);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
 
     Optional<AuthUser> authUser = oAuthAuthenticator.authenticate(bearerToken);
     assertTrue(authUser.isPresent());
     assertEquals(authUser.get().getName(), authUser.get().getEmail());
   }
 
+  /**
+   * Test that once a user has been resolved in Sam, subsequent requests with the same token do not
+   * call Sam again.
+   */
+  @Test
+  void testAuthenticateUsesCachedUserStatusInfo() throws Exception {
+    String bearerToken = RandomStringUtils.randomAlphabetic(100);
+    MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<>();
+    headerMap.put(ClaimsCache.OAUTH2_CLAIM_access_token, List.of(bearerToken));
+    headerMap.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
+    headerMap.put(ClaimsCache.OAUTH2_CLAIM_name, List.of("name"));
+    headerCache.loadCache(bearerToken, headerMap);
+    UserStatusInfo userStatusInfo = new UserStatusInfo().setUserEmail("email").setEnabled(true);
+    when(samService.getRegistrationInfo(any())).thenReturn(userStatusInfo);
+    oAuthAuthenticator = new OAuthAuthenticator(samService, headerCache, authUserCache);
+
+    Optional<AuthUser> first = oAuthAuthenticator.authenticate(bearerToken);
+    Optional<AuthUser> second = oAuthAuthenticator.authenticate(bearerToken);
+    assertTrue(first.isPresent());
+    assertTrue(second.isPresent());
+    assertNotNull(second.get().getUserStatusInfo());
+    verify(samService, times(1)).getRegistrationInfo(any());
+  }
+
 }
@@ -11,7 +11,6 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.UriInfo;
 import java.security.Principal;
 import java.util.Optional;
-import org.broadinstitute.consent.http.db.UserRoleDAO;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,7 +31,7 @@ class OAuthCustomAuthFilterTest {
   @Mock
   private OAuthAuthenticator authenticator;
   @Mock
-  private UserRoleDAO userRoleDAO;
+  private UserRoleCache userRoleCache;
 
   @Mock
   private OAuthCustomAuthFilter<Principal> filter;
@@ -48,7 +47,7 @@ class OAuthCustomAuthFilterTest {
     when(requestContext.getUriInfo()).thenReturn(uriInfo);
     when(headers.getFirst("Authorization")).thenReturn("Bearer %s".formatted(token));
     when(authenticator.authenticate(notNull())).thenReturn(Optional.of(user));
-    filter = Mockito.spy(new OAuthCustomAuthFilter<>(authenticator, userRoleDAO));
+    filter = Mockito.spy(new OAuthCustomAuthFilter<>(authenticator, userRoleCache));
     user = new AuthUser().setName("Test User").setEmail("test@gmail.com");
   }
 
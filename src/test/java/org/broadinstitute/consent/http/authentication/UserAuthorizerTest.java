@@ -3,10 +3,15 @@ package org.broadinstitute.consent.http.authentication;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.ws.rs.container.ContainerRequestContext;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.UserRoleDAO;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.AuthUser;
@@ -15,12 +20,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class UserAuthorizerTest {
 
   private UserAuthorizer authorizer;
+  private UserRoleCache userRoleCache;
   @Mock
   private UserRoleDAO userRoleDAO;
   @Mock
@@ -32,7 +39,8 @@ class UserAuthorizerTest {
 
   @BeforeEach
   void setUp() {
-    authorizer = new UserAuthorizer(userRoleDAO);
+    userRoleCache = new UserRoleCache(userRoleDAO, new ServicesConfiguration());
+    authorizer = new UserAuthorizer(userRoleCache);
   }
 
   @Test
@@ -47,4 +55,40 @@ class UserAuthorizerTest {
     assertTrue(authorizer.authorize(authorizedUser, Resource.CHAIRPERSON, context));
   }
 
-}
\ No newline at end of file
+  @Test
+  void testAuthorizeInvalidRole() {
+    assertFalse(authorizer.authorize(authorizedUser, "invalid", context));
+  }
+
+  @Test
+  void testAuthorizeResolvesRolesOncePerRequest() {
+    Map<String, Object> properties = new HashMap<>();
+    Mockito.doAnswer(i -> properties.put(i.getArgument(0), i.getArgument(1)))
+        .when(context).setProperty(any(), any());
+    when(context.getProperty(any())).thenAnswer(i -> properties.get(i.getArgument(0, String.class)));
+    when(authorizedUser.getEmail()).thenReturn("test@test.org");
+    when(userRoleDAO.findRoleNamesByUserEmail(any()))
+        .thenReturn(List.of(UserRoles.CHAIRPERSON.getRoleName()));
+
+    assertFalse(authorizer.authorize(authorizedUser, Resource.ADMIN, context));
+    assertFalse(authorizer.authorize(authorizedUser, Resource.MEMBER, context));
+    assertTrue(authorizer.authorize(authorizedUser, Resource.CHAIRPERSON, context));
+    verify(userRoleDAO, times(1)).findRoleNamesByUserEmail(any());
+  }
+
+  @Test
+  void testAuthorizeUsesCachedRolesAcrossRequests() {
+    when(authorizedUser.getEmail()).thenReturn("test@test.org");
+    when(userRoleDAO.findRoleNamesByUserEmail(any()))
+        .thenReturn(List.of(UserRoles.CHAIRPERSON.getRoleName()));
+
+    assertTrue(authorizer.authorize(authorizedUser, Resource.CHAIRPERSON, context));
+    assertTrue(authorizer.authorize(authorizedUser, Resource.CHAIRPERSON, context));
+    verify(userRoleDAO, times(1)).findRoleNamesByUserEmail(any());
+
+    userRoleCache.invalidate("TEST@test.org");
+    assertTrue(authorizer.authorize(authorizedUser, Resource.CHAIRPERSON, context));
+    verify(userRoleDAO, times(2)).findRoleNamesByUserEmail(any());
+  }
+
+}
@@ -3,8 +3,10 @@ package org.broadinstitute.consent.http.cloudstore;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -12,6 +14,7 @@ import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MediaType;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -60,8 +63,8 @@ class GCSServiceTest {
     UUID id = UUID.randomUUID();
     BlobId blobId = BlobId.of(config.getEndpoint(), id.toString());
     when(blob.getBlobId()).thenReturn(blobId);
-    when(storage.create(any(BlobInfo.class), any(), new Storage.BlobTargetOption[0])).thenReturn(
-        blob);
+    when(storage.createFrom(any(BlobInfo.class), any(InputStream.class),
+        eq(GCSService.TRANSFER_CHUNK_SIZE))).thenReturn(blob);
     initStore();
 
     InputStream is = IOUtils.toInputStream("content", Charset.defaultCharset());
@@ -75,7 +78,8 @@ class GCSServiceTest {
     String fileContent = RandomStringUtils.randomAlphanumeric(10);
     String urlString = "http://localhost/bucket/" + fileName;
     Blob blob = mock(Blob.class);
-    when(blob.getContent()).thenReturn((fileContent).getBytes());
+    when(blob.getSize()).thenReturn((long) fileContent.length());
+    when(blob.reader()).thenReturn(new InMemoryReadChannel(fileContent.getBytes()));
     when(storage.get(any(BlobId.class))).thenReturn(blob);
 
     initStore();
@@ -89,7 +93,8 @@ class GCSServiceTest {
   void testGetDocument_ByBlobId() throws Exception {
     String fileContent = RandomStringUtils.randomAlphanumeric(10);
     Blob blob = mock(Blob.class);
-    when(blob.getContent()).thenReturn((fileContent).getBytes());
+    when(blob.getSize()).thenReturn((long) fileContent.length());
+    when(blob.reader()).thenReturn(new InMemoryReadChannel(fileContent.getBytes()));
     when(storage.get(any(BlobId.class))).thenReturn(blob);
 
     initStore();
@@ -108,12 +113,14 @@ class GCSServiceTest {
 
     Blob blob1 = mock(Blob.class);
     BlobId blobId1 = BlobId.of("bucket", fileName1);
-    when(blob1.getContent()).thenReturn((fileContent1).getBytes());
+    when(blob1.getSize()).thenReturn((long) fileContent1.length());
+    when(blob1.reader()).thenReturn(new InMemoryReadChannel(fileContent1.getBytes()));
     when(blob1.getBlobId()).thenReturn(blobId1);
 
     Blob blob2 = mock(Blob.class);
     BlobId blobId2 = BlobId.of("bucket", fileName2);
-    when(blob2.getContent()).thenReturn((fileContent2).getBytes());
+    when(blob2.getSize()).thenReturn((long) fileContent2.length());
+    when(blob2.reader()).thenReturn(new InMemoryReadChannel(fileContent2.getBytes()));
     when(blob2.getBlobId()).thenReturn(blobId2);
 
     when(storage.get(List.of(blobId1, blobId2))).thenReturn(List.of(blob1, blob2));
@@ -126,6 +133,22 @@ class GCSServiceTest {
     assertArrayEquals(fileContent2.getBytes(), out.get(blobId2).readAllBytes());
   }
 
+  @Test
+  void testGetDocumentNotFound() {
+    when(storage.get(any(BlobId.class))).thenReturn(null);
+    initStore();
+    assertThrows(NotFoundException.class, () -> service.getDocument("missing"));
+  }
+
+  @Test
+  void testOpenStreamRange() throws Exception {
+    Blob blob = mock(Blob.class);
+    when(blob.reader()).thenReturn(new InMemoryReadChannel("0123456789".getBytes()));
+
+    InputStream is = GCSService.openStream(blob, 3, 4);
+    assertEquals("3456", IOUtils.toString(is, Charset.defaultCharset()));
+  }
+
   @Test
   void testDeleteDocument() {
     String fileName = RandomStringUtils.random(10, true, false);
@@ -0,0 +1,68 @@
+package org.broadinstitute.consent.http.cloudstore;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.RestorableState;
+import java.nio.ByteBuffer;
+
+/**
+ * ReadChannel over an in-memory document that honors seek and limit, for testing blob reads.
+ */
+public class InMemoryReadChannel implements ReadChannel {
+
+  private final byte[] content;
+  private long position = 0;
+  private long limit = Long.MAX_VALUE;
+  private boolean open = true;
+
+  public InMemoryReadChannel(byte[] content) {
+    this.content = content;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) {
+    long end = Math.min(limit, content.length);
+    if (position >= end) {
+      return -1;
+    }
+    int count = (int) Math.min(dst.remaining(), end - position);
+    dst.put(content, (int) position, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public void seek(long position) {
+    this.position = position;
+  }
+
+  @Override
+  public ReadChannel limit(long limit) {
+    this.limit = limit;
+    return this;
+  }
+
+  @Override
+  public long limit() {
+    return limit;
+  }
+
+  @Override
+  public void setChunkSize(int chunkSize) {
+  }
+
+  @Override
+  public RestorableState<ReadChannel> capture() {
+    return null;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() {
+    open = false;
+  }
+
+}
@@ -15,6 +15,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 import org.broadinstitute.consent.http.ConsentApplication;
 import org.broadinstitute.consent.http.configurations.ConsentConfiguration;
+import org.broadinstitute.consent.http.db.mapper.ColumnPlanMapper;
 import org.broadinstitute.consent.http.enumeration.OrganizationType;
 import org.broadinstitute.consent.http.enumeration.UserFields;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
@@ -64,6 +65,8 @@ public class DAOTestHelper {
   protected static DarCollectionSummaryDAO darCollectionSummaryDAO;
   protected static FileStorageObjectDAO fileStorageObjectDAO;
   protected static AcknowledgementDAO acknowledgementDAO;
+  protected static DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+  protected static DatasetSearchDocumentDAO datasetSearchDocumentDAO;
 
   // This is a test-only DAO class where we manage the deletion
   // of all records between test runs.
@@ -111,6 +114,7 @@ public class DAOTestHelper {
     jdbi.getConfig().get(Gson2Config.class).setGson(
         GsonUtil.buildGson()
     );
+    jdbi.registerRowMapper(new ColumnPlanMapper());
 
     counterDAO = jdbi.onDemand(CounterDAO.class);
     dacDAO = jdbi.onDemand(DacDAO.class);
@@ -131,6 +135,8 @@ public class DAOTestHelper {
     darCollectionSummaryDAO = jdbi.onDemand(DarCollectionSummaryDAO.class);
     fileStorageObjectDAO = jdbi.onDemand(FileStorageObjectDAO.class);
     acknowledgementDAO = jdbi.onDemand(AcknowledgementDAO.class);
+    datasetIndexOutboxDAO = jdbi.onDemand(DatasetIndexOutboxDAO.class);
+    datasetSearchDocumentDAO = jdbi.onDemand(DatasetSearchDocumentDAO.class);
     testingDAO = jdbi.onDemand(TestingDAO.class);
   }
 
@@ -171,6 +177,8 @@ public class DAOTestHelper {
     testingDAO.deleteAllDARCollections();
     testingDAO.deleteAllCounters();
     testingDAO.deleteAllEmailEntities();
+    testingDAO.deleteAllDatasetIndexOutboxEntries();
+    testingDAO.deleteAllDatasetSearchDocuments();
   }
 
     /*
@@ -160,6 +160,16 @@ class DacDAOTest extends DAOTestHelper {
     });
   }
 
+  @Test
+  void testFindDacsByIds() {
+    Integer id = createRandomDAC();
+    Integer otherId = createRandomDAC();
+    createRandomDAC();
+    List<Dac> dacs = dacDAO.findDacsByIds(List.of(id, otherId));
+    assertEquals(2, dacs.size());
+    assertTrue(dacs.stream().map(Dac::getDacId).toList().containsAll(List.of(id, otherId)));
+  }
+
   @Test
   void testFindByIdNoDaa() {
     Integer id = createRandomDAC();
@@ -12,12 +12,14 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.UUID;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.broadinstitute.consent.http.enumeration.DarCollectionStatus;
 import org.broadinstitute.consent.http.enumeration.ElectionStatus;
 import org.broadinstitute.consent.http.enumeration.ElectionType;
 import org.broadinstitute.consent.http.enumeration.OrganizationType;
 import org.broadinstitute.consent.http.enumeration.VoteType;
 import org.broadinstitute.consent.http.models.Dac;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryKey;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.DataUseBuilder;
@@ -458,6 +460,7 @@ class DarCollectionSummaryDAOTest extends DAOTestHelper {
       assertEquals(1, s.getDarStatuses().size());
       s.getDarStatuses().values().forEach(status -> assertEquals("test", status));
       assertEquals(1, s.getDatasetCount());
+      assertEquals(darOne.getData().getProjectTitle(), s.getName());
     });
   }
 
@@ -929,4 +932,94 @@ class DarCollectionSummaryDAOTest extends DAOTestHelper {
         archivedCollectionId);
     assertNull(summary);
   }
+
+  @Test
+  void testFindDarCollectionSummaryKeys() {
+    User userOne = createUserForTest();
+    User userTwo = createUserForTest();
+    Institution institution = createInstitution(userOne.getUserId());
+    assignInstitutionToUser(userOne, institution.getId());
+    Dataset datasetOne = createDataset(userOne.getUserId());
+    Dataset datasetTwo = createDataset(userOne.getUserId());
+    Integer collectionOneId = createDarCollection(userOne.getUserId());
+    Integer collectionTwoId = createDarCollection(userOne.getUserId());
+    Integer collectionThreeId = createDarCollection(userTwo.getUserId());
+    DataAccessRequest darOne = createDataAccessRequest(collectionOneId, userOne.getUserId());
+    DataAccessRequest darTwo = createDataAccessRequest(collectionTwoId, userOne.getUserId());
+    DataAccessRequest darThree = createDataAccessRequest(collectionThreeId, userTwo.getUserId());
+    dataAccessRequestDAO.insertDARDatasetRelation(darOne.getReferenceId(),
+        datasetOne.getDatasetId());
+    dataAccessRequestDAO.insertDARDatasetRelation(darTwo.getReferenceId(),
+        datasetOne.getDatasetId());
+    dataAccessRequestDAO.insertDARDatasetRelation(darThree.getReferenceId(),
+        datasetTwo.getDatasetId());
+    createElection(ElectionType.DATA_ACCESS.getValue(), ElectionStatus.OPEN.getValue(),
+        darOne.getReferenceId(), datasetOne.getDatasetId());
+    createElection(ElectionType.DATA_ACCESS.getValue(), ElectionStatus.CLOSED.getValue(),
+        darTwo.getReferenceId(), datasetOne.getDatasetId());
+
+    List<DarCollectionSummaryKey> firstPage = darCollectionSummaryDAO.findDarCollectionSummaryKeys(
+        null, null, null, null, null, 2);
+    assertEquals(List.of(collectionThreeId, collectionTwoId),
+        firstPage.stream().map(DarCollectionSummaryKey::collectionId).toList());
+    DarCollectionSummaryKey last = firstPage.get(1);
+    List<DarCollectionSummaryKey> secondPage = darCollectionSummaryDAO.findDarCollectionSummaryKeys(
+        null, null, null, last.submissionDate(), last.collectionId(), 2);
+    assertEquals(List.of(collectionOneId),
+        secondPage.stream().map(DarCollectionSummaryKey::collectionId).toList());
+    assertEquals(3, darCollectionSummaryDAO.countDarCollectionSummaries(null, null, null));
+
+    List<DarCollectionSummaryKey> complete = darCollectionSummaryDAO.findDarCollectionSummaryKeys(
+        DarCollectionStatus.COMPLETE.getValue(), null, null, null, null, 10);
+    assertEquals(List.of(collectionTwoId),
+        complete.stream().map(DarCollectionSummaryKey::collectionId).toList());
+    assertEquals(1, darCollectionSummaryDAO.countDarCollectionSummaries(
+        DarCollectionStatus.IN_PROCESS.getValue(), null, null));
+    assertEquals(1, darCollectionSummaryDAO.countDarCollectionSummaries(
+        DarCollectionStatus.UNREVIEWED.getValue(), null, null));
+    assertEquals(2, darCollectionSummaryDAO.countDarCollectionSummaries(
+        null, datasetOne.getDatasetId(), null));
+    assertEquals(2, darCollectionSummaryDAO.countDarCollectionSummaries(
+        null, null, institution.getId()));
+    assertEquals(0, darCollectionSummaryDAO.countDarCollectionSummaries(
+        null, datasetTwo.getDatasetId(), institution.getId()));
+  }
+
+  @Test
+  void testFindDarCollectionSummaryKeys_ArchivedCollection() {
+    User userOne = createUserForTest();
+    Dataset dataset = createDataset(userOne.getUserId());
+    Integer archivedCollectionId = createDarCollection(userOne.getUserId());
+    DataAccessRequest archivedDar = createDataAccessRequest(archivedCollectionId,
+        userOne.getUserId());
+    dataAccessRequestDAO.insertDARDatasetRelation(archivedDar.getReferenceId(),
+        dataset.getDatasetId());
+    dataAccessRequestDAO.archiveByReferenceIds(List.of(archivedDar.getReferenceId()));
+
+    assertTrue(darCollectionSummaryDAO.findDarCollectionSummaryKeys(null, null, null, null, null,
+        10).isEmpty());
+    assertEquals(0, darCollectionSummaryDAO.countDarCollectionSummaries(null, null, null));
+  }
+
+  @Test
+  void testGetDarCollectionSummariesByCollectionIds() {
+    User userOne = createUserForTest();
+    Dataset dataset = createDataset(userOne.getUserId());
+    Integer collectionOneId = createDarCollection(userOne.getUserId());
+    Integer collectionTwoId = createDarCollection(userOne.getUserId());
+    Integer collectionThreeId = createDarCollection(userOne.getUserId());
+    for (Integer collectionId : List.of(collectionOneId, collectionTwoId, collectionThreeId)) {
+      DataAccessRequest dar = createDataAccessRequest(collectionId, userOne.getUserId());
+      dataAccessRequestDAO.insertDARDatasetRelation(dar.getReferenceId(), dataset.getDatasetId());
+    }
+
+    List<DarCollectionSummary> summaries = darCollectionSummaryDAO
+        .getDarCollectionSummariesByCollectionIds(List.of(collectionOneId, collectionThreeId));
+    assertEquals(2, summaries.size());
+    assertTrue(summaries.stream()
+        .map(DarCollectionSummary::getDarCollectionId)
+        .toList()
+        .containsAll(List.of(collectionOneId, collectionThreeId)));
+    summaries.forEach(s -> assertEquals(1, s.getDatasetCount()));
+  }
 }
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -51,6 +53,75 @@ class DataAccessRequestDAOTest extends DAOTestHelper {
     assertEquals(collection.getDars().size(), newDars.size());
   }
 
+  @Test
+  void testFindDataAccessRequestPage() {
+    assertTrue(dataAccessRequestDAO.findDataAccessRequestPage(0, 10).isEmpty());
+
+    createDataAccessRequestV3();
+    createDataAccessRequestV3();
+    createDraftDataAccessRequest();
+    List<Integer> allIds = dataAccessRequestDAO.findAllDataAccessRequests().stream()
+        .map(DataAccessRequest::getId)
+        .sorted()
+        .toList();
+
+    List<Integer> pagedIds = new ArrayList<>();
+    List<DataAccessRequest> page = dataAccessRequestDAO.findDataAccessRequestPage(0, 3);
+    while (!page.isEmpty()) {
+      assertTrue(page.size() <= 3);
+      page.forEach(dar -> pagedIds.add(dar.getId()));
+      page = dataAccessRequestDAO.findDataAccessRequestPage(pagedIds.get(pagedIds.size() - 1), 3);
+    }
+    assertEquals(allIds, pagedIds);
+  }
+
+  @Test
+  void testFindReferenceIdsWithDecisionActivitySince() {
+    DataAccessRequest dar = createDataAccessRequestV3();
+    Date yesterday = Date.from(Instant.now().minus(1, ChronoUnit.DAYS));
+    Date tomorrow = Date.from(Instant.now().plus(1, ChronoUnit.DAYS));
+    assertTrue(dataAccessRequestDAO.findReferenceIdsWithDecisionActivitySince(yesterday)
+        .contains(dar.getReferenceId()));
+    assertFalse(dataAccessRequestDAO.findReferenceIdsWithDecisionActivitySince(tomorrow)
+        .contains(dar.getReferenceId()));
+
+    Dataset dataset = createDARDAOTestDataset();
+    electionDAO.insertElection(
+        ElectionType.DATA_ACCESS.getValue(),
+        ElectionStatus.OPEN.getValue(),
+        Date.from(Instant.now().plus(2, ChronoUnit.DAYS)),
+        dar.getReferenceId(),
+        dataset.getDatasetId());
+    assertTrue(dataAccessRequestDAO.findReferenceIdsWithDecisionActivitySince(tomorrow)
+        .contains(dar.getReferenceId()));
+  }
+
+  @Test
+  void testArchiveAndCancelRecordDecisionActivity() {
+    DataAccessRequest archived = createDataAccessRequestV3();
+    DataAccessRequest canceled = createDataAccessRequestV3();
+    Date since = new Date();
+
+    dataAccessRequestDAO.archiveByReferenceIds(List.of(archived.getReferenceId()));
+    dataAccessRequestDAO.cancelByReferenceIds(List.of(canceled.getReferenceId()));
+
+    List<String> referenceIds = dataAccessRequestDAO.findReferenceIdsWithDecisionActivitySince(
+        Date.from(since.toInstant().minus(1, ChronoUnit.SECONDS)));
+    assertTrue(referenceIds.contains(archived.getReferenceId()));
+    assertTrue(referenceIds.contains(canceled.getReferenceId()));
+  }
+
+  @Test
+  void testFindMissingReferenceIds() {
+    DataAccessRequest dar = createDataAccessRequestV3();
+    DataAccessRequest deleted = createDataAccessRequestV3();
+    dataAccessRequestDAO.deleteByReferenceId(deleted.getReferenceId());
+
+    assertEquals(List.of(deleted.getReferenceId(), "unknown"),
+        dataAccessRequestDAO.findMissingReferenceIds(
+            List.of(dar.getReferenceId(), deleted.getReferenceId(), "unknown")));
+  }
+
   @Test
   void testFindAllDrafts() {
     List<DataAccessRequest> dars = dataAccessRequestDAO.findAllDraftDataAccessRequests();
@@ -552,6 +623,37 @@ class DataAccessRequestDAOTest extends DAOTestHelper {
     assertFalse(approvedDarIds.contains(testDar1.getId()));
   }
 
+  @Test
+  void testFindApprovedDARsByDatasetIds() {
+    String darCode1 = "DAR-" + RandomUtils.nextInt(100, 1000000);
+    String darCode2 = "DAR-" + RandomUtils.nextInt(100, 1000000);
+    Dataset dataset1 = createDARDAOTestDataset();
+    Dataset dataset2 = createDARDAOTestDataset();
+    Dataset dataset3 = createDARDAOTestDataset();
+    User user1 = createUserWithInstitution();
+    User user2 = createUserWithInstitution();
+    DataAccessRequest testDar1 = createDAR(user1, dataset1, darCode1);
+    DataAccessRequest testDar2 = createDAR(user2, dataset2, darCode2);
+    List<Integer> datasetIds = List.of(dataset1.getDatasetId(), dataset2.getDatasetId(),
+        dataset3.getDatasetId());
+    assertTrue(dataAccessRequestDAO.findApprovedDARsByDatasetIds(datasetIds).isEmpty());
+
+    Election e1 = createDataAccessElection(testDar1.getReferenceId(), dataset1.getDatasetId());
+    Vote v1 = createFinalVote(dataset1.getCreateUserId(), e1.getElectionId());
+    Date now = new Date();
+    voteDAO.updateVote(true, "", now, v1.getVoteId(), false, e1.getElectionId(), now, false);
+    Election e2 = createDataAccessElection(testDar2.getReferenceId(), dataset2.getDatasetId());
+    Vote v2 = createFinalVote(dataset2.getCreateUserId(), e2.getElectionId());
+    now = new Date();
+    voteDAO.updateVote(false, "", now, v2.getVoteId(), false, e2.getElectionId(), now, false);
+
+    List<DataAccessRequest> approvedDars = dataAccessRequestDAO.findApprovedDARsByDatasetIds(
+        datasetIds);
+    assertEquals(1, approvedDars.size());
+    assertEquals(testDar1.getId(), approvedDars.get(0).getId());
+    assertEquals(List.of(dataset1.getDatasetId()), approvedDars.get(0).getDatasetIds());
+  }
+
   /**
    * Tests the case where a user has been approved for access, then denied access, and that the user
    * does not show up as an approved user for the dataset.
@@ -3,6 +3,7 @@ package org.broadinstitute.consent.http.db;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.broadinstitute.consent.http.db.mapper.DataUseParser;
 import org.broadinstitute.consent.http.models.DataUse;
@@ -23,6 +24,13 @@ class DataUseParserTest {
     assertEquals(test.getGeneralUse(), dataUse.getGeneralUse());
   }
 
+  @Test
+  void testParsedDataUseIsShared() {
+    DataUse test = new DataUseBuilder().setHmbResearch(true).build();
+    DataUse dataUse = new DataUseParser().parseDataUse(test.toString());
+    assertSame(dataUse, new DataUseParser().parseDataUse(test.toString()));
+  }
+
   @Test
   void testParseInvalidDataUse() {
     DataUseParser dataUseParser = new DataUseParser();
@@ -25,6 +25,7 @@ import java.util.UUID;
 import java.util.stream.IntStream;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.enumeration.ElectionStatus;
 import org.broadinstitute.consent.http.enumeration.ElectionType;
 import org.broadinstitute.consent.http.enumeration.FileCategory;
@@ -42,6 +43,7 @@ import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.DatasetAudit;
 import org.broadinstitute.consent.http.models.DatasetProperty;
 import org.broadinstitute.consent.http.models.DatasetStudySummary;
+import org.broadinstitute.consent.http.models.DatasetSearchTerms;
 import org.broadinstitute.consent.http.models.DatasetSummary;
 import org.broadinstitute.consent.http.models.Dictionary;
 import org.broadinstitute.consent.http.models.Election;
@@ -334,6 +336,57 @@ class DatasetDAOTest extends DAOTestHelper {
     assertNotNull(datasets.get(0).getCreateUser());
   }
 
+  @Test
+  void testFindDatasetsByIdListMultiQuery() {
+    Study study = insertStudyWithProperties();
+    Dataset ds = insertDataset();
+    Dataset otherDsOnStudy = insertDataset();
+    Dataset dsWithoutStudy = insertDataset();
+    datasetDAO.updateStudyId(ds.getDatasetId(), study.getStudyId());
+    datasetDAO.updateStudyId(otherDsOnStudy.getDatasetId(), study.getStudyId());
+    FileStorageObject nihFile = createFileStorageObject(ds.getDatasetId().toString(),
+        FileCategory.NIH_INSTITUTIONAL_CERTIFICATION);
+    FileStorageObject sharingPlan = createFileStorageObject(study.getUuid().toString(),
+        FileCategory.ALTERNATIVE_DATA_SHARING_PLAN);
+    List<Integer> ids = List.of(dsWithoutStudy.getDatasetId(), ds.getDatasetId());
+
+    List<Dataset> joined = datasetDAO.findDatasetsByIdList(ids, DatasetFetchStrategy.JOIN);
+    List<Dataset> multi = datasetDAO.findDatasetsByIdList(ids, DatasetFetchStrategy.MULTI_QUERY);
+
+    assertEquals(joined.stream().map(Dataset::getDatasetId).toList(),
+        multi.stream().map(Dataset::getDatasetId).toList());
+    for (int i = 0; i < joined.size(); i++) {
+      Dataset expected = joined.get(i);
+      Dataset actual = multi.get(i);
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getDataUse(), actual.getDataUse());
+      assertEquals(expected.getDeletable(), actual.getDeletable());
+      assertEquals(expected.getCreateUser().getUserId(), actual.getCreateUser().getUserId());
+      assertEquals(expected.getProperties(), actual.getProperties());
+      assertEquals(expected.getNihInstitutionalCertificationFile(),
+          actual.getNihInstitutionalCertificationFile());
+    }
+    // Datasets are ordered by id, not by the order of the requested ids
+    assertEquals(List.of(ds.getDatasetId(), dsWithoutStudy.getDatasetId()),
+        multi.stream().map(Dataset::getDatasetId).toList());
+    Dataset found = multi.get(0);
+    assertEquals(nihFile, found.getNihInstitutionalCertificationFile());
+    assertNotNull(found.getStudy());
+    assertEquals(study.getName(), found.getStudy().getName());
+    assertEquals(study.getProperties().size(), found.getStudy().getProperties().size());
+    assertEquals(Set.of(ds.getDatasetId(), otherDsOnStudy.getDatasetId()),
+        found.getStudy().getDatasetIds());
+    assertEquals(sharingPlan.getFileStorageObjectId(),
+        found.getStudy().getAlternativeDataSharingPlan().getFileStorageObjectId());
+    assertNull(multi.get(1).getStudy());
+  }
+
+  @Test
+  void testFindDatasetsByIdListMultiQueryNotFound() {
+    assertTrue(datasetDAO.findDatasetsByIdList(List.of(-1), DatasetFetchStrategy.MULTI_QUERY)
+        .isEmpty());
+  }
+
   // User -> UserRoles -> DACs -> Consents -> Consent Associations -> DataSets
   @Test
   void testFindDataSetsByAuthUserEmail() {
@@ -595,6 +648,20 @@ class DatasetDAOTest extends DAOTestHelper {
     assertTrue(insertedDatasetIds.containsAll(foundDatasetIds));
   }
 
+  @Test
+  void testFindAllDatasetsMultiQuery() {
+    List<Integer> insertedDatasetIds = IntStream.range(1, 5)
+        .mapToObj(i -> insertDataset().getDatasetId())
+        .toList();
+
+    List<Dataset> datasets = datasetDAO.findAllDatasets(DatasetFetchStrategy.MULTI_QUERY);
+    assertEquals(insertedDatasetIds, datasets.stream().map(Dataset::getDatasetId).toList());
+    datasets.forEach(d -> {
+      assertFalse(d.getProperties().isEmpty());
+      assertNotNull(d.getCreateUser());
+    });
+  }
+
   @Test
   void testFindAllDatasetIds() {
     List<Integer> insertedDatasetIds = IntStream.range(1, 5).mapToObj(i -> {
@@ -962,6 +1029,26 @@ class DatasetDAOTest extends DAOTestHelper {
     assertTrue(summaries.isEmpty());
   }
 
+  @Test
+  void testFindApprovedDatasetSearchTerms() {
+    Dataset approved = createDataset(true);
+    Dataset denied = createDataset(false);
+    createDataset();
+
+    List<DatasetSearchTerms> terms = datasetDAO.findApprovedDatasetSearchTerms();
+    assertEquals(List.of(approved.getDatasetId()),
+        terms.stream().map(DatasetSearchTerms::datasetId).toList());
+    DatasetSearchTerms approvedTerms = terms.get(0);
+    assertEquals(approved.getName(), approvedTerms.name());
+    assertEquals(approved.getDatasetIdentifier(), approvedTerms.identifier());
+    assertEquals(List.of("Test_PropertyValue"), approvedTerms.propertyValues());
+
+    assertEquals(List.of(approved.getDatasetId()),
+        datasetDAO.findApprovedDatasetSearchTermsByIds(
+                List.of(approved.getDatasetId(), denied.getDatasetId())).stream()
+            .map(DatasetSearchTerms::datasetId).toList());
+  }
+
   private DarCollection createDarCollectionWithDatasets(int dacId, User user,
       List<Dataset> datasets) {
     String darCode = "DAR-" + RandomUtils.nextInt(1, 999999);
@@ -0,0 +1,109 @@
+package org.broadinstitute.consent.http.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.broadinstitute.consent.http.models.DataUseBuilder;
+import org.broadinstitute.consent.http.models.DatasetIndexOutboxEntry;
+import org.broadinstitute.consent.http.models.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DatasetIndexOutboxDAOTest extends DAOTestHelper {
+
+  @Test
+  void testEnqueueDatasetIdsCoalescesChanges() {
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1, 2));
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1));
+
+    List<DatasetIndexOutboxEntry> entries = datasetIndexOutboxDAO.findPendingEntries(10);
+    assertEquals(2, entries.size());
+    assertEquals(2, versionOf(entries, 1));
+    assertEquals(1, versionOf(entries, 2));
+    assertEquals(2, datasetIndexOutboxDAO.countPendingEntries());
+  }
+
+  @Test
+  void testDeleteEntriesKeepsReenqueuedEntries() {
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1, 2));
+    List<DatasetIndexOutboxEntry> entries = datasetIndexOutboxDAO.findPendingEntries(10);
+    // Dataset 1 changes again after the entries were read
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1));
+
+    datasetIndexOutboxDAO.deleteEntries(
+        entries.stream().map(DatasetIndexOutboxEntry::datasetId).toList(),
+        entries.stream().map(DatasetIndexOutboxEntry::version).toList());
+
+    List<DatasetIndexOutboxEntry> remaining = datasetIndexOutboxDAO.findPendingEntries(10);
+    assertEquals(1, remaining.size());
+    assertEquals(1, remaining.get(0).datasetId());
+  }
+
+  @Test
+  void testFindPendingEntriesLimit() {
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1, 2, 3));
+    assertEquals(2, datasetIndexOutboxDAO.findPendingEntries(2).size());
+  }
+
+  @Test
+  void testEnqueueDacDatasets() {
+    Integer dacId = dacDAO.createDac(
+        "Test_" + RandomStringUtils.random(20, true, true),
+        "Test_" + RandomStringUtils.random(20, true, true),
+        new Date());
+    User user = createUser();
+    Integer datasetId = insertDataset(user.getUserId(), dacId);
+    insertDataset(user.getUserId(), null);
+
+    datasetIndexOutboxDAO.enqueueDacDatasets(dacId);
+
+    List<DatasetIndexOutboxEntry> entries = datasetIndexOutboxDAO.findPendingEntries(10);
+    assertEquals(1, entries.size());
+    assertEquals(datasetId, entries.get(0).datasetId());
+  }
+
+  @Test
+  void testEnqueueUserDatasets() {
+    User user = createUser();
+    User otherUser = createUser();
+    Integer datasetId = insertDataset(user.getUserId(), null);
+    insertDataset(otherUser.getUserId(), null);
+
+    datasetIndexOutboxDAO.enqueueUserDatasets(user.getUserId());
+
+    List<DatasetIndexOutboxEntry> entries = datasetIndexOutboxDAO.findPendingEntries(10);
+    assertEquals(1, entries.size());
+    assertEquals(datasetId, entries.get(0).datasetId());
+  }
+
+  @Test
+  void testFindOldestEntryAgeSeconds() {
+    assertEquals(0L, datasetIndexOutboxDAO.findOldestEntryAgeSeconds());
+    datasetIndexOutboxDAO.enqueueDatasetIds(List.of(1));
+    assertTrue(datasetIndexOutboxDAO.findOldestEntryAgeSeconds() >= 0);
+  }
+
+  private Integer versionOf(List<DatasetIndexOutboxEntry> entries, Integer datasetId) {
+    return entries.stream()
+        .filter(e -> e.datasetId().equals(datasetId))
+        .findFirst()
+        .map(DatasetIndexOutboxEntry::version)
+        .orElse(null);
+  }
+
+  private Integer insertDataset(Integer userId, Integer dacId) {
+    return datasetDAO.insertDataset(
+        "Name_" + RandomStringUtils.random(20, true, true),
+        new Timestamp(new Date().getTime()),
+        userId,
+        "Object ID_" + RandomStringUtils.random(20, true, true),
+        new DataUseBuilder().setGeneralUse(true).build().toString(),
+        dacId);
+  }
+}
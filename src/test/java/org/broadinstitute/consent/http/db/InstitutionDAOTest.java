@@ -107,6 +107,17 @@ class InstitutionDAOTest extends DAOTestHelper {
     assertNull(institutionDAO.findInstitutionById(id));
   }
 
+  @Test
+  void testFindInstitutionsByIds() {
+    Institution institution = createInstitution();
+    Institution otherInstitution = createInstitution();
+    List<Institution> institutions = institutionDAO.findInstitutionsByIds(
+        List.of(institution.getId(), otherInstitution.getId()));
+    assertEquals(2, institutions.size());
+    assertTrue(institutions.stream().map(Institution::getId).toList()
+        .containsAll(List.of(institution.getId(), otherInstitution.getId())));
+  }
+
   @Test
   void testFindInstitutionById() {
     Institution institution = createInstitution();
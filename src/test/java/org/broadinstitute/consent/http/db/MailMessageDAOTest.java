@@ -2,7 +2,9 @@ package org.broadinstitute.consent.http.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -15,6 +17,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 import org.broadinstitute.consent.http.enumeration.EmailType;
 import org.broadinstitute.consent.http.models.mail.MailMessage;
+import org.broadinstitute.consent.http.models.mail.MailOutboxEntry;
 import org.jdbi.v3.core.statement.UnableToExecuteStatementException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -325,6 +328,65 @@ class MailMessageDAOTest extends DAOTestHelper {
     assertEquals(messageYesterday.getEmailId(), messages4.get(0).getEmailId());
   }
 
+  @Test
+  void testOutboxLifecycle() {
+    Instant now = Instant.now();
+    Integer sentId = insertOutboxMessage(now);
+    Integer retriedId = insertOutboxMessage(now);
+    assertEquals(2, mailMessageDAO.countOutboxMessages());
+
+    List<MailOutboxEntry> claimed = mailMessageDAO.claimOutboxMessages(now,
+        now.plus(10, ChronoUnit.MINUTES), 10, 5);
+    assertEquals(List.of(sentId, retriedId),
+        claimed.stream().map(MailOutboxEntry::emailId).sorted().toList());
+    claimed.forEach(entry -> assertEquals(1, entry.attempts()));
+    // Claimed messages are leased and are not claimed again
+    assertTrue(mailMessageDAO.claimOutboxMessages(now, now.plus(10, ChronoUnit.MINUTES), 10, 5)
+        .isEmpty());
+
+    mailMessageDAO.completeOutboxMessages(List.of(sentId), now, "", 202);
+    mailMessageDAO.rescheduleOutboxMessages(List.of(retriedId), now.plus(1, ChronoUnit.MINUTES),
+        "", 429);
+    assertEquals(1, mailMessageDAO.countOutboxMessages());
+    MailMessage sent = mailMessageDAO.fetchMessageById(sentId);
+    assertNotNull(sent.getDateSent());
+    assertEquals(202, sent.getSendgridStatus());
+
+    List<MailOutboxEntry> retried = mailMessageDAO.claimOutboxMessages(
+        now.plus(2, ChronoUnit.MINUTES), now.plus(10, ChronoUnit.MINUTES), 10, 5);
+    assertEquals(1, retried.size());
+    assertEquals(retriedId, retried.get(0).emailId());
+    assertEquals(2, retried.get(0).attempts());
+  }
+
+  @Test
+  void testOutboxClaimStopsAtMaxAttempts() {
+    Instant now = Instant.now();
+    Integer emailId = insertOutboxMessage(now);
+    assertEquals(1, mailMessageDAO.claimOutboxMessages(now, now, 10, 2).size());
+    assertEquals(1, mailMessageDAO.claimOutboxMessages(now, now, 10, 2).size());
+
+    // The lease expired twice without an outcome, the email is out of attempts
+    assertTrue(mailMessageDAO.claimOutboxMessages(now, now, 10, 2).isEmpty());
+    assertEquals(1, mailMessageDAO.countOutboxMessages());
+    assertEquals(1, mailMessageDAO.expireOutboxMessages(now, 2));
+    assertEquals(0, mailMessageDAO.countOutboxMessages());
+    assertNull(mailMessageDAO.fetchMessageById(emailId).getDateSent());
+  }
+
+  private Integer insertOutboxMessage(Instant instant) {
+    return mailMessageDAO.insertOutboxMessage(
+        RandomStringUtils.randomAlphanumeric(10),
+        null,
+        RandomUtils.nextInt(1, 1000),
+        EmailType.NEW_CASE.getTypeInt(),
+        RandomStringUtils.randomAlphanumeric(10),
+        RandomStringUtils.randomAlphanumeric(10),
+        RandomStringUtils.randomAlphanumeric(10),
+        instant
+    );
+  }
+
   private MailMessage generateMessage(Instant instant) {
     Integer messageId = mailMessageDAO.insert(
         RandomStringUtils.randomAlphanumeric(10),
@@ -176,6 +176,27 @@ class MatchDAOTest extends DAOTestHelper {
         foundMatch.getRationales().size());
   }
 
+  @Test
+  void testInsertMatchesAndRationales() {
+    String consentId = UUID.randomUUID().toString();
+    Match first = makeMockMatch(consentId);
+    first.setAlgorithmVersion(MatchAlgorithm.V4.getVersion());
+    Match second = makeMockMatch(consentId);
+    second.setAlgorithmVersion(MatchAlgorithm.V4.getVersion());
+    List<Integer> matchIds = matchDAO.insertMatches(List.of(first, second), new Date());
+    assertEquals(2, matchIds.size());
+    String rationale = RandomStringUtils.randomAlphabetic(100);
+    matchDAO.insertRationales(List.of(matchIds.get(0), matchIds.get(1), matchIds.get(1)),
+        List.of(rationale, rationale, RandomStringUtils.randomAlphabetic(100)));
+
+    Match foundFirst = matchDAO.findMatchById(matchIds.get(0));
+    Match foundSecond = matchDAO.findMatchById(matchIds.get(1));
+    assertEquals(first.getPurpose(), foundFirst.getPurpose());
+    assertEquals(consentId, foundSecond.getConsent());
+    assertEquals(1, foundFirst.getRationales().size());
+    assertEquals(2, foundSecond.getRationales().size());
+  }
+
   @Test
   void testDeleteFailureReasonsByPurposeIds() {
     Match match = makeMockMatch(UUID.randomUUID().toString());
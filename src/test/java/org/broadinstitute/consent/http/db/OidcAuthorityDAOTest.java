@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import com.codahale.metrics.MetricRegistry;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -50,7 +51,7 @@ class OidcAuthorityDAOTest implements WithMockServer {
     mockServerClient.reset();
     OidcConfiguration config = new OidcConfiguration();
     config.setAuthorityEndpoint(getMockContainerBaseUrl());
-    dao = new OidcAuthorityDAO(new HttpClientUtil(new ServicesConfiguration()), config);
+    dao = new OidcAuthorityDAO(new HttpClientUtil(new ServicesConfiguration(), new MetricRegistry()), config);
   }
 
   @NotNull
@@ -80,6 +80,12 @@ public interface TestingDAO extends Transactional<TestingDAO> {
   @SqlUpdate("DELETE FROM email_entity")
   void deleteAllEmailEntities();
 
+  @SqlUpdate("DELETE FROM dataset_index_outbox")
+  void deleteAllDatasetIndexOutboxEntries();
+
+  @SqlUpdate("DELETE FROM dataset_search_document")
+  void deleteAllDatasetSearchDocuments();
+
   @SqlUpdate("DELETE FROM file_storage_object")
   void deleteAllFileStorageObjects();
 
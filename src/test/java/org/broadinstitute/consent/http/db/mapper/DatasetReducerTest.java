@@ -0,0 +1,115 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.broadinstitute.consent.http.enumeration.FileCategory;
+import org.broadinstitute.consent.http.models.DataUse;
+import org.broadinstitute.consent.http.models.DataUseBuilder;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.FileStorageObject;
+import org.broadinstitute.consent.http.models.Study;
+import org.broadinstitute.consent.http.models.User;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DatasetReducerTest {
+
+  private static final int DATASET_PROPERTIES = 5;
+  private static final int STUDY_PROPERTIES = 4;
+  private static final int FILES = 2;
+
+  private static final String DATA_USE = new DataUseBuilder().setGeneralUse(true).build()
+      .toString();
+
+  /**
+   * Reduces the join fan-out of an increasing number of datasets. Datasets, users, studies and
+   * files are materialized once no matter how many rows repeat them.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 100, 1000})
+  void testAccumulateMaterializesOncePerDataset(int datasetCount) {
+    SyntheticRowView rowView = new SyntheticRowView(true)
+        .withRowMapper(Dataset.class,
+            row -> new Dataset((Integer) row.get("dataset_id"), null, "Dataset", null, 1))
+        .withRowMapper(User.class, row -> {
+          User user = new User();
+          user.setUserId((Integer) row.get("u_user_id"));
+          return user;
+        })
+        .withRowMapper(Study.class, row -> {
+          Study study = new Study();
+          study.setStudyId((Integer) row.get("s_study_id"));
+          return study;
+        })
+        .withRowMapper(FileStorageObject.class, this::file);
+    DatasetReducer reducer = new DatasetReducer();
+    Map<Integer, Dataset> datasets = new LinkedHashMap<>();
+
+    for (int datasetId = 1; datasetId <= datasetCount; datasetId++) {
+      for (int property = 1; property <= DATASET_PROPERTIES; property++) {
+        for (int studyProperty = 1; studyProperty <= STUDY_PROPERTIES; studyProperty++) {
+          for (int file = 1; file <= FILES; file++) {
+            rowView.next(row(datasetId, property, studyProperty, file));
+            reducer.accumulate(datasets, rowView);
+          }
+        }
+      }
+    }
+
+    assertEquals(datasetCount, datasets.size());
+    assertEquals(datasetCount, rowView.mappedRows(Dataset.class));
+    assertEquals(datasetCount, rowView.mappedRows(User.class));
+    assertEquals(datasetCount, rowView.mappedRows(Study.class));
+    // Each file is mapped once for the dataset and once for its study
+    assertEquals(datasetCount * FILES * 2, rowView.mappedRows(FileStorageObject.class));
+    DataUse dataUse = datasets.get(1).getDataUse();
+    assertNotNull(dataUse);
+    datasets.values().forEach(dataset -> {
+      assertSame(dataUse, dataset.getDataUse());
+      assertEquals(DATASET_PROPERTIES, dataset.getProperties().size());
+      assertEquals(STUDY_PROPERTIES, dataset.getStudy().getProperties().size());
+      assertEquals(1, dataset.getStudy().getDatasetIds().size());
+      assertEquals(20000 + dataset.getDatasetId(),
+          dataset.getNihInstitutionalCertificationFile().getFileStorageObjectId());
+      assertEquals(10000 + dataset.getDatasetId(),
+          dataset.getStudy().getAlternativeDataSharingPlan().getFileStorageObjectId());
+    });
+    assertEquals(0, rowView.failedReads());
+  }
+
+  private Map<String, Object> row(int datasetId, int property, int studyProperty, int file) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("dataset_id", datasetId);
+    row.put("dac_id", 1);
+    row.put("data_use", DATA_USE);
+    row.put("in_use", null);
+    row.put("u_user_id", 1);
+    row.put("key", "key" + property);
+    row.put("property_value", "value" + property);
+    row.put("property_id", datasetId * DATASET_PROPERTIES + property);
+    row.put("s_study_id", datasetId);
+    row.put("s_dataset_id", datasetId);
+    row.put("sp_study_property_id", datasetId * STUDY_PROPERTIES + studyProperty);
+    row.put("sp_key", "key" + studyProperty);
+    row.put("sp_value", "value" + studyProperty);
+    row.put("sp_study_id", datasetId);
+    row.put("fso_file_storage_object_id", file * 10000 + datasetId);
+    return row;
+  }
+
+  private FileStorageObject file(Map<String, Object> row) {
+    Integer id = (Integer) row.get("fso_file_storage_object_id");
+    FileStorageObject file = new FileStorageObject();
+    file.setFileStorageObjectId(id);
+    file.setCategory(id < 20000 ? FileCategory.ALTERNATIVE_DATA_SHARING_PLAN
+        : FileCategory.NIH_INSTITUTIONAL_CERTIFICATION);
+    file.setCreateDate(Instant.now());
+    return file;
+  }
+
+}
@@ -0,0 +1,102 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSetMetaData;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.junit.jupiter.api.Test;
+
+class RowMapperHelperTest implements RowMapperHelper {
+
+  private static final int ROWS = 10_000;
+
+  private static final List<String> OPTIONAL_COLUMNS = List.of("dac_id", "data_use",
+      "translated_data_use", "in_use", "dac_approval", "s_study_id", "u_user_id", "property_type",
+      "property_id", "schema_property", "fso_file_storage_object_id");
+
+  @Test
+  void testColumnPlan() throws Exception {
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(3);
+    when(metaData.getColumnLabel(1)).thenReturn("dataset_id");
+    when(metaData.getColumnLabel(2)).thenReturn("Key");
+    when(metaData.getColumnLabel(3)).thenReturn("dataset_id");
+
+    ColumnPlan plan = ColumnPlan.of(metaData);
+
+    assertEquals(1, plan.indexOf("dataset_id"));
+    assertEquals(2, plan.indexOf("key"));
+    assertEquals(2, plan.indexOf("KEY"));
+    assertEquals(0, plan.indexOf("dac_id"));
+    assertFalse(plan.hasColumn("dac_id"));
+  }
+
+  @Test
+  void testColumnChecks() {
+    SyntheticRowView rowView = new SyntheticRowView(true);
+    rowView.next(row(1, "name", null));
+
+    assertTrue(hasColumn(rowView, "key", String.class));
+    assertFalse(hasColumn(rowView, "property_value", String.class));
+    assertFalse(hasColumn(rowView, "data_use", String.class));
+    assertTrue(hasNonZeroColumn(rowView, "dataset_id"));
+    assertFalse(hasNonZeroColumn(rowView, "dac_id"));
+    assertEquals(Optional.of("name"), hasOptionalColumn(rowView, "key", String.class));
+    assertEquals(Optional.empty(), hasOptionalColumn(rowView, "property_value", String.class));
+    assertEquals(0, rowView.failedReads());
+  }
+
+  /**
+   * Reduces a large synthetic result set with and without a column plan. Without a plan, every
+   * check for a missing column fails a read and throws; with a plan, missing columns are never
+   * read.
+   */
+  @Test
+  void testReduceLargeResultSetWithoutFailedReads() {
+    SyntheticRowView planned = new SyntheticRowView(true);
+    SyntheticRowView unplanned = new SyntheticRowView(false);
+
+    Map<Integer, Dataset> plannedDatasets = reduce(planned);
+    Map<Integer, Dataset> unplannedDatasets = reduce(unplanned);
+
+    assertEquals(0, planned.failedReads());
+    assertEquals((long) ROWS * OPTIONAL_COLUMNS.size(), unplanned.failedReads());
+    assertEquals(ROWS / 10, plannedDatasets.size());
+    assertEquals(unplannedDatasets.size(), plannedDatasets.size());
+    plannedDatasets.forEach((id, dataset) -> {
+      assertEquals(10, dataset.getProperties().size());
+      assertEquals(unplannedDatasets.get(id).getProperties(), dataset.getProperties());
+    });
+  }
+
+  private Map<Integer, Dataset> reduce(SyntheticRowView rowView) {
+    DatasetReducer reducer = new DatasetReducer();
+    Map<Integer, Dataset> datasets = new LinkedHashMap<>();
+    for (int x = 0; x < ROWS; x++) {
+      rowView.next(row(x / 10 + 1, "key" + (x % 10), "value" + x));
+      Dataset dataset = datasets.computeIfAbsent(rowView.getColumn("dataset_id", Integer.class),
+          id -> new Dataset(id, null, "Dataset " + id, null, id));
+      reducer.reduceDataset(dataset, rowView);
+      reducer.reduceProperty(dataset, rowView);
+      reducer.reduceFileStorageObject(dataset, rowView);
+    }
+    return datasets;
+  }
+
+  private Map<String, Object> row(Integer datasetId, String key, String value) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("dataset_id", datasetId);
+    row.put("key", key);
+    row.put("property_value", value);
+    return row;
+  }
+
+}
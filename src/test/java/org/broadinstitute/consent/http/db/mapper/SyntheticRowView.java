@@ -0,0 +1,88 @@
+package org.broadinstitute.consent.http.db.mapper;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.jdbi.v3.core.mapper.MappingException;
+import org.jdbi.v3.core.mapper.NoSuchMapperException;
+import org.jdbi.v3.core.qualifier.QualifiedType;
+import org.jdbi.v3.core.result.RowView;
+
+/**
+ * A RowView over in-memory rows that share the same columns, in the order of the first row. Reading
+ * a column that is not in the row fails the same way as a JDBI RowView. Counts failed column reads
+ * and the rows materialized for each registered row type.
+ */
+class SyntheticRowView extends RowView {
+
+  private final boolean columnPlan;
+  private final Map<Type, Function<Map<String, Object>, Object>> rowMappers = new HashMap<>();
+  private final Map<Type, Integer> mappedRows = new HashMap<>();
+  private List<String> columns = new ArrayList<>();
+  private Map<String, Object> row;
+  private ColumnPlan plan;
+  private long failedReads;
+
+  SyntheticRowView(boolean columnPlan) {
+    this.columnPlan = columnPlan;
+  }
+
+  <T> SyntheticRowView withRowMapper(Class<T> type, Function<Map<String, Object>, T> mapper) {
+    rowMappers.put(type, mapper::apply);
+    return this;
+  }
+
+  void next(Map<String, Object> row) {
+    this.row = row;
+    if (Objects.isNull(plan)) {
+      columns = new ArrayList<>(row.keySet());
+      Map<String, Integer> indexes = new LinkedHashMap<>();
+      for (int x = 0; x < columns.size(); x++) {
+        indexes.put(columns.get(x), x + 1);
+      }
+      plan = new ColumnPlan(indexes);
+    }
+  }
+
+  long failedReads() {
+    return failedReads;
+  }
+
+  int mappedRows(Type type) {
+    return mappedRows.getOrDefault(type, 0);
+  }
+
+  @Override
+  public Object getRow(Type type) {
+    if (columnPlan && type == ColumnPlan.class) {
+      return plan;
+    }
+    Function<Map<String, Object>, Object> mapper = rowMappers.get(type);
+    if (Objects.isNull(mapper)) {
+      throw new NoSuchMapperException("No row mapper registered for " + type);
+    }
+    mappedRows.merge(type, 1, Integer::sum);
+    return mapper.apply(row);
+  }
+
+  @Override
+  public <T> T getColumn(int column, QualifiedType<T> type) {
+    return getColumn(columns.get(column - 1), type);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getColumn(String column, QualifiedType<T> type) {
+    if (!row.containsKey(column)) {
+      failedReads++;
+      throw new MappingException("Column '%s' not found".formatted(column));
+    }
+    return (T) row.get(column);
+  }
+
+}
@@ -0,0 +1,83 @@
+package org.broadinstitute.consent.http.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClaimsCacheTest {
+
+  private ClaimsCache claimsCache;
+  private MetricRegistry metricRegistry;
+
+  @BeforeEach
+  void setUp() {
+    ServicesConfiguration configuration = new ServicesConfiguration();
+    configuration.setClaimsCacheMaxSize(2);
+    metricRegistry = new MetricRegistry();
+    claimsCache = new ClaimsCache(configuration, metricRegistry);
+  }
+
+  @Test
+  void testLoadCacheFiltersClaimHeaders() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+    headers.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
+    headers.put("Content-Type", List.of("application/json"));
+    claimsCache.loadCache(token, headers);
+
+    Map<String, String> claims = claimsCache.getIfPresent(token);
+    assertNotNull(claims);
+    assertEquals(1, claims.size());
+    assertEquals("email", claims.get(ClaimsCache.OAUTH2_CLAIM_email));
+  }
+
+  @Test
+  void testLoadCacheDoesNotReplaceExistingClaims() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+    headers.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
+    claimsCache.loadCache(token, headers);
+    MultivaluedMap<String, String> otherHeaders = new MultivaluedHashMap<>();
+    otherHeaders.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("other"));
+    claimsCache.loadCache(token, otherHeaders);
+
+    assertEquals("email", claimsCache.getIfPresent(token).get(ClaimsCache.OAUTH2_CLAIM_email));
+  }
+
+  @Test
+  void testCacheIsBounded() {
+    for (int i = 0; i < 10; i++) {
+      MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+      headers.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email" + i));
+      claimsCache.loadCache(RandomStringUtils.randomAlphabetic(100), headers);
+    }
+    Long size = (Long) metricRegistry.getGauges()
+        .get(MetricRegistry.name(ClaimsCache.class, "size")).getValue();
+    Long evictions = (Long) metricRegistry.getGauges()
+        .get(MetricRegistry.name(ClaimsCache.class, "evictions")).getValue();
+    assertTrue(size <= 2);
+    assertTrue(evictions >= 8);
+  }
+
+  @Test
+  void testInvalidateAll() {
+    String token = RandomStringUtils.randomAlphabetic(100);
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+    headers.put(ClaimsCache.OAUTH2_CLAIM_email, List.of("email"));
+    claimsCache.loadCache(token, headers);
+    claimsCache.invalidateAll();
+    assertNull(claimsCache.getIfPresent(token));
+  }
+
+}
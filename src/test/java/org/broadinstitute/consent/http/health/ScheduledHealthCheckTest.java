@@ -0,0 +1,109 @@
+package org.broadinstitute.consent.http.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheck.Result;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledHealthCheckTest {
+
+  @Mock
+  private HealthCheck delegate;
+
+  private MetricRegistry metricRegistry;
+
+  private ExecutorService runner;
+
+  private ScheduledHealthCheck healthCheck;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    runner = Executors.newSingleThreadExecutor();
+    healthCheck = new ScheduledHealthCheck("sam", delegate, Duration.ofSeconds(30),
+        Duration.ofMillis(200), null, runner, metricRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    runner.shutdownNow();
+  }
+
+  @Test
+  void testCheckBeforeFirstRun() {
+    Result result = healthCheck.execute();
+
+    assertFalse(result.isHealthy());
+    assertEquals(-1L, metricRegistry.getGauges()
+        .get(MetricRegistry.name(ScheduledHealthCheck.class, "sam", "age-seconds")).getValue());
+  }
+
+  @Test
+  void testCheckServesCachedResult() {
+    when(delegate.execute()).thenReturn(Result.builder().healthy().withMessage("ok")
+        .withDetail("version", "1.0").build());
+
+    healthCheck.refresh();
+    Result first = healthCheck.execute();
+    Result second = healthCheck.execute();
+
+    assertTrue(first.isHealthy());
+    assertTrue(second.isHealthy());
+    assertEquals("ok", first.getMessage());
+    assertEquals("1.0", first.getDetails().get("version"));
+    assertNotNull(first.getDetails().get(ScheduledHealthCheck.CHECKED_AT));
+    assertEquals(0L, first.getDetails().get(ScheduledHealthCheck.AGE_SECONDS));
+    // The upstream dependency is only called by the scheduled refresh
+    verify(delegate, times(1)).execute();
+    assertEquals(1, metricRegistry.getTimers()
+        .get(MetricRegistry.name(ScheduledHealthCheck.class, "sam", "latency")).getCount());
+  }
+
+  @Test
+  void testCheckServesUnhealthyResult() {
+    when(delegate.execute()).thenReturn(Result.unhealthy("Sam is down"));
+
+    healthCheck.refresh();
+    Result result = healthCheck.execute();
+
+    assertFalse(result.isHealthy());
+    assertEquals("Sam is down", result.getMessage());
+    assertNotNull(result.getDetails().get(ScheduledHealthCheck.CHECKED_AT));
+  }
+
+  @Test
+  void testRefreshTimesOut() {
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.execute()).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return Result.healthy();
+    });
+
+    healthCheck.refresh();
+    release.countDown();
+    Result result = healthCheck.execute();
+
+    assertFalse(result.isHealthy());
+    assertTrue(result.getMessage().startsWith("Health check timed out"));
+  }
+
+}
@@ -4,10 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -45,9 +48,8 @@ class FreeMarkerTemplateHelperTest {
 
   @Test
   void testGetNewCaseTemplate() throws Exception {
-    Writer template = helper.getNewCaseTemplate("NewCase User", "DARELECTION-1", "DAR-1",
+    String templateString = helper.getNewCaseTemplate("NewCase User", "DARELECTION-1", "DAR-1",
         "localhost:1234");
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals("Broad Data Use Oversight System - New DAR ready for your vote",
         parsedTemplate.title());
@@ -56,8 +58,8 @@ class FreeMarkerTemplateHelperTest {
 
   @Test
   void testGetReminderTemplate() throws Exception {
-    Writer template = helper.getReminderTemplate("Reminder User", "DAR-1", "localhost:1234");
-    String templateString = template.toString();
+    String templateString = helper.getReminderTemplate("Reminder User", "DAR-1",
+        "localhost:1234");
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals("Broad Data Use Oversight System - Your vote was requested for a Data Access Request",
         parsedTemplate.title());
@@ -80,14 +82,13 @@ class FreeMarkerTemplateHelperTest {
     Map<String, List<String>> dacDatasetGroups = new HashMap<>();
     dacDatasetGroups.put(dac.getName(), List.of(d1.getDatasetIdentifier()));
 
-    Writer template = helper.getNewDARRequestTemplate(
+    String templateString = helper.getNewDARRequestTemplate(
         "localhost:1234",
         "Admin",
         dacDatasetGroups,
         "ResearcherName",
         "DAR-01"
     );
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals("Broad Data Use Oversight System - New DAR submitted to your DAC",
         parsedTemplate.title());
@@ -99,9 +100,8 @@ class FreeMarkerTemplateHelperTest {
 
   @Test
   void testGetNewResearcherLibraryRequestTemplate() throws Exception {
-    Writer template = helper.getNewResearcherLibraryRequestTemplate("John Doe",
+    String templateString = helper.getNewResearcherLibraryRequestTemplate("John Doe",
         "http://localhost:8000/#/");
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
 
     assertEquals(
@@ -124,9 +124,8 @@ class FreeMarkerTemplateHelperTest {
   @Test
   void testGetDataCustodianApprovalTemplate() throws Exception {
     List<DatasetMailDTO> datasetMailDTOs = List.of();
-    Writer template = helper.getDataCustodianApprovalTemplate(datasetMailDTOs, "Depositor",
+    String templateString = helper.getDataCustodianApprovalTemplate(datasetMailDTOs, "Depositor",
         "Dar Code", "researcher@email.com");
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals(
         "Broad Data Use Oversight System - Researcher - A researcher was approved for your dataset",
@@ -141,10 +140,9 @@ class FreeMarkerTemplateHelperTest {
 
   @Test
   void testGetDatasetSubmittedTemplate() throws Exception {
-    Writer template = helper.getDatasetSubmittedTemplate("dacChairName", "dataSubmitterName",
+    String templateString = helper.getDatasetSubmittedTemplate("dacChairName", "dataSubmitterName",
         "testDataset",
         "dacName");
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals(
         "Broad Data Use Oversight System - Signing Official - Dataset Submitted Notification",
@@ -164,10 +162,9 @@ class FreeMarkerTemplateHelperTest {
     String userName = RandomStringUtils.randomAlphabetic(10);
     String daaName = RandomStringUtils.randomAlphabetic(10);
     String serverUrl = RandomStringUtils.randomAlphabetic(10);
-    Writer template = helper.getDaaRequestTemplate(signingOfficialUserName, userName,
+    String templateString = helper.getDaaRequestTemplate(signingOfficialUserName, userName,
         daaName,
         serverUrl);
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals(
         "Broad Data Use Oversight System - New Data Access Agreement-Library Card Relationship Request for your Institution",
@@ -198,9 +195,8 @@ class FreeMarkerTemplateHelperTest {
     String newDaaName = RandomStringUtils.randomAlphabetic(10);
     String previousDaaName = RandomStringUtils.randomAlphabetic(10);
     String serverUrl = RandomStringUtils.randomAlphabetic(10);
-    Writer template = helper.getNewDaaUploadSOTemplate(signingOfficialUserName, dacName,
+    String templateString = helper.getNewDaaUploadSOTemplate(signingOfficialUserName, dacName,
         newDaaName, previousDaaName, serverUrl);
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals(
         "Broad Data Use Oversight System - New Data Access Agreement Upload",
@@ -231,9 +227,8 @@ class FreeMarkerTemplateHelperTest {
     String newDaaName = RandomStringUtils.randomAlphabetic(10);
     String previousDaaName = RandomStringUtils.randomAlphabetic(10);
     String serverUrl = RandomStringUtils.randomAlphabetic(10);
-    Writer template = helper.getNewDaaUploadResearcherTemplate(researcherUserName, dacName,
+    String templateString = helper.getNewDaaUploadResearcherTemplate(researcherUserName, dacName,
         newDaaName, previousDaaName, serverUrl);
-    String templateString = template.toString();
     final Document parsedTemplate = getAsHtmlDoc(templateString);
     assertEquals(
         "Broad Data Use Oversight System - New Data Access Agreement Upload",
@@ -257,6 +252,20 @@ class FreeMarkerTemplateHelperTest {
     assertFalse(templateString.contains("${"));
   }
 
+  @Test
+  void testBulkRenderReusesCompiledTemplate() throws Exception {
+    // Reminders sent to every member of a large DAC render the same template many times
+    helper.freeMarkerConfig = spy(helper.freeMarkerConfig);
+    List<String> rendered = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      rendered.add(helper.getReminderTemplate("DAC Member " + i, "DAR-1", "localhost:1234"));
+    }
+    verify(helper.freeMarkerConfig, times(1)).getTemplate("reminder.html");
+    assertEquals(500, rendered.stream().distinct().count());
+    assertEquals("Hello DAC Member 499,",
+        getAsHtmlDoc(rendered.get(499)).getElementById("userName").text());
+  }
+
   /* Helper methods */
 
   private Document getAsHtmlDoc(String parsedHtml) {
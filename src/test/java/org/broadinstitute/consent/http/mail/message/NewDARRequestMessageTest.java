@@ -3,17 +3,14 @@ package org.broadinstitute.consent.http.mail.message;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.sendgrid.helpers.mail.Mail;
-import java.io.Writer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class NewDARRequestMessageTest {
 
-  @Mock
-  Writer template;
+  String template = "<html></html>";
 
   @Test
   void testMessageSubject() {
@@ -0,0 +1,50 @@
+package org.broadinstitute.consent.http.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ByteRangeTest {
+
+  @Test
+  void testParseBoundedRange() {
+    Optional<ByteRange> range = ByteRange.parse("bytes=0-99", 1000);
+    assertTrue(range.isPresent());
+    assertEquals(new ByteRange(0, 100), range.get());
+    assertEquals("bytes 0-99/1000", range.get().contentRange(1000));
+  }
+
+  @Test
+  void testParseOpenEndedRange() {
+    assertEquals(Optional.of(new ByteRange(900, 100)), ByteRange.parse("bytes=900-", 1000));
+    // The last byte is clamped to the document size
+    assertEquals(Optional.of(new ByteRange(900, 100)), ByteRange.parse("bytes=900-5000", 1000));
+  }
+
+  @Test
+  void testParseSuffixRange() {
+    assertEquals(Optional.of(new ByteRange(750, 250)), ByteRange.parse("bytes=-250", 1000));
+    assertEquals(Optional.of(new ByteRange(0, 1000)), ByteRange.parse("bytes=-5000", 1000));
+  }
+
+  @Test
+  void testParseUnsatisfiableRange() {
+    Optional<ByteRange> range = ByteRange.parse("bytes=1000-", 1000);
+    assertTrue(range.isPresent());
+    assertFalse(range.get().isSatisfiable());
+    assertEquals("bytes */1000", range.get().contentRange(1000));
+  }
+
+  @Test
+  void testParseIgnoredRanges() {
+    assertTrue(ByteRange.parse(null, 1000).isEmpty());
+    assertTrue(ByteRange.parse("bytes=-", 1000).isEmpty());
+    assertTrue(ByteRange.parse("bytes=5-1", 1000).isEmpty());
+    assertTrue(ByteRange.parse("bytes=0-1,5-6", 1000).isEmpty());
+    assertTrue(ByteRange.parse("items=0-1", 1000).isEmpty());
+  }
+
+}
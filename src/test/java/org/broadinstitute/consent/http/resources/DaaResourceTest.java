@@ -7,6 +7,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.cloud.storage.Blob;
 import com.google.gson.JsonArray;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.NotFoundException;
@@ -14,7 +15,6 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collections;
@@ -23,6 +23,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.http.HttpStatus;
+import org.broadinstitute.consent.http.cloudstore.InMemoryReadChannel;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.models.Dac;
@@ -225,11 +226,12 @@ class DaaResourceTest {
     expectedDaa.setFile(fso);
     String fileContent = RandomStringUtils.randomAlphanumeric(10);
 
-    when(daaService.findFileById(expectedDaaId)).thenReturn(new ByteArrayInputStream(fileContent.getBytes()));
+    Blob blob = documentBlob(fileContent);
+    when(daaService.findFileById(expectedDaaId)).thenReturn(blob);
     when(daaService.findById(expectedDaaId)).thenReturn(expectedDaa);
     resource = new DaaResource(daaService, dacService, userService, libraryCardService);
 
-    Response response = resource.findFileById(expectedDaaId);
+    Response response = resource.findFileById(expectedDaaId, null);
     assert response.getStatus() == HttpStatus.SC_OK;
 
     ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -237,13 +239,52 @@ class DaaResourceTest {
     assertEquals(fileContent, out.toString());
   }
 
+  @Test
+  void testFindDaaFileByDaaIdRange() throws IOException {
+    int expectedDaaId = RandomUtils.nextInt(10, 100);
+    DataAccessAgreement expectedDaa = new DataAccessAgreement();
+    FileStorageObject fso = new FileStorageObject();
+    fso.setFileName(RandomStringUtils.randomAlphanumeric(10) + ".txt");
+    expectedDaa.setFile(fso);
+    Blob blob = documentBlob("0123456789");
+    when(daaService.findFileById(expectedDaaId)).thenReturn(blob);
+    when(daaService.findById(expectedDaaId)).thenReturn(expectedDaa);
+    resource = new DaaResource(daaService, dacService, userService, libraryCardService);
+
+    Response response = resource.findFileById(expectedDaaId, "bytes=2-5");
+    assertEquals(HttpStatus.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 2-5/10", response.getHeaderString("Content-Range"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+    assertEquals("2345", out.toString());
+  }
+
+  @Test
+  void testFindDaaFileByDaaIdRangeNotSatisfiable() {
+    int expectedDaaId = RandomUtils.nextInt(10, 100);
+    DataAccessAgreement expectedDaa = new DataAccessAgreement();
+    FileStorageObject fso = new FileStorageObject();
+    fso.setFileName(RandomStringUtils.randomAlphanumeric(10) + ".txt");
+    expectedDaa.setFile(fso);
+    Blob blob = mock(Blob.class);
+    when(blob.getSize()).thenReturn(10L);
+    when(daaService.findFileById(expectedDaaId)).thenReturn(blob);
+    when(daaService.findById(expectedDaaId)).thenReturn(expectedDaa);
+    resource = new DaaResource(daaService, dacService, userService, libraryCardService);
+
+    Response response = resource.findFileById(expectedDaaId, "bytes=20-");
+    assertEquals(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+    assertEquals("bytes */10", response.getHeaderString("Content-Range"));
+  }
+
   @Test
   void testFindDaaFileByDaaIdInvalid() {
     int invalidId = RandomUtils.nextInt(10, 100);
     when(daaService.findFileById(invalidId)).thenThrow(new NotFoundException());
     resource = new DaaResource(daaService, dacService, userService, libraryCardService);
 
-    Response response = resource.findFileById(invalidId);
+    Response response = resource.findFileById(invalidId, null);
     assert response.getStatus() == HttpStatus.SC_NOT_FOUND;
   }
 
@@ -253,7 +294,7 @@ class DaaResourceTest {
     when(daaService.findFileById(expectedDaaId)).thenThrow(new RuntimeException());
     resource = new DaaResource(daaService, dacService, userService, libraryCardService);
 
-    Response response = resource.findFileById(expectedDaaId);
+    Response response = resource.findFileById(expectedDaaId, null);
     assert response.getStatus() == HttpStatus.SC_INTERNAL_SERVER_ERROR;
   }
 
@@ -1394,4 +1435,11 @@ class DaaResourceTest {
     Response response = resource.adminDeleteDaa(authUser, daaId);
     assert response.getStatus() == HttpStatus.SC_FORBIDDEN;
   }
+
+  private Blob documentBlob(String content) {
+    Blob blob = mock(Blob.class);
+    when(blob.getSize()).thenReturn((long) content.length());
+    when(blob.reader()).thenReturn(new InMemoryReadChannel(content.getBytes()));
+    return blob;
+  }
 }
@@ -24,6 +24,7 @@ import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.AuthUser;
 import org.broadinstitute.consent.http.models.DarCollection;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryPage;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.Dataset;
@@ -578,6 +579,43 @@ class DarCollectionResourceTest {
     assertEquals(HttpStatusCodes.STATUS_CODE_OK, response.getStatus());
   }
 
+  @Test
+  void getCollectionSummaryPageForUserByRole_Admin() {
+    User user = new User();
+    user.setAdminRole();
+    DarCollectionSummaryPage page = new DarCollectionSummaryPage(
+        List.of(new DarCollectionSummary()), 1, null);
+    when(userService.findUserByEmail(anyString())).thenReturn(user);
+    when(darCollectionService.getSummaryPageForRoleName(any(User.class), anyString(), any(),
+        anyInt(), any(), any(), any())).thenReturn(page);
+    initResource();
+
+    Response response = resource.getCollectionSummaryPageForUserByRole(authUser,
+        UserRoles.ADMIN.getRoleName(), null, 20, null, null, null);
+    assertEquals(HttpStatusCodes.STATUS_CODE_OK, response.getStatus());
+    assertEquals(page, response.getEntity());
+  }
+
+  @Test
+  void getCollectionSummaryPageForUserByRole_InvalidLimit() {
+    initResource();
+
+    Response response = resource.getCollectionSummaryPageForUserByRole(authUser,
+        UserRoles.ADMIN.getRoleName(), null, 0, null, null, null);
+    assertEquals(HttpStatusCodes.STATUS_CODE_BAD_REQUEST, response.getStatus());
+  }
+
+  @Test
+  void getCollectionSummaryPageForUserByRole_NoRoleFound() {
+    User user = new User();
+    when(userService.findUserByEmail(anyString())).thenReturn(user);
+    initResource();
+
+    Response response = resource.getCollectionSummaryPageForUserByRole(authUser,
+        UserRoles.ADMIN.getRoleName(), null, 20, null, null, null);
+    assertEquals(HttpStatusCodes.STATUS_CODE_BAD_REQUEST, response.getStatus());
+  }
+
   @Test
   void getCollectionSummariesForUserByRole_NoRoleFound() {
     User user = new User();
@@ -12,6 +12,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.http.HttpStatusCodes;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
@@ -279,13 +281,15 @@ class DataAccessRequestResourceTest {
     dar.getData().setIrbDocumentLocation(RandomStringUtils.randomAlphabetic(10));
     dar.getData().setIrbDocumentName(RandomStringUtils.randomAlphabetic(10) + ".txt");
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(dar);
+    Blob blob = documentBlob(10);
+    when(gcsService.getDocumentBlob(any())).thenReturn(blob);
     initResource();
 
-    assertEquals(200, resource.getIrbDocument(chairpersonUser, "").getStatus());
-    assertEquals(200, resource.getIrbDocument(adminUser, "").getStatus());
-    assertEquals(200, resource.getIrbDocument(memberUser, "").getStatus());
-    assertEquals(200, resource.getIrbDocument(authUser, "").getStatus());
-    assertEquals(403, resource.getIrbDocument(anotherUser, "").getStatus());
+    assertEquals(200, resource.getIrbDocument(chairpersonUser, "", null).getStatus());
+    assertEquals(200, resource.getIrbDocument(adminUser, "", null).getStatus());
+    assertEquals(200, resource.getIrbDocument(memberUser, "", null).getStatus());
+    assertEquals(200, resource.getIrbDocument(authUser, "", null).getStatus());
+    assertEquals(403, resource.getIrbDocument(anotherUser, "", null).getStatus());
   }
 
   @Test
@@ -294,7 +298,7 @@ class DataAccessRequestResourceTest {
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(generateDataAccessRequest());
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -303,7 +307,7 @@ class DataAccessRequestResourceTest {
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(null);
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -313,7 +317,7 @@ class DataAccessRequestResourceTest {
     DataAccessRequestData data = Mockito.mock(DataAccessRequestData.class);
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -321,7 +325,7 @@ class DataAccessRequestResourceTest {
   void testGetIrbDocumentEmptyValues() {
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -592,15 +596,17 @@ class DataAccessRequestResourceTest {
     dar.getData().setCollaborationLetterLocation(RandomStringUtils.randomAlphabetic(10));
     dar.getData().setCollaborationLetterName(RandomStringUtils.randomAlphabetic(10) + ".txt");
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(dar);
+    Blob blob = documentBlob(10);
+    when(gcsService.getDocumentBlob(any())).thenReturn(blob);
     initResource();
 
     assertEquals(200,
-        resource.getCollaborationDocument(chairpersonUser, "").getStatus());
-    assertEquals(200, resource.getCollaborationDocument(adminUser, "").getStatus());
-    assertEquals(200, resource.getCollaborationDocument(memberUser, "").getStatus());
-    assertEquals(200, resource.getCollaborationDocument(authUser, "").getStatus());
+        resource.getCollaborationDocument(chairpersonUser, "", null).getStatus());
+    assertEquals(200, resource.getCollaborationDocument(adminUser, "", null).getStatus());
+    assertEquals(200, resource.getCollaborationDocument(memberUser, "", null).getStatus());
+    assertEquals(200, resource.getCollaborationDocument(authUser, "", null).getStatus());
     assertEquals(403,
-        resource.getCollaborationDocument(anotherUser, "").getStatus());
+        resource.getCollaborationDocument(anotherUser, "", null).getStatus());
   }
 
   @Test
@@ -609,7 +615,7 @@ class DataAccessRequestResourceTest {
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(generateDataAccessRequest());
     initResource();
 
-    Response response = resource.getCollaborationDocument(authUser, "");
+    Response response = resource.getCollaborationDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -618,7 +624,7 @@ class DataAccessRequestResourceTest {
     when(dataAccessRequestService.findByReferenceId(any())).thenReturn(null);
     initResource();
 
-    Response response = resource.getCollaborationDocument(authUser, "");
+    Response response = resource.getCollaborationDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -628,7 +634,7 @@ class DataAccessRequestResourceTest {
     DataAccessRequestData data = Mockito.mock(DataAccessRequestData.class);
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -638,7 +644,7 @@ class DataAccessRequestResourceTest {
     DataAccessRequestData data = Mockito.mock(DataAccessRequestData.class);
     initResource();
 
-    Response response = resource.getIrbDocument(authUser, "");
+    Response response = resource.getIrbDocument(authUser, "", null);
     assertEquals(404, response.getStatus());
   }
 
@@ -936,4 +942,10 @@ class DataAccessRequestResourceTest {
     }
   }
 
+  private Blob documentBlob(long size) {
+    Blob blob = mock(Blob.class);
+    when(blob.getSize()).thenReturn(size);
+    when(blob.reader()).thenReturn(mock(ReadChannel.class));
+    return blob;
+  }
 }
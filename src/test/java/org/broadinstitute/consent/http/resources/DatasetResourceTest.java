@@ -366,7 +366,7 @@ class DatasetResourceTest {
     when(elasticSearchService.indexDatasetIds(List.of(dataset.getDatasetId()))).thenReturn(output);
 
     initResource();
-    try (Response response = resource.indexDatasets()) {
+    try (Response response = resource.indexDatasets(null)) {
       var entity = (StreamingOutput) response.getEntity();
       var baos = new ByteArrayOutputStream();
       entity.write(baos);
@@ -388,6 +388,19 @@ class DatasetResourceTest {
     }
   }
 
+  @Test
+  void testIndexAllDatasetsAfter() {
+    StreamingOutput output = out -> out.write("[]".getBytes());
+    when(datasetService.findAllDatasetIds()).thenReturn(List.of(1, 2, 3, 4));
+    when(elasticSearchService.indexDatasetIds(List.of(3, 4))).thenReturn(output);
+
+    initResource();
+    try (Response response = resource.indexDatasets(2)) {
+      assertEquals(HttpStatusCodes.STATUS_CODE_OK, response.getStatus());
+    }
+    verify(elasticSearchService).indexDatasetIds(List.of(3, 4));
+  }
+
   @Test
   void testIndexDataset() throws IOException {
     Dataset dataset = new Dataset();
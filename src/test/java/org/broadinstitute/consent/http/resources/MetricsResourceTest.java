@@ -4,13 +4,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
-import java.util.Collections;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
 import org.broadinstitute.consent.http.models.DatasetMetrics;
+import org.broadinstitute.consent.http.models.DecisionMetrics;
 import org.broadinstitute.consent.http.models.Type;
+import org.broadinstitute.consent.http.service.DecisionMetricsSnapshot;
 import org.broadinstitute.consent.http.service.MetricsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,34 +37,54 @@ class MetricsResourceTest {
   @Mock
   private MetricsService service;
 
+  @Mock
+  private DecisionMetricsSnapshot snapshot;
+
   private MetricsResource resource;
 
+  private final Instant asOf = Instant.parse("2026-10-18T12:00:00Z");
+
   private void initResource() {
-    resource = new MetricsResource(service);
+    resource = new MetricsResource(service, snapshot);
+  }
+
+  private String readEntity(Response response) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(output);
+    return output.toString(StandardCharsets.UTF_8);
   }
 
   @Test
-  void testGetDarMetricsData() {
-    when(service.generateDecisionMetrics(Type.DAR)).thenReturn(Collections.emptyList());
+  void testGetDarMetricsData() throws IOException {
+    DecisionMetrics metric = joiner -> "DAR-1" + joiner + "DAC-1\n";
+    DecisionMetricsSnapshot.View view = new DecisionMetricsSnapshot.View(List.of(), asOf);
+    when(snapshot.getView()).thenReturn(view);
+    doAnswer(invocation -> {
+      Consumer<DecisionMetrics> consumer = invocation.getArgument(2);
+      consumer.accept(metric);
+      return null;
+    }).when(service).forEachDecisionMetric(eq(Type.DAR), eq(view.darMetrics()), any());
     when(service.getHeaderRow(Type.DAR)).thenReturn(darHeader);
     initResource();
     Response response = resource.getDarMetricsData();
     assertEquals(200, response.getStatus());
-    assertFalse(response.getEntity().toString().isEmpty());
-    assertTrue(
-        response.getEntity().toString().contains(service.getHeaderRow(Type.DAR)));
+    assertEquals(asOf.toString(), response.getHeaderString(MetricsResource.AS_OF_HEADER));
+    String tsv = readEntity(response);
+    assertTrue(tsv.startsWith(service.getHeaderRow(Type.DAR)));
+    assertTrue(tsv.contains("DAR-1\tDAC-1"));
   }
 
   @Test
-  void testGetDacMetricsData() {
-    when(service.generateDecisionMetrics(Type.DAC)).thenReturn(Collections.emptyList());
+  void testGetDacMetricsData() throws IOException {
+    when(snapshot.getView()).thenReturn(new DecisionMetricsSnapshot.View(List.of(), asOf));
     when(service.getHeaderRow(Type.DAC)).thenReturn(dacHeader);
     initResource();
     Response response = resource.getDacMetricsData();
     assertEquals(200, response.getStatus());
-    assertFalse(response.getEntity().toString().isEmpty());
+    String tsv = readEntity(response);
+    assertFalse(tsv.isEmpty());
     String headerRow = service.getHeaderRow(Type.DAC);
-    assertTrue(response.getEntity().toString().contains(headerRow));
+    assertTrue(tsv.contains(headerRow));
   }
 
   @Test
@@ -1,6 +1,8 @@
 package org.broadinstitute.consent.http.resources;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
@@ -9,6 +11,8 @@ import static org.mockito.Mockito.when;
 import com.google.api.client.http.HttpStatusCodes;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import java.util.Arrays;
@@ -48,6 +52,9 @@ class TDRResourceTest {
   @Mock
   private DataAccessRequestService darService;
 
+  @Mock
+  private Request request;
+
   private final AuthUser authUser = new AuthUser("test@test.com");
   private final User user = new User(1, authUser.getEmail(), "Display Name", new Date());
 
@@ -76,9 +83,29 @@ class TDRResourceTest {
 
     initResource();
 
-    Response r = resource.getApprovedUsers(new AuthUser(), ds);
+    Response r = resource.getApprovedUsers(new AuthUser(), request, ds);
     assertEquals(200, r.getStatus());
-    assertEquals(approvedUsers, r.getEntity());
+    assertEquals(GsonUtil.buildGson().toJson(approvedUsers), r.getEntity());
+    assertNotNull(r.getEntityTag());
+  }
+
+  @Test
+  void testGetApprovedUsersForDatasetNotModified() {
+    String ds = "DUOS-00003";
+    ApprovedUsers approvedUsers = new ApprovedUsers(List.of(new ApprovedUser("asdf1@gmail.com")));
+    when(tdrService.getApprovedUsersForDataset(any(), any())).thenReturn(approvedUsers);
+    when(datasetService.findDatasetByIdentifier(ds)).thenReturn(new Dataset());
+    initResource();
+
+    Response r = resource.getApprovedUsers(new AuthUser(), request, ds);
+    EntityTag entityTag = r.getEntityTag();
+    when(request.evaluatePreconditions(entityTag))
+        .thenReturn(Response.notModified(entityTag));
+    Response notModified = resource.getApprovedUsers(new AuthUser(), request, ds);
+
+    assertEquals(Status.NOT_MODIFIED.getStatusCode(), notModified.getStatus());
+    assertEquals(entityTag, notModified.getEntityTag());
+    assertNull(notModified.getEntity());
   }
 
   @Test
@@ -87,7 +114,7 @@ class TDRResourceTest {
 
     initResource();
 
-    Response r = resource.getApprovedUsers(new AuthUser(), "DUOS-00003");
+    Response r = resource.getApprovedUsers(new AuthUser(), request, "DUOS-00003");
 
     assertEquals(404, r.getStatus());
   }
@@ -102,7 +129,7 @@ class TDRResourceTest {
 
     initResource();
 
-    Response r = resource.getDatasetByIdentifier(new AuthUser(), "DUOS-00003");
+    Response r = resource.getDatasetByIdentifier(new AuthUser(), request, "DUOS-00003");
 
     assertEquals(200, r.getStatus());
     assertEquals(GsonUtil.buildGson().toJson(d), r.getEntity());
@@ -115,7 +142,7 @@ class TDRResourceTest {
 
     initResource();
 
-    Response r = resource.getDatasetByIdentifier(new AuthUser(), "DUOS-00003");
+    Response r = resource.getDatasetByIdentifier(new AuthUser(), request, "DUOS-00003");
 
     assertEquals(404, r.getStatus());
   }
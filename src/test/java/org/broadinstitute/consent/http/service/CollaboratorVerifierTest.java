@@ -0,0 +1,134 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServerErrorException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.SamDAO;
+import org.broadinstitute.consent.http.models.AuthUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CollaboratorVerifierTest {
+
+  @Mock
+  private SamDAO samDAO;
+
+  private final AuthUser authUser = new AuthUser("test@test.com");
+
+  private final MetricRegistry metricRegistry = new MetricRegistry();
+
+  private final ServicesConfiguration config = new ServicesConfiguration();
+
+  private CollaboratorVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    verifier = new CollaboratorVerifier(samDAO, config, MoreExecutors.newDirectExecutorService(),
+        metricRegistry);
+  }
+
+  @Test
+  void testVerifyCollaboratorsDeduplicatesEmails() throws Exception {
+    List<String> verified = verifier.verifyCollaborators(authUser,
+        List.of("lab@test.com", "LAB@test.com", "other@test.com", "lab@test.com"));
+
+    assertEquals(List.of("lab@test.com", "other@test.com"), verified);
+    verify(samDAO).getV1UserByEmail(authUser, "lab@test.com");
+    verify(samDAO).getV1UserByEmail(authUser, "other@test.com");
+  }
+
+  @Test
+  void testVerifyCollaboratorsCachesResults() throws Exception {
+    when(samDAO.getV1UserByEmail(authUser, "lab@test.com")).thenReturn(null);
+    doThrow(new NotFoundException()).when(samDAO).getV1UserByEmail(authUser, "unknown@test.com");
+
+    List<String> emails = List.of("lab@test.com", "unknown@test.com");
+    assertEquals(List.of("lab@test.com"), verifier.verifyCollaborators(authUser, emails));
+    assertEquals(List.of("lab@test.com"), verifier.verifyCollaborators(authUser, emails));
+
+    verify(samDAO, times(1)).getV1UserByEmail(authUser, "lab@test.com");
+    verify(samDAO, times(1)).getV1UserByEmail(authUser, "unknown@test.com");
+    assertEquals(2, lookups());
+  }
+
+  @Test
+  void testVerifyCollaboratorsDoesNotCacheUnauthorizedLookups() throws Exception {
+    when(samDAO.getV1UserByEmail(any(), any()))
+        .thenThrow(new NotAuthorizedException("Unauthorized"))
+        .thenReturn(null);
+
+    assertEquals(List.of(), verifier.verifyCollaborators(authUser, List.of("lab@test.com")));
+    assertEquals(List.of("lab@test.com"),
+        verifier.verifyCollaborators(authUser, List.of("lab@test.com")));
+    assertEquals(2, lookups());
+  }
+
+  @Test
+  void testVerifyCollaboratorsDoesNotCacheFailedLookups() throws Exception {
+    when(samDAO.getV1UserByEmail(any(), any()))
+        .thenThrow(new ServerErrorException("Unavailable", 503))
+        .thenReturn(null);
+
+    assertEquals(List.of(), verifier.verifyCollaborators(authUser, List.of("lab@test.com")));
+    assertEquals(List.of("lab@test.com"),
+        verifier.verifyCollaborators(authUser, List.of("lab@test.com")));
+    assertEquals(2, lookups());
+  }
+
+  @Test
+  void testVerifyCollaboratorsReturnsByDeadline() throws Exception {
+    config.setCollaboratorVerificationDeadlineSeconds(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    verifier = new CollaboratorVerifier(samDAO, config, executor, metricRegistry);
+    CountDownLatch release = new CountDownLatch(1);
+    when(samDAO.getV1UserByEmail(authUser, "lab@test.com")).thenReturn(null);
+    when(samDAO.getV1UserByEmail(authUser, "slow@test.com")).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    });
+    try {
+      List<String> verified = verifier.verifyCollaborators(authUser,
+          List.of("lab@test.com", "slow@test.com"));
+
+      assertEquals(List.of("lab@test.com"), verified);
+      assertEquals(1, metricRegistry.meter(
+          MetricRegistry.name(CollaboratorVerifier.class, "timeouts")).getCount());
+
+      // The slow check finishes in the background and is cached for the next request
+      release.countDown();
+      executor.shutdown();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+      assertEquals(List.of("lab@test.com", "slow@test.com"), verifier.verifyCollaborators(
+          authUser, List.of("lab@test.com", "slow@test.com")));
+      assertEquals(2, lookups());
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private long lookups() {
+    return metricRegistry.meter(MetricRegistry.name(CollaboratorVerifier.class, "lookups"))
+        .getCount();
+  }
+
+}
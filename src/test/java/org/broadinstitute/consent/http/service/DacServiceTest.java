@@ -29,9 +29,11 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.commons.lang3.RandomUtils;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.db.DacDAO;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.ElectionDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.enumeration.ElectionType;
@@ -83,9 +85,15 @@ class DacServiceTest {
   @Mock
   private DacServiceDAO dacServiceDAO;
 
+  @Mock
+  private UserRoleCache userRoleCache;
+
+  @Mock
+  private DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+
   private void initService() {
     service = new DacService(dacDAO, userDAO, dataSetDAO, electionDAO, dataAccessRequestDAO,
-        voteService, daaService, dacServiceDAO);
+        voteService, daaService, dacServiceDAO, userRoleCache, datasetIndexOutboxDAO);
   }
 
   @Test
@@ -204,6 +212,7 @@ class DacServiceTest {
     } catch (Exception e) {
       fail("Update should not fail");
     }
+    verify(datasetIndexOutboxDAO).enqueueDacDatasets(1);
   }
 
   @Test
@@ -216,6 +225,7 @@ class DacServiceTest {
     } catch (Exception e) {
       fail("Update should not fail");
     }
+    verify(datasetIndexOutboxDAO).enqueueDacDatasets(1);
   }
 
   @Test
@@ -311,6 +321,7 @@ class DacServiceTest {
     assertFalse(user1.getRoles().isEmpty());
     verify(voteService, times(elections.size())).createVotesForUser(any(), any(), any(),
         anyBoolean());
+    verify(userRoleCache).invalidate(user.getEmail());
   }
 
   @Test
@@ -2,6 +2,7 @@ package org.broadinstitute.consent.http.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,6 +18,7 @@ import jakarta.ws.rs.NotAcceptableException;
 import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.NotFoundException;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -47,6 +49,8 @@ import org.broadinstitute.consent.http.enumeration.VoteType;
 import org.broadinstitute.consent.http.models.Dac;
 import org.broadinstitute.consent.http.models.DarCollection;
 import org.broadinstitute.consent.http.models.DarCollectionSummary;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryKey;
+import org.broadinstitute.consent.http.models.DarCollectionSummaryPage;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.Dataset;
@@ -723,6 +727,95 @@ class DarCollectionServiceTest {
     assertTrue(summaries.isEmpty());
   }
 
+  @Test
+  void testGetSummaryPageForRoleNameAdmin() {
+    User user = new User();
+    user.setUserId(1);
+    DarCollectionSummary summaryOne = new DarCollectionSummary();
+    summaryOne.setDarCollectionId(1);
+    summaryOne.addDatasetId(1);
+    DarCollectionSummary summaryTwo = new DarCollectionSummary();
+    summaryTwo.setDarCollectionId(2);
+    summaryTwo.addDatasetId(1);
+    Election election = new Election();
+    election.setElectionId(1);
+    election.setStatus(ElectionStatus.CLOSED.getValue());
+    summaryTwo.addElection(election);
+    Instant submissionDate = Instant.parse("2024-01-02T03:04:05.123456Z");
+    List<DarCollectionSummaryKey> keys = List.of(
+        new DarCollectionSummaryKey(2, submissionDate.plusSeconds(60)),
+        new DarCollectionSummaryKey(1, submissionDate));
+    when(darCollectionSummaryDAO.findDarCollectionSummaryKeys(null, 3, 4, null, null, 2))
+        .thenReturn(keys);
+    when(darCollectionSummaryDAO.countDarCollectionSummaries(null, 3, 4)).thenReturn(5);
+    when(darCollectionSummaryDAO.getDarCollectionSummariesByCollectionIds(List.of(2, 1)))
+        .thenReturn(List.of(summaryOne, summaryTwo));
+
+    DarCollectionSummaryPage page = service.getSummaryPageForRoleName(user,
+        UserRoles.ADMIN.getRoleName(), null, 2, null, 3, 4);
+    assertEquals(5, page.totalCount());
+    assertEquals(List.of(summaryTwo, summaryOne), page.results());
+    assertEquals(DarCollectionStatus.COMPLETE.getValue(), summaryTwo.getStatus());
+    assertEquals(DarCollectionStatus.UNREVIEWED.getValue(), summaryOne.getStatus());
+    assertNotNull(page.nextCursor());
+
+    when(darCollectionSummaryDAO.findDarCollectionSummaryKeys(null, 3, 4, submissionDate, 1, 2))
+        .thenReturn(List.of());
+    DarCollectionSummaryPage lastPage = service.getSummaryPageForRoleName(user,
+        UserRoles.ADMIN.getRoleName(), page.nextCursor(), 2, null, 3, 4);
+    assertTrue(lastPage.results().isEmpty());
+    assertEquals(5, lastPage.totalCount());
+    assertNull(lastPage.nextCursor());
+  }
+
+  @Test
+  void testGetSummaryPageForRoleNameSO() {
+    User user = new User();
+    user.setUserId(1);
+    user.setInstitutionId(7);
+    DarCollectionSummary summary = new DarCollectionSummary();
+    summary.setDarCollectionId(1);
+    when(darCollectionSummaryDAO.findDarCollectionSummaryKeys(
+        DarCollectionStatus.UNREVIEWED.getValue(), null, 7, null, null, 20))
+        .thenReturn(List.of(new DarCollectionSummaryKey(1, Instant.now())));
+    when(darCollectionSummaryDAO.countDarCollectionSummaries(
+        DarCollectionStatus.UNREVIEWED.getValue(), null, 7)).thenReturn(1);
+    when(darCollectionSummaryDAO.getDarCollectionSummariesByCollectionIds(List.of(1)))
+        .thenReturn(List.of(summary));
+
+    DarCollectionSummaryPage page = service.getSummaryPageForRoleName(user,
+        UserRoles.SIGNINGOFFICIAL.getRoleName(), null, 20,
+        DarCollectionStatus.UNREVIEWED.getValue(), null, 99);
+    assertEquals(List.of(summary), page.results());
+    assertEquals(1, page.totalCount());
+    assertNull(page.nextCursor());
+    assertTrue(summary.getActions().isEmpty());
+  }
+
+  @Test
+  void testGetSummaryPageForRoleNameSONoInstitution() {
+    User user = new User();
+    user.setUserId(1);
+    DarCollectionSummaryPage page = service.getSummaryPageForRoleName(user,
+        UserRoles.SIGNINGOFFICIAL.getRoleName(), null, 20, null, null, null);
+    assertTrue(page.results().isEmpty());
+    assertEquals(0, page.totalCount());
+    verify(darCollectionSummaryDAO, times(0)).findDarCollectionSummaryKeys(any(), any(), any(),
+        any(), any(), any());
+  }
+
+  @Test
+  void testGetSummaryPageForRoleNameInvalidRequests() {
+    User user = new User();
+    user.setUserId(1);
+    assertThrows(BadRequestException.class, () -> service.getSummaryPageForRoleName(user,
+        UserRoles.RESEARCHER.getRoleName(), null, 20, null, null, null));
+    assertThrows(BadRequestException.class, () -> service.getSummaryPageForRoleName(user,
+        UserRoles.ADMIN.getRoleName(), null, 20, DarCollectionStatus.DRAFT.getValue(), null, null));
+    assertThrows(BadRequestException.class, () -> service.getSummaryPageForRoleName(user,
+        UserRoles.ADMIN.getRoleName(), "not-a-cursor", 20, null, null, null));
+  }
+
   @Test
   void testProcessDarCollectionSummariesForDACMember() {
     Dac dac = new Dac();
@@ -0,0 +1,180 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
+import org.broadinstitute.consent.http.models.DataUse;
+import org.broadinstitute.consent.http.models.DataUseBuilder;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.ontology.DataUseSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DataUseTranslationCacheTest {
+
+  @Mock
+  private DatasetDAO datasetDAO;
+
+  private ServicesConfiguration configuration;
+  private MetricRegistry metricRegistry;
+  private DataUseTranslationCache cache;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new ServicesConfiguration();
+    metricRegistry = new MetricRegistry();
+    cache = new DataUseTranslationCache(datasetDAO, configuration, metricRegistry);
+  }
+
+  @Test
+  void testGetTranslationCachesEquivalentDataUses() {
+    AtomicInteger loads = new AtomicInteger();
+    DataUse first = new DataUseBuilder().setHmbResearch(true).build();
+    DataUse second = new DataUseBuilder().setHmbResearch(true).build();
+
+    cache.getTranslation(first, DataUseTranslationType.DATASET, () -> {
+      loads.incrementAndGet();
+      return "translation";
+    });
+    String translation = cache.getTranslation(second, DataUseTranslationType.DATASET, () -> {
+      loads.incrementAndGet();
+      return "other";
+    });
+
+    assertEquals("translation", translation);
+    assertEquals(1, loads.get());
+    assertEquals(0.5, metricRegistry.getGauges().get(
+        MetricRegistry.name(DataUseTranslationCache.class, "translations", "hit-rate"))
+        .getValue());
+  }
+
+  @Test
+  void testGetTranslationKeyedByType() {
+    DataUse dataUse = new DataUseBuilder().setHmbResearch(true).build();
+
+    cache.getTranslation(dataUse, DataUseTranslationType.DATASET, () -> "dataset");
+    String translation = cache.getTranslation(dataUse, DataUseTranslationType.PURPOSE,
+        () -> "purpose");
+
+    assertEquals("purpose", translation);
+  }
+
+  @Test
+  void testGetTranslationDoesNotCacheFailures() {
+    DataUse dataUse = new DataUseBuilder().setGeneralUse(true).build();
+
+    assertThrows(RuntimeException.class,
+        () -> cache.getTranslation(dataUse, DataUseTranslationType.DATASET, () -> {
+          throw new RuntimeException("Ontology is down");
+        }));
+    String translation = cache.getTranslation(dataUse, DataUseTranslationType.DATASET,
+        () -> "translation");
+
+    assertEquals("translation", translation);
+  }
+
+  @Test
+  void testGetSummaryDoesNotCacheNull() {
+    AtomicInteger loads = new AtomicInteger();
+    DataUse dataUse = new DataUseBuilder().setGeneralUse(true).build();
+
+    assertNull(cache.getSummary(dataUse, () -> {
+      loads.incrementAndGet();
+      return null;
+    }));
+    DataUseSummary summary = new DataUseSummary();
+    assertEquals(summary, cache.getSummary(dataUse, () -> {
+      loads.incrementAndGet();
+      return summary;
+    }));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testConcurrentLoadsShareOneCall() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    DataUse dataUse = new DataUseBuilder().setHmbResearch(true).build();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> first = executor.submit(() ->
+          cache.getTranslation(dataUse, DataUseTranslationType.DATASET, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+              release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return "translation";
+          }));
+      loading.await(5, TimeUnit.SECONDS);
+      Future<String> second = executor.submit(() ->
+          cache.getTranslation(dataUse, DataUseTranslationType.DATASET, () -> {
+            loads.incrementAndGet();
+            return "other";
+          }));
+      release.countDown();
+      assertEquals("translation", first.get(5, TimeUnit.SECONDS));
+      assertEquals("translation", second.get(5, TimeUnit.SECONDS));
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testStartWarmsDatasetTranslations() {
+    configuration.setOntologyCacheWarmUp(true);
+    cache = new DataUseTranslationCache(datasetDAO, configuration, new MetricRegistry());
+    DataUse dataUse = new DataUseBuilder().setHmbResearch(true).build();
+    Dataset dataset = new Dataset();
+    dataset.setDataUse(dataUse);
+    dataset.setTranslatedDataUse("stored translation");
+    when(datasetDAO.findDistinctTranslatedDataUses()).thenReturn(List.of(dataset));
+
+    cache.start();
+    String translation = cache.getTranslation(dataUse, DataUseTranslationType.DATASET,
+        () -> "fresh translation");
+
+    assertEquals("stored translation", translation);
+  }
+
+  @Test
+  void testStartWithoutWarmUp() {
+    cache.start();
+    verify(datasetDAO, never()).findDistinctTranslatedDataUses();
+  }
+
+  @Test
+  void testKeyIsStableForEquivalentDataUses() {
+    DataUse dataUse = new DataUseBuilder().setHmbResearch(true).setDiseaseRestrictions(
+        List.of("DOID_1")).build();
+    assertEquals(DataUseTranslationCache.key(dataUse, "summary"),
+        DataUseTranslationCache.key(dataUse, "summary"));
+    assertNotEquals(DataUseTranslationCache.key(dataUse, "summary"),
+        DataUseTranslationCache.key(new DataUseBuilder().setHmbResearch(true).build(), "summary"));
+  }
+
+}
@@ -0,0 +1,135 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.DatasetSearchTerms;
+import org.broadinstitute.consent.http.models.DatasetSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DatasetAutocompleteIndexTest {
+
+  @Mock
+  private DatasetDAO datasetDAO;
+
+  @Mock
+  private ScheduledExecutorService executor;
+
+  private final ServicesConfiguration config = new ServicesConfiguration();
+
+  private DatasetAutocompleteIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new DatasetAutocompleteIndex(datasetDAO, config, executor, new MetricRegistry());
+  }
+
+  @Test
+  void testSearchMatchesNamesIdentifiersAndProperties() {
+    when(datasetDAO.findApprovedDatasetSearchTerms()).thenReturn(List.of(
+        terms(1, "Heart Study", "Cardiology"),
+        terms(2, "Lung Cohort", "Hearts and lungs"),
+        terms(3, "Kidney Panel", "Nephrology")));
+
+    assertEquals(List.of(1, 2), ids(index.search("HEART")));
+    assertEquals(List.of(3), ids(index.search("DUOS-000003")));
+    assertEquals(List.of(3), ids(index.search("neph")));
+    assertEquals(List.of(2), ids(index.search("ng")));
+    assertEquals(List.of(), ids(index.search("liver")));
+    assertEquals(List.of(), ids(index.search("")));
+    assertEquals(List.of(), ids(index.search(null)));
+    verify(datasetDAO, times(1)).findApprovedDatasetSearchTerms();
+  }
+
+  @Test
+  void testSearchRanksNameAndIdentifierMatchesFirst() {
+    when(datasetDAO.findApprovedDatasetSearchTerms()).thenReturn(List.of(
+        terms(1, "Alpha", "Cancer registry"),
+        terms(2, "Pediatric Cancer", "None"),
+        terms(3, "Cancer Genomes", "None"),
+        terms(4, "Breast cancer", "None")));
+
+    assertEquals(List.of(3, 4, 2, 1), ids(index.search("cancer")));
+  }
+
+  @Test
+  void testSearchLimitsResults() {
+    config.setDatasetAutocompleteResultLimit(5);
+    List<DatasetSearchTerms> terms = new ArrayList<>();
+    for (int x = 1; x <= 100; x++) {
+      terms.add(terms(x, "Study %03d".formatted(x), "Survey"));
+    }
+    when(datasetDAO.findApprovedDatasetSearchTerms()).thenReturn(terms);
+
+    assertEquals(List.of(1, 2, 3, 4, 5), ids(index.search("study")));
+    assertEquals(List.of(1, 2, 3, 4, 5), ids(index.search("surv")));
+    assertEquals(List.of(42), ids(index.search("study 042")));
+  }
+
+  @Test
+  void testRefreshAddsUpdatesAndRemovesDatasets() {
+    when(datasetDAO.findApprovedDatasetSearchTerms()).thenReturn(List.of(
+        terms(1, "Heart Study", "Cardiology"),
+        terms(2, "Lung Cohort", "Pulmonology")));
+    index.rebuild();
+    when(datasetDAO.findApprovedDatasetSearchTermsByIds(List.of(1, 2, 3))).thenReturn(List.of(
+        terms(2, "Heart and Lung Cohort", "Pulmonology"),
+        terms(3, "Heart Failure", "Cardiology")));
+
+    index.refresh(List.of(1, 2, 3));
+
+    assertEquals(List.of(2, 3), ids(index.search("heart")));
+    assertEquals(List.of(3), ids(index.search("cardio")));
+    assertEquals(List.of(), ids(index.search("study")));
+  }
+
+  @Test
+  void testRefreshBeforeBuildIsIgnored() {
+    index.refresh(List.of(1));
+
+    verify(datasetDAO, never()).findApprovedDatasetSearchTermsByIds(List.of(1));
+  }
+
+  /**
+   * Searches a large synthetic catalog, where a rare name is found among many candidates and a
+   * common query is cut off at the result limit.
+   */
+  @Test
+  void testSearchLargeCatalog() {
+    List<DatasetSearchTerms> terms = new ArrayList<>();
+    for (int x = 1; x <= 20_000; x++) {
+      terms.add(terms(x, "Dataset " + Integer.toString(x * 7919, 36), "Collection " + x % 100));
+    }
+    when(datasetDAO.findApprovedDatasetSearchTerms()).thenReturn(terms);
+    index.rebuild();
+
+    String name = "Dataset " + Integer.toString(12_345 * 7919, 36);
+    assertEquals(12_345, index.search(name).get(0).id());
+    assertEquals(config.getDatasetAutocompleteResultLimit(), index.search("d").size());
+  }
+
+  private static DatasetSearchTerms terms(int datasetId, String name, String property) {
+    return new DatasetSearchTerms(datasetId, Dataset.parseAliasToIdentifier(datasetId), name,
+        List.of(property));
+  }
+
+  private static List<Integer> ids(List<DatasetSummary> summaries) {
+    return summaries.stream().map(DatasetSummary::id).toList();
+  }
+
+}
@@ -0,0 +1,159 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
+import org.broadinstitute.consent.http.models.Dataset;
+import org.broadinstitute.consent.http.models.DatasetIndexOutboxEntry;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DatasetIndexOutboxWorkerTest {
+
+  @Mock
+  private DatasetIndexOutboxDAO outboxDAO;
+
+  @Mock
+  private DatasetDAO datasetDAO;
+
+  @Mock
+  private ElasticSearchService elasticSearchService;
+
+  private ElasticSearchConfiguration esConfig;
+
+  private MetricRegistry metricRegistry;
+
+  private DatasetIndexOutboxWorker worker;
+
+  @BeforeEach
+  void setUp() {
+    esConfig = new ElasticSearchConfiguration();
+    esConfig.setOutboxBatchSize(10);
+    metricRegistry = new MetricRegistry();
+    worker = new DatasetIndexOutboxWorker(outboxDAO, datasetDAO, elasticSearchService, esConfig,
+        null, metricRegistry);
+  }
+
+  @Test
+  void testDrainIndexesAndRemovesEntries() throws Exception {
+    List<DatasetIndexOutboxEntry> entries = List.of(entry(1, 1), entry(2, 3));
+    List<Dataset> datasets = List.of(dataset(1), dataset(2));
+    List<DatasetTerm> terms = List.of(term(1), term(2));
+    when(outboxDAO.findPendingEntries(10)).thenReturn(entries);
+    when(datasetDAO.findDatasetsByIdList(List.of(1, 2), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(datasets);
+    when(elasticSearchService.toDatasetTerms(datasets)).thenReturn(terms);
+    when(elasticSearchService.indexDatasetTerms(terms)).thenReturn(Response.ok().build());
+    when(outboxDAO.countPendingEntries()).thenReturn(0);
+    when(outboxDAO.findOldestEntryAgeSeconds()).thenReturn(0L);
+
+    assertEquals(2, worker.drain());
+
+    verify(outboxDAO).deleteEntries(List.of(1, 2), List.of(1, 3));
+    assertEquals(2, metricRegistry.getMeters()
+        .get(MetricRegistry.name(DatasetIndexOutboxWorker.class, "indexed")).getCount());
+  }
+
+  @Test
+  void testDrainRemovesDeletedDatasetsFromIndex() throws Exception {
+    when(outboxDAO.findPendingEntries(10)).thenReturn(List.of(entry(1, 1)));
+    when(datasetDAO.findDatasetsByIdList(List.of(1), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of());
+    when(elasticSearchService.toDatasetTerms(List.of())).thenReturn(List.of());
+    when(elasticSearchService.deleteIndex(1)).thenReturn(Response.ok().build());
+    when(outboxDAO.countPendingEntries()).thenReturn(0);
+    when(outboxDAO.findOldestEntryAgeSeconds()).thenReturn(0L);
+
+    assertEquals(1, worker.drain());
+
+    verify(elasticSearchService, never()).indexDatasetTerms(any());
+    verify(outboxDAO).deleteEntries(List.of(1), List.of(1));
+  }
+
+  @Test
+  void testDrainKeepsEntriesWhenIndexingFails() throws Exception {
+    List<Dataset> datasets = List.of(dataset(1));
+    List<DatasetTerm> terms = List.of(term(1));
+    when(outboxDAO.findPendingEntries(10)).thenReturn(List.of(entry(1, 1)));
+    when(datasetDAO.findDatasetsByIdList(List.of(1), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(datasets);
+    when(elasticSearchService.toDatasetTerms(datasets)).thenReturn(terms);
+    when(elasticSearchService.indexDatasetTerms(terms)).thenThrow(new IOException("unavailable"));
+    when(outboxDAO.countPendingEntries()).thenReturn(1);
+    when(outboxDAO.findOldestEntryAgeSeconds()).thenReturn(30L);
+
+    assertEquals(0, worker.drain());
+
+    verify(outboxDAO, never()).deleteEntries(any(), any());
+    assertEquals(1L, gauge("queue-depth").getValue());
+    assertEquals(30L, gauge("lag-seconds").getValue());
+    assertEquals(1, metricRegistry.getCounters()
+        .get(MetricRegistry.name(DatasetIndexOutboxWorker.class, "failures")).getCount());
+  }
+
+  @Test
+  void testDrainContinuesWithFullBatches() throws Exception {
+    esConfig.setOutboxBatchSize(1);
+    List<Dataset> first = List.of(dataset(1));
+    List<Dataset> second = List.of(dataset(2));
+    when(outboxDAO.findPendingEntries(anyInt()))
+        .thenReturn(List.of(entry(1, 1)))
+        .thenReturn(List.of(entry(2, 1)))
+        .thenReturn(List.of());
+    when(datasetDAO.findDatasetsByIdList(List.of(1), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(first);
+    when(datasetDAO.findDatasetsByIdList(List.of(2), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(second);
+    when(elasticSearchService.toDatasetTerms(first)).thenReturn(List.of(term(1)));
+    when(elasticSearchService.toDatasetTerms(second)).thenReturn(List.of(term(2)));
+    when(elasticSearchService.indexDatasetTerms(any())).thenReturn(Response.ok().build());
+    when(outboxDAO.countPendingEntries()).thenReturn(0);
+    when(outboxDAO.findOldestEntryAgeSeconds()).thenReturn(0L);
+
+    assertEquals(2, worker.drain());
+
+    verify(outboxDAO).deleteEntries(List.of(1), List.of(1));
+    verify(outboxDAO).deleteEntries(List.of(2), List.of(1));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Gauge<Long> gauge(String name) {
+    return metricRegistry.getGauges()
+        .get(MetricRegistry.name(DatasetIndexOutboxWorker.class, name));
+  }
+
+  private DatasetIndexOutboxEntry entry(Integer datasetId, Integer version) {
+    return new DatasetIndexOutboxEntry(datasetId, version, Instant.now());
+  }
+
+  private Dataset dataset(Integer datasetId) {
+    Dataset dataset = new Dataset();
+    dataset.setDatasetId(datasetId);
+    return dataset;
+  }
+
+  private DatasetTerm term(Integer datasetId) {
+    DatasetTerm term = new DatasetTerm();
+    term.setDatasetId(datasetId);
+    return term;
+  }
+}
@@ -0,0 +1,79 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.core.StreamingOutput;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetSearchDocumentDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetSearchBackendType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DatasetSearchBackfillTest {
+
+  @Mock
+  private DatasetSearchDocumentDAO searchDocumentDAO;
+
+  @Mock
+  private DatasetDAO datasetDAO;
+
+  @Mock
+  private ElasticSearchService elasticSearchService;
+
+  @Mock
+  private ExecutorService executor;
+
+  @Mock
+  private StreamingOutput output;
+
+  private ElasticSearchConfiguration esConfig;
+
+  private DatasetSearchBackfill backfill;
+
+  @BeforeEach
+  void setUp() {
+    esConfig = new ElasticSearchConfiguration();
+    backfill = new DatasetSearchBackfill(searchDocumentDAO, datasetDAO, elasticSearchService,
+        esConfig, executor);
+  }
+
+  @Test
+  void testBackfillIndexesAllDatasetsWhenEmpty() throws Exception {
+    when(searchDocumentDAO.countDocuments()).thenReturn(0);
+    when(datasetDAO.findAllDatasetIds()).thenReturn(List.of(1, 2, 3));
+    when(elasticSearchService.indexDatasetIds(List.of(1, 2, 3))).thenReturn(output);
+
+    assertEquals(3, backfill.backfill());
+    verify(output).write(any());
+  }
+
+  @Test
+  void testBackfillSkipsExistingDocuments() throws Exception {
+    when(searchDocumentDAO.countDocuments()).thenReturn(1);
+
+    assertEquals(0, backfill.backfill());
+    verify(datasetDAO, never()).findAllDatasetIds();
+  }
+
+  @Test
+  void testStartOnlyBackfillsPostgresBackend() {
+    backfill.start();
+    verify(executor, never()).execute(any());
+
+    esConfig.setSearchBackend(DatasetSearchBackendType.POSTGRES);
+    backfill.start();
+    verify(executor).execute(any());
+  }
+
+}
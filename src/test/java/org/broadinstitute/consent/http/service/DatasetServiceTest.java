@@ -40,6 +40,7 @@ import org.apache.commons.lang3.RandomUtils;
 import org.broadinstitute.consent.http.db.DaaDAO;
 import org.broadinstitute.consent.http.db.DacDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.StudyDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
@@ -51,6 +52,7 @@ import org.broadinstitute.consent.http.models.DataUse;
 import org.broadinstitute.consent.http.models.DataUseBuilder;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.DatasetProperty;
+import org.broadinstitute.consent.http.models.DatasetSummary;
 import org.broadinstitute.consent.http.models.Dictionary;
 import org.broadinstitute.consent.http.models.Study;
 import org.broadinstitute.consent.http.models.StudyProperty;
@@ -86,10 +88,15 @@ class DatasetServiceTest {
   private DatasetServiceDAO datasetServiceDAO;
   @Mock
   private UserDAO userDAO;
+  @Mock
+  private DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+  @Mock
+  private DatasetAutocompleteIndex datasetAutocompleteIndex;
 
   private void initService() {
     datasetService = new DatasetService(datasetDAO, daaDAO, dacDAO, emailService,
-      ontologyService, studyDAO, datasetServiceDAO, userDAO);
+      ontologyService, studyDAO, datasetServiceDAO, userDAO, datasetIndexOutboxDAO,
+      datasetAutocompleteIndex);
   }
 
   @Test
@@ -467,6 +474,16 @@ class DatasetServiceTest {
     assertThrows(IllegalArgumentException.class, () -> datasetService.approveDataset(dataset, user, null));
   }
 
+  @Test
+  void testSearchDatasetSummaries() {
+    DatasetSummary summary = new DatasetSummary(1, "DUOS-000001", "Dataset");
+    when(datasetAutocompleteIndex.search("data")).thenReturn(List.of(summary));
+    initService();
+
+    assertEquals(List.of(summary), datasetService.searchDatasetSummaries("data"));
+    verify(datasetDAO, never()).findDatasetSummariesByQuery(any());
+  }
+
   @Test
   void testApproveDataset() throws Exception {
     Dataset dataset = new Dataset();
@@ -491,6 +508,8 @@ class DatasetServiceTest {
     Dataset returnedDataset = datasetService.approveDataset(dataset, user, payloadBool);
     assertEquals(dataset.getDatasetId(), returnedDataset.getDatasetId());
     assertTrue(returnedDataset.getDacApproval());
+    verify(datasetIndexOutboxDAO).enqueueDatasetIds(List.of(dataset.getDatasetId()));
+    verify(datasetAutocompleteIndex).refresh(List.of(dataset.getDatasetId()));
 
     // send approved email
     verify(emailService, times(1)).sendDatasetApprovedMessage(
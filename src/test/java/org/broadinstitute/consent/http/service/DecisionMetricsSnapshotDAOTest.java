@@ -0,0 +1,68 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.List;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DAOTestHelper;
+import org.broadinstitute.consent.http.models.DarDecisionMetrics;
+import org.broadinstitute.consent.http.models.DataAccessRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DecisionMetricsSnapshotDAOTest extends DAOTestHelper {
+
+  private DecisionMetricsSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    MetricsService metricsService = new MetricsService(null, datasetDAO, dataAccessRequestDAO,
+        darCollectionDAO, matchDAO, electionDAO);
+    snapshot = new DecisionMetricsSnapshot(metricsService, dataAccessRequestDAO,
+        new ServicesConfiguration(), null, new MetricRegistry());
+  }
+
+  @Test
+  void testRefreshRemovesArchivedDar() {
+    DataAccessRequest dar = createInactiveDataAccessRequest();
+    assertTrue(referenceIds().contains(dar.getReferenceId()));
+
+    dataAccessRequestDAO.archiveByReferenceIds(List.of(dar.getReferenceId()));
+    snapshot.refresh();
+
+    assertFalse(referenceIds().contains(dar.getReferenceId()));
+  }
+
+  @Test
+  void testRefreshRemovesDeletedDar() {
+    DataAccessRequest dar = createInactiveDataAccessRequest();
+    assertTrue(referenceIds().contains(dar.getReferenceId()));
+
+    dataAccessRequestDAO.deleteByReferenceId(dar.getReferenceId());
+    snapshot.refresh();
+
+    assertFalse(referenceIds().contains(dar.getReferenceId()));
+  }
+
+  /**
+   * Create a DAR whose last activity is older than the window checked by a refresh, so a refresh
+   * only picks it up through later changes.
+   */
+  private DataAccessRequest createInactiveDataAccessRequest() {
+    DataAccessRequest dar = createDataAccessRequestV3();
+    jdbi.useHandle(handle -> handle.execute("""
+        UPDATE data_access_request
+        SET submission_date = now() - INTERVAL '1 day', update_date = now() - INTERVAL '1 day'
+        """));
+    return dar;
+  }
+
+  private List<String> referenceIds() {
+    return snapshot.getView().darMetrics().stream()
+        .map(DarDecisionMetrics::getReferenceId)
+        .toList();
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.List;
+import java.util.function.Consumer;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
+import org.broadinstitute.consent.http.models.DarDecisionMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionMetricsSnapshotTest {
+
+  @Mock
+  private MetricsService metricsService;
+
+  @Mock
+  private DataAccessRequestDAO darDAO;
+
+  private MetricRegistry metricRegistry;
+
+  private DecisionMetricsSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    snapshot = new DecisionMetricsSnapshot(metricsService, darDAO, new ServicesConfiguration(),
+        null, metricRegistry);
+  }
+
+  @Test
+  void testGetViewBuildsSnapshotOnce() {
+    DarDecisionMetrics first = metric("ref-1");
+    DarDecisionMetrics second = metric("ref-2");
+    initRebuild(first, second);
+
+    DecisionMetricsSnapshot.View view = snapshot.getView();
+
+    assertEquals(List.of(first, second), view.darMetrics());
+    assertSame(view, snapshot.getView());
+    verify(metricsService, times(1)).forEachDarDecisionMetric(any());
+  }
+
+  @Test
+  void testRefreshReplacesChangedDars() {
+    DarDecisionMetrics first = metric("ref-1");
+    DarDecisionMetrics second = metric("ref-2");
+    DarDecisionMetrics updatedSecond = metric("ref-2");
+    DarDecisionMetrics third = metric("ref-3");
+    initRebuild(first, second);
+    snapshot.rebuild();
+    List<String> changed = List.of("ref-1", "ref-2", "ref-3");
+    when(darDAO.findReferenceIdsWithDecisionActivitySince(any())).thenReturn(changed);
+    // ref-1 is no longer reportable, e.g. it was archived
+    when(metricsService.generateDarDecisionMetrics(changed))
+        .thenReturn(List.of(updatedSecond, third));
+
+    snapshot.refresh();
+
+    assertEquals(List.of(updatedSecond, third), snapshot.getView().darMetrics());
+    assertEquals(3, metricRegistry.getMeters()
+        .get(MetricRegistry.name(DecisionMetricsSnapshot.class, "refreshed-dars")).getCount());
+  }
+
+  @Test
+  void testRefreshWithoutActivity() {
+    DarDecisionMetrics first = metric("ref-1");
+    initRebuild(first);
+    snapshot.rebuild();
+    DecisionMetricsSnapshot.View built = snapshot.getView();
+    when(darDAO.findReferenceIdsWithDecisionActivitySince(any())).thenReturn(List.of());
+
+    snapshot.refresh();
+
+    DecisionMetricsSnapshot.View refreshed = snapshot.getView();
+    assertEquals(List.of(first), refreshed.darMetrics());
+    assertFalse(refreshed.asOf().isBefore(built.asOf()));
+    verify(metricsService, never()).generateDarDecisionMetrics(any());
+  }
+
+  @Test
+  void testRefreshRemovesDeletedDars() {
+    DarDecisionMetrics first = metric("ref-1");
+    DarDecisionMetrics second = metric("ref-2");
+    initRebuild(first, second);
+    snapshot.rebuild();
+    when(darDAO.findReferenceIdsWithDecisionActivitySince(any())).thenReturn(List.of());
+    when(darDAO.findMissingReferenceIds(List.of("ref-1", "ref-2"))).thenReturn(List.of("ref-1"));
+
+    snapshot.refresh();
+
+    assertEquals(List.of(second), snapshot.getView().darMetrics());
+    verify(metricsService, never()).generateDarDecisionMetrics(any());
+  }
+
+  private void initRebuild(DarDecisionMetrics... metrics) {
+    doAnswer(invocation -> {
+      Consumer<DarDecisionMetrics> consumer = invocation.getArgument(0);
+      List.of(metrics).forEach(consumer);
+      return null;
+    }).when(metricsService).forEachDarDecisionMetric(any());
+  }
+
+  private DarDecisionMetrics metric(String referenceId) {
+    DarDecisionMetrics metric = mock(DarDecisionMetrics.class);
+    when(metric.getReferenceId()).thenReturn(referenceId);
+    return metric;
+  }
+
+}
@@ -8,9 +8,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -40,6 +44,7 @@ import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
 import org.broadinstitute.consent.http.db.StudyDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.enumeration.PropertyType;
 import org.broadinstitute.consent.http.models.Dac;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
@@ -97,7 +102,7 @@ class ElasticSearchServiceTest {
 
   private void initService() {
     service = new ElasticSearchService(
-        esClient,
+        new ElasticSearchBackend(esClient, esConfig),
         esConfig,
         dacDAO,
         dataAccessRequestDAO,
@@ -105,7 +110,15 @@ class ElasticSearchServiceTest {
         ontologyService,
         institutionDAO,
         datasetDAO,
-        studyDAO);
+        studyDAO,
+        MoreExecutors.newDirectExecutorService(),
+        new MetricRegistry());
+  }
+
+  private void mockIndexPaging(int pageSize) {
+    when(esConfig.getIndexPageSize()).thenReturn(pageSize);
+    when(esConfig.getBulkMaxDocuments()).thenReturn(500);
+    when(esConfig.getBulkMaxBytes()).thenReturn(5 * 1024 * 1024);
   }
 
   private void mockElasticSearchResponse(int statusCode, String body) throws IOException {
@@ -468,7 +481,6 @@ class ElasticSearchServiceTest {
             {"datasetId":1}
             { "index": {"_type": "dataset", "_id": "2"} }
             {"datasetId":2}
-                        
             """,
         new String(capturedRequest.getEntity().getContent().readAllBytes(),
             StandardCharsets.UTF_8));
@@ -568,7 +580,10 @@ class ElasticSearchServiceTest {
 
     initService();
 
-    when(datasetDAO.findDatasetById(dataset.getDatasetId())).thenReturn(dataset);
+    mockIndexPaging(250);
+    when(datasetDAO.findDatasetsByIdList(List.of(dataset.getDatasetId()),
+        DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of(dataset));
     mockESClientResponse(200, esResponseBody.formatted(dataset.getDatasetId()));
     StreamingOutput output = service.indexDatasetIds(List.of(dataset.getDatasetId()));
     var baos = new ByteArrayOutputStream();
@@ -594,7 +609,10 @@ class ElasticSearchServiceTest {
     Gson gson = GsonUtil.buildGson();
     Dataset dataset = new Dataset();
     dataset.setDatasetId(RandomUtils.nextInt(10, 100));
-    when(datasetDAO.findDatasetById(dataset.getDatasetId())).thenReturn(dataset);
+    mockIndexPaging(250);
+    when(datasetDAO.findDatasetsByIdList(List.of(dataset.getDatasetId()),
+        DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of(dataset));
     mockESClientResponse(500, "error condition");
     initService();
 
@@ -605,6 +623,133 @@ class ElasticSearchServiceTest {
     assertEquals(0, jsonArray.size());
   }
 
+  @Test
+  void testIndexDatasetIdsPrefetchesPage() throws Exception {
+    User user = createUser(1, 100);
+    Institution institution = createInstitution();
+    user.setInstitutionId(institution.getId());
+    Dac dac = new Dac();
+    dac.setDacId(RandomUtils.nextInt(1, 100));
+    Dataset dataset1 = new Dataset();
+    dataset1.setDatasetId(1);
+    dataset1.setCreateUserId(user.getUserId());
+    dataset1.setDacId(dac.getDacId());
+    Dataset dataset2 = new Dataset();
+    dataset2.setDatasetId(2);
+    dataset2.setCreateUserId(user.getUserId());
+    dataset2.setDacId(dac.getDacId());
+    DataAccessRequest dar = new DataAccessRequest();
+    dar.setUserId(RandomUtils.nextInt(100, 200));
+    dar.addDatasetId(dataset2.getDatasetId());
+
+    mockIndexPaging(250);
+    when(datasetDAO.findDatasetsByIdList(List.of(1, 2), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of(dataset1, dataset2));
+    when(userDao.findUsers(Set.of(user.getUserId()))).thenReturn(List.of(user));
+    when(institutionDAO.findInstitutionsByIds(Set.of(institution.getId())))
+        .thenReturn(List.of(institution));
+    when(dacDAO.findDacsByIds(Set.of(dac.getDacId()))).thenReturn(List.of(dac));
+    when(dataAccessRequestDAO.findApprovedDARsByDatasetIds(List.of(1, 2)))
+        .thenReturn(List.of(dar));
+    mockESClientResponse(200, "{}");
+    initService();
+
+    service.indexDatasetIds(List.of(1, 2)).write(new ByteArrayOutputStream());
+
+    ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+    verify(esClient).performRequest(requestCaptor.capture());
+    String body = new String(requestCaptor.getValue().getEntity().getContent().readAllBytes(),
+        StandardCharsets.UTF_8);
+    assertTrue(body.contains("\"approvedUserIds\":[" + dar.getUserId() + "]"));
+    assertTrue(body.contains("\"institution\":{\"id\":" + institution.getId()));
+    verify(userDao, never()).findUserById(any());
+    verify(dacDAO, never()).findById(any());
+    verify(institutionDAO, never()).findInstitutionById(any());
+    verify(dataAccessRequestDAO, never()).findApprovedDARsByDatasetId(any());
+  }
+
+  @Test
+  void testIndexDatasetIdsPages() throws Exception {
+    Dataset dataset1 = new Dataset();
+    dataset1.setDatasetId(1);
+    Dataset dataset2 = new Dataset();
+    dataset2.setDatasetId(2);
+    mockIndexPaging(1);
+    when(datasetDAO.findDatasetsByIdList(List.of(1), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of(dataset1));
+    when(datasetDAO.findDatasetsByIdList(List.of(2), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(List.of(dataset2));
+    mockESClientResponse(200, "{}");
+    initService();
+
+    var baos = new ByteArrayOutputStream();
+    service.indexDatasetIds(List.of(1, 2)).write(baos);
+
+    verify(esClient, times(2)).performRequest(any());
+    JsonArray jsonArray = GsonUtil.buildGson().fromJson(baos.toString(), JsonArray.class);
+    assertEquals(2, jsonArray.size());
+  }
+
+  @Test
+  void testPartitionBulksByDocuments() {
+    when(esConfig.getBulkMaxDocuments()).thenReturn(2);
+    when(esConfig.getBulkMaxBytes()).thenReturn(5 * 1024 * 1024);
+    initService();
+
+    List<DatasetTerm> terms = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      DatasetTerm term = new DatasetTerm();
+      term.setDatasetId(i);
+      terms.add(term);
+    }
+    List<List<DatasetTerm>> bulks = service.partitionBulks(terms);
+    assertEquals(3, bulks.size());
+    assertEquals(2, bulks.get(0).size());
+    assertEquals(1, bulks.get(2).size());
+  }
+
+  @Test
+  void testPartitionBulksByBytes() {
+    when(esConfig.getBulkMaxDocuments()).thenReturn(500);
+    when(esConfig.getBulkMaxBytes()).thenReturn(1);
+    initService();
+
+    List<DatasetTerm> terms = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      DatasetTerm term = new DatasetTerm();
+      term.setDatasetId(i);
+      terms.add(term);
+    }
+    List<List<DatasetTerm>> bulks = service.partitionBulks(terms);
+    // Documents larger than the byte limit are sent individually
+    assertEquals(3, bulks.size());
+    bulks.forEach(bulk -> assertEquals(1, bulk.size()));
+  }
+
+  @Test
+  void testPartitionBulksByRequestBytes() throws IOException {
+    List<DatasetTerm> terms = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      DatasetTerm term = new DatasetTerm();
+      term.setDatasetId(i);
+      term.setDatasetName("Dataset " + i);
+      terms.add(term);
+    }
+    int entryBytes = (int) new ElasticSearchBackend(esClient, esConfig).documentBytes(terms.get(0));
+    when(esConfig.getBulkMaxDocuments()).thenReturn(500);
+    when(esConfig.getBulkMaxBytes()).thenReturn(2 * entryBytes);
+    mockElasticSearchResponse(200, "");
+    initService();
+
+    List<List<DatasetTerm>> bulks = service.partitionBulks(terms);
+    assertEquals(List.of(2, 2, 1), bulks.stream().map(List::size).toList());
+
+    // The limit applies to the whole bulk request body, including the action lines
+    service.indexDatasetTerms(bulks.get(0));
+    verify(esClient).performRequest(request.capture());
+    assertEquals(2 * entryBytes, request.getValue().getEntity().getContentLength());
+  }
+
   // Helper method to mock an ElasticSearch Client response
   private void mockESClientResponse(int status, String body) throws Exception {
     var esClientResponse = mock(org.elasticsearch.client.Response.class);
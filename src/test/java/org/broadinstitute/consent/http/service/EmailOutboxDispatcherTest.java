@@ -0,0 +1,211 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sendgrid.Response;
+import com.sendgrid.helpers.mail.Mail;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.broadinstitute.consent.http.configurations.MailConfiguration;
+import org.broadinstitute.consent.http.db.MailMessageDAO;
+import org.broadinstitute.consent.http.mail.SendGridAPI;
+import org.broadinstitute.consent.http.models.mail.MailOutboxEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+  @Mock
+  private MailMessageDAO mailMessageDAO;
+
+  @Mock
+  private SendGridAPI sendGridAPI;
+
+  private MetricRegistry metricRegistry;
+
+  private MailConfiguration mailConfig;
+
+  private EmailOutboxDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    mailConfig = new MailConfiguration();
+    mailConfig.setOutboxSendsPerSecond(1000);
+    mailConfig.setOutboxMaxAttempts(3);
+    dispatcher = new EmailOutboxDispatcher(mailMessageDAO, sendGridAPI, mailConfig, null,
+        MoreExecutors.newDirectExecutorService(), metricRegistry);
+  }
+
+  @Test
+  void testDrainBatchesIdenticalMessages() {
+    MailOutboxEntry first = entry(1, "one@test.com", "Subject", "Body", 1);
+    MailOutboxEntry second = entry(2, "two@test.com", "Subject", "Body", 1);
+    MailOutboxEntry other = entry(3, "three@test.com", "Subject", "Other Body", 1);
+    initOutbox(first, second, other);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any()))
+        .thenReturn(Set.of("one@test.com", "two@test.com", "three@test.com"));
+    Mail message = new Mail();
+    when(sendGridAPI.batchMessage(any(), any(), any())).thenReturn(message);
+    when(sendGridAPI.sendMessage(message)).thenReturn(Optional.of(response(202)));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(0);
+
+    assertEquals(3, dispatcher.drain());
+
+    verify(sendGridAPI).batchMessage("Subject", "Body", List.of("one@test.com", "two@test.com"));
+    verify(sendGridAPI).batchMessage("Subject", "Other Body", List.of("three@test.com"));
+    verify(mailMessageDAO).completeOutboxMessages(eq(List.of(1, 2)), notNull(), any(), eq(202));
+    verify(mailMessageDAO).completeOutboxMessages(eq(List.of(3)), notNull(), any(), eq(202));
+    assertEquals(3, metricRegistry.getMeters()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "sent")).getCount());
+    assertEquals(2, metricRegistry.getTimers()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "send-latency")).getCount());
+  }
+
+  @Test
+  void testDrainSkipsRecipientsNotAcceptingEmail() {
+    MailOutboxEntry accepting = entry(1, "one@test.com", "Subject", "Body", 1);
+    MailOutboxEntry declining = entry(2, "Two@test.com", "Subject", "Body", 1);
+    initOutbox(accepting, declining);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any())).thenReturn(Set.of("one@test.com"));
+    Mail message = new Mail();
+    when(sendGridAPI.batchMessage(any(), any(), any())).thenReturn(message);
+    when(sendGridAPI.sendMessage(message)).thenReturn(Optional.of(response(202)));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(0);
+
+    dispatcher.drain();
+
+    verify(sendGridAPI).batchMessage("Subject", "Body", List.of("one@test.com"));
+    verify(mailMessageDAO).completeOutboxMessages(List.of(2), null, null, null);
+    verify(mailMessageDAO).completeOutboxMessages(eq(List.of(1)), notNull(), any(), eq(202));
+  }
+
+  @Test
+  void testDrainDoesNotRetrySentEmailsThatFailToRecord() {
+    MailOutboxEntry entry = entry(1, "one@test.com", "Subject", "Body", 1);
+    initOutbox(entry);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any())).thenReturn(Set.of("one@test.com"));
+    Mail message = new Mail();
+    when(sendGridAPI.batchMessage(any(), any(), any())).thenReturn(message);
+    when(sendGridAPI.sendMessage(message)).thenReturn(Optional.of(response(202)));
+    doThrow(new IllegalStateException("Connection closed")).when(mailMessageDAO)
+        .completeOutboxMessages(eq(List.of(1)), notNull(), any(), eq(202));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(1);
+
+    dispatcher.drain();
+
+    verify(mailMessageDAO, never()).rescheduleOutboxMessages(any(), any(), any(), any());
+    assertEquals(1, metricRegistry.getMeters()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "sent")).getCount());
+    assertEquals(0, metricRegistry.getCounters()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "failures")).getCount());
+  }
+
+  @Test
+  void testDrainReschedulesRetryableFailures() {
+    MailOutboxEntry entry = entry(1, "one@test.com", "Subject", "Body", 1);
+    initOutbox(entry);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any())).thenReturn(Set.of("one@test.com"));
+    Mail message = new Mail();
+    when(sendGridAPI.batchMessage(any(), any(), any())).thenReturn(message);
+    when(sendGridAPI.sendMessage(message)).thenReturn(Optional.of(response(429)));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(1);
+
+    dispatcher.drain();
+
+    verify(mailMessageDAO).rescheduleOutboxMessages(eq(List.of(1)), notNull(), any(), eq(429));
+    verify(mailMessageDAO, never()).completeOutboxMessages(any(), any(), any(), any());
+    assertEquals(1, metricRegistry.getCounters()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "failures")).getCount());
+    assertEquals(1L, metricRegistry.getGauges()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "queue-depth")).getValue());
+  }
+
+  @Test
+  void testDrainRecordsFinalFailures() {
+    MailOutboxEntry rejected = entry(1, "one@test.com", "Subject", "Body", 1);
+    MailOutboxEntry exhausted = entry(2, "two@test.com", "Subject", "Other Body", 3);
+    initOutbox(rejected, exhausted);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any()))
+        .thenReturn(Set.of("one@test.com", "two@test.com"));
+    Mail rejectedMessage = new Mail();
+    rejectedMessage.setSubject("Rejected");
+    Mail exhaustedMessage = new Mail();
+    exhaustedMessage.setSubject("Exhausted");
+    when(sendGridAPI.batchMessage("Subject", "Body", List.of("one@test.com")))
+        .thenReturn(rejectedMessage);
+    when(sendGridAPI.batchMessage("Subject", "Other Body", List.of("two@test.com")))
+        .thenReturn(exhaustedMessage);
+    when(sendGridAPI.sendMessage(rejectedMessage)).thenReturn(Optional.of(response(400)));
+    when(sendGridAPI.sendMessage(exhaustedMessage)).thenReturn(Optional.of(response(500)));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(0);
+
+    dispatcher.drain();
+
+    verify(mailMessageDAO).completeOutboxMessages(eq(List.of(1)), isNull(), any(), eq(400));
+    verify(mailMessageDAO).completeOutboxMessages(eq(List.of(2)), isNull(), any(), eq(500));
+    verify(mailMessageDAO, never()).rescheduleOutboxMessages(any(), any(), any(), any());
+  }
+
+  @Test
+  void testDrainReschedulesErrorsUntilOutOfAttempts() {
+    MailOutboxEntry retried = entry(1, "one@test.com", "Subject", "Body", 1);
+    MailOutboxEntry exhausted = entry(2, "two@test.com", "Subject", "Body", 3);
+    initOutbox(retried, exhausted);
+    when(sendGridAPI.findRecipientsAcceptingEmail(any()))
+        .thenReturn(Set.of("one@test.com", "two@test.com"));
+    Mail message = new Mail();
+    when(sendGridAPI.batchMessage(any(), any(), any())).thenReturn(message);
+    when(sendGridAPI.sendMessage(message)).thenThrow(new IllegalStateException("Client error"));
+    when(mailMessageDAO.countOutboxMessages()).thenReturn(1);
+
+    assertEquals(2, dispatcher.drain());
+
+    verify(mailMessageDAO).expireOutboxMessages(notNull(), eq(3));
+    verify(mailMessageDAO).rescheduleOutboxMessages(eq(List.of(1)), notNull(), eq("Client error"),
+        isNull());
+    verify(mailMessageDAO).completeOutboxMessages(List.of(2), null, "Client error", null);
+    assertEquals(2, metricRegistry.getCounters()
+        .get(MetricRegistry.name(EmailOutboxDispatcher.class, "failures")).getCount());
+  }
+
+  @Test
+  void testBackoff() {
+    assertEquals(EmailOutboxDispatcher.INITIAL_BACKOFF, EmailOutboxDispatcher.backoff(1));
+    assertEquals(Duration.ofMinutes(2), EmailOutboxDispatcher.backoff(3));
+    assertEquals(EmailOutboxDispatcher.MAX_BACKOFF, EmailOutboxDispatcher.backoff(50));
+  }
+
+  private void initOutbox(MailOutboxEntry... entries) {
+    when(mailMessageDAO.claimOutboxMessages(any(), any(), anyInt(), eq(3)))
+        .thenReturn(List.of(entries));
+  }
+
+  private MailOutboxEntry entry(Integer id, String recipient, String subject, String body,
+      Integer attempts) {
+    return new MailOutboxEntry(id, recipient, subject, body, attempts);
+  }
+
+  private Response response(int status) {
+    return new Response(status, "", Map.of());
+  }
+
+}
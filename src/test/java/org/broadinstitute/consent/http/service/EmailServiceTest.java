@@ -132,9 +132,9 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendNewResearcherLibraryRequestMessage(any(), any());
+    verify(sendGridAPI, times(1)).newResearcherLibraryRequestMessage(any(), any());
     verify(templateHelper, times(1)).getNewResearcherLibraryRequestTemplate("John Doe", serverUrl);
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq("1234"),
         eq(null),
         eq(1234),
@@ -142,7 +142,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -171,7 +170,6 @@ class EmailServiceTest {
 
     when(collectionDAO.findDARCollectionByCollectionId(any())).thenReturn(collection);
     when(userDAO.findUserById(any())).thenReturn(researcher);
-    when(userDAO.findUserByEmail(chairperson.getEmail())).thenReturn(chairperson);
     when(dacDAO.findDacsForCollectionId(any())).thenReturn(Set.of(dac));
     when(datasetDAO.findDatasetsByIdList(any())).thenReturn(List.of(d1, d2));
     when(userDAO.describeUsersByRoleAndEmailPreference(any(), any())).thenReturn(List.of());
@@ -184,7 +182,7 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendNewDARRequests(
+    verify(sendGridAPI, times(1)).newDARRequestMessage(
         any(),
         any(),
         any(),
@@ -197,7 +195,7 @@ class EmailServiceTest {
         researcher.getDisplayName(),
         collection.getDarCode()
     );
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq("01"),
         eq(null),
         eq(chairperson.getUserId()),
@@ -205,7 +203,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -260,11 +257,11 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendDatasetSubmittedMessage(any(), any());
+    verify(sendGridAPI, times(1)).datasetSubmittedMessage(any(), any());
     verify(templateHelper, times(1)).getDatasetSubmittedTemplate(dacChair.getDisplayName(),
         dataSubmitter.getDisplayName(),
         datasetName, dacName);
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq(datasetName),
         eq(null),
         eq(456),
@@ -272,7 +269,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -299,11 +295,11 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendDaaRequestMessage(any(), any(), any());
+    verify(sendGridAPI, times(1)).daaRequestMessage(any(), any(), any());
     verify(templateHelper, times(1)).getDaaRequestTemplate(signingOfficial.getDisplayName(),
         user.getDisplayName(),
         daaName, serverUrl);
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq("456"),
         eq(null),
         eq(user.getUserId()),
@@ -311,7 +307,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -342,10 +337,10 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendNewDAAUploadResearcherMessage(any(), any(), any());
+    verify(sendGridAPI, times(1)).newDAAUploadResearcherMessage(any(), any(), any());
     verify(templateHelper, times(1)).getNewDaaUploadResearcherTemplate(researcher.getDisplayName(),
         dac.getName(), newDaaName, previousDaaName, serverUrl);
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq("DAC-01"),
         eq(null),
         eq(user.getUserId()),
@@ -353,7 +348,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -384,10 +378,10 @@ class EmailServiceTest {
       fail("Should not fail sending message: " + e);
     }
 
-    verify(sendGridAPI, times(1)).sendNewDAAUploadSOMessage(any(), any(), any());
+    verify(sendGridAPI, times(1)).newDAAUploadSOMessage(any(), any(), any());
     verify(templateHelper, times(1)).getNewDaaUploadSOTemplate(signingOfficial.getDisplayName(),
         dac.getName(), newDaaName, previousDaaName, serverUrl);
-    verify(emailDAO, times(1)).insert(
+    verify(emailDAO, times(1)).insertOutboxMessage(
         eq("DAC-01"),
         eq(null),
         eq(user.getUserId()),
@@ -395,7 +389,6 @@ class EmailServiceTest {
         any(),
         any(),
         any(),
-        any(),
         any()
     );
   }
@@ -461,14 +454,13 @@ class EmailServiceTest {
     user.setDisplayName(RandomStringUtils.randomAlphanumeric(10));
     user.setEmail(RandomStringUtils.randomAlphanumeric(10));
     when(userDAO.findUserById(any())).thenReturn(user);
-    when(userDAO.findUserByEmail(any())).thenReturn(user);
     doNothing().when(voteDAO).updateVoteReminderFlag(anyInt(), anyBoolean());
     try {
       initService();
       service.sendReminderMessage(vote.getVoteId());
-      verify(sendGridAPI, times(1)).sendReminderMessage(any(), any(), any(), any());
+      verify(sendGridAPI, times(1)).reminderMessage(any(), any(), any(), any());
       verify(templateHelper, times(1)).getReminderTemplate(any(), any(), any());
-      verify(emailDAO, times(1)).insert(
+      verify(emailDAO, times(1)).insertOutboxMessage(
           eq(String.valueOf(vote.getElectionId())),
           eq(vote.getVoteId()),
           eq(user.getUserId()),
@@ -476,7 +468,6 @@ class EmailServiceTest {
           any(),
           any(),
           any(),
-          any(),
           any()
       );
     } catch (IOException e) {
@@ -1,5 +1,6 @@
 package org.broadinstitute.consent.http.service;
 
+import static org.broadinstitute.consent.http.models.Match.matchFailure;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -8,11 +9,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Invocation;
@@ -22,6 +27,8 @@ import jakarta.ws.rs.core.Response;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
@@ -32,6 +39,8 @@ import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.Match;
 import org.broadinstitute.consent.http.models.matching.DataUseResponseMatchingObject;
+import org.broadinstitute.consent.http.util.UpstreamMetrics;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,23 +74,44 @@ class MatchServiceTest {
   @Mock
   private UseRestrictionConverter useRestrictionConverter;
 
+  private static ExecutorService executorService;
+
   private void initService() {
     service = new MatchService(clientMock, config, matchDAO,
         dataAccessRequestDAO, datasetDAO,
-        useRestrictionConverter);
+        useRestrictionConverter, new UpstreamMetrics(new MetricRegistry()), executorService);
   }
 
   @BeforeAll
   public static void setUpClass() {
+    executorService = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterAll
+  public static void tearDownClass() {
+    executorService.shutdownNow();
   }
 
   @Test
   void testInsertMatches() {
-    when(matchDAO.insertMatch(any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+    when(matchDAO.insertMatches(anyList(), any())).thenReturn(List.of(1));
     initService();
 
     service.insertMatches(List.of(new Match()));
-    verify(matchDAO, atLeastOnce()).insertMatch(any(), any(), any(), any(), any(), any(), any());
+    verify(matchDAO, times(1)).insertMatches(anyList(), any());
+    verify(matchDAO, never()).insertRationales(anyList(), anyList());
+  }
+
+  @Test
+  void testInsertMatchesWithRationales() {
+    Match first = matchFailure("DS-1", "DAR-1", List.of("one", "two"));
+    Match second = matchFailure("DS-2", "DAR-1", List.of("three"));
+    when(matchDAO.insertMatches(anyList(), any())).thenReturn(List.of(10, 20));
+    initService();
+
+    service.insertMatches(List.of(first, second));
+    verify(matchDAO, times(1)).insertRationales(
+        List.of(10, 10, 20), List.of("one", "two", "three"));
   }
 
   @Test
@@ -115,7 +145,56 @@ class MatchServiceTest {
     initService();
 
     service.createMatchesForDataAccessRequest(dar);
-    verify(datasetDAO, times(dar.getDatasetIds().size())).findDatasetById(any());
+    verify(datasetDAO, times(1)).findDatasetsByIdList(dar.getDatasetIds());
+    verify(datasetDAO, never()).findDatasetById(any());
+  }
+
+  @Test
+  void testFindMatchForDataAccessRequestPastDeadline() {
+    Dataset dataset = new Dataset();
+    dataset.setDatasetId(1);
+    dataset.setAlias(1);
+    dataset.setDatasetIdentifier();
+    DataAccessRequest dar = getSampleDataAccessRequest("DAR-2");
+    dar.setDatasetIds(List.of(1));
+    when(datasetDAO.findDatasetsByIdList(any())).thenReturn(List.of(dataset));
+    when(config.getMatchDeadlineSeconds()).thenReturn(1);
+    when(builder.post(any())).thenAnswer(invocation -> {
+      Thread.sleep(5000);
+      return response;
+    });
+    when(target.request(MediaType.APPLICATION_JSON)).thenReturn(builder);
+    when(clientMock.target(config.getMatchURL_v4())).thenReturn(target);
+    initService();
+
+    List<Match> matches = service.createMatchesForDataAccessRequest(dar);
+    assertEquals(1, matches.size());
+    assertTrue(matches.get(0).getFailed());
+    assertEquals(dataset.getDatasetIdentifier(), matches.get(0).getConsent());
+    assertEquals(List.of("Timed out finding single match for purpose: DAR-2"),
+        matches.get(0).getRationales());
+  }
+
+  @Test
+  void testFindMatchForDataAccessRequestInterrupted() throws Exception {
+    Dataset dataset = new Dataset();
+    dataset.setDatasetId(1);
+    dataset.setAlias(1);
+    dataset.setDatasetIdentifier();
+    DataAccessRequest dar = getSampleDataAccessRequest("DAR-2");
+    dar.setDatasetIds(List.of(1));
+    when(datasetDAO.findDatasetsByIdList(any())).thenReturn(List.of(dataset));
+    ExecutorService interrupted = mock(ExecutorService.class);
+    when(interrupted.invokeAll(anyList(), anyLong(), any())).thenThrow(new InterruptedException());
+    service = new MatchService(clientMock, config, matchDAO, dataAccessRequestDAO, datasetDAO,
+        useRestrictionConverter, new UpstreamMetrics(new MetricRegistry()), interrupted);
+
+    List<Match> matches = service.createMatchesForDataAccessRequest(dar);
+    assertTrue(Thread.interrupted());
+    assertEquals(1, matches.size());
+    assertTrue(matches.get(0).getFailed());
+    assertEquals(List.of("Interrupted finding single match for purpose: DAR-2"),
+        matches.get(0).getRationales());
   }
 
   @Test
@@ -2,6 +2,8 @@ package org.broadinstitute.consent.http.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -23,15 +25,19 @@ import org.broadinstitute.consent.http.db.DataAccessRequestDAO;
 import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.ElectionDAO;
 import org.broadinstitute.consent.http.db.MatchDAO;
+import org.broadinstitute.consent.http.enumeration.DatasetFetchStrategy;
 import org.broadinstitute.consent.http.enumeration.UserRoles;
 import org.broadinstitute.consent.http.models.Dac;
+import org.broadinstitute.consent.http.models.DacDecisionMetrics;
 import org.broadinstitute.consent.http.models.DarCollection;
+import org.broadinstitute.consent.http.models.DarDecisionMetrics;
 import org.broadinstitute.consent.http.models.DataAccessRequest;
 import org.broadinstitute.consent.http.models.DataAccessRequestData;
 import org.broadinstitute.consent.http.models.Dataset;
 import org.broadinstitute.consent.http.models.DatasetMetrics;
 import org.broadinstitute.consent.http.models.DecisionMetrics;
 import org.broadinstitute.consent.http.models.Election;
+import org.broadinstitute.consent.http.models.Match;
 import org.broadinstitute.consent.http.models.Type;
 import org.broadinstitute.consent.http.models.User;
 import org.broadinstitute.consent.http.models.UserRole;
@@ -130,12 +136,98 @@ class MetricsServiceTest {
     });
   }
 
+  @Test
+  void testGenerateDecisionMetricsAcrossBatches() {
+    int darCount = MetricsService.DAR_BATCH_SIZE + 1;
+    List<DataAccessRequest> dars = IntStream.range(1, darCount + 1)
+        .mapToObj(i -> {
+          DataAccessRequest dar = new DataAccessRequest();
+          dar.setId(i);
+          dar.setReferenceId(UUID.randomUUID().toString());
+          dar.setDatasetIds(List.of(i));
+          dar.setData(new DataAccessRequestData());
+          return dar;
+        })
+        .toList();
+    DataAccessRequest lastDar = dars.get(darCount - 1);
+    Election election = generateElection(lastDar.getReferenceId().toUpperCase()).get(0);
+    election.setElectionId(99);
+    Dac dac = generateDac();
+    dac.addElectionId(election.getElectionId());
+    Match match = new Match();
+    match.setPurpose(lastDar.getReferenceId());
+    match.setMatch(true);
+
+    when(darDAO.findDataAccessRequestPage(0, MetricsService.DAR_BATCH_SIZE))
+        .thenReturn(dars.subList(0, MetricsService.DAR_BATCH_SIZE));
+    when(darDAO.findDataAccessRequestPage(MetricsService.DAR_BATCH_SIZE,
+        MetricsService.DAR_BATCH_SIZE)).thenReturn(List.of(lastDar));
+    when(dataSetDAO.findDatasetsByIdList(any(), eq(DatasetFetchStrategy.MULTI_QUERY)))
+        .thenAnswer(invocation -> {
+          List<Integer> ids = invocation.getArgument(0);
+          return ids.stream().map(id -> {
+            Dataset d = new Dataset();
+            d.setDatasetId(id);
+            d.setAlias(id);
+            return d;
+          }).toList();
+        });
+    when(electionDAO.findLastElectionsByReferenceIds(any())).thenAnswer(invocation -> {
+      List<String> referenceIds = invocation.getArgument(0);
+      return referenceIds.contains(lastDar.getReferenceId()) ? List.of(election) : List.of();
+    });
+    when(matchDAO.findMatchesForPurposeIds(any())).thenAnswer(invocation -> {
+      List<String> referenceIds = invocation.getArgument(0);
+      return referenceIds.contains(lastDar.getReferenceId()) ? List.of(match) : List.of();
+    });
+    when(electionDAO.findAllDacsForElectionIds(List.of(election.getElectionId())))
+        .thenReturn(List.of(dac));
+    initService();
+
+    List<? extends DecisionMetrics> metrics = service.generateDecisionMetrics(Type.DAR);
+    assertEquals(darCount, metrics.size());
+    metrics.stream()
+        .map(DarDecisionMetrics.class::cast)
+        .forEach(m -> assertNotNull(m.getDatasetId()));
+    DarDecisionMetrics lastMetric = (DarDecisionMetrics) metrics.get(darCount - 1);
+    assertEquals(dac.getName(), lastMetric.getDacName());
+    assertEquals("Yes", lastMetric.getAlgorithmDecision());
+    assertNull(((DarDecisionMetrics) metrics.get(0)).getDacName());
+
+    when(dacService.findAllDacsWithMembers()).thenReturn(List.of(dac));
+    when(dataSetDAO.findDatasetsWithDacs()).thenReturn(new HashSet<>(generateDatasetDTO(1)));
+    List<? extends DecisionMetrics> dacMetrics = service.generateDecisionMetrics(Type.DAC);
+    assertEquals(1, dacMetrics.size());
+    DacDecisionMetrics dacMetric = (DacDecisionMetrics) dacMetrics.get(0);
+    assertEquals(1, dacMetric.getMetrics().size());
+    assertEquals(dac.getName(), dacMetric.getMetrics().get(0).getDacName());
+    assertEquals(1, dacMetric.getDatasets().size());
+  }
+
+  @Test
+  void testGenerateDarDecisionMetricsForReferenceIds() {
+    List<DataAccessRequest> dars = generateDars(2);
+    dars.get(0).setDraft(true);
+    List<String> referenceIds = dars.stream().map(DataAccessRequest::getReferenceId).toList();
+    when(darDAO.findByReferenceIds(referenceIds)).thenReturn(dars);
+    when(dataSetDAO.findDatasetsByIdList(List.of(2), DatasetFetchStrategy.MULTI_QUERY))
+        .thenReturn(generateDatasets(1));
+    when(electionDAO.findLastElectionsByReferenceIds(any())).thenReturn(Collections.emptyList());
+    when(matchDAO.findMatchesForPurposeIds(any())).thenReturn(Collections.emptyList());
+    initService();
+
+    List<DarDecisionMetrics> metrics = service.generateDarDecisionMetrics(referenceIds);
+    assertEquals(1, metrics.size());
+    assertEquals(dars.get(1).getReferenceId(), metrics.get(0).getReferenceId());
+  }
+
   private void initializeMetricsDAOCalls(int darCount, int datasetCount) {
-    when(darDAO.findAllDataAccessRequests()).thenReturn(generateDars(darCount));
-    when(dataSetDAO.findDatasetsByIdList(any())).thenReturn(generateDatasets(datasetCount));
+    when(darDAO.findDataAccessRequestPage(0, MetricsService.DAR_BATCH_SIZE))
+        .thenReturn(generateDars(darCount));
+    when(dataSetDAO.findDatasetsByIdList(any(), eq(DatasetFetchStrategy.MULTI_QUERY)))
+        .thenReturn(generateDatasets(datasetCount));
     when(electionDAO.findLastElectionsByReferenceIds(any())).thenReturn(Collections.emptyList());
     when(matchDAO.findMatchesForPurposeIds(any())).thenReturn(Collections.emptyList());
-    when(electionDAO.findAllDacsForElectionIds(any())).thenReturn(Collections.emptyList());
   }
 
   private Dac generateDac() {
@@ -6,21 +6,25 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import com.codahale.metrics.MetricRegistry;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.core.MediaType;
 import java.util.List;
 import org.broadinstitute.consent.http.WithMockServer;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.enumeration.DataUseTranslationType;
 import org.broadinstitute.consent.http.models.DataUse;
 import org.broadinstitute.consent.http.models.DataUseBuilder;
 import org.broadinstitute.consent.http.models.ontology.DataUseSummary;
+import org.broadinstitute.consent.http.util.UpstreamMetrics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockserver.client.MockServerClient;
 import org.mockserver.model.Header;
@@ -35,6 +39,9 @@ class OntologyServiceTest implements WithMockServer {
 
   private OntologyService service;
 
+  @Mock
+  private DatasetDAO datasetDAO;
+
   @BeforeAll
   static void setUp() {
     container.start();
@@ -60,7 +67,9 @@ class OntologyServiceTest implements WithMockServer {
 
   private void initService() {
     Client client = ClientBuilder.newClient();
-    service = new OntologyService(client, config());
+    MetricRegistry metricRegistry = new MetricRegistry();
+    service = new OntologyService(client, config(), new UpstreamMetrics(metricRegistry),
+        new DataUseTranslationCache(datasetDAO, config(), metricRegistry));
   }
 
   @Test
@@ -0,0 +1,314 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.google.gson.internal.LinkedTreeMap;
+import jakarta.ws.rs.HttpMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.http.HttpHost;
+import org.broadinstitute.consent.http.configurations.ElasticSearchConfiguration;
+import org.broadinstitute.consent.http.db.DAOTestHelper;
+import org.broadinstitute.consent.http.models.elastic_search.DatasetTerm;
+import org.broadinstitute.consent.http.models.elastic_search.StudyTerm;
+import org.broadinstitute.consent.http.util.ConsentLogger;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostgresSearchBackendTest extends DAOTestHelper implements ConsentLogger {
+
+  /**
+   * Set to the URL of an Elasticsearch cluster, e.g. http://localhost:9200, to compare the
+   * Postgres backend against it in {@link #testBenchmarkAgainstElasticsearch()}.
+   */
+  private static final String ELASTICSEARCH_URL = "benchmark.elasticsearch.url";
+
+  private static final int CATALOG_SIZE = 2_000;
+  private static final int QUERY_ITERATIONS = 50;
+  private static final List<String> QUERIES = List.of(
+      """
+          { "query": { "query_string": { "query": "lung AND cohort" } } }
+          """,
+      """
+          { "size": 100, "query": { "bool": {
+            "must": [ { "match": { "study.species": "human" } } ],
+            "filter": [ { "term": { "dacApproval": true } },
+                        { "range": { "participantCount": { "gte": 500 } } } ]
+          } } }
+          """,
+      """
+          { "query": { "multi_match": { "query": "cardiology",
+            "fields": ["datasetName", "study.description"] } } }
+          """);
+
+  private PostgresSearchBackend backend;
+
+  @BeforeEach
+  void setUp() {
+    backend = new PostgresSearchBackend(jdbi, datasetSearchDocumentDAO);
+  }
+
+  @Test
+  void testIndexAndSearchDatasetTerms() throws Exception {
+    backend.indexDatasetTerms(List.of(
+        term(1, "Lung Cohort", "Pulmonology survey", "human", true, 100),
+        term(2, "Heart Study", "Cardiology survey", "human", false, 200),
+        term(3, "Mouse Lung Atlas", "Pulmonology atlas", "mouse", true, 300)));
+
+    assertEquals(Set.of(1, 3), Set.copyOf(ids(backend.searchDatasets("""
+        { "query": { "query_string": { "query": "lung" } } }
+        """).getHits())));
+    assertEquals(List.of(2), ids(backend.searchDatasets("""
+        { "query": { "match": { "study.description": "cardiology" } } }
+        """).getHits()));
+    assertEquals(List.of(1), ids(backend.searchDatasets("""
+        { "query": { "bool": {
+          "must": [ { "match": { "datasetName": "lung" } } ],
+          "must_not": [ { "term": { "study.species": "mouse" } } ]
+        } } }
+        """).getHits()));
+    // Dataset 3 has mouse in other fields than the description
+    assertEquals(Set.of(1, 3), Set.copyOf(ids(backend.searchDatasets("""
+        { "query": { "query_string": {
+          "query": "pulmonology NOT mouse", "fields": ["study.description"]
+        } } }
+        """).getHits())));
+    assertEquals(List.of(2, 3), ids(backend.searchDatasets("""
+        { "query": { "range": { "participantCount": { "gt": 100 } } } }
+        """).getHits()));
+    assertEquals(List.of(3), ids(backend.searchDatasets("""
+        { "from": 1, "size": 1, "query": { "term": { "dacApproval": true } } }
+        """).getHits()));
+  }
+
+  @Test
+  void testSearchMatchesAnyWordByDefault() throws Exception {
+    backend.indexDatasetTerms(List.of(
+        term(1, "Lung Cohort", "Pulmonology survey", "human", true, 100),
+        term(2, "Heart Study", "Cardiology survey", "human", false, 200),
+        term(3, "Mouse Lung Atlas", "Pulmonology atlas", "mouse", true, 300)));
+
+    assertEquals(Set.of(2, 3), Set.copyOf(ids(backend.searchDatasets("""
+        { "query": { "match": { "study.description": "cardiology atlas" } } }
+        """).getHits())));
+    assertEquals(List.of(3), ids(backend.searchDatasets("""
+        { "query": { "match": {
+          "study.description": { "query": "pulmonology atlas", "operator": "and" }
+        } } }
+        """).getHits()));
+    assertEquals(Set.of(2, 3), Set.copyOf(ids(backend.searchDatasets("""
+        { "query": { "query_string": { "query": "heart mouse" } } }
+        """).getHits())));
+    assertEquals(Set.of(1, 2), Set.copyOf(ids(backend.searchDatasets("""
+        { "query": { "query_string": { "query": "heart OR lung NOT mouse" } } }
+        """).getHits())));
+  }
+
+  @Test
+  void testSearchDocumentedExamples() throws Exception {
+    backend.indexDatasetTerms(List.of(
+        term(1440, "Lung Cohort", "Survey", "human", true, 100),
+        term(1441, "Heart Study", "Survey", "human", true, 100)));
+
+    assertEquals(List.of(1440), ids(backend.searchDatasets("""
+        { "query": { "bool": { "must": [
+          { "match": { "_type": "dataset" } },
+          { "match": { "_id": 1440 } }
+        ] } } }
+        """).getHits()));
+    assertEquals(List.of(1440, 1441), ids(backend.searchDatasets("""
+        { "from": 0, "size": 10000, "query": { "bool": { "must": [
+          { "match": { "_type": "dataset" } },
+          { "exists": { "field": "study" } }
+        ] } } }
+        """).getHits()));
+  }
+
+  @Test
+  void testSearchReturnsDocuments() throws Exception {
+    backend.indexDatasetTerms(List.of(term(1, "Lung Cohort", "Survey", "human", true, 100)));
+
+    var hits = backend.searchDatasets("{}").getHits();
+
+    assertEquals(1, hits.length);
+    assertEquals(List.of(1), ids(hits));
+    assertEquals("Lung Cohort", hits[0].get("datasetName"));
+    assertEquals("human", ((Map<?, ?>) hits[0].get("study")).get("species"));
+  }
+
+  @Test
+  void testReindexReplacesDocument() throws Exception {
+    backend.indexDatasetTerms(List.of(term(1, "Lung Cohort", "Survey", "human", true, 100)));
+    backend.indexDatasetTerms(List.of(term(1, "Heart Cohort", "Survey", "human", true, 100)));
+
+    assertEquals(1, datasetSearchDocumentDAO.countDocuments());
+    assertEquals(0, backend.searchDatasets("""
+        { "query": { "query_string": { "query": "lung" } } }
+        """).getHits().length);
+  }
+
+  @Test
+  void testDeleteIndex() throws Exception {
+    backend.indexDatasetTerms(List.of(
+        term(1, "Lung Cohort", "Survey", "human", true, 100),
+        term(2, "Heart Study", "Survey", "human", true, 100)));
+
+    backend.deleteIndex(1);
+
+    assertEquals(List.of(2), ids(backend.searchDatasets("{}").getHits()));
+  }
+
+  @Test
+  void testValidateQuery() {
+    assertTrue(backend.validateQuery(QUERIES.get(1)));
+    assertFalse(backend.validateQuery("""
+        { "query": { "fuzzy": { "datasetName": "lung" } } }
+        """));
+  }
+
+  /**
+   * Seeds a synthetic catalog and measures index build time and query latency of the Postgres
+   * backend. Latency on a small catalog does not show whether a query scans the whole table, so
+   * every benchmark query must also be served by the GIN indexes.
+   */
+  @Test
+  void testBenchmark() throws Exception {
+    List<DatasetTerm> catalog = catalog();
+
+    long buildMillis = indexCatalog(backend, catalog);
+    long[] latencies = queryLatencies(backend);
+
+    logInfo("Postgres search backend: indexed %d datasets in %dms, query p50 %dus, p95 %dus"
+        .formatted(catalog.size(), buildMillis, percentile(latencies, 50),
+            percentile(latencies, 95)));
+    assertEquals(CATALOG_SIZE, datasetSearchDocumentDAO.countDocuments());
+    for (String query : QUERIES) {
+      String plan = plan(query);
+      assertTrue(plan.contains("Bitmap Index Scan on dataset_search_document_"), plan);
+      assertFalse(plan.contains("Seq Scan"), plan);
+    }
+  }
+
+  /**
+   * Runs the same benchmark against an Elasticsearch cluster when one is configured with the
+   * {@value #ELASTICSEARCH_URL} system property. A scratch index is created and removed.
+   */
+  @Test
+  void testBenchmarkAgainstElasticsearch() throws Exception {
+    String url = System.getProperty(ELASTICSEARCH_URL);
+    assumeTrue(Objects.nonNull(url) && !url.isBlank(), ELASTICSEARCH_URL + " is not set");
+    ElasticSearchConfiguration config = new ElasticSearchConfiguration();
+    config.setDatasetIndexName("dataset-search-benchmark-" + System.currentTimeMillis());
+    List<DatasetTerm> catalog = catalog();
+
+    try (RestClient client = RestClient.builder(HttpHost.create(url)).build()) {
+      ElasticSearchBackend elasticSearch = new ElasticSearchBackend(client, config);
+      try {
+        long esBuildMillis = indexCatalog(elasticSearch, catalog);
+        client.performRequest(
+            new Request(HttpMethod.POST, "/" + config.getDatasetIndexName() + "/_refresh"));
+        long[] esLatencies = queryLatencies(elasticSearch);
+        long pgBuildMillis = indexCatalog(backend, catalog);
+        long[] pgLatencies = queryLatencies(backend);
+
+        logInfo(("Indexed %d datasets: Elasticsearch %dms, Postgres %dms. Query p50/p95: "
+            + "Elasticsearch %d/%dus, Postgres %d/%dus").formatted(catalog.size(),
+            esBuildMillis, pgBuildMillis, percentile(esLatencies, 50),
+            percentile(esLatencies, 95), percentile(pgLatencies, 50),
+            percentile(pgLatencies, 95)));
+      } finally {
+        client.performRequest(new Request(HttpMethod.DELETE, "/" + config.getDatasetIndexName()));
+      }
+    }
+  }
+
+  /**
+   * The plan of a search with sequential scans disabled. Postgres still scans the table when no
+   * index can serve the query.
+   */
+  private static String plan(String query) throws Exception {
+    PostgresSearchQuery searchQuery = PostgresSearchQuery.parse(query);
+    return jdbi.inTransaction(handle -> {
+      handle.execute("SET LOCAL enable_seqscan = off");
+      return String.join("\n", handle.createQuery("EXPLAIN " + searchQuery.sql())
+          .bindMap(searchQuery.params())
+          .mapTo(String.class)
+          .list());
+    });
+  }
+
+  private static List<DatasetTerm> catalog() {
+    List<String> topics = List.of("lung", "heart", "kidney", "liver", "brain", "blood");
+    List<String> fields = List.of("pulmonology", "cardiology", "nephrology", "oncology");
+    List<DatasetTerm> catalog = new ArrayList<>();
+    for (int x = 1; x <= CATALOG_SIZE; x++) {
+      String topic = topics.get(x % topics.size());
+      String field = fields.get(x % fields.size());
+      catalog.add(term(x, "%s cohort %d".formatted(topic, x),
+          "A %s study of %s samples".formatted(field, topic), x % 5 == 0 ? "mouse" : "human",
+          x % 2 == 0, x % 1_000));
+    }
+    return catalog;
+  }
+
+  private static long indexCatalog(DatasetSearchBackend searchBackend, List<DatasetTerm> catalog)
+      throws Exception {
+    long start = System.currentTimeMillis();
+    for (int from = 0; from < catalog.size(); from += 500) {
+      searchBackend.indexDatasetTerms(catalog.subList(from, Math.min(from + 500, catalog.size())));
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private static long[] queryLatencies(DatasetSearchBackend searchBackend) throws Exception {
+    // Warm up connections and query plans before measuring
+    for (String query : QUERIES) {
+      assertTrue(searchBackend.searchDatasets(query).getHits().length > 0);
+    }
+    long[] latencies = new long[QUERY_ITERATIONS * QUERIES.size()];
+    for (int x = 0; x < latencies.length; x++) {
+      long start = System.nanoTime();
+      searchBackend.searchDatasets(QUERIES.get(x % QUERIES.size()));
+      latencies[x] = (System.nanoTime() - start) / 1_000;
+    }
+    Arrays.sort(latencies);
+    return latencies;
+  }
+
+  private static long percentile(long[] sortedLatencies, int percentile) {
+    return sortedLatencies[(sortedLatencies.length - 1) * percentile / 100];
+  }
+
+  private static DatasetTerm term(int datasetId, String name, String description, String species,
+      boolean dacApproval, int participantCount) {
+    StudyTerm study = new StudyTerm();
+    study.setDescription(description);
+    study.setSpecies(species);
+    DatasetTerm term = new DatasetTerm();
+    term.setDatasetId(datasetId);
+    term.setDatasetName(name);
+    term.setDacApproval(dacApproval);
+    term.setParticipantCount(participantCount);
+    term.setStudy(study);
+    return term;
+  }
+
+  /**
+   * Search hits are unwrapped to their documents, so datasets are identified by the datasetId of
+   * the document.
+   */
+  @SuppressWarnings("rawtypes")
+  private static List<Integer> ids(LinkedTreeMap[] hits) {
+    return Arrays.stream(hits).map(hit -> ((Number) hit.get("datasetId")).intValue()).toList();
+  }
+
+}
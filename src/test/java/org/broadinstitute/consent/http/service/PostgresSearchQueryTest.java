@@ -0,0 +1,223 @@
+package org.broadinstitute.consent.http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PostgresSearchQueryTest {
+
+  @Test
+  void testQueryString() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("""
+        { "from": 10, "size": 50, "query": { "query_string": { "query": "(GRU) AND (HMB)" } } }
+        """);
+
+    assertEquals("search_vector @@ websearch_to_tsquery('simple', :p0)", query.where());
+    assertEquals(Map.of("p0", "GRU HMB"), query.params());
+    assertTrue(query.sql().contains(
+        "ORDER BY ts_rank(search_vector, websearch_to_tsquery('simple', :p0)) DESC, dataset_id"));
+    assertTrue(query.sql().contains("LIMIT 50 OFFSET 10"));
+  }
+
+  @Test
+  void testMatchAllDefaults() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("{}");
+
+    assertEquals("TRUE", query.where());
+    assertTrue(query.sql().contains("ORDER BY dataset_id"));
+    assertTrue(query.sql().contains("LIMIT " + PostgresSearchQuery.DEFAULT_SIZE + " OFFSET 0"));
+  }
+
+  @Test
+  void testResultWindow() throws IOException {
+    assertTrue(PostgresSearchQuery.parse("{ \"from\": 9990, \"size\": 10 }").sql()
+        .contains("LIMIT 10 OFFSET 9990"));
+  }
+
+  @Test
+  void testBoolQuery() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("""
+        {
+          "query": {
+            "bool": {
+              "must": [
+                { "multi_match": { "query": "lung", "fields": ["datasetName^2", "study.description"] } },
+                { "term": { "dacApproval": true } }
+              ],
+              "filter": { "terms": { "approvedUserIds": [1, 2] } },
+              "should": [ { "match": { "study.species": "human" } } ],
+              "must_not": [ { "exists": { "field": "deletable" } } ]
+            }
+          }
+        }
+        """);
+
+    assertEquals("((search_vector @@ websearch_to_tsquery('simple', :p0)"
+            + " AND (jsonb_to_tsvector('simple', jsonb_path_query_array(document, CAST(:p1 AS JSONPATH)), '[\"string\", \"numeric\"]') @@ websearch_to_tsquery('simple', :p0)"
+            + " OR jsonb_to_tsvector('simple', jsonb_path_query_array(document, CAST(:p2 AS JSONPATH)), '[\"string\", \"numeric\"]') @@ websearch_to_tsquery('simple', :p0)))"
+            + " AND document @?? CAST(:p3 AS JSONPATH)"
+            + " AND document @?? CAST(:p4 AS JSONPATH)"
+            + " AND NOT document @?? CAST(:p5 AS JSONPATH))",
+        query.where());
+    assertEquals(List.of("lung", "$.\"datasetName\"", "$.\"study\".\"description\"",
+            "$.\"dacApproval\" ? (@ == true)", "$.\"approvedUserIds\" ? (@ == 1 || @ == 2)",
+            "$.\"deletable\""),
+        List.copyOf(query.params().values()));
+  }
+
+  @Test
+  void testShouldWithoutRequiredClauses() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("""
+        { "query": { "bool": { "should": [
+          { "match_phrase": { "datasetName": "lung cohort" } },
+          { "range": { "participantCount": { "gte": 10, "lt": 100 } } }
+        ] } } }
+        """);
+
+    assertTrue(query.where().contains(" OR document @?? CAST(:p2 AS JSONPATH))"));
+    assertEquals("\"lung cohort\"", query.params().get("p0"));
+    assertEquals("$.\"participantCount\" ? (@ >= 10 && @ < 100)", query.params().get("p2"));
+  }
+
+  @Test
+  void testTermValuesAreEncoded() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("""
+        { "query": { "term": { "datasetName.keyword": "O'Brien \\"study\\")" } } }
+        """);
+
+    assertEquals("document @?? CAST(:p0 AS JSONPATH)", query.where());
+    assertEquals("$.\"datasetName\" ? (@ == \"O'Brien \\\"study\\\")\")", query.params().get("p0"));
+  }
+
+  @Test
+  void testWordsMatchAnyByDefault() throws IOException {
+    assertEquals(Map.of("p0", "lung or cohort", "p1", "$.\"study\".\"description\""),
+        PostgresSearchQuery.parse("""
+            { "query": { "match": { "study.description": "lung cohort" } } }
+            """).params());
+    assertEquals("lung cohort", PostgresSearchQuery.parse("""
+        { "query": { "match": {
+          "study.description": { "query": "lung cohort", "operator": "and" }
+        } } }
+        """).params().get("p0"));
+    assertEquals("lung or cohort", PostgresSearchQuery.parse("""
+        { "query": { "multi_match": { "query": "lung cohort", "fields": ["datasetName"] } } }
+        """).params().get("p0"));
+    assertEquals("lung cohort", PostgresSearchQuery.parse("""
+        { "query": { "multi_match": { "query": "lung cohort", "operator": "AND" } } }
+        """).params().get("p0"));
+    assertEquals("lung or cohort", PostgresSearchQuery.parse("""
+        { "query": { "query_string": { "query": "lung cohort" } } }
+        """).params().get("p0"));
+    assertEquals("lung cohort", PostgresSearchQuery.parse("""
+        { "query": { "query_string": { "query": "lung cohort", "default_operator": "AND" } } }
+        """).params().get("p0"));
+  }
+
+  @Test
+  void testNegatedWordsAreExcluded() throws IOException {
+    PostgresSearchQuery query = PostgresSearchQuery.parse("""
+        { "query": { "query_string": { "query": "heart OR lung NOT mouse" } } }
+        """);
+
+    assertEquals("search_vector @@ (websearch_to_tsquery('simple', :p0)"
+        + " && !! websearch_to_tsquery('simple', :p1))", query.where());
+    assertEquals(Map.of("p0", "heart or lung", "p1", "mouse"), query.params());
+  }
+
+  @Test
+  void testFieldMatchesArePrefiltered() throws IOException {
+    assertTrue(PostgresSearchQuery.parse("""
+        { "query": { "match": { "study.description": "lung cohort" } } }
+        """).where().startsWith("(search_vector @@ websearch_to_tsquery('simple', :p0) AND "));
+    assertTrue(PostgresSearchQuery.parse("""
+        { "query": { "query_string": { "query": "lung NOT mouse", "fields": ["datasetName"] } } }
+        """).where().startsWith("jsonb_to_tsvector("));
+  }
+
+  /**
+   * The example requests in the dataset search API docs.
+   */
+  @Test
+  void testDocumentedExamples() throws IOException {
+    PostgresSearchQuery byId = PostgresSearchQuery.parse("""
+        { "query": { "bool": { "must": [
+          { "match": { "_type": "dataset" } },
+          { "match": { "_id": 1440 } }
+        ] } } }
+        """);
+    PostgresSearchQuery withStudy = PostgresSearchQuery.parse("""
+        { "from": 0, "size": 10000, "query": { "bool": { "must": [
+          { "match": { "_type": "dataset" } },
+          { "exists": { "field": "study" } }
+        ] } } }
+        """);
+
+    assertEquals("(TRUE AND dataset_id = :p0)", byId.where());
+    assertEquals(Map.of("p0", 1440), byId.params());
+    assertEquals("(TRUE AND document @?? CAST(:p0 AS JSONPATH))", withStudy.where());
+    assertEquals(Map.of("p0", "$.\"study\""), withStudy.params());
+  }
+
+  @Test
+  void testMetadataFields() throws IOException {
+    assertEquals("FALSE", PostgresSearchQuery.parse("""
+        { "query": { "term": { "_type": "study" } } }
+        """).where());
+    assertEquals("FALSE", PostgresSearchQuery.parse("""
+        { "query": { "term": { "_id": "DUOS-000001" } } }
+        """).where());
+    PostgresSearchQuery ids = PostgresSearchQuery.parse("""
+        { "query": { "ids": { "values": ["1", "2"] } } }
+        """);
+    assertEquals("(dataset_id = :p0 OR dataset_id = :p1)", ids.where());
+    assertEquals(List.of(1, 2), List.copyOf(ids.params().values()));
+    assertEquals("(dataset_id = :p0 OR dataset_id = :p1)", PostgresSearchQuery.parse("""
+        { "query": { "terms": { "_id": [3, 4] } } }
+        """).where());
+    assertEquals("TRUE", PostgresSearchQuery.parse("""
+        { "query": { "exists": { "field": "_id" } } }
+        """).where());
+  }
+
+  @Test
+  void testSearchText() {
+    assertEquals("GRU HMB", PostgresSearchQuery.searchText("(GRU) AND (HMB)", false));
+    assertEquals("cancer or tumor -mouse",
+        PostgresSearchQuery.searchText("study.description:(cancer OR tumor) NOT mouse*", false));
+    assertEquals("lung or cohort or \"heart study\" -mouse",
+        PostgresSearchQuery.searchText("lung NOT mouse cohort \"heart study\"", false));
+    assertEquals("lung cohort or heart",
+        PostgresSearchQuery.searchText("lung cohort OR heart", true));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "not json",
+      "[]",
+      "{ \"query\": { \"fuzzy\": { \"datasetName\": \"lung\" } } }",
+      "{ \"query\": { \"term\": { \"datasetName') OR TRUE --\": \"x\" } } }",
+      "{ \"query\": { \"term\": { \"datasetName\": { \"value\": [1] } } } }",
+      "{ \"query\": { \"match_all\": {}, \"match_none\": {} } }",
+      "{ \"from\": 9990, \"size\": 100 }",
+      "{ \"from\": 1, \"size\": 2147483647 }",
+      "{ \"from\": 2147483647, \"size\": 1 }",
+      "{ \"size\": \"ten\" }",
+      "{ \"query\": { \"term\": { \"_index\": \"dataset\" } } }",
+      "{ \"query\": { \"exists\": { \"field\": \"_source\" } } }",
+      "{ \"query\": { \"range\": { \"_id\": { \"gt\": 1 } } } }",
+      "{ \"query\": { \"match\": { \"datasetName\": "
+          + "{ \"query\": \"a\", \"operator\": \"xor\" } } } }"
+  })
+  void testInvalidQueries(String query) {
+    assertThrows(IOException.class, () -> PostgresSearchQuery.parse(query));
+  }
+
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.http.HttpStatusCodes;
 import jakarta.ws.rs.ServerErrorException;
 import java.util.List;
@@ -22,6 +23,7 @@ import org.broadinstitute.consent.http.models.UserUpdateFields;
 import org.broadinstitute.consent.http.models.support.CustomRequestField;
 import org.broadinstitute.consent.http.models.support.SupportRequestComment;
 import org.broadinstitute.consent.http.models.support.SupportTicket;
+import org.broadinstitute.consent.http.util.HttpClientUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -68,7 +70,8 @@ class SupportRequestServiceTest {
   void init() {
     mockServerClient = new MockServerClient(container.getHost(), container.getServerPort());
     mockServerClient.reset();
-    service = new SupportRequestService(config, institutionDAO, userDAO);
+    service = new SupportRequestService(config, institutionDAO, userDAO,
+        new HttpClientUtil(new ServicesConfiguration(), new MetricRegistry()));
   }
 
   @Test
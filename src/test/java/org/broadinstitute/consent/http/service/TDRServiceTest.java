@@ -10,9 +10,12 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.ws.rs.NotFoundException;
 import java.util.Arrays;
 import java.util.List;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.DatasetDAO;
 import org.broadinstitute.consent.http.db.SamDAO;
 import org.broadinstitute.consent.http.db.UserDAO;
@@ -47,7 +50,10 @@ class TDRServiceTest {
   private TDRService service;
 
   private void initService() {
-    service = new TDRService(darService, datasetDAO, samDAO, userDAO);
+    CollaboratorVerifier collaboratorVerifier = new CollaboratorVerifier(samDAO,
+        new ServicesConfiguration(), MoreExecutors.newDirectExecutorService(),
+        new MetricRegistry());
+    service = new TDRService(darService, datasetDAO, collaboratorVerifier, userDAO);
   }
 
   @Test
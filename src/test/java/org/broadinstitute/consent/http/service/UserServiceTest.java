@@ -26,8 +26,10 @@ import java.util.Collections;
 import java.util.List;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
+import org.broadinstitute.consent.http.authentication.UserRoleCache;
 import org.broadinstitute.consent.http.db.AcknowledgementDAO;
 import org.broadinstitute.consent.http.db.DaaDAO;
+import org.broadinstitute.consent.http.db.DatasetIndexOutboxDAO;
 import org.broadinstitute.consent.http.db.FileStorageObjectDAO;
 import org.broadinstitute.consent.http.db.InstitutionDAO;
 import org.broadinstitute.consent.http.db.LibraryCardDAO;
@@ -94,12 +96,19 @@ class UserServiceTest {
   @Mock
   private EmailService emailService;
 
+  @Mock
+  private UserRoleCache userRoleCache;
+
+  @Mock
+  private DatasetIndexOutboxDAO datasetIndexOutboxDAO;
+
 
   private UserService service;
 
   private void initService() {
     service = new UserService(userDAO, userPropertyDAO, userRoleDAO, voteDAO, institutionDAO, libraryCardDAO,
-        acknowledgementDAO, fileStorageObjectDAO, samDAO, userServiceDAO, daaDAO, emailService);
+        acknowledgementDAO, fileStorageObjectDAO, samDAO, userServiceDAO, daaDAO, emailService,
+        userRoleCache, datasetIndexOutboxDAO);
   }
 
   @Test
@@ -148,6 +157,7 @@ class UserServiceTest {
     verify(userDAO, times(1)).updateEmailPreference(any(), any());
     verify(userDAO, times(1)).updateEraCommonsId(any(), any());
     verify(userPropertyDAO, times(1)).insertAll(any());
+    verify(datasetIndexOutboxDAO, times(1)).enqueueUserDatasets(user.getUserId());
     // Verify role additions/deletions.
     verify(userRoleDAO, times(1)).insertUserRoles(List.of(so), 1);
     verify(userRoleDAO, times(1)).removeUserRoles(1, List.of(admin.getRoleId()));
@@ -459,11 +469,13 @@ class UserServiceTest {
     when(userDAO.findUserByEmail(any())).thenReturn(u);
     initService();
 
+    String email = RandomStringUtils.random(10, true, false);
     try {
-      service.deleteUserByEmail(RandomStringUtils.random(10, true, false));
+      service.deleteUserByEmail(email);
     } catch (Exception e) {
       fail("Should not fail: " + e.getMessage());
     }
+    verify(userRoleCache).invalidate(email);
   }
 
   @Test
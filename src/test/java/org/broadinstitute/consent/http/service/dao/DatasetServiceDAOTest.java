@@ -28,12 +28,14 @@ import org.broadinstitute.consent.http.models.FileStorageObject;
 import org.broadinstitute.consent.http.models.Study;
 import org.broadinstitute.consent.http.models.StudyProperty;
 import org.broadinstitute.consent.http.models.User;
+import org.broadinstitute.consent.http.service.DatasetAutocompleteIndex;
 import org.broadinstitute.consent.http.service.dao.DatasetServiceDAO.DatasetInsert;
 import org.broadinstitute.consent.http.service.dao.DatasetServiceDAO.DatasetUpdate;
 import org.broadinstitute.consent.http.service.dao.DatasetServiceDAO.StudyUpdate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,9 +43,12 @@ class DatasetServiceDAOTest extends DAOTestHelper {
 
   private DatasetServiceDAO serviceDAO;
 
+  @Mock
+  private DatasetAutocompleteIndex datasetAutocompleteIndex;
+
   @BeforeEach
   public void setUp() {
-    serviceDAO = new DatasetServiceDAO(jdbi, datasetDAO, studyDAO);
+    serviceDAO = new DatasetServiceDAO(jdbi, datasetDAO, studyDAO, datasetAutocompleteIndex);
   }
 
   @Test
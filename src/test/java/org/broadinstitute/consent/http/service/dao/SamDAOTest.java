@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.http.HttpStatusCodes;
 import com.google.gson.Gson;
 import jakarta.ws.rs.BadRequestException;
@@ -21,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 import org.broadinstitute.consent.http.WithMockServer;
+import org.broadinstitute.consent.http.authentication.AuthUserCache;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.SamDAO;
 import org.broadinstitute.consent.http.exceptions.ConsentConflictException;
@@ -30,6 +32,7 @@ import org.broadinstitute.consent.http.models.sam.ResourceType;
 import org.broadinstitute.consent.http.models.sam.UserStatus;
 import org.broadinstitute.consent.http.models.sam.UserStatusDiagnostics;
 import org.broadinstitute.consent.http.models.sam.UserStatusInfo;
+import org.broadinstitute.consent.http.util.BackgroundTaskExecutor;
 import org.broadinstitute.consent.http.util.HttpClientUtil;
 import org.broadinstitute.consent.http.util.gson.GsonUtil;
 import org.junit.jupiter.api.AfterAll;
@@ -75,7 +78,9 @@ class SamDAOTest implements WithMockServer {
     ServicesConfiguration config = new ServicesConfiguration();
     config.setTimeoutSeconds(1);
     config.setSamUrl("http://" + container.getHost() + ":" + container.getServerPort() + "/");
-    samDAO = new SamDAO(new HttpClientUtil(config), config);
+    samDAO = new SamDAO(new HttpClientUtil(config, new MetricRegistry()), config,
+        new AuthUserCache(config, new MetricRegistry()),
+        new BackgroundTaskExecutor(config, new MetricRegistry()));
   }
 
   @Test
@@ -1,12 +1,20 @@
 package org.broadinstitute.consent.http.service.mail;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import com.sendgrid.SendGrid;
-import java.io.Writer;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import java.util.List;
+import java.util.Set;
 import org.broadinstitute.consent.http.configurations.MailConfiguration;
 import org.broadinstitute.consent.http.db.UserDAO;
 import org.broadinstitute.consent.http.mail.SendGridAPI;
+import org.broadinstitute.consent.http.models.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,8 +32,7 @@ class SendGridAPITest {
   @Mock
   private SendGrid sendGrid;
 
-  @Mock
-  private Writer template;
+  private final String template = "<html></html>";
 
   @Mock
   private UserDAO userDAO;
@@ -48,7 +55,7 @@ class SendGridAPITest {
   @Test
   void testNewCaseMessage() {
     try {
-      sendGridAPI.sendNewCaseMessage(TO, ID, TYPE, template);
+      sendGridAPI.newCaseMessage(TO, ID, TYPE, template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -57,7 +64,7 @@ class SendGridAPITest {
   @Test
   void testReminderMessage() {
     try {
-      sendGridAPI.sendReminderMessage(TO, ID, TYPE, template);
+      sendGridAPI.reminderMessage(TO, ID, TYPE, template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -66,7 +73,7 @@ class SendGridAPITest {
   @Test
   void testDisabledDatasetMessage() {
     try {
-      sendGridAPI.sendDisabledDatasetMessage(TO, ID, TYPE, template);
+      sendGridAPI.disabledDatasetMessage(TO, ID, TYPE, template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -75,7 +82,7 @@ class SendGridAPITest {
   @Test
   void testNewDARRequests() {
     try {
-      sendGridAPI.sendNewDARRequests(TO, ID, TYPE, template);
+      sendGridAPI.newDARRequestMessage(TO, ID, TYPE, template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -84,7 +91,7 @@ class SendGridAPITest {
   @Test
   void testNewResearcherApprovedMessage() {
     try {
-      sendGridAPI.sendNewResearcherApprovedMessage(TO, template, "Test");
+      sendGridAPI.researcherApprovedMessage(TO, template, "Test");
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -93,7 +100,7 @@ class SendGridAPITest {
   @Test
   void testSendDataCustodianApprovalMessage() {
     try {
-      sendGridAPI.sendDataCustodianApprovalMessage(TO, "Test", template);
+      sendGridAPI.dataCustodianApprovalMessage(TO, "Test", template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -102,7 +109,7 @@ class SendGridAPITest {
   @Test
   void testSendDatasetSubmittedMessage() {
     try {
-      sendGridAPI.sendDatasetSubmittedMessage(TO, template);
+      sendGridAPI.datasetSubmittedMessage(TO, template);
     } catch (Exception e) {
       fail("Should not throw exception");
     }
@@ -111,7 +118,7 @@ class SendGridAPITest {
   @Test
   void testSendDaaRequestMessage() {
     try {
-      sendGridAPI.sendDaaRequestMessage(TO, template, "1");
+      sendGridAPI.daaRequestMessage(TO, template, "1");
     } catch (Exception  e) {
       fail("Should not throw exception");
     }
@@ -120,7 +127,7 @@ class SendGridAPITest {
   @Test
   void testSendNewDAAUploadSOMessage() {
     try {
-      sendGridAPI.sendNewDAAUploadSOMessage(TO, template, "Test DAC");
+      sendGridAPI.newDAAUploadSOMessage(TO, template, "Test DAC");
     } catch (Exception  e) {
       fail("Should not throw exception");
     }
@@ -129,10 +136,54 @@ class SendGridAPITest {
   @Test
   void testSendNewDAAUploadResearcherMessage() {
     try {
-      sendGridAPI.sendNewDAAUploadResearcherMessage(TO, template, "Test DAC");
+      sendGridAPI.newDAAUploadResearcherMessage(TO, template, "Test DAC");
     } catch (Exception  e) {
       fail("Should not throw exception");
     }
   }
 
+  @Test
+  void testBatchMessage() {
+    Mail message = sendGridAPI.batchMessage("Subject", "<p>Body</p>",
+        List.of(TO, "other@broadinstitute.org"));
+
+    assertEquals("Subject", message.getSubject());
+    assertEquals("from@broadinstitute.org", message.getFrom().getEmail());
+    assertEquals("<p>Body</p>", message.getContent().get(0).getValue());
+    // Each recipient has their own personalization so recipients do not see each other
+    assertEquals(List.of(TO, "other@broadinstitute.org"), message.getPersonalization().stream()
+        .map(Personalization::getTos)
+        .map(tos -> tos.get(0).getEmail())
+        .toList());
+  }
+
+  @Test
+  void testFindRecipientsAcceptingEmail() {
+    User accepting = user("Accepting@broadinstitute.org", true);
+    User unset = user("unset@broadinstitute.org", null);
+    User declining = user("declining@broadinstitute.org", false);
+    when(userDAO.findUsersByEmailList(List.of("accepting@broadinstitute.org",
+        "unset@broadinstitute.org", "declining@broadinstitute.org", "unknown@broadinstitute.org")))
+        .thenReturn(List.of(accepting, unset, declining));
+
+    Set<String> recipients = sendGridAPI.findRecipientsAcceptingEmail(
+        List.of("accepting@broadinstitute.org", "unset@broadinstitute.org",
+            "declining@broadinstitute.org", "unknown@broadinstitute.org"));
+
+    assertEquals(Set.of("accepting@broadinstitute.org", "unset@broadinstitute.org"), recipients);
+  }
+
+  @Test
+  void testFindRecipientsAcceptingEmailEmpty() {
+    assertTrue(sendGridAPI.findRecipientsAcceptingEmail(List.of()).isEmpty());
+    verifyNoInteractions(userDAO);
+  }
+
+  private User user(String email, Boolean emailPreference) {
+    User user = new User();
+    user.setEmail(email);
+    user.setEmailPreference(emailPreference);
+    return user;
+  }
+
 }
@@ -0,0 +1,94 @@
+package org.broadinstitute.consent.http.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackgroundTaskExecutorTest {
+
+  private MetricRegistry metricRegistry;
+
+  private BackgroundTaskExecutor executor;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    ServicesConfiguration config = new ServicesConfiguration();
+    config.setBackgroundTaskParallelism(1);
+    config.setBackgroundTaskQueueCapacity(1);
+    metricRegistry = new MetricRegistry();
+    executor = new BackgroundTaskExecutor(config, metricRegistry);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    release.countDown();
+    executor.stop();
+  }
+
+  @Test
+  void testSubmit() throws Exception {
+    assertEquals("done", executor.submit(() -> "done").get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testSubmitDeduplicatesInFlightKeys() throws Exception {
+    ListenableFuture<String> first = executor.submit("key", this::blockUntilReleased);
+    ListenableFuture<String> duplicate = executor.submit("key", () -> "duplicate");
+
+    assertSame(first, duplicate);
+    assertEquals(1, meterCount("deduplicated"));
+    release.countDown();
+    assertEquals("released", first.get(1, TimeUnit.SECONDS));
+
+    // Once the first task completes, the key can be submitted again
+    ListenableFuture<String> next = executor.submit("key", () -> "next");
+    assertNotSame(first, next);
+    assertEquals("next", next.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testSubmitRejectsWhenSaturated() throws Exception {
+    // One running task and one queued task fill the executor
+    ListenableFuture<String> running = executor.submit(this::blockUntilReleased);
+    ListenableFuture<String> queued = executor.submit(this::blockUntilReleased);
+
+    ListenableFuture<String> rejected = executor.submit("key", () -> "rejected");
+
+    ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    assertEquals(1, meterCount("rejected"));
+    assertEquals(1, metricRegistry.getGauges()
+        .get(MetricRegistry.name(BackgroundTaskExecutor.class, "queued")).getValue());
+    // A rejected key is not left in flight once the executor has capacity again
+    release.countDown();
+    assertEquals("released", running.get(1, TimeUnit.SECONDS));
+    assertEquals("released", queued.get(1, TimeUnit.SECONDS));
+    assertEquals("accepted", executor.submit("key", () -> "accepted").get(1, TimeUnit.SECONDS));
+  }
+
+  private String blockUntilReleased() throws InterruptedException {
+    release.await(5, TimeUnit.SECONDS);
+    return "released";
+  }
+
+  private long meterCount(String name) {
+    return metricRegistry.getMeters().get(MetricRegistry.name(BackgroundTaskExecutor.class, name))
+        .getCount();
+  }
+
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.http.HttpStatusCodes;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -31,6 +32,8 @@ class HttpClientUtilTest implements WithMockServer {
 
   private HttpClientUtil clientUtil;
 
+  private MetricRegistry metricRegistry;
+
   private MockServerClient mockServerClient;
 
   private static final MockServerContainer container = new MockServerContainer(IMAGE);
@@ -54,7 +57,8 @@ class HttpClientUtilTest implements WithMockServer {
     mockServerClient.reset();
     ServicesConfiguration configuration = new ServicesConfiguration();
     configuration.setTimeoutSeconds(1);
-    clientUtil = new HttpClientUtil(configuration);
+    metricRegistry = new MetricRegistry();
+    clientUtil = new HttpClientUtil(configuration, metricRegistry);
   }
 
   /**
@@ -84,7 +88,7 @@ class HttpClientUtilTest implements WithMockServer {
     configuration.setTimeoutSeconds(1);
     // Setting the cache to 0 effectively means no caching
     configuration.setCacheExpireMinutes(0);
-    clientUtil = new HttpClientUtil(configuration);
+    clientUtil = new HttpClientUtil(configuration, new MetricRegistry());
     mockServerClient.when(request())
         .respond(response()
             .withStatusCode(200));
@@ -120,4 +124,19 @@ class HttpClientUtilTest implements WithMockServer {
     });
   }
 
+  @Test
+  void testConnectionsReturnedToPool() throws Exception {
+    mockServerClient.when(request())
+        .respond(response()
+            .withStatusCode(200));
+    for (int i = 0; i < 3; i++) {
+      clientUtil.getHttpResponse(new HttpGet(statusUrl));
+    }
+    String leased = MetricRegistry.name(HttpClientUtil.class, "pool", container.getHost(), "leased");
+    String available = MetricRegistry.name(HttpClientUtil.class, "pool", container.getHost(),
+        "available");
+    assertEquals(0, metricRegistry.getGauges().get(leased).getValue());
+    assertEquals(1, metricRegistry.getGauges().get(available).getValue());
+  }
+
 }
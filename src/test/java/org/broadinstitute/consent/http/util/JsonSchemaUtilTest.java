@@ -1,10 +1,14 @@
 package org.broadinstitute.consent.http.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.networknt.schema.ValidationMessage;
+import jakarta.ws.rs.BadRequestException;
 import java.util.Set;
 import org.broadinstitute.consent.http.models.dataset_registration_v1.DatasetRegistrationSchemaV1;
 import org.junit.jupiter.api.BeforeAll;
@@ -828,6 +832,33 @@ class JsonSchemaUtilTest {
     assertFieldHasError(errors, "url");
   }
 
+  @Test
+  void testDatasetRegistrationSchemaIsCompiledOnce() {
+    assertSame(schemaUtil.getDatasetRegistrationSchema(),
+        schemaUtil.getDatasetRegistrationSchema());
+  }
+
+  @Test
+  void testValidateAndDeserializeDatasetRegistration() {
+    DatasetRegistrationSchemaV1 registration = schemaUtil
+        .validateAndDeserializeDatasetRegistration(datasetRegistrationInstance);
+    assertEquals(schemaUtil.deserializeDatasetRegistration(datasetRegistrationInstance),
+        registration);
+  }
+
+  @Test
+  void testValidateAndDeserializeDatasetRegistrationInvalid() {
+    BadRequestException e = assertThrows(BadRequestException.class,
+        () -> schemaUtil.validateAndDeserializeDatasetRegistration("{}"));
+    assertTrue(e.getMessage().startsWith("Invalid schema:"));
+    assertTrue(e.getMessage().contains("studyName"));
+  }
+
+  @Test
+  void testValidateAndDeserializeDatasetRegistrationInvalidJson() {
+    assertThrows(BadRequestException.class,
+        () -> schemaUtil.validateAndDeserializeDatasetRegistration("{ invalid"));
+  }
 
   private void assertNoErrors(Set<ValidationMessage> errors) {
     assertTrue(errors.isEmpty(),
@@ -0,0 +1,88 @@
+package org.broadinstitute.consent.http.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import org.broadinstitute.consent.http.enumeration.UpstreamOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamMetricsTest {
+
+  private MetricRegistry metricRegistry;
+  private UpstreamMetrics upstreamMetrics;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    upstreamMetrics = new UpstreamMetrics(metricRegistry);
+  }
+
+  @Test
+  void testUpdate() {
+    upstreamMetrics.update(UpstreamOperation.SAM_USER_BY_EMAIL, 1000, 200);
+    upstreamMetrics.update(UpstreamOperation.SAM_USER_BY_EMAIL, 1000, 204);
+    upstreamMetrics.update(UpstreamOperation.SAM_USER_BY_EMAIL, 1000, 404);
+
+    assertEquals(3,
+        metricRegistry.timer("UpstreamMetrics.sam.user-by-email.latency").getCount());
+    assertEquals(2,
+        metricRegistry.counter("UpstreamMetrics.sam.user-by-email.status.2xx").getCount());
+    assertEquals(1,
+        metricRegistry.counter("UpstreamMetrics.sam.user-by-email.status.4xx").getCount());
+  }
+
+  @Test
+  void testTimeRecordsStatus() {
+    int status = upstreamMetrics.time(UpstreamOperation.MATCH, () -> 500, s -> s);
+
+    assertEquals(500, status);
+    assertEquals(1, metricRegistry.timer("UpstreamMetrics.ontology.match.latency").getCount());
+    assertEquals(1,
+        metricRegistry.counter("UpstreamMetrics.ontology.match.status.5xx").getCount());
+  }
+
+  @Test
+  void testTimeRecordsTimeout() {
+    assertThrows(ProcessingException.class,
+        () -> upstreamMetrics.time(UpstreamOperation.ONTOLOGY_TRANSLATE, () -> {
+          throw new ProcessingException(new SocketTimeoutException("Read timed out"));
+        }, s -> 200));
+
+    assertEquals(1,
+        metricRegistry.counter("UpstreamMetrics.ontology.translate.timeouts").getCount());
+    assertEquals(0,
+        metricRegistry.counter("UpstreamMetrics.ontology.translate.errors").getCount());
+  }
+
+  @Test
+  void testMarkFailure() {
+    upstreamMetrics.markFailure(UpstreamOperation.OIDC_TOKEN, 1000, new IOException("refused"));
+
+    assertEquals(1, metricRegistry.counter("UpstreamMetrics.oidc.token.errors").getCount());
+    assertEquals(0, metricRegistry.counter("UpstreamMetrics.oidc.token.timeouts").getCount());
+  }
+
+  @Test
+  void testMetricsAreBoundedByOperation() {
+    for (int i = 0; i < 100; i++) {
+      upstreamMetrics.update(UpstreamOperation.SAM_USER_BY_EMAIL, 1000, 200);
+    }
+    assertEquals(1, metricRegistry.getTimers().size());
+    assertEquals(1, metricRegistry.getCounters().size());
+  }
+
+  @Test
+  void testIsTimeout() {
+    assertTrue(UpstreamMetrics.isTimeout(new SocketTimeoutException()));
+    assertTrue(UpstreamMetrics.isTimeout(new RuntimeException(new SocketTimeoutException())));
+    assertFalse(UpstreamMetrics.isTimeout(new IOException()));
+  }
+
+}
@@ -12,12 +12,14 @@ import au.com.dius.pact.consumer.junit5.PactTestFor;
 import au.com.dius.pact.core.model.PactSpecVersion;
 import au.com.dius.pact.core.model.RequestResponsePact;
 import au.com.dius.pact.core.model.annotations.Pact;
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.client.http.HttpStatusCodes;
 import com.google.gson.Gson;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import java.util.List;
 import java.util.Map;
+import org.broadinstitute.consent.http.authentication.AuthUserCache;
 import org.broadinstitute.consent.http.configurations.ServicesConfiguration;
 import org.broadinstitute.consent.http.db.SamDAO;
 import org.broadinstitute.consent.http.models.AuthUser;
@@ -29,6 +31,7 @@ import org.broadinstitute.consent.http.models.sam.UserStatus.Enabled;
 import org.broadinstitute.consent.http.models.sam.UserStatus.UserInfo;
 import org.broadinstitute.consent.http.models.sam.UserStatusDiagnostics;
 import org.broadinstitute.consent.http.models.sam.UserStatusInfo;
+import org.broadinstitute.consent.http.util.BackgroundTaskExecutor;
 import org.broadinstitute.consent.http.util.HttpClientUtil;
 import org.broadinstitute.consent.http.util.gson.GsonUtil;
 import org.junit.jupiter.api.BeforeAll;
@@ -100,7 +103,9 @@ class SamPactTests {
   private void initSamDAO(MockServer mockServer) {
     ServicesConfiguration config = new ServicesConfiguration();
     config.setSamUrl(mockServer.getUrl() + "/");
-    samDAO = new SamDAO(new HttpClientUtil(config), config);
+    samDAO = new SamDAO(new HttpClientUtil(config, new MetricRegistry()), config,
+        new AuthUserCache(config, new MetricRegistry()),
+        new BackgroundTaskExecutor(config, new MetricRegistry()));
   }
 
   /* Pacts